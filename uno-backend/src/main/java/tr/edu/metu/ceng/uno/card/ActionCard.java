@@ -1,10 +1,31 @@
 package tr.edu.metu.ceng.uno.card;
 
-public class ActionCard extends Card {
-    public ActionCard(CardType cardType, CardColor cardColor) {
+public final class ActionCard extends Card {
+    private static final ActionCard[][] CARDS = new ActionCard[CardType.values().length][CardColor.values().length];
+
+    static {
+        for (CardType type : new CardType[]{CardType.DRAW_TWO, CardType.SKIP, CardType.REVERSE}) {
+            for (CardColor color : CardColor.getColors()) {
+                CARDS[type.ordinal()][color.ordinal()] = new ActionCard(type, color);
+            }
+        }
+    }
+
+    private ActionCard(CardType cardType, CardColor cardColor) {
         super(cardType, cardColor);
     }
 
+    /**
+     * @return The shared instance of the given action card
+     */
+    public static ActionCard of(CardType cardType, CardColor cardColor) {
+        ActionCard card = CARDS[cardType.ordinal()][cardColor.ordinal()];
+        if (card == null) {
+            throw new IllegalArgumentException("Invalid action card: " + cardColor + " " + cardType);
+        }
+        return card;
+    }
+
     @Override
     public String toString() {
         return getCardColor() + " " + getCardType();
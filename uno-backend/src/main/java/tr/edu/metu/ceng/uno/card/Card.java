@@ -2,15 +2,19 @@ package tr.edu.metu.ceng.uno.card;
 
 import lombok.extern.slf4j.Slf4j;
 
+/**
+ * An immutable card face. There is exactly one instance per face, shared by every deck and game
+ * (see the static factories of the subclasses), so cards can be compared by identity.
+ * The color chosen for a wild card is not stored on the card but in the game's current color.
+ */
 @Slf4j
 public abstract class Card {
     private final CardType cardType;
-    private CardColor cardColor;
+    private final CardColor cardColor;
 
-    public Card(CardType cardType, CardColor cardColor) {
+    protected Card(CardType cardType, CardColor cardColor) {
         this.cardType = cardType;
         this.cardColor = cardColor;
-        log.debug("Card created: {} {}", cardColor, cardType);
     }
 
     public CardType getCardType() {
@@ -21,11 +25,6 @@ public abstract class Card {
         return cardColor;
     }
 
-    public CardColor setCardColor(CardColor cardColor) {
-        log.info("Card color changing from {} to {} for card type {}", this.cardColor, cardColor, this.cardType);
-        return this.cardColor = cardColor;
-    }
-
     public boolean isWildCard() {
         boolean isWild = cardType == CardType.WILD || cardType == CardType.WILD_DRAW_FOUR || cardType == CardType.WILD_SKIP_EVERYONE_ONCE;
         log.trace("Checking if card {} {} is wild card: {}", cardColor, cardType, isWild);
@@ -0,0 +1,134 @@
+package tr.edu.metu.ceng.uno.card;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+/**
+ * Draw and discard piles of a game stored in a single array-backed ring buffer.
+ *
+ * The draw pile occupies {@code drawCount} slots starting at {@code head}, and the discard pile occupies the
+ * {@code discardCount} slots right after it, with the last played card on top. Drawing takes from the head,
+ * discarding appends after the discard pile, and recycling shuffles every discarded card except the top one
+ * in place and simply moves the boundary between the two piles, so no card is copied or allocated.
+ *
+ * Not thread-safe, the owning game is responsible for serializing access.
+ */
+public class CardPile {
+    private Card[] cards;
+    private int head = 0;
+    private int drawCount;
+    private int discardCount = 0;
+    private final RandomGenerator random;
+
+    /**
+     * @param drawPile Cards of the initial draw pile, first card is drawn first
+     * @param random Source used to shuffle recycled discard piles
+     */
+    public CardPile(List<Card> drawPile, RandomGenerator random) {
+        this.cards = drawPile.toArray(new Card[0]);
+        this.drawCount = cards.length;
+        this.random = random;
+    }
+
+    /**
+     * Draws the top card of the draw pile, recycling the discard pile first if the draw pile is empty
+     * @return The drawn card
+     */
+    public Card draw() {
+        if (drawCount == 0 && !recycleDiscardPile()) {
+            throw new IllegalStateException("No cards left to draw");
+        }
+
+        Card card = cards[head];
+        cards[head] = null;
+        head = index(1);
+        drawCount--;
+        return card;
+    }
+
+    /**
+     * Draws the given number of cards, recycling the discard pile whenever the draw pile runs out mid-draw
+     * @param count Number of cards to draw
+     * @return The drawn cards in draw order, fewer than requested only if both piles are exhausted
+     */
+    public List<Card> draw(int count) {
+        List<Card> drawn = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            if (drawCount == 0 && !recycleDiscardPile()) {
+                break;
+            }
+            drawn.add(draw());
+        }
+        return drawn;
+    }
+
+    /**
+     * Puts a card on top of the discard pile
+     * @param card The played card
+     */
+    public void discard(Card card) {
+        if (drawCount + discardCount == cards.length) {
+            grow();
+        }
+
+        cards[index(drawCount + discardCount)] = card;
+        discardCount++;
+    }
+
+    /**
+     * Shuffles every discarded card except the top one back into the draw pile, below the remaining draw cards
+     * @return true if any card was moved to the draw pile
+     */
+    public boolean recycleDiscardPile() {
+        int recycled = discardCount - 1;
+        if (recycled <= 0) {
+            return false;
+        }
+
+        // Fisher-Yates over the ring slots that follow the draw pile
+        for (int i = recycled - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int a = index(drawCount + i);
+            int b = index(drawCount + j);
+            Card card = cards[a];
+            cards[a] = cards[b];
+            cards[b] = card;
+        }
+
+        drawCount += recycled;
+        discardCount = 1;
+        return true;
+    }
+
+    public Card peekDiscardPile() {
+        return discardCount == 0 ? null : cards[index(drawCount + discardCount - 1)];
+    }
+
+    public int drawPileSize() {
+        return drawCount;
+    }
+
+    public int discardPileSize() {
+        return discardCount;
+    }
+
+    public boolean isDrawPileEmpty() {
+        return drawCount == 0;
+    }
+
+    private int index(int offset) {
+        int index = head + offset;
+        return index >= cards.length ? index - cards.length : index;
+    }
+
+    private void grow() {
+        int size = drawCount + discardCount;
+        Card[] grown = new Card[Math.max(16, cards.length * 2)];
+        for (int i = 0; i < size; i++) {
+            grown[i] = cards[index(i)];
+        }
+        cards = grown;
+        head = 0;
+    }
+}
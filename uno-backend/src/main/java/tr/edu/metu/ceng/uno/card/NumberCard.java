@@ -1,13 +1,33 @@
 package tr.edu.metu.ceng.uno.card;
 
-public class NumberCard extends Card {
+public final class NumberCard extends Card {
+    private static final NumberCard[][] CARDS = new NumberCard[CardColor.values().length][10];
+
+    static {
+        for (CardColor color : CardColor.getColors()) {
+            for (int number = 0; number < 10; number++) {
+                CARDS[color.ordinal()][number] = new NumberCard(color, number);
+            }
+        }
+    }
+
     private final int number;
 
-    public NumberCard(CardColor cardColor, int number) {
+    private NumberCard(CardColor cardColor, int number) {
         super(CardType.NUMBER, cardColor);
         this.number = number;
     }
 
+    /**
+     * @return The shared instance of the given number card
+     */
+    public static NumberCard of(CardColor cardColor, int number) {
+        if (cardColor == CardColor.NONE || number < 0 || number > 9) {
+            throw new IllegalArgumentException("Invalid number card: " + cardColor + " " + number);
+        }
+        return CARDS[cardColor.ordinal()][number];
+    }
+
     public int getCardNumber() {
         return number;
     }
@@ -1,10 +1,29 @@
 package tr.edu.metu.ceng.uno.card;
 
-public class WildCard extends Card {
-    public WildCard(CardType cardType) {
+public final class WildCard extends Card {
+    private static final WildCard[] CARDS = new WildCard[CardType.values().length];
+
+    static {
+        for (CardType type : new CardType[]{CardType.WILD, CardType.WILD_SKIP_EVERYONE_ONCE, CardType.WILD_DRAW_FOUR}) {
+            CARDS[type.ordinal()] = new WildCard(type);
+        }
+    }
+
+    private WildCard(CardType cardType) {
         super(cardType, CardColor.NONE);
     }
 
+    /**
+     * @return The shared instance of the given wild card
+     */
+    public static WildCard of(CardType cardType) {
+        WildCard card = CARDS[cardType.ordinal()];
+        if (card == null) {
+            throw new IllegalArgumentException("Invalid wild card: " + cardType);
+        }
+        return card;
+    }
+
     @Override
     public String toString() {
         return getCardType().toString();
@@ -0,0 +1,50 @@
+package tr.edu.metu.ceng.uno.config;
+
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.stereotype.Component;
+import tr.edu.metu.ceng.uno.dto.GameStateDTO;
+
+import java.io.IOException;
+
+/**
+ * Writes the complete game states returned by the singleplayer REST controller, which only go to the owner of the game;
+ * multiplayer states are served as each player's own view instead. A state is written by GameStateJsonWriter on its
+ * first read and kept, so polls of an unchanged snapshot copy the same bytes to the response.
+ * Registered ahead of the default JSON converter by Spring Boot, as every HttpMessageConverter bean.
+ */
+@Component
+public class GameStateHttpMessageConverter extends AbstractHttpMessageConverter<GameStateDTO> {
+
+    public GameStateHttpMessageConverter() {
+        super(MediaType.APPLICATION_JSON);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return GameStateDTO.class == clazz;
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected GameStateDTO readInternal(Class<? extends GameStateDTO> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Game states are not accepted as request bodies", inputMessage);
+    }
+
+    @Override
+    protected Long getContentLength(GameStateDTO gameState, MediaType contentType) {
+        return (long) gameState.getJson().length;
+    }
+
+    @Override
+    protected void writeInternal(GameStateDTO gameState, HttpOutputMessage outputMessage) throws IOException {
+        outputMessage.getBody().write(gameState.getJson());
+    }
+}
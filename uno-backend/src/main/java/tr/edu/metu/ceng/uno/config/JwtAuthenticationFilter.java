@@ -0,0 +1,46 @@
+package tr.edu.metu.ceng.uno.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+import tr.edu.metu.ceng.uno.util.JwtUtil;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Identifies the user of a REST request from the JWT sent in its Authorization header, the same way
+ * STOMP sessions are identified when they connect. Requests without a valid token stay anonymous.
+ * Not a bean, so that it only runs in the security filter chain and not once more as a servlet filter.
+ */
+@Slf4j
+public class JwtAuthenticationFilter extends OncePerRequestFilter {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final JwtUtil jwtUtil;
+
+    public JwtAuthenticationFilter(JwtUtil jwtUtil) {
+        this.jwtUtil = jwtUtil;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String authorization = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (authorization != null && authorization.startsWith(BEARER_PREFIX)) {
+            jwtUtil.extractUsername(authorization.substring(BEARER_PREFIX.length()))
+                    .ifPresentOrElse(username -> SecurityContextHolder.getContext().setAuthentication(
+                                    new UsernamePasswordAuthenticationToken(username, null, List.of())),
+                            () -> log.debug("Request to {} sent an invalid token", request.getRequestURI()));
+        }
+
+        filterChain.doFilter(request, response);
+    }
+}
@@ -1,19 +1,59 @@
 package tr.edu.metu.ceng.uno.config;
 
 import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.converter.MessageConverter;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import tr.edu.metu.ceng.uno.websocket.MultiplayerMessageConverter;
+import tr.edu.metu.ceng.uno.websocket.StompAuthChannelInterceptor;
+import tr.edu.metu.ceng.uno.websocket.WireFormatChannelInterceptor;
+
+import java.util.List;
 
 @Configuration
 @EnableWebSocketMessageBroker
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
+    private final StompAuthChannelInterceptor stompAuthChannelInterceptor;
+    private final WireFormatChannelInterceptor wireFormatChannelInterceptor;
+    private final MultiplayerMessageConverter multiplayerMessageConverter;
+
+    public WebSocketConfig(StompAuthChannelInterceptor stompAuthChannelInterceptor,
+                           WireFormatChannelInterceptor wireFormatChannelInterceptor,
+                           MultiplayerMessageConverter multiplayerMessageConverter) {
+        this.stompAuthChannelInterceptor = stompAuthChannelInterceptor;
+        this.wireFormatChannelInterceptor = wireFormatChannelInterceptor;
+        this.multiplayerMessageConverter = multiplayerMessageConverter;
+    }
+
     @Override
     public void configureMessageBroker(MessageBrokerRegistry config) {
-        config.enableSimpleBroker("/topic");
+        config.enableSimpleBroker("/topic", "/queue");
         config.setApplicationDestinationPrefixes("/app");
+        config.setUserDestinationPrefix("/user");
+        // Messages of a game are sent to each client in the order they were published
+        config.setPreservePublishOrder(true);
+    }
+
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        registration.interceptors(stompAuthChannelInterceptor, wireFormatChannelInterceptor);
+    }
+
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        // Multiplayer messages are encoded here, in the format each session asked for when it connected
+        registration.interceptors(wireFormatChannelInterceptor);
+    }
+
+    @Override
+    public boolean configureMessageConverters(List<MessageConverter> messageConverters) {
+        // Ahead of the JSON converters, which stay the fallback for every other payload and content type
+        messageConverters.add(0, multiplayerMessageConverter);
+        return true;
     }
 
     @Override
@@ -22,4 +62,4 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
         registry.addEndpoint("/ws-uno")
                 .setAllowedOrigins("*");
     }
-} 
\ No newline at end of file
+}
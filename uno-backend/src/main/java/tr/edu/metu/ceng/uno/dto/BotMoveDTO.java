@@ -0,0 +1,31 @@
+package tr.edu.metu.ceng.uno.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Compact description of a single computer move, animated by the frontend without a full game state
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BotMoveDTO {
+
+    public enum MoveType {
+        PLAY,
+        DRAW,
+        PENALTY_DRAW // cards forced on a player by DRAW_TWO or WILD_DRAW_FOUR
+    }
+
+    private MoveType type;
+    private int playerNo;
+    private CardDTO card; // only set for PLAY
+    private int drawnCardCount;
+    private int deckSize; // deck size of the player after the move
+    private String currentColor;
+    private String direction;
+    private int nextPlayerNo;
+}
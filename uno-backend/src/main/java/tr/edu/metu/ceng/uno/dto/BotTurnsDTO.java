@@ -0,0 +1,20 @@
+package tr.edu.metu.ceng.uno.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * Result of playing all consecutive computer turns: the ordered moves and the game state after the last one
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BotTurnsDTO {
+    private List<BotMoveDTO> moves;
+    private GameStateDTO gameState;
+}
@@ -3,12 +3,15 @@ package tr.edu.metu.ceng.uno.dto;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
-import lombok.Setter;
 import tr.edu.metu.ceng.uno.card.Card;
 import tr.edu.metu.ceng.uno.card.NumberCard;
+import tr.edu.metu.ceng.uno.util.CardUtil;
 
+/**
+ * Not modifiable once created, as cards are part of the game states shared between readers.
+ * Jackson still fills the fields of the cards in incoming state changes.
+ */
 @Getter
-@Setter
 @NoArgsConstructor
 @AllArgsConstructor
 public class CardDTO {
@@ -16,17 +19,30 @@ public class CardDTO {
     private String color;
     private Integer number;
 
+    // One instance per card face, shared by every game state
+    private static final CardDTO[] CARDS = new CardDTO[CardUtil.CARD_ORDINAL_COUNT];
+
+    static {
+        for (int ordinal = 0; ordinal < CardUtil.CARD_ORDINAL_COUNT; ordinal++) {
+            CARDS[ordinal] = newCardDTO(CardUtil.getCard(ordinal));
+        }
+    }
+
+    /**
+     * @return The shared instance of the card's face
+     */
     public static CardDTO createCardDTO(Card card) {
-        CardDTO dto = new CardDTO();
-        dto.setType(card.getCardType().toString());
-        dto.setColor(card.getCardColor().toString());
-        
+        return CARDS[CardUtil.getCardOrdinal(card)];
+    }
+
+    private static CardDTO newCardDTO(Card card) {
         // For number cards, also setting the number value
+        Integer number = null;
         if (card.isNumberCard()) {
             NumberCard numberCard = (NumberCard) card;
-            dto.setNumber(numberCard.getCardNumber());
+            number = numberCard.getCardNumber();
         }
         
-        return dto;
+        return new CardDTO(card.getCardType().toString(), card.getCardColor().toString(), number);
     }
 }
\ No newline at end of file
@@ -1,33 +1,66 @@
 package tr.edu.metu.ceng.uno.dto;
 
-import lombok.AllArgsConstructor;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.Getter;
-import lombok.NoArgsConstructor;
-import lombok.Setter;
+import lombok.RequiredArgsConstructor;
 import tr.edu.metu.ceng.uno.game.Game;
+import tr.edu.metu.ceng.uno.player.Player;
 
+import java.nio.charset.StandardCharsets;
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * DTO for transferring complete game state to the frontend
+ *
+ * Immutable, as instances published by {@link Game#publishSnapshot()} are shared between all readers of a game.
+ * The player list and hands are unmodifiable. The JSON of a state and of its shared part are written on their first
+ * read and kept.
  */
 @Getter
-@Setter
-@NoArgsConstructor
-@AllArgsConstructor
+@RequiredArgsConstructor
 public class GameStateDTO {
-    private List<PlayerDTO> players;
-    private int currentPlayerNo;
-    private CardDTO lastPlayedCard;
-    private String currentColor;
-    private String direction;
-    private int drawDeckSize;
-    private boolean gameFinished; //TODO: may not need
-    private String winner; //TODO: may not need
-    private boolean canPlayWildDrawFour; // Indicates if the current player can play a Wild Draw Four card
-    private boolean canChallenge;
-    
+    private final List<PlayerDTO> players;
+    private final int currentPlayerNo;
+    private final CardDTO lastPlayedCard;
+    private final String currentColor;
+    private final String direction;
+    private final int drawDeckSize;
+    private final boolean gameFinished; //TODO: may not need
+    private final String winner; //TODO: may not need
+    private final boolean canPlayWildDrawFour; // Indicates if the current player can play a Wild Draw Four card
+    private final boolean canChallenge;
+    private final long version; // Version of the game state, increases with every published move
+    @JsonIgnore
+    private volatile byte[] json; // This state as written by GameStateJsonWriter, null until first read, never modified
+    @JsonIgnore
+    private volatile String sharedStateJson; // JSON of the public state of createPublicGameStateDTO, null until first read
+
+    /**
+     * @return This state as written by GameStateJsonWriter, written on the first call.
+     * Concurrent first calls may each write it, the copies are equal.
+     */
+    public byte[] getJson() {
+        byte[] written = json;
+        if (written == null) {
+            written = GameStateJsonWriter.toJson(this);
+            json = written;
+        }
+        return written;
+    }
+
+    /**
+     * @return The part of this state shared by all players of a multiplayer game, as written by GameStateJsonWriter,
+     * written on the first call like {@link #getJson()}
+     */
+    public String getSharedStateJson() {
+        String written = sharedStateJson;
+        if (written == null) {
+            written = new String(GameStateJsonWriter.toJson(createPublicGameStateDTO(this)), StandardCharsets.UTF_8);
+            sharedStateJson = written;
+        }
+        return written;
+    }
+
     /**
      * Converts a Game entity to GameStateDTO from a specific player's perspective
      * 
@@ -35,48 +68,69 @@ public class GameStateDTO {
      * @return GameStateDTO representation of the game state
      */
     public static GameStateDTO createGameStateDTO(Game game) {
-        GameStateDTO dto = new GameStateDTO();
-
-        dto.setDirection(game.getDirection().toString());
-        dto.setDrawDeckSize(game.getDrawDeck().size());
-        dto.setLastPlayedCard(CardDTO.createCardDTO(game.getLastPlayedCard()));
-        dto.setCurrentColor(game.getCurrentCardColor().toString());
-        dto.setGameFinished(game.anyPlayerHasEmptyDeck());
-        dto.setCanChallenge(game.isCanChallenge());
-
         List<PlayerDTO> playerDTOs = game.getPlayers().stream()
                 .map(PlayerDTO::createPLayerDTOForCurrentPlayer)
-                .collect(Collectors.toList());
-        
-        dto.setPlayers(playerDTOs);
+                .toList();
         
         // Set current player
         int currentPlayerIndex = game.getCurrentPlayer();
-        dto.setCurrentPlayerNo(currentPlayerIndex);
+        boolean gameFinished = game.anyPlayerHasEmptyDeck();
         
         // Calculate if current player can play a Wild Draw Four card
         // (true if they have no other playable cards except for Wild Draw Four)
         boolean canPlayWildDrawFour = false;
-        if (!game.anyPlayerHasEmptyDeck()) {
+        if (!gameFinished) {
             var currentPlayer = game.getPlayers().get(currentPlayerIndex);
             // Check if the player has any valid non-Wild-Draw-Four cards to play
-            var hasNonWildDrawFourValidCards = currentPlayer.getDeck().stream()
-                .filter(card -> card.getCardType() != tr.edu.metu.ceng.uno.card.CardType.WILD_DRAW_FOUR)
-                .anyMatch(card -> tr.edu.metu.ceng.uno.util.CardUtil.isValidMove(card, game.getLastPlayedCard(), game.getCurrentCardColor()));
+            var hasNonWildDrawFourValidCards = currentPlayer.getDeck()
+                .hasPlayableCardOtherThanWildDrawFour(game.getLastPlayedCard(), game.getCurrentCardColor());
                 
             // Can play Wild Draw Four only if there are no other valid cards to play
             canPlayWildDrawFour = !hasNonWildDrawFourValidCards;
         }
-        dto.setCanPlayWildDrawFour(canPlayWildDrawFour);
         
         // Set winner if game is finished
-        if (dto.isGameFinished()) {
-            game.getPlayers().stream()
+        String winner = null;
+        if (gameFinished) {
+            winner = game.getPlayers().stream()
                 .filter(player -> player.getDeck().isEmpty())
                 .findFirst()
-                .ifPresent(winner -> dto.setWinner(winner.getUsername()));
+                .map(Player::getUsername)
+                .orElse(null);
         }
         
-        return dto;
+        return new GameStateDTO(
+                playerDTOs,
+                currentPlayerIndex,
+                CardDTO.createCardDTO(game.getLastPlayedCard()),
+                game.getCurrentCardColor().toString(),
+                game.getDirection().toString(),
+                game.getCardPile().drawPileSize(),
+                gameFinished,
+                winner,
+                canPlayWildDrawFour,
+                game.isCanChallenge(),
+                game.getVersion());
+    }
+
+    /**
+     * Creates the part of a game state that is the same for every player: the full state without any player's cards
+     * 
+     * @param gameState Complete game state, usually a published snapshot
+     * @return GameStateDTO with hand sizes in place of hands
+     */
+    public static GameStateDTO createPublicGameStateDTO(GameStateDTO gameState) {
+        return new GameStateDTO(
+                gameState.getPlayers().stream().map(PlayerDTO::createPublicPlayerDTO).toList(),
+                gameState.getCurrentPlayerNo(),
+                gameState.getLastPlayedCard(),
+                gameState.getCurrentColor(),
+                gameState.getDirection(),
+                gameState.getDrawDeckSize(),
+                gameState.isGameFinished(),
+                gameState.getWinner(),
+                gameState.isCanPlayWildDrawFour(),
+                gameState.isCanChallenge(),
+                gameState.getVersion());
     }
 }
\ No newline at end of file
@@ -0,0 +1,249 @@
+package tr.edu.metu.ceng.uno.dto;
+
+import tr.edu.metu.ceng.uno.card.Card;
+import tr.edu.metu.ceng.uno.util.CardUtil;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes the JSON of a {@link GameStateDTO}, the same document Jackson writes for it.
+ *
+ * Every shared card face from {@link CardDTO#createCardDTO} is encoded once up front, so writing a state mostly
+ * copies byte fragments into the writer's buffer, which is kept and reused for the next state. Only usernames,
+ * colors and directions are encoded while writing.
+ * A writer is not thread-safe, {@link #toJson(GameStateDTO)} uses one per thread.
+ */
+public final class GameStateJsonWriter {
+
+    // Keyed by the shared instances, other cards are encoded field by field
+    private static final Map<CardDTO, byte[]> CARDS = new IdentityHashMap<>();
+
+    private static final byte[] PLAYERS = ascii("{\"players\":[");
+    private static final byte[] USERNAME = ascii("{\"username\":");
+    private static final byte[] DECK = ascii(",\"deck\":");
+    private static final byte[] DECK_SIZE = ascii(",\"deckSize\":");
+    private static final byte[] CURRENT_PLAYER_NO = ascii("],\"currentPlayerNo\":");
+    private static final byte[] TYPE = ascii("{\"type\":");
+    private static final byte[] COLOR = ascii(",\"color\":");
+    private static final byte[] NUMBER = ascii(",\"number\":");
+    private static final byte[] LAST_PLAYED_CARD = ascii(",\"lastPlayedCard\":");
+    private static final byte[] CURRENT_COLOR = ascii(",\"currentColor\":");
+    private static final byte[] DIRECTION = ascii(",\"direction\":");
+    private static final byte[] DRAW_DECK_SIZE = ascii(",\"drawDeckSize\":");
+    private static final byte[] GAME_FINISHED = ascii(",\"gameFinished\":");
+    private static final byte[] WINNER = ascii(",\"winner\":");
+    private static final byte[] CAN_PLAY_WILD_DRAW_FOUR = ascii(",\"canPlayWildDrawFour\":");
+    private static final byte[] CAN_CHALLENGE = ascii(",\"canChallenge\":");
+    private static final byte[] VERSION = ascii(",\"version\":");
+    private static final byte[] TRUE = ascii("true");
+    private static final byte[] FALSE = ascii("false");
+    private static final byte[] NULL = ascii("null");
+    private static final byte[] HEX = ascii("0123456789abcdef");
+
+    private static final ThreadLocal<GameStateJsonWriter> WRITERS = ThreadLocal.withInitial(GameStateJsonWriter::new);
+
+    static {
+        for (int ordinal = 0; ordinal < CardUtil.CARD_ORDINAL_COUNT; ordinal++) {
+            Card card = CardUtil.getCard(ordinal);
+            CardDTO dto = CardDTO.createCardDTO(card);
+            CARDS.put(dto, ascii("{\"type\":\"" + dto.getType() + "\",\"color\":\"" + dto.getColor()
+                    + "\",\"number\":" + dto.getNumber() + "}"));
+        }
+    }
+
+    private byte[] buffer = new byte[2048];
+    private int size;
+
+    /**
+     * Writes a game state with the calling thread's writer
+     * @param gameState The state to write
+     * @return The JSON document, a copy of the writer's buffer
+     */
+    public static byte[] toJson(GameStateDTO gameState) {
+        GameStateJsonWriter writer = WRITERS.get();
+        writer.write(gameState);
+        return writer.toByteArray();
+    }
+
+    /**
+     * Replaces the content of this writer's buffer with the game state
+     * @param gameState The state to write
+     * @return The length of the JSON document
+     */
+    public int write(GameStateDTO gameState) {
+        size = 0;
+        List<PlayerDTO> players = gameState.getPlayers();
+
+        write(PLAYERS);
+        for (int i = 0; i < players.size(); i++) {
+            PlayerDTO player = players.get(i);
+            if (i > 0) {
+                write(',');
+            }
+            write(USERNAME);
+            writeString(player.getUsername());
+            write(DECK);
+            List<CardDTO> deck = player.getDeck();
+            if (deck == null) {
+                write(NULL);
+            } else {
+                write('[');
+                for (int j = 0; j < deck.size(); j++) {
+                    if (j > 0) {
+                        write(',');
+                    }
+                    writeCard(deck.get(j));
+                }
+                write(']');
+            }
+            write(DECK_SIZE);
+            writeNumber(player.getDeckSize());
+            write('}');
+        }
+
+        write(CURRENT_PLAYER_NO);
+        writeNumber(gameState.getCurrentPlayerNo());
+        write(LAST_PLAYED_CARD);
+        writeCard(gameState.getLastPlayedCard());
+        write(CURRENT_COLOR);
+        writeString(gameState.getCurrentColor());
+        write(DIRECTION);
+        writeString(gameState.getDirection());
+        write(DRAW_DECK_SIZE);
+        writeNumber(gameState.getDrawDeckSize());
+        write(GAME_FINISHED);
+        write(gameState.isGameFinished() ? TRUE : FALSE);
+        write(WINNER);
+        writeString(gameState.getWinner());
+        write(CAN_PLAY_WILD_DRAW_FOUR);
+        write(gameState.isCanPlayWildDrawFour() ? TRUE : FALSE);
+        write(CAN_CHALLENGE);
+        write(gameState.isCanChallenge() ? TRUE : FALSE);
+        write(VERSION);
+        writeNumber(gameState.getVersion());
+        write('}');
+        return size;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buffer, size);
+    }
+
+    public void writeTo(OutputStream out) throws IOException {
+        out.write(buffer, 0, size);
+    }
+
+    private void writeCard(CardDTO card) {
+        if (card == null) {
+            write(NULL);
+            return;
+        }
+        byte[] fragment = CARDS.get(card);
+        if (fragment != null) {
+            write(fragment);
+            return;
+        }
+        write(TYPE);
+        writeString(card.getType());
+        write(COLOR);
+        writeString(card.getColor());
+        write(NUMBER);
+        if (card.getNumber() != null) {
+            writeNumber(card.getNumber());
+        } else {
+            write(NULL);
+        }
+        write('}');
+    }
+
+    private void write(byte[] fragment) {
+        ensureCapacity(fragment.length);
+        System.arraycopy(fragment, 0, buffer, size, fragment.length);
+        size += fragment.length;
+    }
+
+    private void write(char c) {
+        ensureCapacity(1);
+        buffer[size++] = (byte) c;
+    }
+
+    private void writeNumber(long value) {
+        if (value < 0) {
+            write('-');
+            value = -value;
+        }
+        ensureCapacity(20);
+        int start = size;
+        do {
+            buffer[size++] = (byte) ('0' + value % 10);
+            value /= 10;
+        } while (value > 0);
+        for (int i = start, j = size - 1; i < j; i++, j--) {
+            byte digit = buffer[i];
+            buffer[i] = buffer[j];
+            buffer[j] = digit;
+        }
+    }
+
+    /**
+     * Writes a quoted JSON string as UTF-8, escaping quotes, backslashes and control characters, or null
+     */
+    private void writeString(String value) {
+        if (value == null) {
+            write(NULL);
+            return;
+        }
+        ensureCapacity(value.length() * 6 + 2);
+        buffer[size++] = '"';
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                buffer[size++] = '\\';
+                buffer[size++] = (byte) c;
+            } else if (c < 0x20) {
+                buffer[size++] = '\\';
+                buffer[size++] = 'u';
+                buffer[size++] = '0';
+                buffer[size++] = '0';
+                buffer[size++] = HEX[c >> 4];
+                buffer[size++] = HEX[c & 0xF];
+            } else if (c < 0x80) {
+                buffer[size++] = (byte) c;
+            } else if (c < 0x800) {
+                buffer[size++] = (byte) (0xC0 | (c >> 6));
+                buffer[size++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < value.length() && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                buffer[size++] = (byte) (0xF0 | (codePoint >> 18));
+                buffer[size++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                buffer[size++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                buffer[size++] = (byte) (0x80 | (codePoint & 0x3F));
+            } else {
+                buffer[size++] = (byte) (0xE0 | (c >> 12));
+                buffer[size++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                buffer[size++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+        buffer[size++] = '"';
+    }
+
+    private void ensureCapacity(int length) {
+        if (size + length > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + length));
+        }
+    }
+
+    private static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+}
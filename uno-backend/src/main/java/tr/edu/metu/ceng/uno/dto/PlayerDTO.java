@@ -2,27 +2,32 @@ package tr.edu.metu.ceng.uno.dto;
 
 import lombok.AllArgsConstructor;
 import lombok.Getter;
-import lombok.NoArgsConstructor;
-import lombok.Setter;
 import tr.edu.metu.ceng.uno.player.Player;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
+/**
+ * Immutable, as it is part of the game states shared between readers. The deck is unmodifiable.
+ */
 @Getter
-@Setter
-@NoArgsConstructor
 @AllArgsConstructor
 public class PlayerDTO {
-    private String username;
-    private List<CardDTO> deck;
+    private final String username;
+    private final List<CardDTO> deck; // Null in the state shown to opponents
+    private final int deckSize;
 
     public static PlayerDTO createPLayerDTOForCurrentPlayer(Player player) {
-        PlayerDTO dto = new PlayerDTO();
-        dto.setUsername(player.getUsername());
-        dto.setDeck(player.getDeck().stream()
-                .map(CardDTO::createCardDTO)
-                .collect(Collectors.toList()));
-        return dto;
+        return new PlayerDTO(player.getUsername(),
+                player.getDeck().stream()
+                        .map(CardDTO::createCardDTO)
+                        .toList(),
+                player.getDeck().size());
+    }
+
+    /**
+     * Creates the view of a player shared with every player of the game, the number of cards without the cards themselves
+     */
+    public static PlayerDTO createPublicPlayerDTO(PlayerDTO player) {
+        return new PlayerDTO(player.getUsername(), null, player.getDeckSize());
     }
 }
\ No newline at end of file
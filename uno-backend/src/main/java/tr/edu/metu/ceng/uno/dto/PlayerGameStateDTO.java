@@ -0,0 +1,27 @@
+package tr.edu.metu.ceng.uno.dto;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * Game state of a single player, pushed to them or served over REST: the state shared by all players of the game
+ * and the player's own cards
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class PlayerGameStateDTO {
+    private String gameId;
+    // Serialized once per published state and embedded as is into the message of every player
+    @JsonRawValue
+    private String gameState;
+    private int playerNo;
+    private List<CardDTO> deck;
+    private long version; // Version of the game state this view was made from
+}
@@ -0,0 +1,73 @@
+package tr.edu.metu.ceng.uno.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * A single change between two consecutive versions of a game state, part of a STATE_DELTA message.
+ * Only the fields used by the change type are set.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class StateChangeDTO {
+
+    public enum ChangeType {
+        CARD_REMOVED,            // playerNo, cardIndex: the card left the player's hand
+        CARDS_DRAWN,             // playerNo, count and, for the drawing player only, cards: appended to the hand
+        LAST_PLAYED_CARD,        // card
+        CURRENT_COLOR,           // value
+        DIRECTION,               // value
+        CURRENT_PLAYER,          // playerNo
+        DRAW_DECK_SIZE,          // count
+        CAN_CHALLENGE,           // value
+        CAN_PLAY_WILD_DRAW_FOUR, // value
+        GAME_FINISHED            // value: the winner
+    }
+
+    private ChangeType type;
+    private Integer playerNo;
+    private Integer cardIndex;
+    private Integer count;
+    private CardDTO card;
+    private String value;
+    private List<CardDTO> cards;
+
+    public static StateChangeDTO of(ChangeType type, String value) {
+        StateChangeDTO change = new StateChangeDTO();
+        change.setType(type);
+        change.setValue(value);
+        return change;
+    }
+
+    public static StateChangeDTO cardRemoved(int playerNo, int cardIndex) {
+        StateChangeDTO change = new StateChangeDTO();
+        change.setType(ChangeType.CARD_REMOVED);
+        change.setPlayerNo(playerNo);
+        change.setCardIndex(cardIndex);
+        return change;
+    }
+
+    public static StateChangeDTO cardsDrawn(int playerNo, List<CardDTO> cards) {
+        StateChangeDTO change = new StateChangeDTO();
+        change.setType(ChangeType.CARDS_DRAWN);
+        change.setPlayerNo(playerNo);
+        change.setCount(cards.size());
+        change.setCards(cards);
+        return change;
+    }
+
+    /**
+     * @return This change as seen by the opponents of the player, without the drawn cards
+     */
+    public StateChangeDTO withoutCards() {
+        return new StateChangeDTO(type, playerNo, cardIndex, count, card, value, null);
+    }
+}
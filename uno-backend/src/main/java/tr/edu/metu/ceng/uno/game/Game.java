@@ -1,46 +1,92 @@
 package tr.edu.metu.ceng.uno.game;
 
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import tr.edu.metu.ceng.uno.card.Card;
 import tr.edu.metu.ceng.uno.card.CardColor;
+import tr.edu.metu.ceng.uno.card.CardPile;
 import tr.edu.metu.ceng.uno.card.CardType;
+import tr.edu.metu.ceng.uno.dto.GameStateDTO;
+import tr.edu.metu.ceng.uno.player.ComputerPlayer;
 import tr.edu.metu.ceng.uno.player.Player;
 import tr.edu.metu.ceng.uno.util.CardUtil;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
-import java.util.Random;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.stream.Collectors;
 
+/**
+ * State and rules of a single game.
+ *
+ * A game is not thread-safe: it is only ever read and mutated by the commands of its {@link GameCommandExecutor} stripe.
+ * Other threads only read the last snapshot published by {@link #publishSnapshot()}.
+ */
 @Getter
 @Setter
 @Slf4j
 public class Game {
-    private volatile Direction direction = Direction.CLOCKWISE;
+    private Direction direction = Direction.CLOCKWISE;
     private final List<Player> players;
-    private final List<Card> drawDeck = Collections.synchronizedList(CardUtil.getShuffledDeck());
-    private final List<Card> discardDeck = Collections.synchronizedList(new ArrayList<>());
-
-    private volatile int currentPlayer = 0;
-    private volatile CardColor currentCardColor;
-    private volatile Card lastPlayedCardBeforeWildDrawFour;
-    private volatile Card lastPlayedCard;
-    private volatile int drawTwoStackAmount = 0;
-    private volatile boolean canChallenge = false;
+    private final long seed;
+    // Every random decision of the game (shuffles, random colors) is drawn from this seeded source
+    @Getter(AccessLevel.NONE)
+    private final SplittableRandom random;
+    private final CardPile cardPile;
+
+    private int currentPlayer = 0;
+    private CardColor currentCardColor;
+    private Card lastPlayedCardBeforeWildDrawFour;
+    private CardColor cardColorBeforeWildDrawFour;
+    private Card lastPlayedCard;
+    private int drawTwoStackAmount = 0;
+    private boolean canChallenge = false;
+    // Seat of the player whose WILD_DRAW_FOUR can be challenged, -1 when no challenge is pending
+    @Setter(AccessLevel.NONE)
+    private int wildDrawFourPlayer = -1;
+
+    private final LocalDateTime startedAt = LocalDateTime.now();
+    // Number of times the turn has passed, including skipped and repeated turns
+    @Setter(AccessLevel.NONE)
+    private int turnCount = 0;
+
+    // Set once the result of the finished game has been handed to the game history
+    @Setter(AccessLevel.NONE)
+    private boolean resultRecorded = false;
+
+    // Number of snapshots published so far, the version of the latest one
+    @Setter(AccessLevel.NONE)
+    private long version = 0;
+    // Latest published state, the only field read outside the game's executor stripe
+    @Setter(AccessLevel.NONE)
+    private volatile GameStateDTO snapshot;
 
     public Game(List<Player> players) {
+        this(players, ThreadLocalRandom.current().nextLong());
+    }
+
+    /**
+     * Creates a game whose deck order and random choices are fully determined by the seed,
+     * so replaying the same moves on a game with the same seed reproduces it exactly
+     * @param players Players of the game, 2 to 4
+     * @param seed Seed of the game's random source
+     */
+    public Game(List<Player> players, long seed) {
         log.debug("Creating new game instance with {} players", players.size());
         int size = players.size();
         if (size < 2 || size > 4) {
             log.error("Invalid player count: {}. Player count must be between 2 and 4!", size);
             throw new IllegalArgumentException("Player count must be between 2 and 4!");
         }
-        this.players = new CopyOnWriteArrayList<>(players);
-        log.trace("Player list copied to CopyOnWriteArrayList for thread safety");
+        this.players = List.copyOf(players);
+
+        this.seed = seed;
+        this.random = new SplittableRandom(seed);
+        this.cardPile = new CardPile(CardUtil.getShuffledDeck(random), random.split());
 
         currentPlayer = 0; //TODO: randomizing later can be done
         log.debug("Initial current player index set to 0");
@@ -48,21 +94,47 @@ public class Game {
         drawTwoStackAmount = 0;
         log.debug("Initial drawTwoStackAmount set to 0");
 
-        log.info("Game created with {} players: {}", size, 
-                players.stream().map(Player::getUsername).collect(Collectors.joining(", ")));
+        log.info("Game created with {} players: {} (seed: {})", size,
+                players.stream().map(Player::getUsername).collect(Collectors.joining(", ")), seed);
         log.debug("Game initial direction: {}", direction);
     }
 
-    public synchronized void initializeFirstCard(){
+    /**
+     * Publishes the current state as a new immutable snapshot with the next version number.
+     * Called by the game's commands once a move is complete, readers then see either the previous or the new state as a whole.
+     * @return The published snapshot
+     */
+    public GameStateDTO publishSnapshot() {
+        version++;
+        GameStateDTO published = GameStateDTO.createGameStateDTO(this);
+        snapshot = published;
+        log.trace("Published snapshot version {}", version);
+        return published;
+    }
+
+    /**
+     * Marks the result of the finished game as recorded, so that it is recorded exactly once.
+     * Only called on the game's executor stripe, like every other mutation.
+     * @return false if the result was already recorded
+     */
+    public boolean markResultRecorded() {
+        if (resultRecorded) {
+            return false;
+        }
+        resultRecorded = true;
+        return true;
+    }
+
+    public void initializeFirstCard(){
         log.info("Initializing first card for the game");
-        log.debug("Draw deck size before initialization: {}", drawDeck.size());
+        log.debug("Draw deck size before initialization: {}", cardPile.drawPileSize());
 
         int attempts = 0;
         do {
             attempts++;
             log.trace("Attempt #{} to find valid first card", attempts);
-            lastPlayedCard = drawDeck.removeFirst();
-            discardDeck.add(lastPlayedCard);
+            lastPlayedCard = cardPile.draw();
+            cardPile.discard(lastPlayedCard);
             log.debug("Drew card: {} {}. Checking if valid as first card", 
                     lastPlayedCard.getCardColor(), lastPlayedCard.getCardType());
 
@@ -73,8 +145,8 @@ public class Game {
         } while (lastPlayedCard.getCardType() == CardType.WILD_DRAW_FOUR);
 
         log.info("First card initialized: {} {}", lastPlayedCard.getCardColor(), lastPlayedCard.getCardType());
-        log.debug("Draw deck size after initialization: {}", drawDeck.size());
-        log.debug("Discard deck size after initialization: {}", discardDeck.size());
+        log.debug("Draw deck size after initialization: {}", cardPile.drawPileSize());
+        log.debug("Discard deck size after initialization: {}", cardPile.discardPileSize());
 
         setNextColor();
         log.debug("Current color set to: {}", currentCardColor);
@@ -112,13 +184,7 @@ public class Game {
                 log.debug("drawTwoStackAmount reset to {}", drawTwoStackAmount);
 
                 log.debug("Drawing 2 cards for player {}", firstPlayer.getUsername());
-                for (int i = 0; i < 2; i++) {
-                    Card drawnCard = drawDeck.removeFirst();
-                    players.get(currentPlayer).drawCard(drawnCard);
-                    log.debug("Player {} drew card: {} {}", 
-                            players.get(currentPlayer).getUsername(), 
-                            drawnCard.getCardColor(), drawnCard.getCardType());
-                }
+                drawCards(firstPlayer, 2);
                 log.debug("Player {} now has {} cards", 
                         firstPlayer.getUsername(), firstPlayer.getDeck().size());
 
@@ -134,7 +200,7 @@ public class Game {
         log.debug("First card initialization completed");
     }
 
-    public synchronized boolean anyPlayerHasEmptyDeck(){
+    public boolean anyPlayerHasEmptyDeck(){
         log.debug("Checking if any player has an empty deck");
 
         boolean gameEnded = players.stream().anyMatch(player -> player.getDeck().isEmpty());
@@ -179,7 +245,7 @@ public class Game {
         return gameEnded;
     }
 
-    public synchronized void setNextColor() {
+    public void setNextColor() {
         log.debug("Setting next color based on last played card: {} {}", 
                 lastPlayedCard.getCardColor(), lastPlayedCard.getCardType());
 
@@ -200,7 +266,7 @@ public class Game {
                     .collect(Collectors.toList())));
 
             // Select random color
-            CardColor randomColor = CardColor.values()[new Random().nextInt(4)];
+            CardColor randomColor = nextRandomColor();
             log.info("Wild card played. Randomly selecting color: {}", randomColor);
 
             currentCardColor = randomColor;
@@ -218,16 +284,23 @@ public class Game {
         log.trace("setNextColor completed. Current color is now: {}", currentCardColor);
     }
 
-    public synchronized void distributeCards() {
+    /**
+     * @return A uniformly chosen color other than NONE, drawn from the game's random source
+     */
+    public CardColor nextRandomColor() {
+        return CardColor.getColors().get(random.nextInt(4));
+    }
+
+    public void distributeCards() {
         log.info("Distributing initial cards to {} players", players.size());
-        log.debug("Draw deck size before distribution: {}", drawDeck.size());
+        log.debug("Draw deck size before distribution: {}", cardPile.drawPileSize());
 
         int totalCardsToDistribute = players.size() * 7;
         log.debug("Total cards to distribute: {} (7 cards × {} players)", totalCardsToDistribute, players.size());
 
-        if (drawDeck.size() < totalCardsToDistribute) {
+        if (cardPile.drawPileSize() < totalCardsToDistribute) {
             log.warn("Draw deck has only {} cards, but {} cards are needed for distribution", 
-                    drawDeck.size(), totalCardsToDistribute);
+                    cardPile.drawPileSize(), totalCardsToDistribute);
         }
 
         players.forEach(player -> {
@@ -235,7 +308,7 @@ public class Game {
             List<String> cardDescriptions = new ArrayList<>();
 
             for (int i = 0; i < 7; i++) {
-                Card card = drawDeck.removeFirst();
+                Card card = cardPile.draw();
                 player.getDeck().add(card);
 
                 String cardDesc = card.getCardColor() + " " + card.getCardType();
@@ -251,7 +324,7 @@ public class Game {
             log.trace("Player {} now has {} cards in total", player.getUsername(), player.getDeck().size());
         });
 
-        log.info("Card distribution completed. Draw deck has {} cards remaining", drawDeck.size());
+        log.info("Card distribution completed. Draw deck has {} cards remaining", cardPile.drawPileSize());
         log.debug("Each player now has 7 cards in their deck");
 
         // Log a summary of each player's initial hand
@@ -268,7 +341,7 @@ public class Game {
      * Sets the game's current player to the next player based on the game direction
      * Alias for setNextPlayerUnconditionally for consistency with new method names
      */
-    public synchronized void setNextPlayer() {
+    public void setNextPlayer() {
         log.debug("Setting next player (alias for setNextPlayerUnconditionally)");
         setNextPlayerUnconditionally();
     }
@@ -277,7 +350,7 @@ public class Game {
      * Gets the next player in the game sequence without changing the current player
      * @return The next player
      */
-    public synchronized Player getNextPlayer() {
+    public Player getNextPlayer() {
         int playerCount = players.size();
         int nextIndex;
 
@@ -292,8 +365,9 @@ public class Game {
         return nextPlayer;
     }
 
-    public synchronized void setNextPlayerUnconditionally() {
+    public void setNextPlayerUnconditionally() {
         log.debug("Setting next player unconditionally");
+        turnCount++;
 
         int playerCount = players.size();
         log.trace("Total players in game: {}", playerCount);
@@ -334,10 +408,11 @@ public class Game {
         log.debug("Turn successfully changed to player {}", nextPlayerObj.getUsername());
     }
 
-    public synchronized void setNextPlayerConditionally() {
+    public void setNextPlayerConditionally() {
         log.debug("Setting next player conditionally based on last played card: {} {}", 
                 lastPlayedCard.getCardColor(), lastPlayedCard.getCardType());
         log.trace("Card type: {}, Card color: {}", lastPlayedCard.getCardType(), lastPlayedCard.getCardColor());
+        turnCount++;
 
         int playerCount = players.size();
         log.trace("Total players in game: {}", playerCount);
@@ -425,53 +500,155 @@ public class Game {
         log.debug("Turn successfully changed to player {}", nextPlayerObj.getUsername());
     }
 
-    public synchronized void refillDrawDeck() {
-        log.debug("Checking if draw deck needs refilling. Current size: {}", drawDeck.size());
+    /**
+     * Draws a card for the given player if they have nothing to play, passing the turn if the drawn card cannot be played either
+     * @param playerId Index of the player whose turn it is
+     */
+    public void drawCard(int playerId) {
+        Player player = players.get(playerId);
+        if (player.shouldDrawCard(lastPlayedCard, currentCardColor)) {
+            Card cardToDraw = cardPile.draw();
+            player.drawCard(cardToDraw);
 
-        if (drawDeck.isEmpty()) {
-            log.info("Draw deck is empty. Refilling from discard deck with {} cards", discardDeck.size());
+            if (!CardUtil.isValidMove(cardToDraw, lastPlayedCard, currentCardColor)) {
+                setNextPlayerUnconditionally();
+            }
+        }
+    }
 
-            if (discardDeck.isEmpty()) {
-                log.warn("Both draw deck and discard deck are empty! This is an unexpected state.");
-                return;
+    /**
+     * Plays one turn of a computer player: plays its preferred card and applies the card's effects, or draws a card
+     * @param playerId Index of the computer player whose turn it is
+     */
+    public void playComputerTurn(int playerId) {
+        ComputerPlayer player = (ComputerPlayer) players.get(playerId);
+
+        if (!player.shouldDrawCard(lastPlayedCard, currentCardColor)) {
+            Card playedCard = player.playCard(lastPlayedCard, currentCardColor);
+
+            lastPlayedCard = playedCard;
+
+            cardPile.discard(playedCard);
+
+            if (playedCard.isActionCard() && playedCard.getCardType() == CardType.REVERSE) {
+                direction = direction.reverse();
+            }
+
+            setNextPlayerConditionally();
+
+            // Drawing +2 or +4 cards
+            if (playedCard.getCardType() == CardType.DRAW_TWO) {
+                drawTwoStackAmount++;
+                Player nextPlayer = players.get(currentPlayer); //already moved to next player
+                if (!nextPlayer.hasDrawTwoCard()) {
+                    drawCards(nextPlayer, 2 * drawTwoStackAmount);
+                    log.info("Player {} drew {} cards because of DRAW_TWO stacking",
+                            currentPlayer, drawTwoStackAmount * 2);
+                    drawTwoStackAmount = 0;//reset drawTwo stack
+                    setNextPlayerUnconditionally();//if next player draws cards, skip that player's turn
+                }
             }
 
-            log.debug("Shuffling discard deck before refilling draw deck");
-            Collections.shuffle(discardDeck);
-            log.trace("Discard deck shuffled");
+            else if (playedCard.getCardType() == CardType.WILD_DRAW_FOUR) {
+                drawCards(players.get(currentPlayer), 4);
 
-            // Save the last played card before moving all cards
-            Card lastCard = null;
-            if (!discardDeck.isEmpty()) {
-                lastCard = discardDeck.get(discardDeck.size() - 1);
-                log.debug("Preserving last played card: {} {}", 
-                        lastCard.getCardColor(), lastCard.getCardType());
+                setNextPlayerUnconditionally();
             }
 
-            // Move all cards except the last played card
-            List<Card> cardsToMove = new ArrayList<>(discardDeck);
-            if (lastCard != null) {
-                cardsToMove.remove(lastCard);
-                log.trace("Removed last played card from cards to move");
+            // set next card color
+            if (playedCard.isWildCard()) {
+                currentCardColor = player.getDeck().getMostFrequentColor();
+            }
+            else {
+                currentCardColor = playedCard.getCardColor();
             }
+        }
+
+        else {
+            drawCard(playerId);
+        }
+    }
 
-            log.debug("Moving {} cards from discard deck to draw deck", cardsToMove.size());
-            drawDeck.addAll(cardsToMove);
-            log.debug("Draw deck refilled with {} cards", drawDeck.size());
+    /**
+     * Opens the challenge of a WILD_DRAW_FOUR, before the card is set as the last played card
+     * @param playerIndex Index of the player who played the WILD_DRAW_FOUR
+     */
+    public void wildDrawFourPlayed(int playerIndex) {
+        lastPlayedCardBeforeWildDrawFour = lastPlayedCard; // will be used to determine challenge result
+        cardColorBeforeWildDrawFour = currentCardColor;
+        wildDrawFourPlayer = playerIndex;
+        canChallenge = true;
+    }
 
-            // Clear discard deck and add back the last played card
-            discardDeck.clear();
-            log.debug("Discard deck cleared");
+    /**
+     * Resolves the current player's challenge of the pending WILD_DRAW_FOUR.
+     * The player who played it draws 4 cards if they had another playable card,
+     * otherwise the challenger draws 6 cards and loses the turn.
+     * @return true if the challenge succeeded
+     */
+    public boolean challengeWildDrawFour() {
+        Player challengedPlayer = players.get(wildDrawFourPlayer);
+        boolean succeeded = challengedPlayer.getDeck().hasPlayableCardOtherThanWildDrawFour(
+                lastPlayedCardBeforeWildDrawFour, cardColorBeforeWildDrawFour);
+        if (succeeded) {
+            drawCards(challengedPlayer, 4);
+        } else {
+            drawCards(players.get(currentPlayer), 6);
+            setNextPlayerUnconditionally(); // since we drew, we lose our turn
+        }
+        closeChallenge();
+        return succeeded;
+    }
 
-            if (lastCard != null) {
-                discardDeck.add(lastCard);
-                log.debug("Last played card added back to discard deck");
+    /**
+     * The current player accepts the pending WILD_DRAW_FOUR, drawing 4 cards and losing the turn
+     */
+    public void acceptWildDrawFour() {
+        drawCards(players.get(currentPlayer), 4);
+        closeChallenge();
+        setNextPlayerUnconditionally(); // since we drew, we lose our turn
+    }
+
+    private void closeChallenge() {
+        canChallenge = false;
+        wildDrawFourPlayer = -1;
+    }
+
+    /**
+     * Draws the given number of cards for a player, refilling the draw deck from the discard deck when needed
+     * @param player The player receiving the cards
+     * @param count Number of cards to draw
+     */
+    public void drawCards(Player player, int count) {
+        log.debug("Drawing {} cards for player {}", count, player.getUsername());
+
+        List<Card> drawnCards = cardPile.draw(count);
+        if (drawnCards.size() < count) {
+            log.warn("Only {} of {} cards could be drawn for player {}, both decks are exhausted",
+                    drawnCards.size(), count, player.getUsername());
+        }
+
+        for (Card card : drawnCards) {
+            player.drawCard(card);
+        }
+    }
+
+    public void refillDrawDeck() {
+        log.debug("Checking if draw deck needs refilling. Current size: {}", cardPile.drawPileSize());
+
+        if (cardPile.isDrawPileEmpty()) {
+            log.info("Draw deck is empty. Refilling from discard deck with {} cards", cardPile.discardPileSize());
+
+            // The last played card stays on the discard deck, the rest is shuffled into the draw deck in place
+            if (!cardPile.recycleDiscardPile()) {
+                log.warn("Both draw deck and discard deck are empty! This is an unexpected state.");
+                return;
             }
 
             log.info("Draw deck successfully refilled. New size: {}, Discard deck size: {}", 
-                    drawDeck.size(), discardDeck.size());
+                    cardPile.drawPileSize(), cardPile.discardPileSize());
         } else {
-            log.trace("Draw deck has {} cards, no need to refill", drawDeck.size());
+            log.trace("Draw deck has {} cards, no need to refill", cardPile.drawPileSize());
         }
     }
 }
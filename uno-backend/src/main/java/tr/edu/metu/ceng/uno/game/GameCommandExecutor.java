@@ -0,0 +1,119 @@
+package tr.edu.metu.ceng.uno.game;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Runs the commands of each game one after another on a single thread.
+ *
+ * Games are spread over a fixed number of single-threaded stripes by their key, so every command of a game
+ * (play, draw, challenge, state read) runs on the same thread in submission order and the engine itself
+ * needs no locks, while different games run in parallel on different stripes.
+ * Delayed commands wait on a shared timer thread and are then queued on their game's stripe like any other command.
+ */
+@Component
+@Slf4j
+public class GameCommandExecutor {
+
+    private final ExecutorService[] stripes;
+    private final Thread[] stripeThreads;
+    private final ScheduledExecutorService timer;
+
+    public GameCommandExecutor(@Value("${uno.game.executor-threads:0}") int threads) {
+        int stripeCount = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.stripes = new ExecutorService[stripeCount];
+        this.stripeThreads = new Thread[stripeCount];
+
+        for (int i = 0; i < stripeCount; i++) {
+            int stripe = i;
+            stripes[i] = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "game-" + stripe);
+                thread.setDaemon(true);
+                stripeThreads[stripe] = thread;
+                return thread;
+            });
+        }
+        this.timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "game-timer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        log.info("GameCommandExecutor initialized with {} stripes", stripeCount);
+    }
+
+    /**
+     * Runs a command on the thread of the given game and waits for its result.
+     * Commands issued from within a command of a game on the same stripe run inline.
+     * @param gameKey Identifier of the game, the game ID or the username of a singleplayer game
+     * @param command The command to run
+     * @return The command's result
+     */
+    public <T> T execute(String gameKey, Supplier<T> command) {
+        int stripe = Math.floorMod(gameKey.hashCode(), stripes.length);
+        if (Thread.currentThread() == stripeThreads[stripe]) {
+            return command.get();
+        }
+
+        Future<T> result = stripes[stripe].submit(command::get);
+        try {
+            return result.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException("Game command failed", cause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for game command", e);
+        }
+    }
+
+    public void run(String gameKey, Runnable command) {
+        execute(gameKey, () -> {
+            command.run();
+            return null;
+        });
+    }
+
+    /**
+     * Runs a command on the thread of the given game after a delay, without waiting for it.
+     * Failures of the command are logged.
+     * @param gameKey Identifier of the game
+     * @param delay Time to wait before queueing the command
+     * @param command The command to run
+     */
+    public void schedule(String gameKey, Duration delay, Runnable command) {
+        int stripe = Math.floorMod(gameKey.hashCode(), stripes.length);
+        timer.schedule(() -> stripes[stripe].execute(() -> {
+            try {
+                command.run();
+            } catch (RuntimeException e) {
+                log.error("Scheduled command of game {} failed: {}", gameKey, e.getMessage(), e);
+            }
+        }), delay.toNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        timer.shutdownNow();
+        for (ExecutorService stripe : stripes) {
+            stripe.shutdown();
+        }
+        log.info("GameCommandExecutor shut down");
+    }
+}
@@ -0,0 +1,108 @@
+package tr.edu.metu.ceng.uno.game;
+
+import tr.edu.metu.ceng.uno.dto.CardDTO;
+import tr.edu.metu.ceng.uno.dto.GameStateDTO;
+import tr.edu.metu.ceng.uno.dto.StateChangeDTO;
+import tr.edu.metu.ceng.uno.dto.StateChangeDTO.ChangeType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Computes the changes between two consecutive published states of a game
+ */
+public class GameStateDiff {
+
+    /**
+     * @param previous The state the changes apply to
+     * @param next The state after the changes
+     * @return The changes turning previous into next, or null when a hand changed in a way that is not
+     *         a removal of one card followed by appended cards and the full state has to be sent instead
+     */
+    public static List<StateChangeDTO> diff(GameStateDTO previous, GameStateDTO next) {
+        List<StateChangeDTO> changes = new ArrayList<>();
+
+        for (int playerNo = 0; playerNo < next.getPlayers().size(); playerNo++) {
+            if (!diffHand(playerNo, previous.getPlayers().get(playerNo).getDeck(), next.getPlayers().get(playerNo).getDeck(), changes)) {
+                return null;
+            }
+        }
+
+        if (!sameCard(previous.getLastPlayedCard(), next.getLastPlayedCard())) {
+            StateChangeDTO change = new StateChangeDTO();
+            change.setType(ChangeType.LAST_PLAYED_CARD);
+            change.setCard(next.getLastPlayedCard());
+            changes.add(change);
+        }
+        if (!Objects.equals(previous.getCurrentColor(), next.getCurrentColor())) {
+            changes.add(StateChangeDTO.of(ChangeType.CURRENT_COLOR, next.getCurrentColor()));
+        }
+        if (!Objects.equals(previous.getDirection(), next.getDirection())) {
+            changes.add(StateChangeDTO.of(ChangeType.DIRECTION, next.getDirection()));
+        }
+        if (previous.getCurrentPlayerNo() != next.getCurrentPlayerNo()) {
+            StateChangeDTO change = new StateChangeDTO();
+            change.setType(ChangeType.CURRENT_PLAYER);
+            change.setPlayerNo(next.getCurrentPlayerNo());
+            changes.add(change);
+        }
+        if (previous.getDrawDeckSize() != next.getDrawDeckSize()) {
+            StateChangeDTO change = new StateChangeDTO();
+            change.setType(ChangeType.DRAW_DECK_SIZE);
+            change.setCount(next.getDrawDeckSize());
+            changes.add(change);
+        }
+        if (previous.isCanChallenge() != next.isCanChallenge()) {
+            changes.add(StateChangeDTO.of(ChangeType.CAN_CHALLENGE, String.valueOf(next.isCanChallenge())));
+        }
+        if (previous.isCanPlayWildDrawFour() != next.isCanPlayWildDrawFour()) {
+            changes.add(StateChangeDTO.of(ChangeType.CAN_PLAY_WILD_DRAW_FOUR, String.valueOf(next.isCanPlayWildDrawFour())));
+        }
+        if (!previous.isGameFinished() && next.isGameFinished()) {
+            changes.add(StateChangeDTO.of(ChangeType.GAME_FINISHED, next.getWinner()));
+        }
+
+        return changes;
+    }
+
+    /**
+     * Adds the changes of one hand: at most one removed card, then the cards appended to the end
+     * @return false if the new hand can not be reached this way
+     */
+    private static boolean diffHand(int playerNo, List<CardDTO> previous, List<CardDTO> next, List<StateChangeDTO> changes) {
+        int prefix = 0;
+        while (prefix < previous.size() && prefix < next.size() && sameCard(previous.get(prefix), next.get(prefix))) {
+            prefix++;
+        }
+
+        int kept = previous.size();
+        if (prefix < previous.size()) {
+            // The card at prefix was removed, the rest of the previous hand has to follow it unchanged
+            kept = previous.size() - 1;
+            if (next.size() < kept) {
+                return false;
+            }
+            for (int i = prefix; i < kept; i++) {
+                if (!sameCard(previous.get(i + 1), next.get(i))) {
+                    return false;
+                }
+            }
+            changes.add(StateChangeDTO.cardRemoved(playerNo, prefix));
+        }
+
+        if (next.size() > kept) {
+            changes.add(StateChangeDTO.cardsDrawn(playerNo, List.copyOf(next.subList(kept, next.size()))));
+        }
+        return true;
+    }
+
+    private static boolean sameCard(CardDTO first, CardDTO second) {
+        if (first == null || second == null) {
+            return first == second;
+        }
+        return Objects.equals(first.getType(), second.getType())
+                && Objects.equals(first.getColor(), second.getColor())
+                && Objects.equals(first.getNumber(), second.getNumber());
+    }
+}
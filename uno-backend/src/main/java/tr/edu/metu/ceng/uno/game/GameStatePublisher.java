@@ -0,0 +1,139 @@
+package tr.edu.metu.ceng.uno.game;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+import tr.edu.metu.ceng.uno.dto.GameStateDTO;
+import tr.edu.metu.ceng.uno.dto.PlayerDTO;
+import tr.edu.metu.ceng.uno.dto.PlayerGameStateDTO;
+import tr.edu.metu.ceng.uno.dto.StateChangeDTO;
+import tr.edu.metu.ceng.uno.player.ComputerPlayer;
+import tr.edu.metu.ceng.uno.websocket.MultiplayerMessage;
+
+import java.util.List;
+
+/**
+ * Sends published game states to the players of a multiplayer game.
+ *
+ * Every move is sent as a STATE_DELTA on the game topic, numbered with the version of the state it leads to.
+ * Cards drawn by a player are only sent to that player, on {@value #DRAWN_CARDS_DESTINATION}, before the delta.
+ * A client that sees a gap in the versions asks for its full state, which is sent on {@value #GAME_STATE_DESTINATION}:
+ * its own cards and the hand sizes of the opponents, with the part shared by all players written once per state.
+ * Computer players are played by the server, nothing is sent to their seats.
+ */
+@Component
+@Slf4j
+public class GameStatePublisher {
+
+    public static final String GAME_STATE_DESTINATION = "/queue/game";
+    public static final String DRAWN_CARDS_DESTINATION = "/queue/game-cards";
+
+    private final SimpMessagingTemplate messagingTemplate;
+
+    public GameStatePublisher(SimpMessagingTemplate messagingTemplate) {
+        this.messagingTemplate = messagingTemplate;
+    }
+
+    /**
+     * Publishes a new snapshot of the game and sends its changes to the players.
+     * Must run on the game's executor stripe, like every other command of the game.
+     * @param gameId The game ID
+     * @param game The game a move was made in
+     * @return The published state
+     */
+    public GameStateDTO publish(String gameId, Game game) {
+        GameStateDTO previous = game.getSnapshot();
+        GameStateDTO next = game.publishSnapshot();
+
+        List<StateChangeDTO> changes = previous != null ? GameStateDiff.diff(previous, next) : null;
+        if (changes == null) {
+            log.debug("State version {} of game {} can not be sent as a delta, sending full states", next.getVersion(), gameId);
+            sendGameState(gameId, game, next);
+            return next;
+        }
+
+        List<PlayerDTO> players = next.getPlayers();
+        for (StateChangeDTO change : changes) {
+            if (change.getType() == StateChangeDTO.ChangeType.CARDS_DRAWN
+                    && !(game.getPlayers().get(change.getPlayerNo()) instanceof ComputerPlayer)) {
+                messagingTemplate.convertAndSendToUser(players.get(change.getPlayerNo()).getUsername(), DRAWN_CARDS_DESTINATION,
+                        deltaMessage(gameId, next.getVersion(), List.of(change)));
+            }
+        }
+
+        List<StateChangeDTO> publicChanges = changes.stream().map(StateChangeDTO::withoutCards).toList();
+        messagingTemplate.convertAndSend("/topic/game/" + gameId, deltaMessage(gameId, next.getVersion(), publicChanges));
+        log.debug("Sent delta to state version {} of game {} with {} changes", next.getVersion(), gameId, changes.size());
+
+        return next;
+    }
+
+    /**
+     * Sends each human player of a game their full view of the given state
+     * @param gameId The game ID
+     * @param game The game, whose computer players are skipped
+     * @param gameState Complete state of the game, as published by {@link Game#publishSnapshot()}
+     */
+    public void sendGameState(String gameId, Game game, GameStateDTO gameState) {
+        List<PlayerDTO> players = gameState.getPlayers();
+        for (int i = 0; i < players.size(); i++) {
+            if (!(game.getPlayers().get(i) instanceof ComputerPlayer)) {
+                messagingTemplate.convertAndSendToUser(players.get(i).getUsername(), GAME_STATE_DESTINATION,
+                        createPlayerGameState(gameId, gameState, i));
+            }
+        }
+        log.debug("Pushed state version {} of game {} to {} players", gameState.getVersion(), gameId, players.size());
+    }
+
+    /**
+     * Sends a single player of a game their full view of the given state
+     * @param gameId The game ID
+     * @param gameState Complete state of the game, as published by {@link Game#publishSnapshot()}
+     * @param username The player to send the state to
+     * @throws IllegalArgumentException if the player is not in the game
+     */
+    public void sendGameState(String gameId, GameStateDTO gameState, String username) {
+        messagingTemplate.convertAndSendToUser(username, GAME_STATE_DESTINATION,
+                createPlayerGameState(gameId, gameState, getPlayerNo(gameId, gameState, username)));
+        log.debug("Pushed state version {} of game {} to player {}", gameState.getVersion(), gameId, username);
+    }
+
+    /**
+     * @param gameId The game ID
+     * @param gameState Complete state of the game, as published by {@link Game#publishSnapshot()}
+     * @param username The player whose seat is looked up
+     * @return The seat of the player in the game
+     * @throws IllegalArgumentException if the player is not in the game
+     */
+    public int getPlayerNo(String gameId, GameStateDTO gameState, String username) {
+        List<PlayerDTO> players = gameState.getPlayers();
+        for (int i = 0; i < players.size(); i++) {
+            if (players.get(i).getUsername().equals(username)) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("Player " + username + " is not in game " + gameId);
+    }
+
+    /**
+     * Creates the view of the given state of a single player of the game: their own cards and the hand sizes of the opponents.
+     * The shared part is written once per state and embedded as is into the view of every player.
+     * @param gameId The game ID
+     * @param gameState Complete state of the game, as published by {@link Game#publishSnapshot()}
+     * @param playerNo The seat of the player whose view is created
+     * @return The player's view of the state
+     */
+    public PlayerGameStateDTO createPlayerGameState(String gameId, GameStateDTO gameState, int playerNo) {
+        return new PlayerGameStateDTO(gameId, gameState.getSharedStateJson(), playerNo,
+                gameState.getPlayers().get(playerNo).getDeck(), gameState.getVersion());
+    }
+
+    private static MultiplayerMessage deltaMessage(String gameId, long version, List<StateChangeDTO> changes) {
+        return MultiplayerMessage.builder()
+                .type(MultiplayerMessage.MessageType.STATE_DELTA)
+                .gameId(gameId)
+                .version(version)
+                .changes(changes)
+                .build();
+    }
+}
@@ -0,0 +1,187 @@
+package tr.edu.metu.ceng.uno.game;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+/**
+ * Expires multiplayer games that had no activity for the configured idle TTL.
+ *
+ * Games are kept on a hashed timing wheel with one slot per tick, so a tick only looks at the games that were due
+ * in the slots it passed, never at every live game. Recording activity only writes the game's last activity time;
+ * a game that was active since it was put in its slot is moved to the slot of its new deadline when that slot
+ * comes up. Deadlines more than a rotation away are moved the same way, so the wheel size is only a tuning knob.
+ */
+@Component
+@Slf4j
+public class IdleGameReaper {
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Queue<Entry>[] wheel;
+    private final int mask;
+
+    private final long idleTtlNanos;
+    private final long tickNanos;
+    // Source of the current time in nanoseconds, System.nanoTime outside of tests
+    private final LongSupplier ticker;
+    private final long startedAt;
+    // Last tick whose slot was processed
+    private volatile long currentTick;
+
+    private final LongAdder reclaimedGames = new LongAdder();
+    private volatile Consumer<String> expiryListener = gameId -> {
+    };
+
+    @Autowired
+    public IdleGameReaper(@Value("${uno.multiplayer.idle-ttl:10m}") Duration idleTtl,
+                          @Value("${uno.multiplayer.reaper-interval:1000}") long tickMillis) {
+        this(idleTtl, tickMillis, System::nanoTime);
+    }
+
+    /**
+     * @param ticker Source of the current time in nanoseconds
+     */
+    @SuppressWarnings("unchecked")
+    public IdleGameReaper(Duration idleTtl, long tickMillis, LongSupplier ticker) {
+        if (idleTtl.isNegative() || idleTtl.isZero() || tickMillis < 1) {
+            throw new IllegalArgumentException("Idle TTL and reaper interval must be positive");
+        }
+        this.idleTtlNanos = idleTtl.toNanos();
+        this.tickNanos = Duration.ofMillis(tickMillis).toNanos();
+        this.ticker = ticker;
+        this.startedAt = ticker.getAsLong();
+
+        // Enough slots for one idle TTL, rounded up to a power of two
+        long ticksPerTtl = Math.min(idleTtlNanos / tickNanos + 1, 1 << 16);
+        int size = Integer.highestOneBit((int) ticksPerTtl - 1) << 1;
+        this.wheel = new Queue[Math.max(size, 2)];
+        this.mask = wheel.length - 1;
+        for (int i = 0; i < wheel.length; i++) {
+            wheel[i] = new ConcurrentLinkedQueue<>();
+        }
+        log.info("IdleGameReaper initialized with idle TTL {}, {} ms ticks and {} slots", idleTtl, tickMillis, wheel.length);
+    }
+
+    /**
+     * Sets the callback that ends an expired game, called on the reaper's tick
+     * @param listener Receives the ID of the expired game
+     */
+    public void onExpired(Consumer<String> listener) {
+        this.expiryListener = listener;
+    }
+
+    /**
+     * Starts tracking the activity of a new game
+     * @param gameId The game ID
+     */
+    public void register(String gameId) {
+        Entry entry = new Entry(gameId, ticker.getAsLong());
+        entries.put(gameId, entry);
+        schedule(entry);
+    }
+
+    /**
+     * Records activity in a game, postponing its expiry by the idle TTL
+     * @param gameId The game ID
+     */
+    public void touch(String gameId) {
+        Entry entry = entries.get(gameId);
+        if (entry != null) {
+            entry.lastActivity = ticker.getAsLong();
+        }
+    }
+
+    /**
+     * Stops tracking a game that ended, its slot on the wheel is dropped when the slot comes up
+     * @param gameId The game ID
+     */
+    public void unregister(String gameId) {
+        entries.remove(gameId);
+    }
+
+    public int getLiveGames() {
+        return entries.size();
+    }
+
+    public long getReclaimedGames() {
+        return reclaimedGames.sum();
+    }
+
+    /**
+     * Processes the slots of the ticks passed since the last run and expires the idle games found in them
+     */
+    @Scheduled(fixedRateString = "${uno.multiplayer.reaper-interval:1000}")
+    public synchronized void reapIdleGames() {
+        long now = ticker.getAsLong();
+        long nowTick = (now - startedAt) / tickNanos;
+        // After a long pause every slot is due, process each one once
+        long fromTick = Math.max(currentTick + 1, nowTick - mask);
+
+        int expired = 0;
+        for (long tick = fromTick; tick <= nowTick; tick++) {
+            currentTick = tick;
+            Queue<Entry> slot = wheel[(int) (tick & mask)];
+            for (int pending = slot.size(); pending > 0; pending--) {
+                Entry entry = slot.poll();
+                if (entry == null) {
+                    break;
+                }
+                if (entries.get(entry.gameId) != entry) {
+                    continue; // Ended
+                }
+
+                if (now - entry.lastActivity < idleTtlNanos) {
+                    schedule(entry);
+                } else if (entries.remove(entry.gameId, entry)) {
+                    expire(entry.gameId, now - entry.lastActivity);
+                    expired++;
+                }
+            }
+        }
+
+        if (expired > 0) {
+            log.info("Expired {} idle multiplayer games. Live games: {}", expired, entries.size());
+        }
+    }
+
+    private void expire(String gameId, long idleNanos) {
+        reclaimedGames.increment();
+        log.info("Game {} expired after {} without activity", gameId, Duration.ofNanos(idleNanos));
+        try {
+            expiryListener.accept(gameId);
+        } catch (RuntimeException e) {
+            log.error("Could not end expired game {}: {}", gameId, e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Puts an entry in the slot of its deadline, or of the next tick if the deadline has passed.
+     * An entry put in a slot just as the tick passes it waits for the next rotation.
+     */
+    private void schedule(Entry entry) {
+        long deadlineTick = (entry.lastActivity + idleTtlNanos - startedAt + tickNanos - 1) / tickNanos;
+        long tick = Math.max(deadlineTick, currentTick + 1);
+        wheel[(int) (tick & mask)].offer(entry);
+    }
+
+    private static final class Entry {
+        private final String gameId;
+        private volatile long lastActivity;
+
+        private Entry(String gameId, long lastActivity) {
+            this.gameId = gameId;
+            this.lastActivity = lastActivity;
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package tr.edu.metu.ceng.uno.game;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.messaging.handler.annotation.MessageMapping;
 import org.springframework.messaging.handler.annotation.SendTo;
@@ -8,11 +10,17 @@ import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import tr.edu.metu.ceng.uno.card.CardColor;
 import tr.edu.metu.ceng.uno.dto.GameStateDTO;
+import tr.edu.metu.ceng.uno.dto.PlayerGameStateDTO;
+import tr.edu.metu.ceng.uno.matchmaking.MatchmakingStatistics;
 import tr.edu.metu.ceng.uno.websocket.MultiplayerMessage;
 
+import java.security.Principal;
+
 @RestController
 @RequestMapping("/api/multiplayer")
 @Slf4j
@@ -31,13 +39,20 @@ public class MultiplayerController {
      * REST endpoint to join a multiplayer room
      *
      * @param username Player username
-     * @return gameId if a game has started, or a waiting message
+     * @param players Number of players of the table to join, 2 to 4
+     * @return gameId if the player is already in a game, or a waiting message
      */
     @GetMapping("/join/{username}")
-    public ResponseEntity<String> joinRoom(@PathVariable String username) {
-        log.info("REST API: Player {} attempting to join multiplayer room", username);
+    public ResponseEntity<String> joinRoom(@PathVariable String username, @RequestParam(defaultValue = "2") int players) {
+        log.info("REST API: Player {} attempting to join multiplayer room of {}", username, players);
 
-        String gameId = multiplayerGameService.joinRoom(username);
+        String gameId;
+        try {
+            gameId = multiplayerGameService.joinRoom(username, players);
+        } catch (IllegalArgumentException e) {
+            log.warn("Player {} requested an invalid table: {}", username, e.getMessage());
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
 
         if (gameId != null) {
             log.info("Player {} joined game with ID: {}", username, gameId);
@@ -49,21 +64,60 @@ public class MultiplayerController {
     }
 
     /**
-     * REST endpoint to get game state for a specific game
+     * REST endpoint to get the matchmaking queue depths and time-to-match figures
+     *
+     * @return Current matchmaking statistics
+     */
+    @GetMapping("/matchmaking")
+    public ResponseEntity<MatchmakingStatistics> getMatchmakingStatistics() {
+        return ResponseEntity.ok(multiplayerGameService.getMatchmakingStatistics());
+    }
+
+    /**
+     * REST endpoint to get the number of live multiplayer games and of the idle games reclaimed
+     *
+     * @return Current multiplayer game statistics
+     */
+    @GetMapping("/games")
+    public ResponseEntity<MultiplayerGameStatistics> getGameStatistics() {
+        return ResponseEntity.ok(multiplayerGameService.getGameStatistics());
+    }
+
+    /**
+     * REST endpoint to get the state of a game as seen by the authenticated player: their own cards and the
+     * hand sizes of the opponents.
+     * The version of the published state and the seat of the player form its ETag, checked before the view is built:
+     * a request whose If-None-Match holds the current one is answered with 304 Not Modified and nothing is written.
+     * Otherwise the view embeds the shared part of the state, written once per version.
      *
      * @param gameId The game ID
-     * @return GameStateDTO with the current game state
+     * @param principal The authenticated player, required by the security configuration
+     * @param request The request, checked for If-None-Match
+     * @return PlayerGameStateDTO with the player's view of the current game state
      */
     @GetMapping("/game/{gameId}")
-    public ResponseEntity<GameStateDTO> getGameState(@PathVariable String gameId) {
+    public ResponseEntity<PlayerGameStateDTO> getGameState(@PathVariable String gameId, Principal principal, WebRequest request) {
         log.debug("REST API: Getting game state for game ID: {}", gameId);
 
         GameStateDTO gameState = multiplayerGameService.getGameState(gameId);
+        int playerNo;
+        try {
+            playerNo = multiplayerGameService.getPlayerNo(gameId, gameState, principal.getName());
+        } catch (IllegalArgumentException e) {
+            log.warn("Player {} requested the state of game {} without playing in it", principal.getName(), gameId);
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
 
-        log.debug("Game state retrieved for game ID: {}. Current player: {}, Players count: {}", 
-                gameId, gameState.getCurrentPlayerNo(), gameState.getPlayers().size());
+        String eTag = gameState.getVersion() + "-" + playerNo;
+        if (request.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
 
-        return ResponseEntity.ok(gameState);
+        log.debug("Game state version {} retrieved for player {} of game ID: {}", gameState.getVersion(), playerNo, gameId);
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .cacheControl(CacheControl.noCache())
+                .body(multiplayerGameService.getPlayerGameState(gameId, gameState, playerNo));
     }
 
     /**
@@ -181,5 +235,20 @@ public class MultiplayerController {
         multiplayerGameService.rejectChallenge(message.getGameId(), message.getPlayerIndex());
     }
 
+    /**
+     * WebSocket endpoint for a client that missed a state delta, its full game state is sent to its queue
+     *
+     * @param message The state request message
+     * @param principal The user of the STOMP session
+     */
+    @MessageMapping("/game/state")
+    public void handleStateRequest(MultiplayerMessage message, Principal principal) {
+        if (principal == null) {
+            log.warn("WebSocket: Anonymous session requested the state of game {}", message.getGameId());
+            return;
+        }
+        multiplayerGameService.sendGameState(message.getGameId(), principal.getName());
+    }
+
 
 } 
@@ -1,23 +1,31 @@
 package tr.edu.metu.ceng.uno.game;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
 import tr.edu.metu.ceng.uno.card.Card;
 import tr.edu.metu.ceng.uno.card.CardColor;
 import tr.edu.metu.ceng.uno.card.CardType;
-import tr.edu.metu.ceng.uno.card.NumberCard;
 import tr.edu.metu.ceng.uno.dto.GameStateDTO;
+import tr.edu.metu.ceng.uno.dto.PlayerGameStateDTO;
 import tr.edu.metu.ceng.uno.history.GameHistoryService;
-import tr.edu.metu.ceng.uno.history.request.CreateGameRecordRequest;
+import tr.edu.metu.ceng.uno.history.MatchResult;
+import tr.edu.metu.ceng.uno.leaderboard.LeaderboardService;
+import tr.edu.metu.ceng.uno.matchmaking.MatchmakingService;
+import tr.edu.metu.ceng.uno.matchmaking.MatchmakingStatistics;
+import tr.edu.metu.ceng.uno.player.ComputerPlayer;
 import tr.edu.metu.ceng.uno.player.HumanPlayer;
 import tr.edu.metu.ceng.uno.player.Player;
 import tr.edu.metu.ceng.uno.util.CardUtil;
 import tr.edu.metu.ceng.uno.websocket.MultiplayerMessage;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -25,11 +33,18 @@ import java.util.concurrent.ConcurrentHashMap;
 @Slf4j
 public class MultiplayerGameService {
 
+    // Per-player destination of the game start message
+    public static final String LOBBY_DESTINATION = "/queue/lobby";
+
     private final SimpMessagingTemplate messagingTemplate;
     private final GameHistoryService gameHistoryService;
-
-    // Queue of players waiting for multiplayer games
-    private final List<String> waitingPlayers = new ArrayList<>();
+    private final GameCommandExecutor gameExecutor;
+    private final GameStatePublisher gameStatePublisher;
+    private final MatchmakingService matchmakingService;
+    private final LeaderboardService leaderboardService;
+    private final IdleGameReaper idleGameReaper;
+    // Pause before each computer player's move, so players can follow the moves of the table
+    private final Duration computerTurnDelay;
 
     // Map of active multiplayer games: gameId -> Game
     private final Map<String, Game> multiplayerGames = new ConcurrentHashMap<>();
@@ -37,77 +52,93 @@ public class MultiplayerGameService {
     // Map of players to game IDs: username -> gameId
     private final Map<String, String> playerGameMap = new ConcurrentHashMap<>();
 
-    public MultiplayerGameService(SimpMessagingTemplate messagingTemplate, GameHistoryService gameHistoryService) {
+    // Players whose connection dropped, the server covers their turns until they reconnect or their seat is released
+    private final Set<String> disconnectedPlayers = ConcurrentHashMap.newKeySet();
+
+    public MultiplayerGameService(SimpMessagingTemplate messagingTemplate, GameHistoryService gameHistoryService,
+                                  GameCommandExecutor gameExecutor, GameStatePublisher gameStatePublisher,
+                                  MatchmakingService matchmakingService, LeaderboardService leaderboardService,
+                                  IdleGameReaper idleGameReaper,
+                                  @Value("${uno.multiplayer.computer-turn-delay:1s}") Duration computerTurnDelay) {
         this.messagingTemplate = messagingTemplate;
         this.gameHistoryService = gameHistoryService;
+        this.gameExecutor = gameExecutor;
+        this.gameStatePublisher = gameStatePublisher;
+        this.matchmakingService = matchmakingService;
+        this.leaderboardService = leaderboardService;
+        this.idleGameReaper = idleGameReaper;
+        this.computerTurnDelay = computerTurnDelay;
+        matchmakingService.onTableFormed(this::createMultiplayerGame);
+        idleGameReaper.onExpired(this::expireGame);
         log.info("MultiplayerGameService initialized");
-        log.debug("Active games: {}, Waiting players: {}", multiplayerGames.size(), waitingPlayers.size());
     }
 
     /**
-     * Process joining a multiplayer game room
+     * Process joining a multiplayer game room with a table of two players
      * @param username The username of the player joining
-     * @return The gameId if game started, null if waiting
+     * @return The gameId if the player is already in a game, null if waiting
      */
     public String joinRoom(String username) {
-        log.info("Player {} attempting to join multiplayer room", username);
-
-        synchronized (waitingPlayers) {
-            // Check if player is already in a game
-            if (playerGameMap.containsKey(username)) {
-                String existingGameId = playerGameMap.get(username);
-                log.info("Player {} is already in game {}", username, existingGameId);
-                return existingGameId;
-            }
-
-            // Check if player is already waiting
-            if (waitingPlayers.contains(username)) {
-                log.info("Player {} is already in waiting room", username);
-                return null; // Already waiting
-            }
-
-            // Add player to waiting list
-            waitingPlayers.add(username);
-            log.info("Player {} added to waiting room. Total waiting: {}", username, waitingPlayers.size());
+        return joinRoom(username, MatchmakingService.MIN_TABLE_SIZE);
+    }
 
-            // Send waiting message
-            messagingTemplate.convertAndSend("/topic/lobby", 
-                MultiplayerMessage.builder()
-                    .type(MultiplayerMessage.MessageType.ROOM_JOIN)
-                    .username(username)
-                    .content("Player " + username + " joined the waiting room")
-                    .build());
-            log.debug("Sent room join message to lobby for player {}", username);
+    /**
+     * Process joining a multiplayer game room.
+     * The player waits for matchmaking to form a table, whose game start is sent to the player's /user/queue/lobby.
+     * @param username The username of the player joining
+     * @param tableSize Number of players of the table to join, 2 to 4
+     * @return The gameId if the player is already in a game, null if waiting
+     */
+    public String joinRoom(String username, int tableSize) {
+        log.info("Player {} attempting to join a multiplayer room of {}", username, tableSize);
+
+        // Check if player is already in a game
+        String existingGameId = playerGameMap.get(username);
+        if (existingGameId != null) {
+            log.info("Player {} is already in game {}", username, existingGameId);
+            return existingGameId;
+        }
 
-            // If we have 2 players waiting, start a new game
-            if (waitingPlayers.size() >= 2) {
-                String player1 = waitingPlayers.remove(0);
-                String player2 = waitingPlayers.remove(0);
+        // Check if player is already waiting
+        if (matchmakingService.isWaiting(username)
+                || !matchmakingService.enqueue(username, tableSize, leaderboardService.getScore(username))) {
+            log.info("Player {} is already in waiting room", username);
+            return null; // Already waiting
+        }
 
-                log.info("Starting new game with players {} and {}", player1, player2);
-                return createMultiplayerGame(player1, player2);
-            }
+        // Send waiting message
+        messagingTemplate.convertAndSend("/topic/lobby",
+            MultiplayerMessage.builder()
+                .type(MultiplayerMessage.MessageType.ROOM_JOIN)
+                .username(username)
+                .content("Player " + username + " joined the waiting room")
+                .build());
+        log.debug("Sent room join message to lobby for player {}", username);
 
-            log.info("Player {} is now waiting for another player", username);
-            return null; // Still waiting for another player
-        }
+        log.info("Player {} is now waiting for a table of {}", username, tableSize);
+        return null; // Waiting for matchmaking
     }
 
     /**
-     * Creates a new multiplayer game with two human players
-     * @param player1 First player's username
-     * @param player2 Second player's username
+     * Creates a new multiplayer game with the human players of a table formed by matchmaking.
+     * Seats left over by matchmaking are taken by computer players, whose turns are played by the server.
+     * @param usernames Usernames of the human players, in seat order
+     * @param seats Number of seats of the table
      * @return The game ID
      */
-    private String createMultiplayerGame(String player1, String player2) {
-        log.info("Creating new multiplayer game for players {} and {}", player1, player2);
+    private String createMultiplayerGame(List<String> usernames, int seats) {
+        log.info("Creating new multiplayer game with {} seats for players {}", seats, usernames);
 
         String gameId = UUID.randomUUID().toString();
         log.debug("Generated game ID: {}", gameId);
 
         List<Player> players = new ArrayList<>();
-        players.add(new HumanPlayer(player1));
-        players.add(new HumanPlayer(player2));
+        for (String username : usernames) {
+            players.add(new HumanPlayer(username));
+        }
+        for (int i = 1; players.size() < seats; i++) {
+            players.add(new ComputerPlayer("Computer " + i));
+        }
 
         log.debug("Creating game instance with {} players", players.size());
         Game game = new Game(players);
@@ -117,41 +148,57 @@ public class MultiplayerGameService {
 
         log.debug("Initializing first card");
         game.initializeFirstCard();
+        GameStateDTO gameState = game.publishSnapshot();
 
         // Store the game in our map
         multiplayerGames.put(gameId, game);
+        idleGameReaper.register(gameId);
         log.debug("Game added to active games map. Total active games: {}", multiplayerGames.size());
 
         // Map players to this game
-        playerGameMap.put(player1, gameId);
-        playerGameMap.put(player2, gameId);
+        for (String username : usernames) {
+            playerGameMap.put(username, gameId);
+        }
         log.debug("Players mapped to game ID in player-game map");
 
-        // Notify both players that the game has started
-        GameStateDTO gameState = GameStateDTO.createGameStateDTO(game);
+        // Notify the players that the game has started
         log.debug("Game state DTO created. Current player: {}", gameState.getCurrentPlayerNo());
 
         // Create the game start message
         MultiplayerMessage gameStartMessage = MultiplayerMessage.builder()
             .type(MultiplayerMessage.MessageType.GAME_START)
             .gameId(gameId)
-            .content("Game started with players: " + player1 + " and " + player2)
+            .content("Game started with players: " + String.join(", ", usernames))
             .build();
 
-        // Send to both the lobby topic (where waiting players are listening)
-        // and the game-specific topic for future messages
-        log.debug("Sending game start message to lobby and game-specific topics");
-        messagingTemplate.convertAndSend("/topic/lobby", gameStartMessage);
+        // Send to each player's own lobby queue, as many tables start at once,
+        // and to the game-specific topic for future messages
+        log.debug("Sending game start message to the players and the game-specific topic");
+        for (String username : usernames) {
+            messagingTemplate.convertAndSendToUser(username, LOBBY_DESTINATION, gameStartMessage);
+        }
         messagingTemplate.convertAndSend("/topic/game/" + gameId, gameStartMessage);
+        gameStatePublisher.sendGameState(gameId, game, gameState);
+        scheduleComputerTurn(gameId, game);
 
-        log.info("Multiplayer game {} created successfully for players {} and {}", gameId, player1, player2);
+        log.info("Multiplayer game {} created successfully for players {}", gameId, usernames);
         return gameId;
     }
 
+    public MatchmakingStatistics getMatchmakingStatistics() {
+        return matchmakingService.getStatistics();
+    }
+
+    public MultiplayerGameStatistics getGameStatistics() {
+        return new MultiplayerGameStatistics(multiplayerGames.size(), playerGameMap.size(), disconnectedPlayers.size(),
+                idleGameReaper.getReclaimedGames());
+    }
+
     /**
-     * Get the current game state for a specific game
+     * Get the current game state for a specific game.
+     * Served from the game's last published snapshot without going through its executor.
      * @param gameId The game ID
-     * @return GameStateDTO containing the current game state
+     * @return GameStateDTO containing the current game state and its version
      */
     public GameStateDTO getGameState(String gameId) {
         log.debug("Getting game state for game ID: {}", gameId);
@@ -162,13 +209,51 @@ public class MultiplayerGameService {
             throw new IllegalStateException("No game found with ID: " + gameId);
         }
 
-        GameStateDTO gameState = GameStateDTO.createGameStateDTO(game);
-        log.debug("Game state retrieved for game {}. Current player: {}, Players count: {}", 
-                gameId, gameState.getCurrentPlayerNo(), gameState.getPlayers().size());
+        GameStateDTO gameState = game.getSnapshot();
+        log.debug("Game state version {} retrieved for game {}. Current player: {}, Players count: {}", 
+                gameState.getVersion(), gameId, gameState.getCurrentPlayerNo(), gameState.getPlayers().size());
 
         return gameState;
     }
 
+    /**
+     * Get the seat of a player in a state of their game
+     * @param gameId The game ID
+     * @param gameState A published state of the game, from {@link #getGameState(String)}
+     * @param username The player
+     * @return The seat of the player
+     * @throws IllegalArgumentException if the player is not in the game
+     */
+    public int getPlayerNo(String gameId, GameStateDTO gameState, String username) {
+        return gameStatePublisher.getPlayerNo(gameId, gameState, username);
+    }
+
+    /**
+     * Get a state of a game as seen by one of its players: their own cards and the hand sizes of the opponents.
+     * The part shared by all players is written once per state.
+     * @param gameId The game ID
+     * @param gameState A published state of the game, from {@link #getGameState(String)}
+     * @param playerNo The seat of the player, from {@link #getPlayerNo(String, GameStateDTO, String)}
+     * @return The player's view of the game state and its version
+     */
+    public PlayerGameStateDTO getPlayerGameState(String gameId, GameStateDTO gameState, int playerNo) {
+        return gameStatePublisher.createPlayerGameState(gameId, gameState, playerNo);
+    }
+
+    /**
+     * Sends a player the full current state of their game, for a client that missed a state delta.
+     * Served from the game's last published snapshot without going through its executor.
+     * @param gameId The game ID
+     * @param username The player requesting the state
+     */
+    public void sendGameState(String gameId, String username) {
+        log.debug("Player {} requested the full state of game {}", username, gameId);
+        if (!gameId.equals(playerGameMap.get(username))) {
+            throw new IllegalArgumentException("Player " + username + " is not in game " + gameId);
+        }
+        gameStatePublisher.sendGameState(gameId, getGameState(gameId), username);
+    }
+
     /**
      * Process drawing a card in multiplayer mode
      * @param gameId The game ID
@@ -177,6 +262,11 @@ public class MultiplayerGameService {
      * @return Updated game state
      */
     public GameStateDTO drawCard(String gameId, String username, int playerIndex) {
+        idleGameReaper.touch(gameId);
+        return gameExecutor.execute(gameId, () -> drawCardInGame(gameId, username, playerIndex));
+    }
+
+    private GameStateDTO drawCardInGame(String gameId, String username, int playerIndex) {
         log.info("Player {} (index: {}) attempting to draw a card in game {}", username, playerIndex, gameId);
 
         // Get the game
@@ -212,19 +302,15 @@ public class MultiplayerGameService {
 
         if (player.shouldDrawCard(game.getLastPlayedCard(), game.getCurrentCardColor())) {
             log.info("Player {} is drawing a card", username);
-            log.debug("Draw deck size before drawing: {}", game.getDrawDeck().size());
+            log.debug("Draw deck size before drawing: {}", game.getCardPile().drawPileSize());
 
-            Card cardToDraw = game.getDrawDeck().removeFirst();
+            Card cardToDraw = game.getCardPile().draw();
             log.debug("Card drawn: {} {}", cardToDraw.getCardColor(), cardToDraw.getCardType());
 
             player.drawCard(cardToDraw);
             log.debug("Card added to player {}'s deck. New deck size: {}", 
                     username, player.getDeck().size());
 
-            // Check if draw deck needs refilling
-            log.debug("Checking if draw deck needs refilling");
-            game.refillDrawDeck();
-
             // Check if the drawn card can be played
             boolean canPlayDrawnCard = CardUtil.isValidMove(
                     cardToDraw, game.getLastPlayedCard(), game.getCurrentCardColor());
@@ -240,6 +326,10 @@ public class MultiplayerGameService {
             log.info("Player {} has valid cards to play and should not draw", username);
         }
 
+        // Publish before notifying, so a player refetching on the notification sees this move
+        GameStateDTO updatedState = gameStatePublisher.publish(gameId, game);
+        log.debug("Published game state version {}", updatedState.getVersion());
+
         // Notify all players of the state change
         log.debug("Sending draw card notification to all players in game {}", gameId);
         messagingTemplate.convertAndSend("/topic/game/" + gameId, 
@@ -251,8 +341,8 @@ public class MultiplayerGameService {
                 .build());
         log.debug("Draw card notification sent");
 
-        log.debug("Getting updated game state");
-        GameStateDTO updatedState = getGameState(gameId);
+        scheduleComputerTurn(gameId, game);
+
         log.debug("Returning updated game state. Current player: {}", updatedState.getCurrentPlayerNo());
 
         return updatedState;
@@ -268,19 +358,24 @@ public class MultiplayerGameService {
      * @return Updated game state
      */
     public GameStateDTO playCard(String gameId, String username, int playerIndex, int cardIndex, CardColor cardColor) {
+        idleGameReaper.touch(gameId);
+        return gameExecutor.execute(gameId, () -> playCardInGame(gameId, username, playerIndex, cardIndex, cardColor));
+    }
+
+    private GameStateDTO playCardInGame(String gameId, String username, int playerIndex, int cardIndex, CardColor cardColor) {
         log.info("Player {} (index: {}) attempting to play card at index {} with color {} in game {}", 
                 username, playerIndex, cardIndex, cardColor, gameId);
 
         // Get the game
         Game game = multiplayerGames.get(gameId);
-        if(game.isCanChallenge()){
-            log.warn("Player {} (index: {}) attempted to play a card in a game in which challenge is active. ", username, playerIndex);
-            return getGameState(gameId);
-        }
         if (game == null) {
             log.error("No game found with ID: {}", gameId);
             throw new IllegalStateException("No game found with ID: " + gameId);
         }
+        if(game.isCanChallenge()){
+            log.warn("Player {} (index: {}) attempted to play a card in a game in which challenge is active. ", username, playerIndex);
+            return game.getSnapshot();
+        }
         log.debug("Game {} found. Current player index: {}", gameId, game.getCurrentPlayer());
 
         // Validate it's the player's turn
@@ -333,20 +428,16 @@ public class MultiplayerGameService {
         log.debug("Card removed from player {}'s deck. Remaining cards: {}", 
                 username, player.getDeck().size());
         if(cardToPlay.getCardType() == CardType.WILD_DRAW_FOUR){
-            game.setLastPlayedCardBeforeWildDrawFour(game.getLastPlayedCard());//will be used to determine challenge result
-            game.getLastPlayedCardBeforeWildDrawFour().setCardColor(game.getCurrentCardColor()); //any case of wild card handling just before wild draw four
-            game.setCanChallenge(true);
-            System.out.println("WILD_DRAW_FOUR card played and the previous card played is: " + game.getLastPlayedCardBeforeWildDrawFour().getCardType()
-                    + "/" + game.getLastPlayedCardBeforeWildDrawFour().getCardColor()  );
-            if(game.getLastPlayedCardBeforeWildDrawFour().isNumberCard())
-                System.out.println("And the value is:" + ((NumberCard)game.getLastPlayedCardBeforeWildDrawFour()).getCardNumber());
+            game.wildDrawFourPlayed(playerIndex);
+            log.debug("WILD_DRAW_FOUR played by player {} on {} {}", playerIndex,
+                    game.getCardColorBeforeWildDrawFour(), game.getLastPlayedCardBeforeWildDrawFour().getCardType());
         }
         // Set as last played card
         game.setLastPlayedCard(cardToPlay);
-        game.getDiscardDeck().add(cardToPlay);
+        game.getCardPile().discard(cardToPlay);
         log.info("Player {} played card: {} {}", 
                 username, cardToPlay.getCardColor(), cardToPlay.getCardType());
-        log.debug("Card added to discard deck. Discard deck size: {}", game.getDiscardDeck().size());
+        log.debug("Card added to discard deck. Discard deck size: {}", game.getCardPile().discardPileSize());
 
         // Handle card effects
         if (cardToPlay.getCardType() == CardType.REVERSE) {
@@ -392,8 +483,7 @@ public class MultiplayerGameService {
             log.debug("Next player is {} (index: {})", nextPlayer.getUsername(), nextPlayerIndex);
 
             log.debug("Checking if next player {} has a DRAW_TWO card", nextPlayer.getUsername());
-            boolean hasDrawTwo = nextPlayer.getDeck().stream()
-                    .anyMatch(card -> card.getCardType() == CardType.DRAW_TWO);
+            boolean hasDrawTwo = nextPlayer.hasDrawTwoCard();
             log.debug("Next player has DRAW_TWO card: {}", hasDrawTwo);
 
             if (!hasDrawTwo) {
@@ -401,14 +491,7 @@ public class MultiplayerGameService {
                 log.info("Player {} must draw {} cards (2 × {} stack)", 
                         nextPlayer.getUsername(), cardsToDraw, game.getDrawTwoStackAmount());
 
-                log.debug("Drawing {} cards for player {}", cardsToDraw, nextPlayer.getUsername());
-                for (int i = 0; i < cardsToDraw; i++) {
-                    Card cardToDraw = game.getDrawDeck().removeFirst();
-                    log.trace("Drew card {}/{}: {} {}", 
-                            (i+1), cardsToDraw, cardToDraw.getCardColor(), cardToDraw.getCardType());
-                    nextPlayer.drawCard(cardToDraw);
-                    game.refillDrawDeck();
-                }
+                game.drawCards(nextPlayer, cardsToDraw);
                 log.debug("Player {} now has {} cards", 
                         nextPlayer.getUsername(), nextPlayer.getDeck().size());
 
@@ -441,6 +524,10 @@ public class MultiplayerGameService {
             game.setNextPlayerUnconditionally();
         }
 
+        // Publish before notifying, so a player refetching on the notification sees this move
+        GameStateDTO gameStateDTO = gameStatePublisher.publish(gameId, game);
+        log.debug("Published game state version {}", gameStateDTO.getVersion());
+
         // Notify all players of the state change
         log.debug("Sending play card notification to all players in game {}", gameId);
         messagingTemplate.convertAndSend("/topic/game/" + gameId, 
@@ -454,69 +541,185 @@ public class MultiplayerGameService {
                 .build());
         log.debug("Play card notification sent");
 
-        log.debug("Getting updated game state");
-        GameStateDTO gameStateDTO = getGameState(gameId);
         log.debug("Current player after play: {}", gameStateDTO.getCurrentPlayerNo());
 
         // Check if game has ended
         log.debug("Checking if game has ended");
-        if (game.anyPlayerHasEmptyDeck()) {
-            log.info("Game {} has ended", gameId);
-            String winner = gameStateDTO.getWinner();
-
-            if (winner != null) {
-                log.info("Player {} has won the game", winner);
-
-                // Record game in history
-                log.debug("Recording win for player {}", winner);
-                CreateGameRecordRequest winGameRecordRequest = new CreateGameRecordRequest(
-                    winner,
-                    1
-                );
-                gameHistoryService.createGameRecord(winGameRecordRequest);
-                log.debug("Win recorded for player {}", winner);
-
-                // Record losses for other players
-                log.debug("Recording losses for other players");
-                game.getPlayers().stream()
-                    .map(Player::getUsername)
-                    .filter(p -> !p.equals(winner))
-                    .forEach(loser -> {
-                        log.debug("Recording loss for player {}", loser);
-                        CreateGameRecordRequest loseGameRecordRequest = new CreateGameRecordRequest(
-                            loser,
-                            -1
-                        );
-                        gameHistoryService.createGameRecord(loseGameRecordRequest);
-                        log.debug("Loss recorded for player {}", loser);
-                    }
-                );
-
-                // Notify players of game end
-                log.debug("Sending game end notification to all players");
-                messagingTemplate.convertAndSend("/topic/game/" + gameId,
-                    MultiplayerMessage.builder()
-                        .type(MultiplayerMessage.MessageType.GAME_END)
-                        .gameId(gameId)
-                        .content("Game ended. Winner: " + winner)
-                        .build());
-                log.debug("Game end notification sent");
-
-                // Clean up game resources
-                log.debug("Cleaning up game resources");
-                cleanupGame(gameId);
-                log.info("Game {} resources cleaned up", gameId);
-            } else {
-                log.warn("Game ended but no winner was determined");
-            }
-        } else {
+        if (!endGameIfFinished(gameId, game, gameStateDTO)) {
             log.debug("Game continues - no player has an empty deck yet");
+            scheduleComputerTurn(gameId, game);
         }
 
         log.debug("Returning game state DTO");
         return gameStateDTO;
     }
 
+    /**
+     * Records the result of a game whose last move emptied a player's hand and releases the game.
+     * Only human players get a game record, computer players have no account.
+     * @param gameId The game ID
+     * @param game The game a move was made in
+     * @param gameStateDTO The state published for that move
+     * @return true if the game has ended
+     */
+    private boolean endGameIfFinished(String gameId, Game game, GameStateDTO gameStateDTO) {
+        if (!game.anyPlayerHasEmptyDeck()) {
+            return false;
+        }
+        if (!game.markResultRecorded()) {
+            return true;
+        }
+
+        log.info("Game {} has ended", gameId);
+        String winner = gameStateDTO.getWinner();
+
+        if (winner != null) {
+            log.info("Player {} has won the game", winner);
+
+            // Record game in history
+            log.debug("Recording the result of game {}", gameId);
+            List<Player> players = game.getPlayers();
+            List<MatchResult.Participant> participants = new ArrayList<>();
+            Integer winnerSeat = null;
+            for (int seat = 0; seat < players.size(); seat++) {
+                Player player = players.get(seat);
+                boolean won = player.getUsername().equals(winner);
+                if (won) {
+                    winnerSeat = seat;
+                }
+                if (player instanceof HumanPlayer) {
+                    participants.add(new MatchResult.Participant(player.getUsername(), seat, won ? 1 : -1));
+                }
+            }
+            gameHistoryService.recordMatch(new MatchResult(game.getStartedAt(), LocalDateTime.now(), winnerSeat,
+                game.getTurnCount(), players.size(), participants));
+            log.debug("Result of game {} queued with {} participants", gameId, participants.size());
+
+            // Notify players of game end
+            log.debug("Sending game end notification to all players");
+            messagingTemplate.convertAndSend("/topic/game/" + gameId,
+                MultiplayerMessage.builder()
+                    .type(MultiplayerMessage.MessageType.GAME_END)
+                    .gameId(gameId)
+                    .content("Game ended. Winner: " + winner)
+                    .build());
+            log.debug("Game end notification sent");
+
+            // Clean up game resources
+            log.debug("Cleaning up game resources");
+            cleanupGame(gameId);
+            log.info("Game {} resources cleaned up", gameId);
+        } else {
+            log.warn("Game ended but no winner was determined");
+        }
+        return true;
+    }
+
+    /**
+     * Marks a player whose last connection dropped. The player's turns are covered by the server
+     * until {@link #playerReconnected} or {@link #leaveGame} releases the seat.
+     * @param username The player
+     * @return false if the player was neither in a game nor waiting for one
+     */
+    public boolean playerDisconnected(String username) {
+        String gameId = playerGameMap.get(username);
+        if (gameId == null && !matchmakingService.isWaiting(username)) {
+            return false;
+        }
+
+        disconnectedPlayers.add(username);
+        log.info("Player {} disconnected, holding their seat", username);
+        if (gameId != null) {
+            gameExecutor.run(gameId, () -> {
+                Game game = multiplayerGames.get(gameId);
+                if (game != null && game.getPlayers().get(game.getCurrentPlayer()).getUsername().equals(username)) {
+                    scheduleComputerTurn(gameId, game);
+                }
+            });
+        }
+        return true;
+    }
+
+    public void playerReconnected(String username) {
+        if (disconnectedPlayers.remove(username)) {
+            log.info("Player {} reconnected and plays their own turns again", username);
+        }
+    }
+
+    /**
+     * Plays the turn of the current player after the computer turn delay, if the server plays it:
+     * the player is a computer player or a disconnected human player
+     * @param gameId The game ID
+     * @param game The game, on its executor stripe
+     */
+    private void scheduleComputerTurn(String gameId, Game game) {
+        if (isPlayedByServer(game.getPlayers().get(game.getCurrentPlayer())) && !game.anyPlayerHasEmptyDeck()) {
+            log.debug("Scheduling the turn of player {} in game {}", game.getCurrentPlayer(), gameId);
+            long version = game.getVersion();
+            gameExecutor.schedule(gameId, computerTurnDelay, () -> playComputerTurnInGame(gameId, game, version));
+        }
+    }
+
+    private boolean isPlayedByServer(Player player) {
+        return player instanceof ComputerPlayer || disconnectedPlayers.contains(player.getUsername());
+    }
+
+    private void playComputerTurnInGame(String gameId, Game game, long version) {
+        if (multiplayerGames.get(gameId) != game) {
+            log.debug("Game {} ended before its computer player could move", gameId);
+            return;
+        }
+        if (game.getVersion() != version) {
+            log.debug("Game {} moved on since the turn was scheduled", gameId);
+            return;
+        }
+
+        int playerIndex = game.getCurrentPlayer();
+        Player player = game.getPlayers().get(playerIndex);
+        if (!isPlayedByServer(player) || game.anyPlayerHasEmptyDeck()) {
+            return;
+        }
+
+        // The server never challenges a WILD_DRAW_FOUR
+        if (game.isCanChallenge()) {
+            log.info("Player {} accepts the WILD_DRAW_FOUR in game {}", player.getUsername(), gameId);
+            rejectChallengeInGame(gameId, playerIndex);
+            return;
+        }
+
+        boolean played;
+        if (player instanceof ComputerPlayer) {
+            int deckSizeBefore = player.getDeck().size();
+            game.playComputerTurn(playerIndex);
+            played = player.getDeck().size() < deckSizeBefore;
+            log.info("Computer player {} {} in game {}", player.getUsername(), played ? "played a card" : "drew a card", gameId);
+        } else {
+            // A disconnected player draws and passes, taking any stacked DRAW_TWO cards
+            int cardsToDraw = Math.max(1, 2 * game.getDrawTwoStackAmount());
+            game.drawCards(player, cardsToDraw);
+            game.setDrawTwoStackAmount(0);
+            game.setNextPlayerUnconditionally();
+            played = false;
+            log.info("Disconnected player {} drew {} cards and passed in game {}", player.getUsername(), cardsToDraw, gameId);
+        }
+
+        GameStateDTO gameStateDTO = gameStatePublisher.publish(gameId, game);
+        log.debug("Published game state version {}", gameStateDTO.getVersion());
+
+        messagingTemplate.convertAndSend("/topic/game/" + gameId,
+            MultiplayerMessage.builder()
+                .type(played ? MultiplayerMessage.MessageType.PLAY_CARD : MultiplayerMessage.MessageType.DRAW_CARD)
+                .gameId(gameId)
+                .username(player.getUsername())
+                .playerIndex(playerIndex)
+                .cardColor(played && game.getLastPlayedCard().isWildCard() ? game.getCurrentCardColor().name() : null)
+                .build());
+
+        if (!endGameIfFinished(gameId, game, gameStateDTO)) {
+            scheduleComputerTurn(gameId, game);
+        }
+    }
+
     /**
      * Leave the multiplayer game
      * @param username The username of the player leaving
@@ -527,37 +730,12 @@ public class MultiplayerGameService {
         // Check if player is in a game
         log.debug("Checking if player {} is in a game", username);
         String gameId = playerGameMap.remove(username);
+        disconnectedPlayers.remove(username);
         log.debug("Player-game mapping removed for player {}", username);
 
         if (gameId != null) {
             log.info("Player {} is leaving game {}", username, gameId);
 
-            // Get the game
-            Game game = multiplayerGames.get(gameId);
-            if (game != null) {
-                log.debug("Game {} found. Has {} players", gameId, game.getPlayers().size());
-
-                // Log player's position in the game
-                int playerIndex = -1;
-                for (int i = 0; i < game.getPlayers().size(); i++) {
-                    if (game.getPlayers().get(i).getUsername().equals(username)) {
-                        playerIndex = i;
-                        break;
-                    }
-                }
-
-                if (playerIndex != -1) {
-                    log.debug("Player {} was at index {} in game {}", 
-                            username, playerIndex, gameId);
-
-                    // Check if it was their turn
-                    boolean wasTheirTurn = (playerIndex == game.getCurrentPlayer());
-                    log.debug("Was it player {}'s turn? {}", username, wasTheirTurn);
-                }
-            } else {
-                log.debug("Game {} not found in active games map", gameId);
-            }
-
             // Notify other players in the game
             log.debug("Sending room quit notification to all players in game {}", gameId);
             messagingTemplate.convertAndSend("/topic/game/" + gameId, 
@@ -571,7 +749,7 @@ public class MultiplayerGameService {
 
             // Clean up game resources
             log.debug("Cleaning up game resources for game {}", gameId);
-            cleanupGame(gameId);
+            gameExecutor.run(gameId, () -> cleanupGame(gameId));
             log.info("Game {} resources cleaned up after player {} left", gameId, username);
         } else {
             log.info("Player {} was not in an active game", username);
@@ -579,21 +757,42 @@ public class MultiplayerGameService {
 
         // If the player was waiting, remove from waiting list
         log.debug("Checking if player {} was in waiting room", username);
-        synchronized (waitingPlayers) {
-            boolean wasWaiting = waitingPlayers.contains(username);
-            if (wasWaiting) {
-                log.info("Removing player {} from waiting room", username);
-                waitingPlayers.remove(username);
-                log.debug("Player {} removed from waiting room. Remaining waiting players: {}", 
-                        username, waitingPlayers.size());
-            } else {
-                log.debug("Player {} was not in waiting room", username);
-            }
+        if (matchmakingService.cancel(username)) {
+            log.info("Removed player {} from waiting room", username);
+        } else {
+            log.debug("Player {} was not in waiting room", username);
         }
 
         log.info("Player {} has successfully left", username);
     }
 
+    /**
+     * Ends a game that had no moves for the idle TTL of the reaper, telling the players that the player
+     * whose turn it was quit
+     * @param gameId The game ID
+     */
+    private void expireGame(String gameId) {
+        gameExecutor.run(gameId, () -> {
+            Game game = multiplayerGames.get(gameId);
+            if (game == null) {
+                log.debug("Expired game {} was already cleaned up", gameId);
+                return;
+            }
+
+            String idlePlayer = game.getPlayers().get(game.getCurrentPlayer()).getUsername();
+            log.info("Game {} expired waiting for player {}", gameId, idlePlayer);
+            messagingTemplate.convertAndSend("/topic/game/" + gameId,
+                MultiplayerMessage.builder()
+                    .type(MultiplayerMessage.MessageType.ROOM_QUIT)
+                    .username(idlePlayer)
+                    .gameId(gameId)
+                    .content("Game ended, player " + idlePlayer + " did not make a move in time")
+                    .build());
+
+            cleanupGame(gameId);
+        });
+    }
+
     /**
      * Clean up game resources
      * @param gameId The game ID to clean up
@@ -603,6 +802,7 @@ public class MultiplayerGameService {
 
         // Remove game from active games map
         Game game = multiplayerGames.remove(gameId);
+        idleGameReaper.unregister(gameId);
         log.debug("Game {} removed from active games map", gameId);
         log.debug("Remaining active games: {}", multiplayerGames.size());
 
@@ -634,76 +834,72 @@ public class MultiplayerGameService {
     }
 
     public void handleChallenge(String gameId, int playerIndex) {
-        if(playerIndex < 0 || playerIndex > 2) {
+        idleGameReaper.touch(gameId);
+        gameExecutor.run(gameId, () -> handleChallengeInGame(gameId, playerIndex));
+    }
+
+    private void handleChallengeInGame(String gameId, int playerIndex) {
+        Game game = multiplayerGames.get(gameId);
+        if (game == null) {
+            log.error("No game found with ID: {}", gameId);
+            throw new IllegalStateException("No game found with ID: " + gameId);
+        }
+        if(playerIndex < 0 || playerIndex >= game.getPlayers().size()) {
             throw new IllegalArgumentException("Invalid player index");
         }
-        Game game = multiplayerGames.get(gameId);
         if(!game.isCanChallenge()){
             throw new IllegalArgumentException("Cannot challenge now");
         }
         if(game.getCurrentPlayer() != playerIndex){
             throw new IllegalArgumentException("Not your turn to challenge");
         }
-        Player otherPlayer;
-        if(playerIndex==0)
-            otherPlayer = game.getPlayers().get(1);
-        else
-            otherPlayer = game.getPlayers().get(0);
-        List<Card> wildFourExcludedValidCards = otherPlayer.getDeck().stream()
-                .filter(card -> card.getCardType() != CardType.WILD_DRAW_FOUR)
-                .filter(card -> CardUtil.isValidMove(card, game.getLastPlayedCardBeforeWildDrawFour(), game.getLastPlayedCardBeforeWildDrawFour().getCardColor()))
-                .toList();
-        if (!wildFourExcludedValidCards.isEmpty()) {
-            System.out.println("Other playable card: " + wildFourExcludedValidCards.get(0).getCardType() + "/" + wildFourExcludedValidCards.get(0).getCardColor());
-            //challenged player has a card to play actually, let other player draw card
-            for(int i = 0; i < 4; i++){
-                Card cardToDraw = game.getDrawDeck().removeFirst();
-                otherPlayer.drawCard(cardToDraw);
-            }
-            if(playerIndex == 0)
-                System.out.println("opponent player: 1 draw 4 cards, lost the challenge");
-            else
-                System.out.println("opponent player: 0 draw 4 cards, lost the challenge");
-        }
-        else{
-            Player player = game.getPlayers().get(playerIndex);
-            for(int i = 0; i < 6; i++){
-                Card cardToDraw = game.getDrawDeck().removeFirst();
-                player.drawCard(cardToDraw);
-            }
-            System.out.println("current player: " + playerIndex + " draw 6 cards, lost the challenge");
-            game.setNextPlayerUnconditionally(); //since we drawed, we lose our turn
+        int challengedPlayer = game.getWildDrawFourPlayer();
+        if (game.challengeWildDrawFour()) {
+            log.info("Player {} won the challenge, player {} had another playable card and drew 4 cards in game {}",
+                    playerIndex, challengedPlayer, gameId);
+        } else {
+            log.info("Player {} lost the challenge of player {} and drew 6 cards in game {}",
+                    playerIndex, challengedPlayer, gameId);
         }
-        game.setCanChallenge(false);
+        gameStatePublisher.publish(gameId, game);
         messagingTemplate.convertAndSend("/topic/game/" + gameId,
                 MultiplayerMessage.builder()
                         .type(MultiplayerMessage.MessageType.CHALLENGE)
                         .gameId(gameId)
                         .playerIndex(playerIndex)
                         .build());
+        scheduleComputerTurn(gameId, game);
     }
 
     public void rejectChallenge(String gameId, int playerIndex) {
-        if(playerIndex < 0 || playerIndex > 2) {
+        idleGameReaper.touch(gameId);
+        gameExecutor.run(gameId, () -> rejectChallengeInGame(gameId, playerIndex));
+    }
+
+    private void rejectChallengeInGame(String gameId, int playerIndex) {
+        Game game = multiplayerGames.get(gameId);
+        if (game == null) {
+            log.error("No game found with ID: {}", gameId);
+            throw new IllegalStateException("No game found with ID: " + gameId);
+        }
+        if(playerIndex < 0 || playerIndex >= game.getPlayers().size()) {
             throw new IllegalArgumentException("Invalid player index");
         }
-        Game game = multiplayerGames.get(gameId);
+        if(!game.isCanChallenge()){
+            throw new IllegalArgumentException("Cannot reject a challenge now");
+        }
         if(game.getCurrentPlayer() != playerIndex){
             throw new IllegalArgumentException("Not your turn to challenge");
         }
-        Player player = game.getPlayers().get(playerIndex);
-        for(int i = 0; i < 4; i++){
-            Card cardToDraw = game.getDrawDeck().removeFirst();
-            player.drawCard(cardToDraw);
-        }
-        System.out.println("Rejected challenge and drawn 4 cards by player index: " + playerIndex);
-        game.setCanChallenge(false);
-        game.setNextPlayerUnconditionally(); //since we drawed, we lose our turn
+        game.acceptWildDrawFour();
+        log.info("Player {} accepted the WILD_DRAW_FOUR and drew 4 cards in game {}", playerIndex, gameId);
+        gameStatePublisher.publish(gameId, game);
         messagingTemplate.convertAndSend("/topic/game/" + gameId,
                 MultiplayerMessage.builder()
                         .type(MultiplayerMessage.MessageType.REJECT_CHALLENGE)
                         .gameId(gameId)
                         .playerIndex(playerIndex)
                         .build());
+        scheduleComputerTurn(gameId, game);
     }
 }
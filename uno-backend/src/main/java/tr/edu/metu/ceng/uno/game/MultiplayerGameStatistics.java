@@ -0,0 +1,16 @@
+package tr.edu.metu.ceng.uno.game;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Point-in-time view of the multiplayer games held by this node
+ */
+@Getter
+@AllArgsConstructor
+public class MultiplayerGameStatistics {
+    private int liveGames;
+    private int seatedPlayers; // Human players mapped to a live game
+    private int disconnectedPlayers; // Seats held for players whose connection dropped
+    private long reclaimedGames; // Games expired by the idle game reaper since startup
+}
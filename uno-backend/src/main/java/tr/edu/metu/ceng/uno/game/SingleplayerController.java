@@ -5,6 +5,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import tr.edu.metu.ceng.uno.card.CardColor;
+import tr.edu.metu.ceng.uno.dto.BotTurnsDTO;
 import tr.edu.metu.ceng.uno.dto.GameStateDTO;
 
 @RestController
@@ -59,7 +60,7 @@ public class SingleplayerController {
         log.debug("Getting game state for singleplayer game for player {}", username);
 
         try {
-            GameStateDTO gameState = singleplayerGameService.getSingleplayerGameState();
+            GameStateDTO gameState = singleplayerGameService.getSingleplayerGameState(username);
             log.debug("Game state retrieved for player {}. Current player: {}, Players count: {}", 
                     username, gameState.getCurrentPlayerNo(), gameState.getPlayers().size());
             return ResponseEntity.ok(gameState);
@@ -70,11 +71,11 @@ public class SingleplayerController {
     }
 
     @PostMapping("/play-card-computer")
-    public ResponseEntity<GameStateDTO> playComputerCard(@RequestParam int playerId) {
+    public ResponseEntity<GameStateDTO> playComputerCard(@RequestParam String username, @RequestParam int playerId) {
         log.info("Computer player {} playing card", playerId);
 
         try {
-            GameStateDTO gameState = singleplayerGameService.playComputerCard(playerId);
+            GameStateDTO gameState = singleplayerGameService.playComputerCard(username, playerId);
             log.debug("Computer player {} played card successfully", playerId);
             return ResponseEntity.ok(gameState);
         } catch (Exception e) {
@@ -83,8 +84,29 @@ public class SingleplayerController {
         }
     }
 
+    /**
+     * Endpoint to play all consecutive computer turns in a single round trip
+     *
+     * @param username The username of the human player
+     * @return BotTurnsDTO containing the computer moves and the resulting game state
+     */
+    @PostMapping("/play-computer-turns")
+    public ResponseEntity<BotTurnsDTO> playComputerTurns(@RequestParam String username) {
+        log.info("Playing computer turns for player {}", username);
+
+        try {
+            BotTurnsDTO botTurns = singleplayerGameService.playComputerTurns(username);
+            log.debug("Computer players made {} moves for player {}", botTurns.getMoves().size(), username);
+            return ResponseEntity.ok(botTurns);
+        } catch (Exception e) {
+            log.error("Error playing computer turns for player {}: {}", username, e.getMessage());
+            throw e;
+        }
+    }
+
     @PostMapping("/play-card-human")
     public ResponseEntity<GameStateDTO> playHumanCard(
+            @RequestParam String username,
             @RequestParam int playerId, 
             @RequestParam int cardIndex, 
             @RequestParam(defaultValue = "NONE") CardColor cardColor) {
@@ -92,7 +114,7 @@ public class SingleplayerController {
         log.info("Human player {} playing card {} with color {}", playerId, cardIndex, cardColor);
 
         try {
-            GameStateDTO gameState = singleplayerGameService.playHumanCard(playerId, cardIndex, cardColor);
+            GameStateDTO gameState = singleplayerGameService.playHumanCard(username, playerId, cardIndex, cardColor);
             log.debug("Human player {} played card {} successfully", playerId, cardIndex);
             return ResponseEntity.ok(gameState);
         } catch (Exception e) {
@@ -102,11 +124,11 @@ public class SingleplayerController {
     }
 
     @PostMapping("/draw-card")
-    public ResponseEntity<GameStateDTO> drawCardSingleplayer(@RequestParam int playerId) {
+    public ResponseEntity<GameStateDTO> drawCardSingleplayer(@RequestParam String username, @RequestParam int playerId) {
         log.info("Player {} drawing card", playerId);
 
         try {
-            GameStateDTO gameState = singleplayerGameService.drawCardSingleplayer(playerId);
+            GameStateDTO gameState = singleplayerGameService.drawCardSingleplayer(username, playerId);
             log.debug("Player {} drew card successfully", playerId);
             return ResponseEntity.ok(gameState);
         } catch (Exception e) {
@@ -116,11 +138,11 @@ public class SingleplayerController {
     }
 
     @PostMapping("/cheat-card")
-    public ResponseEntity<GameStateDTO> useCheatCard(@RequestParam int playerId, @RequestParam String cheatType) {
+    public ResponseEntity<GameStateDTO> useCheatCard(@RequestParam String username, @RequestParam int playerId, @RequestParam String cheatType) {
         log.info("Player {} using cheat card of type {}", playerId, cheatType);
 
         try {
-            GameStateDTO gameState = singleplayerGameService.useCheatCard(playerId, cheatType);
+            GameStateDTO gameState = singleplayerGameService.useCheatCard(username, playerId, cheatType);
             log.debug("Player {} used cheat card {} successfully", playerId, cheatType);
             return ResponseEntity.ok(gameState);
         } catch (Exception e) {
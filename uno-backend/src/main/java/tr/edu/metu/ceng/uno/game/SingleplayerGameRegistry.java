@@ -0,0 +1,112 @@
+package tr.edu.metu.ceng.uno.game;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Holds the active singleplayer games of this node, one per user.
+ * Lookups are O(1); games that are not touched for the configured idle TTL are evicted,
+ * and the number of concurrent games is capped so a node cannot be exhausted by abandoned sessions.
+ */
+@Component
+@Slf4j
+public class SingleplayerGameRegistry {
+
+    // Map of active singleplayer games: username -> session
+    private final Map<String, Session> games = new ConcurrentHashMap<>();
+
+    private final int maxGames;
+    private final long idleTtlNanos;
+
+    public SingleplayerGameRegistry(@Value("${uno.singleplayer.max-games:10000}") int maxGames,
+                                    @Value("${uno.singleplayer.idle-ttl:30m}") Duration idleTtl) {
+        if (maxGames < 1) {
+            throw new IllegalArgumentException("Singleplayer game capacity must be positive");
+        }
+        this.maxGames = maxGames;
+        this.idleTtlNanos = idleTtl.toNanos();
+        log.info("SingleplayerGameRegistry initialized with capacity {} and idle TTL {}", maxGames, idleTtl);
+    }
+
+    /**
+     * Registers a new game for the given user, replacing any game the user already had.
+     * Synchronized so the capacity check and the insert are one step; lookups and removals stay lock-free
+     * and can only shrink the registry, so they cannot push it past the capacity.
+     * @param username The owner of the game
+     * @param game The freshly created game
+     */
+    public synchronized void register(String username, Game game) {
+        if (!games.containsKey(username) && games.size() >= maxGames) {
+            log.debug("Singleplayer registry is full ({} games). Evicting idle games", games.size());
+            evictIdleGames();
+
+            if (games.size() >= maxGames) {
+                log.warn("Singleplayer registry is full, rejecting new game for player {}", username);
+                throw new IllegalStateException("Too many active singleplayer games, please try again later");
+            }
+        }
+
+        Session previous = games.put(username, new Session(game));
+        if (previous != null) {
+            log.debug("Replaced previous singleplayer game of player {}", username);
+        }
+        log.debug("Singleplayer game registered for player {}. Active games: {}", username, games.size());
+    }
+
+    /**
+     * Gets the game of the given user and marks it as recently used
+     * @param username The owner of the game
+     * @return The user's game
+     */
+    public Game get(String username) {
+        Session session = games.get(username);
+        if (session == null) {
+            throw new IllegalStateException("No game is currently active");
+        }
+
+        session.lastAccess = System.nanoTime();
+        return session.game;
+    }
+
+    public void remove(String username) {
+        if (games.remove(username) != null) {
+            log.debug("Singleplayer game of player {} removed. Active games: {}", username, games.size());
+        }
+    }
+
+    public int size() {
+        return games.size();
+    }
+
+    /**
+     * Drops every game that has not been accessed within the idle TTL
+     */
+    @Scheduled(fixedDelayString = "${uno.singleplayer.eviction-interval:60000}")
+    public void evictIdleGames() {
+        long now = System.nanoTime();
+        int before = games.size();
+
+        games.entrySet().removeIf(entry -> now - entry.getValue().lastAccess > idleTtlNanos);
+
+        int evicted = before - games.size();
+        if (evicted > 0) {
+            log.info("Evicted {} idle singleplayer games. Active games: {}", evicted, games.size());
+        }
+    }
+
+    private static final class Session {
+        private final Game game;
+        private volatile long lastAccess;
+
+        private Session(Game game) {
+            this.game = game;
+            this.lastAccess = System.nanoTime();
+        }
+    }
+}
@@ -3,28 +3,37 @@ package tr.edu.metu.ceng.uno.game;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import tr.edu.metu.ceng.uno.card.*;
+import tr.edu.metu.ceng.uno.dto.BotMoveDTO;
+import tr.edu.metu.ceng.uno.dto.BotTurnsDTO;
+import tr.edu.metu.ceng.uno.dto.CardDTO;
 import tr.edu.metu.ceng.uno.dto.GameStateDTO;
 import tr.edu.metu.ceng.uno.history.GameHistoryService;
-import tr.edu.metu.ceng.uno.history.request.CreateGameRecordRequest;
+import tr.edu.metu.ceng.uno.history.MatchResult;
 import tr.edu.metu.ceng.uno.player.ComputerPlayer;
 import tr.edu.metu.ceng.uno.player.HumanPlayer;
 import tr.edu.metu.ceng.uno.player.Player;
 import tr.edu.metu.ceng.uno.util.CardUtil;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Random;
 
 @Service
 @Slf4j
 public class SingleplayerGameService {
 
-    // Single game instance for now
-    private Game currentGame;
+    // Upper bound of computer turns played in a single request, guards against endless draw loops
+    private static final int MAX_COMPUTER_TURNS_PER_REQUEST = 100;
+
+    private final SingleplayerGameRegistry gameRegistry;
     private final GameHistoryService gameHistoryService;
+    private final GameCommandExecutor gameExecutor;
 
-    public SingleplayerGameService(GameHistoryService gameHistoryService) {
+    public SingleplayerGameService(SingleplayerGameRegistry gameRegistry, GameHistoryService gameHistoryService,
+                                   GameCommandExecutor gameExecutor) {
+        this.gameRegistry = gameRegistry;
         this.gameHistoryService = gameHistoryService;
+        this.gameExecutor = gameExecutor;
     }
 
     /**
@@ -35,6 +44,10 @@ public class SingleplayerGameService {
      * @return GameStateDTO containing the initial game state
      */
     public GameStateDTO createSingleplayerGame(String username, int computerPlayerCount) {
+        return gameExecutor.execute(username, () -> createSingleplayerGameInGame(username, computerPlayerCount));
+    }
+
+    private GameStateDTO createSingleplayerGameInGame(String username, int computerPlayerCount) {
         if (computerPlayerCount < 1 || computerPlayerCount > 3) {
             throw new IllegalArgumentException("Computer player count must be between 1 and 3");
         }
@@ -47,170 +60,176 @@ public class SingleplayerGameService {
             players.add(new ComputerPlayer("Computer " + i));
         }
 
-        currentGame = new Game(players);
+        Game currentGame = new Game(players);
 
         currentGame.distributeCards();
         currentGame.initializeFirstCard();
 
-        // Create and return the game state DTO for the human player
-        return GameStateDTO.createGameStateDTO(currentGame);
+        GameStateDTO gameState = currentGame.publishSnapshot();
+        gameRegistry.register(username, currentGame);
+
+        // Return the game state DTO for the human player
+        return gameState;
     }
 
     /**
-     * Gets the current game state for a specific player
+     * Gets the current game state for a specific player.
+     * Served from the game's last published snapshot without going through its executor.
      * 
-     * @return GameStateDTO containing the current game state
+     * @param username The username of the human player
+     * @return GameStateDTO containing the current game state and its version
      */
-    public GameStateDTO getSingleplayerGameState() {
-        if (currentGame == null) {
-            throw new IllegalStateException("No game is currently active");
-        }
+    public GameStateDTO getSingleplayerGameState(String username) {
+        return getCurrentGame(username).getSnapshot();
+    }
 
-        GameStateDTO gameStateDTO = GameStateDTO.createGameStateDTO(currentGame);
-        if (getCurrentGame().anyPlayerHasEmptyDeck() && currentGame.getPlayers().getFirst().getUsername().equals(gameStateDTO.getWinner())) {
-            CreateGameRecordRequest createGameRecordRequest = new CreateGameRecordRequest(
-                currentGame.getPlayers().getFirst().getUsername(),
-                1
-            );
-            gameHistoryService.createGameRecord(createGameRecordRequest);
+    /**
+     * Publishes the state of the game after a move, recording the win of the human player once the game is over
+     * 
+     * @param currentGame The game the move was made in
+     * @return The published game state
+     */
+    private GameStateDTO publishGameState(Game currentGame) {
+        return recordWinIfFinished(currentGame, currentGame.publishSnapshot());
+    }
+
+    private GameStateDTO recordWinIfFinished(Game currentGame, GameStateDTO gameStateDTO) {
+        if (gameStateDTO.isGameFinished() && currentGame.getPlayers().getFirst().getUsername().equals(gameStateDTO.getWinner())
+                && currentGame.markResultRecorded()) {
+            gameHistoryService.recordMatch(new MatchResult(currentGame.getStartedAt(), LocalDateTime.now(), 0,
+                currentGame.getTurnCount(), currentGame.getPlayers().size(),
+                List.of(new MatchResult.Participant(gameStateDTO.getWinner(), 0, 1))));
         }
 
         return gameStateDTO;
     }
 
     /**
-     * Gets the current game instance
+     * Gets the game instance of the given player
      * 
-     * @return The current Game object
+     * @param username The username of the human player
+     * @return The player's Game object
      */
-    public Game getCurrentGame() {
-        if (currentGame == null) {
-            throw new IllegalStateException("No game is currently active");
-        }
+    public Game getCurrentGame(String username) {
+        return gameRegistry.get(username);
+    }
 
-        return currentGame;
+    public GameStateDTO drawCardSingleplayer(String username, int playerId) {
+        return gameExecutor.execute(username, () -> drawCardSingleplayerInGame(username, playerId));
     }
 
-    public GameStateDTO drawCardSingleplayer(int playerId){
+    private GameStateDTO drawCardSingleplayerInGame(String username, int playerId) {
         if (playerId < 0 || playerId > 3 ) {
             throw new IllegalArgumentException("Player id must be between 0 and 3");
         }
-        if (playerId != getSingleplayerGameState().getCurrentPlayerNo()){
-            throw new IllegalArgumentException("Player id must be equal to current player id," + playerId + " " + getSingleplayerGameState().getCurrentPlayerNo());
+        Game currentGame = getCurrentGame(username);
+        if (playerId != currentGame.getCurrentPlayer()){
+            throw new IllegalArgumentException("Player id must be equal to current player id," + playerId + " " + currentGame.getCurrentPlayer());
         }
 
-        Player player = currentGame.getPlayers().get(playerId);
-        if (player.shouldDrawCard(currentGame.getLastPlayedCard(), currentGame.getCurrentCardColor())){
-            Card cardToDraw = currentGame.getDrawDeck().removeFirst();
-            player.drawCard(cardToDraw);
-            currentGame.refillDrawDeck();
+        currentGame.drawCard(playerId);
 
-            if (!CardUtil.isValidMove(cardToDraw, currentGame.getLastPlayedCard(), currentGame.getCurrentCardColor())) {
-                currentGame.setNextPlayerUnconditionally();
-            }
-        }
+        return publishGameState(currentGame);
+    }
 
-        return getSingleplayerGameState();
+    public GameStateDTO playComputerCard(String username, int playerId) {
+        return gameExecutor.execute(username, () -> playComputerCardInGame(username, playerId));
     }
 
-    public GameStateDTO playComputerCard(int playerId) {
+    private GameStateDTO playComputerCardInGame(String username, int playerId) {
         if (playerId < 0 || playerId > 3 ) {
             throw new IllegalArgumentException("Player id must be between 0 and 3");
         }
 
-        if (playerId != getSingleplayerGameState().getCurrentPlayerNo()){
-            throw new IllegalArgumentException("Player id must be equal to current player id," + playerId + " " + getSingleplayerGameState().getCurrentPlayerNo());
+        Game currentGame = getCurrentGame(username);
+        if (playerId != currentGame.getCurrentPlayer()){
+            throw new IllegalArgumentException("Player id must be equal to current player id," + playerId + " " + currentGame.getCurrentPlayer());
         }
 
-        ComputerPlayer player = (ComputerPlayer) currentGame.getPlayers().get(playerId);
+        currentGame.playComputerTurn(playerId);
 
-        if (!player.shouldDrawCard(currentGame.getLastPlayedCard(), currentGame.getCurrentCardColor())) {
-            Card playedCard = player.playCard(currentGame.getLastPlayedCard(), currentGame.getCurrentCardColor());
+        return publishGameState(currentGame);
+    }
 
-            currentGame.setLastPlayedCard(playedCard);
+    /**
+     * Plays every consecutive computer turn in one go, until it is the human player's turn or the game ends.
+     * The client receives the moves as compact events to animate locally instead of requesting each turn separately.
+     *
+     * @param username The username of the human player
+     * @return BotTurnsDTO containing the ordered computer moves and the resulting game state
+     */
+    public BotTurnsDTO playComputerTurns(String username) {
+        return gameExecutor.execute(username, () -> playComputerTurnsInGame(username));
+    }
 
-            currentGame.getDiscardDeck().add(playedCard);
+    private BotTurnsDTO playComputerTurnsInGame(String username) {
+        Game currentGame = getCurrentGame(username);
+        List<BotMoveDTO> moves = new ArrayList<>();
 
-            if (playedCard.isActionCard() && playedCard.getCardType() == CardType.REVERSE) {
-                currentGame.setDirection(currentGame.getDirection().reverse());
+        int turns = 0;
+        while (currentGame.getPlayers().get(currentGame.getCurrentPlayer()) instanceof ComputerPlayer
+                && !currentGame.anyPlayerHasEmptyDeck()) {
+            if (turns++ >= MAX_COMPUTER_TURNS_PER_REQUEST) {
+                log.warn("Computer players of {} exceeded {} turns in a row, returning early", username, MAX_COMPUTER_TURNS_PER_REQUEST);
+                break;
             }
 
-            currentGame.setNextPlayerConditionally();
+            int playerId = currentGame.getCurrentPlayer();
+            int[] deckSizesBefore = getDeckSizes(currentGame);
 
-            // Drawing +2 or +4 cards
-            if (playedCard.getCardType() == CardType.DRAW_TWO) {
-                currentGame.setDrawTwoStackAmount(currentGame.getDrawTwoStackAmount() + 1);
-                int nextPlayerIndex = currentGame.getCurrentPlayer(); //already moved to next player
-                Player nextPlayer = currentGame.getPlayers().get(nextPlayerIndex);
-                boolean hasDrawTwo = nextPlayer.getDeck().stream()
-                        .anyMatch(card -> card.getCardType() == CardType.DRAW_TWO);
-                if(!hasDrawTwo){
-                    for (int i = 0; i < 2 * currentGame.getDrawTwoStackAmount(); i++) {
-                        Card cardToDraw = currentGame.getDrawDeck().removeFirst();
-                        nextPlayer.drawCard(cardToDraw);
-                    }
-                    log.info("Player {} drew {} cards because of DRAW_TWO stacking", 
-                            nextPlayerIndex, currentGame.getDrawTwoStackAmount() * 2);
-                    currentGame.setDrawTwoStackAmount(0);//reset drawTwo stack
-                    currentGame.setNextPlayerUnconditionally();//if next player draws cards, skip that player's turn
-                }
-            }
-
-            else if (playedCard.getCardType() == CardType.WILD_DRAW_FOUR) {
-                int nextPlayerIndex = currentGame.getCurrentPlayer();
-                Player nextPlayer = currentGame.getPlayers().get(nextPlayerIndex);
+            currentGame.playComputerTurn(playerId);
 
-                for (int i = 0; i < 4; i++) {
-                    Card cardToDraw = currentGame.getDrawDeck().removeFirst();
-                    nextPlayer.drawCard(cardToDraw);
-                }
+            addMoveEvents(moves, currentGame, playerId, deckSizesBefore);
+        }
 
-                currentGame.setNextPlayerUnconditionally();
-            }
+        log.debug("Played {} computer turns for player {} producing {} events", turns, username, moves.size());
+        return new BotTurnsDTO(moves, publishGameState(currentGame));
+    }
 
-            // set next card color
-            if (playedCard.isWildCard()) {
-                CardColor mostFrequentColor = getMostFrequentCardColor(player);
-                currentGame.setCurrentCardColor(mostFrequentColor);
-            }
-            else {
-                currentGame.setCurrentCardColor(playedCard.getCardColor());
-            }
+    private static int[] getDeckSizes(Game game) {
+        int[] deckSizes = new int[game.getPlayers().size()];
+        for (int i = 0; i < deckSizes.length; i++) {
+            deckSizes[i] = game.getPlayers().get(i).getDeck().size();
         }
+        return deckSizes;
+    }
 
-        else {
-            return drawCardSingleplayer(playerId);
+    private static void addMoveEvents(List<BotMoveDTO> moves, Game game, int playerId, int[] deckSizesBefore) {
+        String currentColor = game.getCurrentCardColor().toString();
+        String direction = game.getDirection().toString();
+        int nextPlayerNo = game.getCurrentPlayer();
+
+        int moverDeckSize = game.getPlayers().get(playerId).getDeck().size();
+        if (moverDeckSize < deckSizesBefore[playerId]) {
+            moves.add(new BotMoveDTO(BotMoveDTO.MoveType.PLAY, playerId, CardDTO.createCardDTO(game.getLastPlayedCard()),
+                    0, moverDeckSize, currentColor, direction, nextPlayerNo));
+        } else {
+            moves.add(new BotMoveDTO(BotMoveDTO.MoveType.DRAW, playerId, null,
+                    moverDeckSize - deckSizesBefore[playerId], moverDeckSize, currentColor, direction, nextPlayerNo));
         }
 
-        return getSingleplayerGameState();
-    }
-
-    private static CardColor getMostFrequentCardColor(Player player) {
-        int maxCount = 0;
-        CardColor mostFrequentColor = CardColor.RED;
-
-        for (CardColor cardColor : CardColor.getColors()) {
-            int count = 0;
-            for (Card card : player.getDeck()) {
-                if (card.getCardColor() == cardColor) {
-                    if (++count > maxCount) {
-                        maxCount = count;
-                        mostFrequentColor = cardColor;
-                    }
-                }
+        // Cards forced on other players by DRAW_TWO or WILD_DRAW_FOUR
+        for (int i = 0; i < deckSizesBefore.length; i++) {
+            int deckSize = game.getPlayers().get(i).getDeck().size();
+            if (i != playerId && deckSize > deckSizesBefore[i]) {
+                moves.add(new BotMoveDTO(BotMoveDTO.MoveType.PENALTY_DRAW, i, null,
+                        deckSize - deckSizesBefore[i], deckSize, currentColor, direction, nextPlayerNo));
             }
         }
+    }
 
-        return mostFrequentColor;
+    public GameStateDTO playHumanCard(String username, int playerId, int cardIndex, CardColor cardColor) {
+        return gameExecutor.execute(username, () -> playHumanCardInGame(username, playerId, cardIndex, cardColor));
     }
 
-    public GameStateDTO playHumanCard(int playerId, int cardIndex, CardColor cardColor) {
+    private GameStateDTO playHumanCardInGame(String username, int playerId, int cardIndex, CardColor cardColor) {
         if (playerId < 0 || playerId > 3 ) {
             throw new IllegalArgumentException("Player id must be between 0 and 3");
         }
 
-        if (playerId != getSingleplayerGameState().getCurrentPlayerNo()){
-            throw new IllegalArgumentException("Player id must be equal to current player id," + playerId + " " + getSingleplayerGameState().getCurrentPlayerNo());
+        Game currentGame = getCurrentGame(username);
+        if (playerId != currentGame.getCurrentPlayer()){
+            throw new IllegalArgumentException("Player id must be equal to current player id," + playerId + " " + currentGame.getCurrentPlayer());
         }
 
         HumanPlayer player = (HumanPlayer) currentGame.getPlayers().get(playerId);
@@ -222,26 +241,20 @@ public class SingleplayerGameService {
         if (!player.shouldDrawCard(currentGame.getLastPlayedCard(), currentGame.getCurrentCardColor())) {
             Card cardToPlay = player.getDeck().get(cardIndex);
             if (!CardUtil.isValidMove(cardToPlay, currentGame.getLastPlayedCard(), currentGame.getCurrentCardColor())) {
-                return getSingleplayerGameState();
+                return currentGame.getSnapshot();
             }
             if (cardToPlay.getCardType() == CardType.WILD_DRAW_FOUR) {
-                //get list of playable cards excluding wild draw four cards
-                List<Card> wildFourExcludedValidCards = player.getDeck().stream()
-                    .filter(card -> card.getCardType() != CardType.WILD_DRAW_FOUR)
-                    .filter(card -> CardUtil.isValidMove(card, currentGame.getLastPlayedCard(), currentGame.getCurrentCardColor()))
-                    .toList();
-                if (!wildFourExcludedValidCards.isEmpty()) { //player has another card to play
-                    return getSingleplayerGameState();
+                if (player.getDeck().hasPlayableCardOtherThanWildDrawFour(currentGame.getLastPlayedCard(), currentGame.getCurrentCardColor())) { //player has another card to play
+                    return currentGame.getSnapshot();
                 }
             }
             if (currentGame.getDrawTwoStackAmount() > 0) {
                 if(cardToPlay.getCardType() != CardType.DRAW_TWO){
-                    boolean hasDrawTwo = player.getDeck().stream()
-                        .anyMatch(card -> card.getCardType() == CardType.DRAW_TWO);
+                    boolean hasDrawTwo = player.hasDrawTwoCard();
                     if(hasDrawTwo){
                         //force to play +2, there already exists +2 stack
                         log.warn("Human player has DRAW_TWO card but picked another card when there is a DRAW_TWO stack");
-                        return getSingleplayerGameState();
+                        return currentGame.getSnapshot();
                     }
                 }
             }
@@ -250,7 +263,7 @@ public class SingleplayerGameService {
 
             currentGame.setLastPlayedCard(playedCard);
 
-            currentGame.getDiscardDeck().add(playedCard);
+            currentGame.getCardPile().discard(playedCard);
 
             if (playedCard.isActionCard() && playedCard.getCardType() == CardType.REVERSE) {
                 currentGame.setDirection(currentGame.getDirection().reverse());
@@ -263,13 +276,9 @@ public class SingleplayerGameService {
                 currentGame.setDrawTwoStackAmount(currentGame.getDrawTwoStackAmount() + 1);
                 int nextPlayerIndex = currentGame.getCurrentPlayer();
                 Player nextPlayer = currentGame.getPlayers().get(nextPlayerIndex);
-                boolean hasDrawTwo = nextPlayer.getDeck().stream()
-                        .anyMatch(card -> card.getCardType() == CardType.DRAW_TWO);
+                boolean hasDrawTwo = nextPlayer.hasDrawTwoCard();
                 if(!hasDrawTwo){
-                    for (int i = 0; i < 2 * currentGame.getDrawTwoStackAmount(); i++) {
-                        Card cardToDraw = currentGame.getDrawDeck().removeFirst();
-                        nextPlayer.drawCard(cardToDraw);
-                    }
+                    currentGame.drawCards(nextPlayer, 2 * currentGame.getDrawTwoStackAmount());
                     log.info("Player {} drew {} cards because of DRAW_TWO stacking", 
                             nextPlayerIndex, currentGame.getDrawTwoStackAmount() * 2);
                     currentGame.setDrawTwoStackAmount(0);//reset drawTwo stack
@@ -281,10 +290,7 @@ public class SingleplayerGameService {
                 int nextPlayerIndex = currentGame.getCurrentPlayer();
                 Player nextPlayer = currentGame.getPlayers().get(nextPlayerIndex);
 
-                for (int i = 0; i < 4; i++) {
-                    Card cardToDraw = currentGame.getDrawDeck().removeFirst();
-                    nextPlayer.drawCard(cardToDraw);
-                }
+                currentGame.drawCards(nextPlayer, 4);
 
                 currentGame.setNextPlayerUnconditionally();
             }
@@ -296,45 +302,48 @@ public class SingleplayerGameService {
             else {
                 currentGame.setCurrentCardColor(playedCard.getCardColor());
             }
+            return publishGameState(currentGame);
         }
 
-        return getSingleplayerGameState();
+        return currentGame.getSnapshot();
     }
 
-    public GameStateDTO useCheatCard(int playerId, String cheatType) {
+    public GameStateDTO useCheatCard(String username, int playerId, String cheatType) {
+        return gameExecutor.execute(username, () -> useCheatCardInGame(username, playerId, cheatType));
+    }
+
+    private GameStateDTO useCheatCardInGame(String username, int playerId, String cheatType) {
         if (playerId!=0) {
             throw new IllegalArgumentException("Cheat card can only be played by the human player!");
         }
 
+        Game currentGame = getCurrentGame(username);
+
         if (currentGame.getCurrentPlayer() != 0) {
-            return getSingleplayerGameState();
+            return currentGame.getSnapshot();
         }
 
         //set random color for the current card color
-        CardColor randomColor = CardColor.values()[new Random().nextInt(4)];
+        CardColor randomColor = currentGame.nextRandomColor();
         currentGame.setCurrentCardColor(randomColor);
         if (cheatType.equals("SKIP")) {
-            currentGame.setLastPlayedCard(new ActionCard(CardType.SKIP, randomColor));
+            currentGame.setLastPlayedCard(ActionCard.of(CardType.SKIP, randomColor));
             currentGame.setNextPlayerConditionally();
         }
         else if (cheatType.equals("REVERSE")) {
             currentGame.setDirection(currentGame.getDirection().reverse());
-            currentGame.setLastPlayedCard(new ActionCard(CardType.REVERSE, randomColor));
+            currentGame.setLastPlayedCard(ActionCard.of(CardType.REVERSE, randomColor));
             currentGame.setNextPlayerUnconditionally();
         }
         else if (cheatType.equals("DRAW_TWO")) {
-            currentGame.setLastPlayedCard(new ActionCard(CardType.DRAW_TWO, randomColor));
+            currentGame.setLastPlayedCard(ActionCard.of(CardType.DRAW_TWO, randomColor));
             currentGame.setDrawTwoStackAmount(currentGame.getDrawTwoStackAmount() + 1);
             currentGame.setNextPlayerUnconditionally();
             int nextPlayerIndex = currentGame.getCurrentPlayer();
             Player nextPlayer = currentGame.getPlayers().get(nextPlayerIndex);
-            boolean hasDrawTwo = nextPlayer.getDeck().stream()
-                    .anyMatch(card -> card.getCardType() == CardType.DRAW_TWO);
+            boolean hasDrawTwo = nextPlayer.hasDrawTwoCard();
             if (!hasDrawTwo) {
-                for (int i = 0; i < 2 * currentGame.getDrawTwoStackAmount(); i++) {
-                    Card cardToDraw = currentGame.getDrawDeck().removeFirst();
-                    nextPlayer.drawCard(cardToDraw);
-                }
+                currentGame.drawCards(nextPlayer, 2 * currentGame.getDrawTwoStackAmount());
                 log.info("Player {} drew {} cards because of DRAW_TWO stacking (cheat card)", 
                         nextPlayerIndex, currentGame.getDrawTwoStackAmount() * 2);
                 currentGame.setDrawTwoStackAmount(0);//reset drawTwo stack
@@ -343,27 +352,24 @@ public class SingleplayerGameService {
         }
         else if (cheatType.equals("WILD")) {
             //set a random color for the current card color
-            currentGame.setLastPlayedCard(new WildCard(CardType.WILD));
+            currentGame.setLastPlayedCard(WildCard.of(CardType.WILD));
             currentGame.setNextPlayerUnconditionally();
         }
         else if(cheatType.equals("WILD_SKIP_EVERYONE_ONCE")) {
-            currentGame.setLastPlayedCard(new WildCard(CardType.WILD_SKIP_EVERYONE_ONCE));
+            currentGame.setLastPlayedCard(WildCard.of(CardType.WILD_SKIP_EVERYONE_ONCE));
         }
         else if (cheatType.equals("WILD_DRAW_FOUR")) {
-            currentGame.setLastPlayedCard(new WildCard(CardType.WILD_DRAW_FOUR));
+            currentGame.setLastPlayedCard(WildCard.of(CardType.WILD_DRAW_FOUR));
             currentGame.setNextPlayerUnconditionally();
             int nextPlayerIndex = currentGame.getCurrentPlayer();
             Player nextPlayer = currentGame.getPlayers().get(nextPlayerIndex);
-            for (int i = 0; i < 4; i++) {
-                Card cardToDraw = currentGame.getDrawDeck().removeFirst();
-                nextPlayer.drawCard(cardToDraw);
-            }
+            currentGame.drawCards(nextPlayer, 4);
             currentGame.setNextPlayerUnconditionally();
         }
         else{
             throw new IllegalArgumentException("Invalid cheat type!");
         }
-        return getSingleplayerGameState();
+        return publishGameState(currentGame);
     }
 
     /**
@@ -373,15 +379,21 @@ public class SingleplayerGameService {
      * Note: This method is used internally for validation and is also used by the GameStateDTO
      * to provide this information to the frontend without requiring additional API calls.
      * 
+     * @param username The username of the human player
      * @param playerId The ID of the player attempting to play the card
      * @param cardIndex The index of the Wild Draw Four card in the player's hand
      * @return true if the Wild Draw Four can be played, false otherwise
      */
-    public boolean canPlayWildDrawFour(int playerId, int cardIndex) {
+    public boolean canPlayWildDrawFour(String username, int playerId, int cardIndex) {
+        return gameExecutor.execute(username, () -> canPlayWildDrawFourInGame(username, playerId, cardIndex));
+    }
+
+    private boolean canPlayWildDrawFourInGame(String username, int playerId, int cardIndex) {
         if (playerId < 0 || playerId > 3) {
             throw new IllegalArgumentException("Player id must be between 0 and 3");
         }
 
+        Game currentGame = getCurrentGame(username);
         Player player = currentGame.getPlayers().get(playerId);
 
         if (cardIndex < 0 || cardIndex >= player.getDeck().size()) {
@@ -395,13 +407,7 @@ public class SingleplayerGameService {
             throw new IllegalArgumentException("Card at index " + cardIndex + " is not a Wild Draw Four card");
         }
 
-        // Get list of playable cards excluding wild draw four cards
-        List<Card> wildFourExcludedValidCards = player.getDeck().stream()
-            .filter(card -> card.getCardType() != CardType.WILD_DRAW_FOUR)
-            .filter(card -> CardUtil.isValidMove(card, currentGame.getLastPlayedCard(), currentGame.getCurrentCardColor()))
-            .toList();
-
         // If player has no other playable cards, they can play Wild Draw Four
-        return wildFourExcludedValidCards.isEmpty();
+        return !player.getDeck().hasPlayableCardOtherThanWildDrawFour(currentGame.getLastPlayedCard(), currentGame.getCurrentCardColor());
     }
 }
@@ -0,0 +1,21 @@
+package tr.edu.metu.ceng.uno.history;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDate;
+
+/**
+ * Result of comparing the daily score rollup against the matches it is built from
+ */
+@Getter
+@AllArgsConstructor
+public class DailyScoreConsistencyReport {
+    private LocalDate checkedFrom;
+    private long mismatchedDays; // Days of a player whose rollup row is missing or differs from their matches
+    private long orphanedDays; // Rollup rows of a player without matches on that day
+
+    public boolean isConsistent() {
+        return mismatchedDays == 0 && orphanedDays == 0;
+    }
+}
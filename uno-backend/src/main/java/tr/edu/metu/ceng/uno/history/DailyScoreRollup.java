@@ -0,0 +1,160 @@
+package tr.edu.metu.ceng.uno.history;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Maintains the user_daily_score rollup, the total score and number of games of each player on each day.
+ *
+ * Rows are added to in the same transaction as the match participants they count, so windowed leaderboards sum at
+ * most one row per player and day instead of every match in the window. A nightly compaction rewrites the closed
+ * days of the reconcile window from the matches, repairing rows that drifted, for example through matches written
+ * or deleted outside the application. Today's rows are left to the incremental updates, since games are still
+ * being written to them. The rollup is built from all matches when the application starts with it empty.
+ */
+@Component
+@Slf4j
+public class DailyScoreRollup {
+
+    private static final String ADD_SCORE = """
+            INSERT INTO user_daily_score (user_id, day, score, games)
+            SELECT u.id, ?, ?, 1 FROM user u WHERE u.username = ?
+            ON DUPLICATE KEY UPDATE score = score + VALUES(score), games = games + 1
+            """;
+
+    private static final String DELETE_DAYS = "DELETE FROM user_daily_score WHERE day >= ? AND day < ?";
+
+    private static final String ROLL_UP_DAYS = """
+            INSERT INTO user_daily_score (user_id, day, score, games)
+            SELECT p.user_id, DATE(m.ended_at), SUM(p.score), COUNT(*) FROM game_match m
+            JOIN match_participant p ON p.match_id = m.id
+            WHERE m.ended_at >= ? AND m.ended_at < ?
+            GROUP BY p.user_id, DATE(m.ended_at)
+            """;
+
+    private static final String COUNT_MISMATCHED_DAYS = """
+            SELECT COUNT(*) FROM (
+                SELECT p.user_id, DATE(m.ended_at) AS day, SUM(p.score) AS score, COUNT(*) AS games FROM game_match m
+                JOIN match_participant p ON p.match_id = m.id
+                WHERE m.ended_at >= ?
+                GROUP BY p.user_id, DATE(m.ended_at)
+            ) raw
+            LEFT JOIN user_daily_score s ON s.user_id = raw.user_id AND s.day = raw.day
+            WHERE s.user_id IS NULL OR s.score <> raw.score OR s.games <> raw.games
+            """;
+
+    private static final String COUNT_ORPHANED_DAYS = """
+            SELECT COUNT(*) FROM user_daily_score s
+            WHERE s.day >= ?
+            AND NOT EXISTS (
+                SELECT 1 FROM game_match m JOIN match_participant p ON p.match_id = m.id
+                WHERE p.user_id = s.user_id AND m.ended_at >= s.day AND m.ended_at < s.day + INTERVAL '1' DAY
+            )
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int reconcileDays;
+
+    public DailyScoreRollup(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                            @Value("${uno.history.rollup-reconcile-days:31}") int reconcileDays) {
+        if (reconcileDays < 1) {
+            throw new IllegalArgumentException("Rollup reconcile window must be at least one day");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.reconcileDays = reconcileDays;
+    }
+
+    /**
+     * Adds the scores to the rollup rows of their players and days, within the caller's transaction if there is one.
+     * Scores of unknown users are skipped, as their participant rows are.
+     */
+    void addAll(List<GameScore> scores) {
+        jdbcTemplate.batchUpdate(ADD_SCORE, scores, scores.size(), (statement, score) -> {
+            statement.setDate(1, Date.valueOf(score.date()));
+            statement.setInt(2, score.score());
+            statement.setString(3, score.username());
+        });
+    }
+
+    /**
+     * Builds the rollup from all matches if it is empty, before the leaderboards are built from it
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE + 1)
+    public void backfillIfEmpty() {
+        Boolean empty = jdbcTemplate.queryForObject("SELECT NOT EXISTS (SELECT 1 FROM user_daily_score)", Boolean.class);
+        if (!Boolean.TRUE.equals(empty)) {
+            return;
+        }
+
+        LocalDateTime firstEnd = jdbcTemplate.queryForObject("SELECT MIN(ended_at) FROM game_match", LocalDateTime.class);
+        if (firstEnd == null) {
+            return;
+        }
+        LocalDate first = firstEnd.toLocalDate();
+        int rows = rebuild(first, LocalDate.now().plusDays(1));
+        log.info("Daily score rollup backfilled with {} rows from matches since {}", rows, first);
+    }
+
+    /**
+     * Rewrites the closed days of the reconcile window from the matches
+     */
+    @Scheduled(cron = "${uno.history.rollup-compaction-cron:0 30 3 * * *}")
+    public void compact() {
+        LocalDate today = LocalDate.now();
+        LocalDate from = today.minusDays(reconcileDays);
+        DailyScoreConsistencyReport report = checkConsistency(from);
+        if (!report.isConsistent()) {
+            log.warn("Daily score rollup drifted since {}: {} mismatched and {} orphaned player days",
+                    from, report.getMismatchedDays(), report.getOrphanedDays());
+        }
+
+        long start = System.nanoTime();
+        int rows = rebuild(from, today);
+        log.info("Daily score rollup compacted from {} in {} ms. Rows: {}", from, (System.nanoTime() - start) / 1_000_000, rows);
+    }
+
+    /**
+     * Compares the rollup rows of the last given number of days against the matches of those days
+     */
+    public DailyScoreConsistencyReport checkConsistency(int days) {
+        if (days < 1) {
+            throw new IllegalArgumentException("Number of days to check must be at least one");
+        }
+        return checkConsistency(LocalDate.now().minusDays(days - 1L));
+    }
+
+    private DailyScoreConsistencyReport checkConsistency(LocalDate from) {
+        Long mismatched = jdbcTemplate.queryForObject(COUNT_MISMATCHED_DAYS, Long.class, Timestamp.valueOf(from.atStartOfDay()));
+        Long orphaned = jdbcTemplate.queryForObject(COUNT_ORPHANED_DAYS, Long.class, Date.valueOf(from));
+        return new DailyScoreConsistencyReport(from, mismatched != null ? mismatched : 0, orphaned != null ? orphaned : 0);
+    }
+
+    /**
+     * Replaces the rollup rows of the days from inclusive to until exclusive, in one transaction
+     * @return The number of rollup rows written
+     */
+    private int rebuild(LocalDate from, LocalDate until) {
+        Integer rows = transactionTemplate.execute(status -> {
+            jdbcTemplate.update(DELETE_DAYS, Date.valueOf(from), Date.valueOf(until));
+            return jdbcTemplate.update(ROLL_UP_DAYS, Timestamp.valueOf(from.atStartOfDay()), Timestamp.valueOf(until.atStartOfDay()));
+        });
+        return rows != null ? rows : 0;
+    }
+}
@@ -1,12 +1,12 @@
 package tr.edu.metu.ceng.uno.history;
 
 import jakarta.validation.Valid;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import tr.edu.metu.ceng.uno.history.request.CreateGameRecordRequest;
 
-import java.util.List;
-
 @RestController
 @RequestMapping(path = "/game-history")
 public class GameHistoryController {
@@ -18,23 +18,79 @@ public class GameHistoryController {
 
     @PostMapping(path = "/create")
     public ResponseEntity<String> createGameRecord(@Valid @RequestBody CreateGameRecordRequest request) {
-        gameHistoryService.createGameRecord(request);
+        try {
+            gameHistoryService.createGameRecord(request);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
         return ResponseEntity.ok("Game record created successfully");
     }
 
     @GetMapping
-    public ResponseEntity<List<GameRecord>> getAllGameRecords() {
-        return ResponseEntity.ok(gameHistoryService.getAllGameRecords());
+    public ResponseEntity<GameHistoryPage<MatchSummary>> getAllGameRecords(@RequestParam(defaultValue = "0") long after,
+                                                                           @RequestParam(defaultValue = "50") int limit) {
+        try {
+            return ResponseEntity.ok(gameHistoryService.getAllGameRecords(after, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     @GetMapping(path = "/weekly")
-    public ResponseEntity<List<GameRecord>> getWeeklyGameRecords() {
-        return ResponseEntity.ok(gameHistoryService.getWeeklyGameRecords());
+    public ResponseEntity<GameHistoryPage<MatchSummary>> getWeeklyGameRecords(@RequestParam(defaultValue = "0") long after,
+                                                                              @RequestParam(defaultValue = "50") int limit) {
+        try {
+            return ResponseEntity.ok(gameHistoryService.getWeeklyGameRecords(after, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     @GetMapping(path = "/monthly")
-    public ResponseEntity<List<GameRecord>> getMonthlyGameRecords() {
-        return ResponseEntity.ok(gameHistoryService.getMonthlyGameRecords());
+    public ResponseEntity<GameHistoryPage<MatchSummary>> getMonthlyGameRecords(@RequestParam(defaultValue = "0") long after,
+                                                                               @RequestParam(defaultValue = "50") int limit) {
+        try {
+            return ResponseEntity.ok(gameHistoryService.getMonthlyGameRecords(after, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping(path = "/users/{username}")
+    public ResponseEntity<GameHistoryPage<GameHistoryEntry>> getUserGameRecords(@PathVariable String username,
+                                                                                @RequestParam(defaultValue = "0") long after,
+                                                                                @RequestParam(defaultValue = "50") int limit) {
+        try {
+            return ResponseEntity.ok(gameHistoryService.getUserGameRecords(username, after, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping(path = "/export")
+    public ResponseEntity<StreamingResponseBody> exportGameHistory() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(gameHistoryService::exportGameHistory);
+    }
+
+    @GetMapping(path = "/head-to-head")
+    public ResponseEntity<HeadToHead> getHeadToHead(@RequestParam String player, @RequestParam String opponent) {
+        return ResponseEntity.ok(gameHistoryService.getHeadToHead(player, opponent));
+    }
+
+    @GetMapping(path = "/writer")
+    public ResponseEntity<MatchResultWriterStatistics> getWriterStatistics() {
+        return ResponseEntity.ok(gameHistoryService.getWriterStatistics());
+    }
+
+    @GetMapping(path = "/rollup/check")
+    public ResponseEntity<DailyScoreConsistencyReport> checkDailyScoreRollup(@RequestParam(defaultValue = "31") int days) {
+        try {
+            return ResponseEntity.ok(gameHistoryService.checkDailyScoreRollup(days));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     @PostMapping(path = "/populate")
@@ -0,0 +1,19 @@
+package tr.edu.metu.ceng.uno.history;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Score of one player in one match, as listed in the game history
+ */
+@Getter
+@AllArgsConstructor
+public class GameHistoryEntry {
+    private long matchId;
+    private String username;
+    private int seat;
+    private int score;
+    private LocalDateTime endedAt;
+}
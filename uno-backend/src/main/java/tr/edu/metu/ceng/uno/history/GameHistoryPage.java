@@ -0,0 +1,17 @@
+package tr.edu.metu.ceng.uno.history;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * One page of the game history, in ascending match ID order
+ * @param <T> Type of the listed items
+ */
+@Getter
+@AllArgsConstructor
+public class GameHistoryPage<T> {
+    private List<T> items;
+    private Long nextAfter; // Match ID to pass as after for the next page, null on the last page
+}
@@ -1,63 +1,139 @@
 package tr.edu.metu.ceng.uno.history;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import tr.edu.metu.ceng.uno.history.request.CreateGameRecordRequest;
 import tr.edu.metu.ceng.uno.user.User;
 import tr.edu.metu.ceng.uno.user.UserRepository;
 import tr.edu.metu.ceng.uno.util.Random;
 
-import java.time.LocalDate;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.stream.Stream;
 
 @Service
 @Slf4j
 public class GameHistoryService {
 
-    private final GameHistoryRepository gameHistoryRepository;
+    public static final int MAX_PAGE_SIZE = 500;
+
+    private final GameMatchRepository gameMatchRepository;
+    private final MatchParticipantRepository matchParticipantRepository;
     private final UserRepository userRepository;
     private final BCryptPasswordEncoder passwordEncoder;
-
-    public GameHistoryService(GameHistoryRepository gameHistoryRepository, UserRepository userRepository, BCryptPasswordEncoder passwordEncoder) {
-        this.gameHistoryRepository = gameHistoryRepository;
+    private final MatchResultWriter matchResultWriter;
+    private final DailyScoreRollup dailyScoreRollup;
+    private final ObjectMapper objectMapper;
+
+    public GameHistoryService(GameMatchRepository gameMatchRepository,
+                              MatchParticipantRepository matchParticipantRepository, UserRepository userRepository,
+                              BCryptPasswordEncoder passwordEncoder, MatchResultWriter matchResultWriter,
+                              DailyScoreRollup dailyScoreRollup, ObjectMapper objectMapper) {
+        this.gameMatchRepository = gameMatchRepository;
+        this.matchParticipantRepository = matchParticipantRepository;
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
+        this.matchResultWriter = matchResultWriter;
+        this.dailyScoreRollup = dailyScoreRollup;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Sets the callback notified of the score of every match participant once it is written, whether queued or
+     * written directly
+     */
+    public void onGameRecordWritten(GameRecordListener listener) {
+        matchResultWriter.onRecordWritten(listener);
     }
 
-    public List<GameRecord> getAllGameRecords() {
-        return gameHistoryRepository.findAll();
+    /**
+     * @param after Matches up to this ID are skipped, 0 for the first page
+     * @param limit Maximum number of matches, at least 1, larger limits than {@value #MAX_PAGE_SIZE} are lowered to it
+     */
+    public GameHistoryPage<MatchSummary> getAllGameRecords(long after, int limit) {
+        limit = clampLimit(limit);
+        return toMatchPage(gameMatchRepository.findPage(after, Limit.of(limit)), limit);
     }
 
-    public List<GameRecord> getWeeklyGameRecords() {
-        return gameHistoryRepository.findAllByDateBetween(LocalDate.now().minusWeeks(1), LocalDate.now());
+    public GameHistoryPage<MatchSummary> getWeeklyGameRecords(long after, int limit) {
+        limit = clampLimit(limit);
+        return toMatchPage(gameMatchRepository.findPageSince(after, LocalDateTime.now().minusWeeks(1), Limit.of(limit)), limit);
     }
 
-    public List<GameRecord> getMonthlyGameRecords() {
-        return gameHistoryRepository.findAllByDateBetween(LocalDate.now().minusMonths(1), LocalDate.now());
+    public GameHistoryPage<MatchSummary> getMonthlyGameRecords(long after, int limit) {
+        limit = clampLimit(limit);
+        return toMatchPage(gameMatchRepository.findPageSince(after, LocalDateTime.now().minusMonths(1), Limit.of(limit)), limit);
     }
 
+    /**
+     * @return A page of the matches of the player, empty for an unknown player
+     */
+    public GameHistoryPage<GameHistoryEntry> getUserGameRecords(String username, long after, int limit) {
+        limit = clampLimit(limit);
+        List<GameHistoryEntry> entries = matchParticipantRepository.findPageOfUser(username, after, Limit.of(limit));
+        Long nextAfter = entries.size() < limit ? null : entries.getLast().getMatchId();
+        return new GameHistoryPage<>(entries, nextAfter);
+    }
+
+    /**
+     * Writes the whole history as newline-delimited JSON, one entry per match participant. Entries are streamed from
+     * the database as they are written, so the memory used does not depend on the size of the history.
+     */
+    @Transactional(readOnly = true)
+    public void exportGameHistory(OutputStream out) throws IOException {
+        long exported = 0;
+        try (Stream<GameHistoryEntry> entries = matchParticipantRepository.streamHistory()) {
+            Iterator<GameHistoryEntry> iterator = entries.iterator();
+            while (iterator.hasNext()) {
+                out.write(objectMapper.writeValueAsBytes(iterator.next()));
+                out.write('\n');
+                exported++;
+            }
+        }
+        out.flush();
+        log.info("Exported {} game history entries", exported);
+    }
+
+    /**
+     * @return Results of the matches the two players played together
+     */
+    public HeadToHead getHeadToHead(String player, String opponent) {
+        return matchParticipantRepository.findHeadToHead(player, opponent)
+                .orElseGet(() -> new HeadToHead(player, opponent, 0, 0, 0));
+    }
+
+    @Transactional
     public void populateGameHistory() {
-        List<GameRecord> gameRecords = new ArrayList<>();
+        List<MatchResult> matches = new ArrayList<>();
 
         for (int i = 0; i < 100; i++) {
             int userId1 = Random.getRandomNumber(50), userId2 = Random.getRandomNumber(50);
+            while (userId2 == userId1) {
+                userId2 = Random.getRandomNumber(50);
+            }
             int daysBefore = Random.getRandomNumber(50);
 
             // Create or find users
             User user1 = createOrFindUser(userId1);
             User user2 = createOrFindUser(userId2);
 
-            GameRecord gameRecord1 = new GameRecord(user1, 1, LocalDate.now().minusDays(daysBefore));
-            GameRecord gameRecord2 = new GameRecord(user2, -1, LocalDate.now().minusDays(daysBefore));
-
-            gameRecords.add(gameRecord1);
-            gameRecords.add(gameRecord2);
+            LocalDateTime endedAt = LocalDateTime.now().minusDays(daysBefore);
+            matches.add(new MatchResult(endedAt.minusMinutes(10), endedAt, 0, 0, 2, List.of(
+                    new MatchResult.Participant(user1.getUsername(), 0, 1),
+                    new MatchResult.Participant(user2.getUsername(), 1, -1))));
         }
 
-        gameHistoryRepository.saveAll(gameRecords);
+        matchResultWriter.writeNow(matches);
     }
 
     private User createOrFindUser(int userId) {
@@ -71,22 +147,66 @@ public class GameHistoryService {
                 });
     }
 
+    /**
+     * Records a single score of a player as a match of its own, won by the player if the score is positive
+     * @throws IllegalArgumentException if the player does not exist
+     */
     public void createGameRecord(CreateGameRecordRequest request) {
-        Optional<User> user = null;
-        try {
-            // Try to parse the userId as a UUID
-            String username = request.getUsername();
-            user = userRepository.findByUsername(username);
-        } catch (IllegalArgumentException e) {
-            log.error("User not found for creating game record: {}", request.getUsername());
+        String username = request.getUsername();
+        if (userRepository.findByUsername(username).isEmpty()) {
+            log.error("User not found for creating game record: {}", username);
+            throw new IllegalArgumentException("User not found: " + username);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        matchResultWriter.writeNow(List.of(new MatchResult(now, now, request.getScore() > 0 ? 0 : null, 0, 1,
+                List.of(new MatchResult.Participant(username, 0, request.getScore())))));
+    }
+
+    /**
+     * Queues the result of a finished game to be written in the background
+     * @param result The match and its participants
+     */
+    public void recordMatch(MatchResult result) {
+        matchResultWriter.submit(result);
+    }
+
+    public MatchResultWriterStatistics getWriterStatistics() {
+        return matchResultWriter.getStatistics();
+    }
+
+    public DailyScoreConsistencyReport checkDailyScoreRollup(int days) {
+        return dailyScoreRollup.checkConsistency(days);
+    }
+
+    /**
+     * @return The limit, lowered to {@value #MAX_PAGE_SIZE}
+     * @throws IllegalArgumentException if the limit is not positive
+     */
+    private static int clampLimit(int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("Limit must be at least 1");
+        }
+        return Math.min(limit, MAX_PAGE_SIZE);
+    }
+
+    private GameHistoryPage<MatchSummary> toMatchPage(List<GameMatch> matches, int limit) {
+        if (matches.isEmpty()) {
+            return new GameHistoryPage<>(List.of(), null);
         }
 
-        GameRecord gameRecord = new GameRecord(
-            user.get(),
-            request.getScore(),
-            LocalDate.now()
-        );
+        Map<Long, List<MatchSummary.Participant>> participants = new HashMap<>();
+        for (GameHistoryEntry entry : matchParticipantRepository.findByMatchIds(matches.stream().map(GameMatch::getId).toList())) {
+            participants.computeIfAbsent(entry.getMatchId(), id -> new ArrayList<>())
+                    .add(new MatchSummary.Participant(entry.getUsername(), entry.getSeat(), entry.getScore()));
+        }
 
-        gameHistoryRepository.save(gameRecord);
+        List<MatchSummary> summaries = matches.stream()
+                .map(match -> new MatchSummary(match.getId(), match.getStartedAt(), match.getEndedAt(),
+                        match.getWinnerSeat(), match.getTurnCount(), match.getSeats(),
+                        participants.getOrDefault(match.getId(), List.of())))
+                .toList();
+        Long nextAfter = matches.size() < limit ? null : matches.getLast().getId();
+        return new GameHistoryPage<>(summaries, nextAfter);
     }
 }
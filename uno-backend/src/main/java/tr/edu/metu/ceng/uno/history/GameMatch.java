@@ -0,0 +1,35 @@
+package tr.edu.metu.ceng.uno.history;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A finished game, one row per match. The players with an account are its {@link MatchParticipant}s.
+ */
+@Entity
+@Table(name = "game_match", indexes = @Index(name = "idx_game_match_ended_at", columnList = "ended_at"))
+@Data
+@NoArgsConstructor
+public class GameMatch {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private LocalDateTime startedAt;
+
+    @Column(nullable = false)
+    private LocalDateTime endedAt;
+
+    // Seat of the winner, who may be a computer player, null if the match has no known winner
+    private Integer winnerSeat;
+
+    private int turnCount;
+
+    // Number of players including computer players
+    private int seats;
+}
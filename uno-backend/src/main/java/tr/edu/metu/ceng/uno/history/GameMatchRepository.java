@@ -0,0 +1,19 @@
+package tr.edu.metu.ceng.uno.history;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface GameMatchRepository extends JpaRepository<GameMatch, Long> {
+
+    @Query("SELECT m FROM GameMatch m WHERE m.id > :after ORDER BY m.id")
+    List<GameMatch> findPage(long after, Limit limit);
+
+    @Query("SELECT m FROM GameMatch m WHERE m.id > :after AND m.endedAt >= :since ORDER BY m.id")
+    List<GameMatch> findPageSince(long after, LocalDateTime since, Limit limit);
+}
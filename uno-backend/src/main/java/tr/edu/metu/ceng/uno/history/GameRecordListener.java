@@ -0,0 +1,11 @@
+package tr.edu.metu.ceng.uno.history;
+
+import java.time.LocalDate;
+
+/**
+ * Notified of the score of every player of a match after the match is written to the database
+ */
+@FunctionalInterface
+public interface GameRecordListener {
+    void recordWritten(String username, int score, LocalDate date);
+}
@@ -0,0 +1,9 @@
+package tr.edu.metu.ceng.uno.history;
+
+import java.time.LocalDate;
+
+/**
+ * Score of one player in one game, as written to a game record
+ */
+record GameScore(String username, int score, LocalDate date) {
+}
@@ -0,0 +1,17 @@
+package tr.edu.metu.ceng.uno.history;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Results of the matches two players played together
+ */
+@Getter
+@AllArgsConstructor
+public class HeadToHead {
+    private String player;
+    private String opponent;
+    private long matches;
+    private long wins;
+    private long opponentWins; // Matches of more than two players may be won by neither
+}
@@ -0,0 +1,71 @@
+package tr.edu.metu.ceng.uno.history;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Moves the rows of the game_record table, which held one row per player of a game, to the match tables.
+ *
+ * Nothing tied the rows of the same game together, so each record becomes a match of its own with the player as its
+ * only participant, ending on the day of the record. Their start times and turn counts are unknown: a migrated match
+ * starts when it ends and has 0 turns. The scores and days are unchanged, so the daily score rollup stays valid.
+ * Runs once at startup, before the rollup is backfilled, and leaves game_record empty.
+ */
+@Component
+@Slf4j
+public class LegacyGameRecordMigration {
+
+    private static final String COUNT_LEGACY_TABLE = """
+            SELECT COUNT(*) FROM information_schema.tables
+            WHERE table_schema = DATABASE() AND table_name = 'game_record'
+            """;
+
+    private static final String INSERT_MATCHES = """
+            INSERT INTO game_match (id, started_at, ended_at, winner_seat, turn_count, seats)
+            SELECT g.id + ?, g.date, g.date, CASE WHEN g.score > 0 THEN 0 END, 0, 1 FROM game_record g
+            WHERE g.user_id IS NOT NULL
+            """;
+
+    private static final String INSERT_PARTICIPANTS = """
+            INSERT INTO match_participant (match_id, user_id, seat, score)
+            SELECT g.id + ?, g.user_id, 0, g.score FROM game_record g
+            WHERE g.user_id IS NOT NULL
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public LegacyGameRecordMigration(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void migrate() {
+        Integer legacyTables = jdbcTemplate.queryForObject(COUNT_LEGACY_TABLE, Integer.class);
+        if (legacyTables == null || legacyTables == 0) {
+            return;
+        }
+
+        Integer migrated = transactionTemplate.execute(status -> {
+            // Locks the end of the match IDs, so matches written meanwhile cannot take the IDs of migrated ones.
+            // An aggregate would be answered from the index without locking it.
+            long offset = jdbcTemplate.queryForList("SELECT id FROM game_match ORDER BY id DESC LIMIT 1 FOR UPDATE", Long.class)
+                    .stream().findFirst().orElse(0L);
+            int matches = jdbcTemplate.update(INSERT_MATCHES, offset);
+            jdbcTemplate.update(INSERT_PARTICIPANTS, offset);
+            jdbcTemplate.update("DELETE FROM game_record");
+            return matches;
+        });
+        if (migrated != null && migrated > 0) {
+            log.info("Migrated {} game records to matches", migrated);
+        }
+    }
+}
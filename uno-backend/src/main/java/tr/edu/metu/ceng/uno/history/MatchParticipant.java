@@ -0,0 +1,33 @@
+package tr.edu.metu.ceng.uno.history;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import tr.edu.metu.ceng.uno.user.User;
+
+/**
+ * A player with an account in a match and the score they got from it
+ */
+@Entity
+@Table(name = "match_participant", indexes = @Index(name = "idx_match_participant_user", columnList = "user_id, match_id"))
+@Data
+@NoArgsConstructor
+public class MatchParticipant {
+
+    @EmbeddedId
+    private MatchParticipantId id;
+
+    @MapsId("matchId")
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "match_id")
+    private GameMatch match;
+
+    @MapsId("userId")
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id")
+    private User user;
+
+    private int seat;
+
+    private int score;
+}
@@ -0,0 +1,18 @@
+package tr.edu.metu.ceng.uno.history;
+
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.UUID;
+
+@Embeddable
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MatchParticipantId implements Serializable {
+    private Long matchId;
+    private UUID userId;
+}
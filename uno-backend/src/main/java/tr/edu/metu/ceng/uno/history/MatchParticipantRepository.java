@@ -0,0 +1,57 @@
+package tr.edu.metu.ceng.uno.history;
+
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+@Repository
+public interface MatchParticipantRepository extends JpaRepository<MatchParticipant, MatchParticipantId> {
+
+    @Query("""
+        SELECT new tr.edu.metu.ceng.uno.history.GameHistoryEntry(m.id, u.username, p.seat, p.score, m.endedAt)
+        FROM MatchParticipant p JOIN p.match m JOIN p.user u
+        WHERE m.id IN :matchIds
+        ORDER BY m.id, p.seat
+        """)
+    List<GameHistoryEntry> findByMatchIds(Collection<Long> matchIds);
+
+    @Query("""
+        SELECT new tr.edu.metu.ceng.uno.history.GameHistoryEntry(m.id, u.username, p.seat, p.score, m.endedAt)
+        FROM MatchParticipant p JOIN p.match m JOIN p.user u
+        WHERE u.username = :username AND p.id.matchId > :after
+        ORDER BY p.id.matchId
+        """)
+    List<GameHistoryEntry> findPageOfUser(String username, long after, Limit limit);
+
+    /**
+     * Streams the whole history, read from the database in chunks of the fetch size. Must be closed, within a
+     * transaction.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("""
+        SELECT new tr.edu.metu.ceng.uno.history.GameHistoryEntry(m.id, u.username, p.seat, p.score, m.endedAt)
+        FROM MatchParticipant p JOIN p.match m JOIN p.user u
+        ORDER BY p.id.matchId, p.seat
+        """)
+    Stream<GameHistoryEntry> streamHistory();
+
+    @Query("""
+        SELECT new tr.edu.metu.ceng.uno.history.HeadToHead(pu.username, ou.username, COUNT(p),
+            COALESCE(SUM(CASE WHEN p.score > 0 THEN 1 ELSE 0 END), 0),
+            COALESCE(SUM(CASE WHEN o.score > 0 THEN 1 ELSE 0 END), 0))
+        FROM MatchParticipant p JOIN p.user pu
+        JOIN MatchParticipant o ON o.match = p.match JOIN o.user ou
+        WHERE pu.username = :player AND ou.username = :opponent
+        GROUP BY pu.username, ou.username
+        """)
+    Optional<HeadToHead> findHeadToHead(String player, String opponent);
+}
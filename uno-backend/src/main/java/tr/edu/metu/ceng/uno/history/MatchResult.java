@@ -0,0 +1,24 @@
+package tr.edu.metu.ceng.uno.history;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Result of a finished game, written as one match row and one participant row per player with an account
+ * @param winnerSeat Seat of the winner, who may be a computer player, null if there is no known winner
+ * @param seats Number of players including computer players
+ * @param participants The players with an account, at least one
+ */
+public record MatchResult(LocalDateTime startedAt, LocalDateTime endedAt, Integer winnerSeat, int turnCount, int seats,
+                          List<Participant> participants) {
+
+    public MatchResult {
+        if (participants.isEmpty()) {
+            throw new IllegalArgumentException("A match result needs at least one participant");
+        }
+        participants = List.copyOf(participants);
+    }
+
+    public record Participant(String username, int seat, int score) {
+    }
+}
@@ -0,0 +1,296 @@
+package tr.edu.metu.ceng.uno.history;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Writes the results of finished games to the database in the background, so finishing a game does not wait for the
+ * database.
+ *
+ * Results are queued in a bounded queue and a single writer thread writes them in batches of up to the configured
+ * batch size, each batch in one transaction: a row per match, then the participant rows of all its matches in one
+ * JDBC batch, then the daily score rollup. Participant rows resolve their user by username inside the insert, so the
+ * participants of a batch take one round trip however many players they cover. A failed batch is retried with a
+ * growing backoff before its matches are dropped and logged. Submitting never touches the database: when the queue
+ * is full the match is rejected, counted and logged, so a slow database cannot stall the game threads. Matches still
+ * queued at shutdown are written before the application stops.
+ */
+@Component
+@Slf4j
+public class MatchResultWriter {
+
+    private static final String INSERT_MATCH = """
+            INSERT INTO game_match (started_at, ended_at, winner_seat, turn_count, seats)
+            VALUES (?, ?, ?, ?, ?)
+            """;
+
+    private static final String INSERT_PARTICIPANT = """
+            INSERT INTO match_participant (match_id, user_id, seat, score)
+            SELECT ?, u.id, ?, ? FROM user u WHERE u.username = ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final DailyScoreRollup dailyScoreRollup;
+    private final BlockingQueue<MatchResult> queue;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration retryBackoff;
+    private final Duration shutdownTimeout;
+    private final Thread writerThread;
+    private volatile boolean running = true;
+    private volatile GameRecordListener recordListener = (username, score, date) -> {
+    };
+
+    private final AtomicInteger maxQueueDepth = new AtomicInteger();
+    private final LongAdder writtenMatches = new LongAdder();
+    private final LongAdder writtenParticipants = new LongAdder();
+    private final LongAdder writtenBatches = new LongAdder();
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder droppedMatches = new LongAdder();
+    private final LongAdder rejectedMatches = new LongAdder();
+
+    public MatchResultWriter(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                             DailyScoreRollup dailyScoreRollup,
+                             @Value("${uno.history.queue-capacity:10000}") int queueCapacity,
+                             @Value("${uno.history.batch-size:100}") int batchSize,
+                             @Value("${uno.history.max-attempts:5}") int maxAttempts,
+                             @Value("${uno.history.retry-backoff:200ms}") Duration retryBackoff,
+                             @Value("${uno.history.shutdown-timeout:10s}") Duration shutdownTimeout) {
+        if (queueCapacity < 1 || batchSize < 1 || maxAttempts < 1) {
+            throw new IllegalArgumentException("Game history queue capacity, batch size and attempts must be positive");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.dailyScoreRollup = dailyScoreRollup;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoff = retryBackoff;
+        this.shutdownTimeout = shutdownTimeout;
+
+        this.writerThread = new Thread(this::drainQueue, "match-result-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+        log.info("MatchResultWriter initialized with queue capacity {} and batch size {}", queueCapacity, batchSize);
+    }
+
+    /**
+     * Sets the callback notified of the score of each participant once its batch is written, called on the writing
+     * thread
+     */
+    public void onRecordWritten(GameRecordListener listener) {
+        this.recordListener = listener;
+    }
+
+    /**
+     * Queues the result of a game for writing, without waiting for the database
+     * @param result The match, participants without an account are skipped
+     * @return false if the match was rejected because the queue is full or the writer stopped
+     */
+    public boolean submit(MatchResult result) {
+        if (running && queue.offer(result)) {
+            maxQueueDepth.accumulateAndGet(queue.size(), Math::max);
+            return true;
+        }
+
+        rejectedMatches.increment();
+        log.error("Match result queue is {}, dropping the match: {}", running ? "full" : "stopped", result);
+        return false;
+    }
+
+    /**
+     * Writes the results on the calling thread, in batches of up to the batch size, without retrying
+     * @throws DataAccessException if a batch could not be written, earlier batches stay written
+     */
+    public void writeNow(List<MatchResult> results) {
+        for (int from = 0; from < results.size(); from += batchSize) {
+            write(results.subList(from, Math.min(from + batchSize, results.size())));
+        }
+    }
+
+    public MatchResultWriterStatistics getStatistics() {
+        return new MatchResultWriterStatistics(queue.size(), queue.remainingCapacity(), maxQueueDepth.get(),
+                writtenMatches.sum(), writtenParticipants.sum(), writtenBatches.sum(), retries.sum(),
+                droppedMatches.sum(), rejectedMatches.sum());
+    }
+
+    /**
+     * Stops the writer thread once the queue is empty, then writes whatever it could not write in time
+     */
+    @PreDestroy
+    public void flush() {
+        running = false;
+        try {
+            writerThread.join(shutdownTimeout.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        List<MatchResult> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        if (!remaining.isEmpty()) {
+            log.warn("Writing {} queued match results on shutdown", remaining.size());
+            for (int from = 0; from < remaining.size(); from += batchSize) {
+                writeWithRetry(remaining.subList(from, Math.min(from + batchSize, remaining.size())));
+            }
+        }
+        log.info("MatchResultWriter flushed. Written matches: {}, dropped matches: {}, rejected matches: {}",
+                writtenMatches.sum(), droppedMatches.sum(), rejectedMatches.sum());
+    }
+
+    private void drainQueue() {
+        List<MatchResult> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                MatchResult first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+
+                writeWithRetry(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (RuntimeException e) {
+                log.error("Match result writer failed: {}", e.getMessage(), e);
+            } finally {
+                batch.clear();
+            }
+        }
+        log.debug("Match result writer thread stopped");
+    }
+
+    private void writeWithRetry(List<MatchResult> batch) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                write(batch);
+                return;
+            } catch (DataAccessException e) {
+                if (attempt >= maxAttempts) {
+                    droppedMatches.add(batch.size());
+                    log.error("Dropping {} match results after {} attempts: {}. Matches: {}",
+                            batch.size(), attempt, e.getMessage(), batch, e);
+                    return;
+                }
+
+                retries.increment();
+                long backoffMillis = retryBackoff.toMillis() << (attempt - 1);
+                log.warn("Writing {} match results failed (attempt {} of {}), retrying in {} ms: {}",
+                        batch.size(), attempt, maxAttempts, backoffMillis, e.getMessage());
+                try {
+                    Thread.sleep(backoffMillis);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    droppedMatches.add(batch.size());
+                    log.error("Interrupted while retrying, dropping {} match results: {}", batch.size(), batch);
+                    return;
+                }
+            }
+        }
+    }
+
+    private void write(List<MatchResult> batch) {
+        List<ParticipantRow> rows = new ArrayList<>();
+        int[][] counts = transactionTemplate.execute(status -> {
+            rows.clear();
+            for (MatchResult match : batch) {
+                long matchId = insertMatch(match);
+                for (MatchResult.Participant participant : match.participants()) {
+                    rows.add(new ParticipantRow(matchId, participant, match.endedAt().toLocalDate()));
+                }
+            }
+
+            int[][] inserted = jdbcTemplate.batchUpdate(INSERT_PARTICIPANT, rows, rows.size(), (statement, row) -> {
+                statement.setLong(1, row.matchId());
+                statement.setInt(2, row.participant().seat());
+                statement.setInt(3, row.participant().score());
+                statement.setString(4, row.participant().username());
+            });
+            dailyScoreRollup.addAll(rows.stream().map(ParticipantRow::toGameScore).toList());
+            return inserted;
+        });
+
+        int inserted = 0;
+        int index = 0;
+        for (int[] chunk : counts) {
+            for (int count : chunk) {
+                ParticipantRow row = rows.get(index++);
+                // Drivers that do not report the rows of each statement return SUCCESS_NO_INFO (-2)
+                if (count != 0) {
+                    inserted++;
+                    notifyListener(row);
+                }
+            }
+        }
+        if (inserted < rows.size()) {
+            log.warn("{} of {} match participants have no account and were skipped", rows.size() - inserted, rows.size());
+        }
+
+        writtenMatches.add(batch.size());
+        writtenParticipants.add(inserted);
+        writtenBatches.increment();
+        log.debug("Wrote a batch of {} matches with {} participants. Queued: {}", batch.size(), inserted, queue.size());
+    }
+
+    /**
+     * @return The generated ID of the match
+     */
+    private long insertMatch(MatchResult match) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(INSERT_MATCH, Statement.RETURN_GENERATED_KEYS);
+            statement.setTimestamp(1, Timestamp.valueOf(match.startedAt()));
+            statement.setTimestamp(2, Timestamp.valueOf(match.endedAt()));
+            statement.setObject(3, match.winnerSeat(), Types.INTEGER);
+            statement.setInt(4, match.turnCount());
+            statement.setInt(5, match.seats());
+            return statement;
+        }, keyHolder);
+
+        Number matchId = keyHolder.getKey();
+        if (matchId == null) {
+            throw new IllegalStateException("No ID was generated for the match ended at " + match.endedAt());
+        }
+        return matchId.longValue();
+    }
+
+    private void notifyListener(ParticipantRow row) {
+        MatchResult.Participant participant = row.participant();
+        try {
+            recordListener.recordWritten(participant.username(), participant.score(), row.date());
+        } catch (RuntimeException e) {
+            log.error("Game record listener failed for player {}: {}", participant.username(), e.getMessage(), e);
+        }
+    }
+
+    private record ParticipantRow(long matchId, MatchResult.Participant participant, LocalDate date) {
+
+        private GameScore toGameScore() {
+            return new GameScore(participant.username(), participant.score(), date);
+        }
+    }
+}
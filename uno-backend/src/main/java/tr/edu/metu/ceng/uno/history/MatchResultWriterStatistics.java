@@ -0,0 +1,21 @@
+package tr.edu.metu.ceng.uno.history;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Point-in-time view of the match result write-behind queue and of the writes since startup
+ */
+@Getter
+@AllArgsConstructor
+public class MatchResultWriterStatistics {
+    private int queuedMatches;
+    private int remainingCapacity;
+    private int maxQueueDepth;
+    private long writtenMatches;
+    private long writtenParticipants;
+    private long writtenBatches;
+    private long retries; // Failed batch writes that were tried again
+    private long droppedMatches; // Matches given up on after the last attempt
+    private long rejectedMatches; // Matches not queued because the queue was full or the writer stopped
+}
@@ -0,0 +1,30 @@
+package tr.edu.metu.ceng.uno.history;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * A match with its participants, as listed in the game history
+ */
+@Getter
+@AllArgsConstructor
+public class MatchSummary {
+    private long id;
+    private LocalDateTime startedAt;
+    private LocalDateTime endedAt;
+    private Integer winnerSeat;
+    private int turnCount;
+    private int seats;
+    private List<Participant> participants;
+
+    @Getter
+    @AllArgsConstructor
+    public static class Participant {
+        private String username;
+        private int seat;
+        private int score;
+    }
+}
@@ -0,0 +1,28 @@
+package tr.edu.metu.ceng.uno.history;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import tr.edu.metu.ceng.uno.user.User;
+
+/**
+ * Total score and number of games of a player on one day, rolled up from the game records of that day
+ */
+@Entity
+@Table(name = "user_daily_score", indexes = @Index(name = "idx_user_daily_score_day", columnList = "day"))
+@Data
+@NoArgsConstructor
+public class UserDailyScore {
+
+    @EmbeddedId
+    private UserDailyScoreId id;
+
+    @MapsId("userId")
+    @ManyToOne
+    @JoinColumn(name = "user_id")
+    private User user;
+
+    private long score;
+
+    private int games;
+}
@@ -0,0 +1,19 @@
+package tr.edu.metu.ceng.uno.history;
+
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.UUID;
+
+@Embeddable
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserDailyScoreId implements Serializable {
+    private UUID userId;
+    private LocalDate day;
+}
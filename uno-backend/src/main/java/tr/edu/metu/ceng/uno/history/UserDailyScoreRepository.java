@@ -0,0 +1,28 @@
+package tr.edu.metu.ceng.uno.history;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import tr.edu.metu.ceng.uno.leaderboard.LeaderboardRecord;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface UserDailyScoreRepository extends JpaRepository<UserDailyScore, UserDailyScoreId> {
+
+    @Query("""
+        SELECT new tr.edu.metu.ceng.uno.leaderboard.LeaderboardRecord(s.user.username, SUM(s.score))
+        FROM UserDailyScore s
+        GROUP BY s.user.username
+        """)
+    List<LeaderboardRecord> sumScores();
+
+    @Query("""
+        SELECT new tr.edu.metu.ceng.uno.leaderboard.LeaderboardRecord(s.user.username, SUM(s.score))
+        FROM UserDailyScore s
+        WHERE s.id.day >= :since
+        GROUP BY s.user.username
+        """)
+    List<LeaderboardRecord> sumScoresSince(LocalDate since);
+}
@@ -2,7 +2,9 @@ package tr.edu.metu.ceng.uno.leaderboard;
 
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.List;
@@ -31,4 +33,22 @@ public class LeaderboardController {
     public ResponseEntity<List<LeaderboardRecord>> getMonthlyLeaderboard() {
         return ResponseEntity.ok(leaderboardService.getMonthlyLeaderboard());
     }
+
+    @GetMapping(path = "/rank/{username}")
+    public ResponseEntity<LeaderboardRank> getRank(@PathVariable String username,
+                                                   @RequestParam(defaultValue = "ALL_TIME") LeaderboardWindow window) {
+        LeaderboardRank rank = leaderboardService.getRank(window, username);
+        return rank != null ? ResponseEntity.ok(rank) : ResponseEntity.notFound().build();
+    }
+
+    @GetMapping(path = "/around/{username}")
+    public ResponseEntity<List<LeaderboardRecord>> getLeaderboardAround(@PathVariable String username,
+                                                                        @RequestParam(defaultValue = "ALL_TIME") LeaderboardWindow window,
+                                                                        @RequestParam(defaultValue = "5") int radius) {
+        try {
+            return ResponseEntity.ok(leaderboardService.getLeaderboardAround(window, username, radius));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
 }
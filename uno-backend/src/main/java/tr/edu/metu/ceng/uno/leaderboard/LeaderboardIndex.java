@@ -0,0 +1,262 @@
+package tr.edu.metu.ceng.uno.leaderboard;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Ranked in-memory index of the total scores of the players of one leaderboard.
+ *
+ * Players are kept in a treap ordered by score, highest first, then by username, with the size of every subtree
+ * stored in its root. Adding a score, finding a player's rank and reading any range of ranks take O(log n) expected
+ * time, plus the length of the range. Reads share a lock, updates take it exclusively.
+ */
+public class LeaderboardIndex {
+
+    private final Map<String, Node> nodes = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Node root;
+
+    /**
+     * Adds to the total score of a player, who is added to the index if not present
+     * @param username The player
+     * @param delta Score to add, may be negative
+     */
+    public void add(String username, long delta) {
+        lock.writeLock().lock();
+        try {
+            Node node = nodes.remove(username);
+            long score = delta;
+            if (node != null) {
+                root = remove(root, node.score, username);
+                score += node.score;
+            }
+            insert(new Node(username, score));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Replaces the whole index with the given totals
+     * @param records Total score of each player, one record per player
+     */
+    public void replaceAll(List<LeaderboardRecord> records) {
+        lock.writeLock().lock();
+        try {
+            nodes.clear();
+            root = null;
+            for (LeaderboardRecord record : records) {
+                Node previous = nodes.get(record.getUsername());
+                if (previous != null) {
+                    root = remove(root, previous.score, previous.username);
+                }
+                insert(new Node(record.getUsername(), record.getScore() + (previous != null ? previous.score : 0)));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return The players of ranks 1 to n
+     */
+    public List<LeaderboardRecord> top(int n) {
+        return range(0, n);
+    }
+
+    /**
+     * @return The 1-based rank of the player, 0 if the player is not in the index
+     */
+    public int rank(String username) {
+        lock.readLock().lock();
+        try {
+            Node node = nodes.get(username);
+            return node == null ? 0 : countBefore(node.score, username) + 1;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return The total score of the player, 0 if the player is not in the index
+     */
+    public long score(String username) {
+        lock.readLock().lock();
+        try {
+            Node node = nodes.get(username);
+            return node == null ? 0 : node.score;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @param username The player
+     * @param radius Number of players to include above and below the player
+     * @return The players ranked around the player, empty if the player is not in the index
+     */
+    public List<LeaderboardRecord> around(String username, int radius) {
+        lock.readLock().lock();
+        try {
+            Node node = nodes.get(username);
+            if (node == null) {
+                return List.of();
+            }
+            int index = countBefore(node.score, username);
+            int from = Math.max(0, index - radius);
+            return range(from, index + radius + 1 - from);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return nodes.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return Up to count players, starting from the 0-based position from
+     */
+    private List<LeaderboardRecord> range(int from, int count) {
+        lock.readLock().lock();
+        try {
+            List<LeaderboardRecord> records = new ArrayList<>(Math.max(0, Math.min(count, nodes.size() - from)));
+            collect(root, from, count, records);
+            return records;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static void collect(Node node, int from, int count, List<LeaderboardRecord> out) {
+        if (node == null || out.size() >= count) {
+            return;
+        }
+        int leftSize = size(node.left);
+        if (from < leftSize) {
+            collect(node.left, from, count, out);
+        }
+        if (from <= leftSize && out.size() < count) {
+            out.add(new LeaderboardRecord(node.username, node.score));
+        }
+        if (out.size() < count) {
+            collect(node.right, Math.max(0, from - leftSize - 1), count, out);
+        }
+    }
+
+    private int countBefore(long score, String username) {
+        int count = 0;
+        Node node = root;
+        while (node != null) {
+            int order = compare(score, username, node);
+            if (order <= 0) {
+                node = node.left;
+            } else {
+                count += size(node.left) + 1;
+                node = node.right;
+            }
+        }
+        return count;
+    }
+
+    private void insert(Node node) {
+        nodes.put(node.username, node);
+        Node[] parts = split(root, node.score, node.username);
+        root = merge(merge(parts[0], node), parts[1]);
+    }
+
+    private static Node remove(Node node, long score, String username) {
+        if (node == null) {
+            return null;
+        }
+        int order = compare(score, username, node);
+        if (order == 0) {
+            return merge(node.left, node.right);
+        }
+        if (order < 0) {
+            node.left = remove(node.left, score, username);
+        } else {
+            node.right = remove(node.right, score, username);
+        }
+        node.update();
+        return node;
+    }
+
+    /**
+     * Splits a subtree into the nodes ordered before the given key and the rest
+     */
+    private static Node[] split(Node node, long score, String username) {
+        if (node == null) {
+            return new Node[2];
+        }
+        if (compare(score, username, node) > 0) {
+            Node[] parts = split(node.right, score, username);
+            node.right = parts[0];
+            node.update();
+            parts[0] = node;
+            return parts;
+        }
+        Node[] parts = split(node.left, score, username);
+        node.left = parts[1];
+        node.update();
+        parts[1] = node;
+        return parts;
+    }
+
+    private static Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            left.update();
+            return left;
+        }
+        right.left = merge(left, right.left);
+        right.update();
+        return right;
+    }
+
+    /**
+     * Higher scores come first, equal scores are ordered by username
+     */
+    private static int compare(long score, String username, Node node) {
+        int order = Long.compare(node.score, score);
+        return order != 0 ? order : username.compareTo(node.username);
+    }
+
+    private static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static final class Node {
+        private final String username;
+        private final long score;
+        private final int priority = ThreadLocalRandom.current().nextInt();
+        private Node left;
+        private Node right;
+        private int size = 1;
+
+        private Node(String username, long score) {
+            this.username = username;
+            this.score = score;
+        }
+
+        private void update() {
+            size = 1 + LeaderboardIndex.size(left) + LeaderboardIndex.size(right);
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package tr.edu.metu.ceng.uno.leaderboard;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class LeaderboardRank {
+    private String username;
+    private long score;
+    private int rank; // 1 for the highest score
+}
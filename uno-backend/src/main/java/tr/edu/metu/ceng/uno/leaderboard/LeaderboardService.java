@@ -1,28 +1,112 @@
 package tr.edu.metu.ceng.uno.leaderboard;
 
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import tr.edu.metu.ceng.uno.history.GameHistoryRepository;
+import tr.edu.metu.ceng.uno.history.GameHistoryService;
+import tr.edu.metu.ceng.uno.history.UserDailyScoreRepository;
 
 import java.time.LocalDate;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 
+/**
+ * Serves the leaderboards from in-memory ranked indexes, one per window, without querying the database.
+ *
+ * The indexes are built from the daily score rollup when the application starts and every night, when the weekly and
+ * monthly windows move by a day, and are updated in between with every game record that is written.
+ * A record written while the indexes are rebuilt may be missed or counted twice until the next rebuild.
+ */
 @Service
+@Slf4j
 public class LeaderboardService {
-    private final GameHistoryRepository gameHistoryRepository;
 
-    public LeaderboardService(GameHistoryRepository gameHistoryRepository) {
-        this.gameHistoryRepository = gameHistoryRepository;
+    public static final int LEADERBOARD_SIZE = 100;
+    public static final int MAX_RADIUS = 50;
+
+    private final UserDailyScoreRepository userDailyScoreRepository;
+    private final Map<LeaderboardWindow, LeaderboardIndex> indexes = new EnumMap<>(LeaderboardWindow.class);
+
+    public LeaderboardService(UserDailyScoreRepository userDailyScoreRepository, GameHistoryService gameHistoryService) {
+        this.userDailyScoreRepository = userDailyScoreRepository;
+        for (LeaderboardWindow window : LeaderboardWindow.values()) {
+            indexes.put(window, new LeaderboardIndex());
+        }
+        gameHistoryService.onGameRecordWritten(this::addScore);
     }
 
     public List<LeaderboardRecord> getLeaderboard() {
-        return gameHistoryRepository.aggregateScores();
+        return indexes.get(LeaderboardWindow.ALL_TIME).top(LEADERBOARD_SIZE);
     }
 
     public List<LeaderboardRecord> getWeeklyLeaderboard() {
-        return gameHistoryRepository.aggregateWeeklyScores(LocalDate.now().minusWeeks(1));
+        return indexes.get(LeaderboardWindow.WEEKLY).top(LEADERBOARD_SIZE);
     }
 
     public List<LeaderboardRecord> getMonthlyLeaderboard() {
-        return gameHistoryRepository.aggregateMonthlyScores(LocalDate.now().minusMonths(1));
+        return indexes.get(LeaderboardWindow.MONTHLY).top(LEADERBOARD_SIZE);
+    }
+
+    /**
+     * @return All-time score of the player, 0 for a player without games
+     */
+    public long getScore(String username) {
+        return indexes.get(LeaderboardWindow.ALL_TIME).score(username);
+    }
+
+    /**
+     * @return Rank and score of the player in the window, null for a player without games in it
+     */
+    public LeaderboardRank getRank(LeaderboardWindow window, String username) {
+        LeaderboardIndex index = indexes.get(window);
+        int rank = index.rank(username);
+        return rank == 0 ? null : new LeaderboardRank(username, index.score(username), rank);
+    }
+
+    /**
+     * @return The players ranked up to radius places above and below the player in the window
+     */
+    public List<LeaderboardRecord> getLeaderboardAround(LeaderboardWindow window, String username, int radius) {
+        if (radius < 0 || radius > MAX_RADIUS) {
+            throw new IllegalArgumentException("Radius must be between 0 and " + MAX_RADIUS);
+        }
+        return indexes.get(window).around(username, radius);
+    }
+
+    /**
+     * Rebuilds every index from the daily score rollup, which sums at most one row per player and day
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${uno.leaderboard.rebuild-cron:0 0 0 * * *}")
+    public void rebuildIndexes() {
+        long start = System.nanoTime();
+        indexes.get(LeaderboardWindow.ALL_TIME).replaceAll(userDailyScoreRepository.sumScores());
+        indexes.get(LeaderboardWindow.WEEKLY).replaceAll(userDailyScoreRepository.sumScoresSince(windowStart(LeaderboardWindow.WEEKLY)));
+        indexes.get(LeaderboardWindow.MONTHLY).replaceAll(userDailyScoreRepository.sumScoresSince(windowStart(LeaderboardWindow.MONTHLY)));
+        log.info("Leaderboard indexes rebuilt in {} ms. Ranked players: {}",
+                (System.nanoTime() - start) / 1_000_000, indexes.get(LeaderboardWindow.ALL_TIME).size());
+    }
+
+    private void addScore(String username, int score, LocalDate date) {
+        for (LeaderboardWindow window : LeaderboardWindow.values()) {
+            LocalDate windowStart = windowStart(window);
+            if (windowStart == null || !date.isBefore(windowStart)) {
+                indexes.get(window).add(username, score);
+            }
+        }
+    }
+
+    /**
+     * @return First day of the window, null for the all-time window
+     */
+    private static LocalDate windowStart(LeaderboardWindow window) {
+        return switch (window) {
+            case ALL_TIME -> null;
+            case WEEKLY -> LocalDate.now().minusWeeks(1);
+            case MONTHLY -> LocalDate.now().minusMonths(1);
+        };
     }
 }
@@ -0,0 +1,10 @@
+package tr.edu.metu.ceng.uno.leaderboard;
+
+/**
+ * Time window a leaderboard sums the scores of
+ */
+public enum LeaderboardWindow {
+    ALL_TIME,
+    WEEKLY,
+    MONTHLY
+}
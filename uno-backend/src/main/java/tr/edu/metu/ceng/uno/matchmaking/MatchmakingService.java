@@ -0,0 +1,328 @@
+package tr.edu.metu.ceng.uno.matchmaking;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Groups waiting players into multiplayer tables of 2 to 4 players with similar ratings.
+ *
+ * Joining and leaving never block: a player's ticket is appended to the lock-free queue of its bucket, one bucket per
+ * requested table size and rating band. Tables are formed in batches on a fixed tick, which drains the buckets and
+ * groups the tickets of each table size in band order. A table may span as many bands as its longest waiting player
+ * has waited widen intervals, so no player waits much longer than the distance to the nearest opponents allows.
+ * Players that leave keep their ticket in the queue until the next tick drops it. A ticket is either claimed by the
+ * tick for a table or cancelled by its player, whichever moves it out of the waiting state first.
+ * Players still unmatched after the backfill deadline are seated together regardless of rating, and the seats no
+ * human took are left for the table listener to fill with computer players.
+ */
+@Service
+@Slf4j
+public class MatchmakingService {
+
+    public static final int MIN_TABLE_SIZE = 2;
+    public static final int MAX_TABLE_SIZE = 4;
+
+    private static final Comparator<Ticket> BAND_ORDER = Comparator.comparingInt(Ticket::band);
+
+    // Waiting tickets by table size and rating band, appended to by joining players and drained by the tick
+    private final Map<Bucket, Queue<Ticket>> buckets = new ConcurrentHashMap<>();
+    // The live ticket of every waiting player, including players being seated by the tick: username -> ticket
+    private final Map<String, Ticket> tickets = new ConcurrentHashMap<>();
+    // Tickets left over by previous ticks, by table size, only used by the tick
+    private final List<List<Ticket>> carriedOver = new ArrayList<>();
+
+    private final AtomicIntegerArray queueDepths = new AtomicIntegerArray(MAX_TABLE_SIZE + 1);
+    private final LongAdder tablesFormed = new LongAdder();
+    private final LongAdder backfilledTables = new LongAdder();
+    private final LongAdder matchedPlayers = new LongAdder();
+    private final LongAdder totalTimeToMatchNanos = new LongAdder();
+    private final AtomicLong maxTimeToMatchNanos = new AtomicLong();
+
+    private final int bandWidth;
+    private final long widenIntervalNanos;
+    private final long backfillAfterNanos;
+    private volatile TableListener tableListener = (players, seats) -> {
+    };
+
+    public MatchmakingService(@Value("${uno.matchmaking.band-width:100}") int bandWidth,
+                              @Value("${uno.matchmaking.widen-interval:5s}") Duration widenInterval,
+                              @Value("${uno.matchmaking.backfill-after:30s}") Duration backfillAfter) {
+        if (bandWidth < 1 || widenInterval.isNegative() || widenInterval.isZero()
+                || backfillAfter.isNegative() || backfillAfter.isZero()) {
+            throw new IllegalArgumentException("Matchmaking band width, widen interval and backfill deadline must be positive");
+        }
+        this.bandWidth = bandWidth;
+        this.widenIntervalNanos = widenInterval.toNanos();
+        this.backfillAfterNanos = backfillAfter.toNanos();
+        for (int tableSize = 0; tableSize <= MAX_TABLE_SIZE; tableSize++) {
+            carriedOver.add(new ArrayList<>());
+        }
+        log.info("MatchmakingService initialized with rating bands of {}, widen interval {} and backfill after {}",
+                bandWidth, widenInterval, backfillAfter);
+    }
+
+    /**
+     * Sets the callback that starts the game of every formed table, called on the matchmaking tick
+     * @param listener Receives the usernames of the players of a table and its number of seats
+     */
+    public void onTableFormed(TableListener listener) {
+        this.tableListener = listener;
+    }
+
+    /**
+     * Puts a player in the queue of the given table size
+     * @param username The player
+     * @param tableSize Number of players of the table to join, 2 to 4
+     * @param rating Rating of the player, tables are formed from players of nearby ratings
+     * @return false if the player was already waiting
+     */
+    public boolean enqueue(String username, int tableSize, long rating) {
+        if (tableSize < MIN_TABLE_SIZE || tableSize > MAX_TABLE_SIZE) {
+            throw new IllegalArgumentException("Table size must be between " + MIN_TABLE_SIZE + " and " + MAX_TABLE_SIZE);
+        }
+
+        Ticket ticket = new Ticket(username, tableSize, (int) Math.max(0, rating / bandWidth), System.nanoTime(),
+                new AtomicReference<>(TicketState.WAITING));
+        // A cancelled ticket may still be in the map for a moment, it is replaced
+        if (tickets.compute(username, (name, existing) ->
+                existing == null || existing.state().get() == TicketState.CANCELLED ? ticket : existing) != ticket) {
+            log.debug("Player {} is already waiting for a table", username);
+            return false;
+        }
+
+        buckets.computeIfAbsent(new Bucket(tableSize, ticket.band()), bucket -> new ConcurrentLinkedQueue<>()).offer(ticket);
+        queueDepths.incrementAndGet(tableSize);
+        log.debug("Player {} waiting for a table of {} in rating band {}", username, tableSize, ticket.band());
+        return true;
+    }
+
+    /**
+     * Removes a player from the queue
+     * @param username The player
+     * @return false if the player was not waiting, or is already being seated at a table
+     */
+    public boolean cancel(String username) {
+        Ticket ticket = tickets.get(username);
+        if (ticket == null) {
+            return false;
+        }
+        while (!ticket.state().compareAndSet(TicketState.WAITING, TicketState.CANCELLED)) {
+            // A ticket being claimed is seated or back to waiting within a few steps of the tick
+            if (ticket.state().get() != TicketState.CLAIMED || tickets.get(username) != ticket) {
+                return false;
+            }
+            Thread.onSpinWait();
+        }
+
+        tickets.remove(username, ticket);
+        queueDepths.decrementAndGet(ticket.tableSize());
+        log.debug("Player {} stopped waiting for a table of {}", username, ticket.tableSize());
+        return true;
+    }
+
+    public boolean isWaiting(String username) {
+        return tickets.containsKey(username);
+    }
+
+    /**
+     * Forms as many tables as the waiting players allow and hands each one to the table listener
+     */
+    @Scheduled(fixedDelayString = "${uno.matchmaking.tick-interval:500}")
+    public synchronized void formTables() {
+        long now = System.nanoTime();
+        int formed = 0;
+
+        for (int tableSize = MIN_TABLE_SIZE; tableSize <= MAX_TABLE_SIZE; tableSize++) {
+            List<Ticket> candidates = carriedOver.get(tableSize);
+            drainBuckets(tableSize, candidates);
+            // Stable, so players of the same band keep their arrival order
+            candidates.sort(BAND_ORDER);
+
+            List<Ticket> unmatched = new ArrayList<>();
+            List<Ticket> table = new ArrayList<>(tableSize);
+            for (Ticket ticket : candidates) {
+                if (ticket.state().get() == TicketState.CANCELLED) {
+                    continue;
+                }
+
+                table.add(ticket);
+                while (!fits(table, now)) {
+                    unmatched.add(table.removeFirst());
+                }
+                if (table.size() == tableSize) {
+                    if (claim(table, unmatched)) {
+                        startTable(table, tableSize, now);
+                        formed++;
+                    }
+                    table.clear();
+                }
+            }
+            unmatched.addAll(table);
+
+            candidates.clear();
+            formed += backfillTables(tableSize, unmatched, candidates, now);
+        }
+
+        if (formed > 0) {
+            log.debug("Matchmaking tick formed {} tables. Waiting players by table size: {}", formed, waitingPlayers());
+        }
+    }
+
+    public MatchmakingStatistics getStatistics() {
+        long matched = matchedPlayers.sum();
+        double averageMillis = matched == 0 ? 0 : totalTimeToMatchNanos.sum() / (double) matched / 1_000_000;
+        return new MatchmakingStatistics(waitingPlayers(), tablesFormed.sum(), backfilledTables.sum(), matched,
+                averageMillis, Duration.ofNanos(maxTimeToMatchNanos.get()).toMillis());
+    }
+
+    private Map<Integer, Integer> waitingPlayers() {
+        Map<Integer, Integer> waiting = new LinkedHashMap<>();
+        for (int tableSize = MIN_TABLE_SIZE; tableSize <= MAX_TABLE_SIZE; tableSize++) {
+            waiting.put(tableSize, queueDepths.get(tableSize));
+        }
+        return waiting;
+    }
+
+    private void drainBuckets(int tableSize, List<Ticket> candidates) {
+        for (Map.Entry<Bucket, Queue<Ticket>> entry : buckets.entrySet()) {
+            if (entry.getKey().tableSize() != tableSize) {
+                continue;
+            }
+
+            Queue<Ticket> queue = entry.getValue();
+            Ticket ticket;
+            while ((ticket = queue.poll()) != null) {
+                candidates.add(ticket);
+            }
+        }
+    }
+
+    /**
+     * Seats the unmatched players that waited past the backfill deadline at tables of their own, oldest first
+     * @param remaining Receives the players that keep waiting
+     * @return Number of tables formed
+     */
+    private int backfillTables(int tableSize, List<Ticket> unmatched, List<Ticket> remaining, long now) {
+        List<Ticket> overdue = new ArrayList<>();
+        for (Ticket ticket : unmatched) {
+            if (now - ticket.enqueuedAt() >= backfillAfterNanos) {
+                overdue.add(ticket);
+            } else {
+                remaining.add(ticket);
+            }
+        }
+        if (overdue.isEmpty()) {
+            return 0;
+        }
+
+        overdue.sort(Comparator.comparingLong(Ticket::enqueuedAt));
+        int formed = 0;
+        for (int from = 0; from < overdue.size(); from += tableSize) {
+            List<Ticket> table = new ArrayList<>(overdue.subList(from, Math.min(from + tableSize, overdue.size())));
+            if (claim(table, remaining)) {
+                backfilledTables.increment();
+                startTable(table, tableSize, now);
+                formed++;
+            }
+        }
+        return formed;
+    }
+
+    /**
+     * A table in band order fits when its band spread is within the widening of its longest waiting player
+     */
+    private boolean fits(List<Ticket> table, long now) {
+        int spread = table.getLast().band() - table.getFirst().band();
+        long oldestEnqueuedAt = Long.MAX_VALUE;
+        for (Ticket ticket : table) {
+            oldestEnqueuedAt = Math.min(oldestEnqueuedAt, ticket.enqueuedAt());
+        }
+        return spread <= (now - oldestEnqueuedAt) / widenIntervalNanos;
+    }
+
+    /**
+     * Takes the tickets of a table out of the queue, unless one of its players left in the meantime.
+     * Claimed tickets can no longer be cancelled, tickets of a table that could not be claimed go back to waiting.
+     */
+    private boolean claim(List<Ticket> table, List<Ticket> unmatched) {
+        int claimed = 0;
+        while (claimed < table.size() && table.get(claimed).state().compareAndSet(TicketState.WAITING, TicketState.CLAIMED)) {
+            claimed++;
+        }
+        if (claimed == table.size()) {
+            for (Ticket ticket : table) {
+                tickets.remove(ticket.username(), ticket);
+            }
+            queueDepths.addAndGet(table.getFirst().tableSize(), -table.size());
+            return true;
+        }
+
+        // Only the tick moves a ticket out of the claimed state
+        for (Ticket ticket : table.subList(0, claimed)) {
+            ticket.state().set(TicketState.WAITING);
+        }
+        for (Ticket ticket : table) {
+            if (ticket.state().get() != TicketState.CANCELLED) {
+                unmatched.add(ticket);
+            }
+        }
+        return false;
+    }
+
+    private void startTable(List<Ticket> table, int seats, long now) {
+        List<String> players = new ArrayList<>(table.size());
+        for (Ticket ticket : table) {
+            long timeToMatch = now - ticket.enqueuedAt();
+            totalTimeToMatchNanos.add(timeToMatch);
+            maxTimeToMatchNanos.accumulateAndGet(timeToMatch, Math::max);
+            players.add(ticket.username());
+        }
+        tablesFormed.increment();
+        matchedPlayers.add(table.size());
+
+        log.info("Formed a table of {} with players {}", seats, players);
+        try {
+            tableListener.tableFormed(players, seats);
+        } catch (RuntimeException e) {
+            log.error("Could not start the game of table {}: {}", players, e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Starts the game of a formed table
+     */
+    @FunctionalInterface
+    public interface TableListener {
+        /**
+         * @param players Usernames of the human players of the table, in seat order
+         * @param seats Number of seats of the table, the seats after the players are to be taken by computer players
+         */
+        void tableFormed(List<String> players, int seats);
+    }
+
+    private record Bucket(int tableSize, int band) {
+    }
+
+    private enum TicketState {
+        WAITING, CLAIMED, CANCELLED
+    }
+
+    private record Ticket(String username, int tableSize, int band, long enqueuedAt, AtomicReference<TicketState> state) {
+    }
+}
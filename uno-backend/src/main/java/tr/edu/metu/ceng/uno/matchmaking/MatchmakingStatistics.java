@@ -0,0 +1,20 @@
+package tr.edu.metu.ceng.uno.matchmaking;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Map;
+
+/**
+ * Point-in-time view of the matchmaking queues and of the tables formed since startup
+ */
+@Getter
+@AllArgsConstructor
+public class MatchmakingStatistics {
+    private Map<Integer, Integer> waitingPlayers; // Table size -> players waiting for it
+    private long tablesFormed;
+    private long backfilledTables; // Tables started with computer players in the seats no human took
+    private long matchedPlayers;
+    private double averageTimeToMatchMillis;
+    private long maxTimeToMatchMillis;
+}
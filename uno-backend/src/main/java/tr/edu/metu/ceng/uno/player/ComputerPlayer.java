@@ -2,10 +2,9 @@ package tr.edu.metu.ceng.uno.player;
 
 import tr.edu.metu.ceng.uno.card.Card;
 import tr.edu.metu.ceng.uno.card.CardColor;
+import tr.edu.metu.ceng.uno.card.CardType;
 import tr.edu.metu.ceng.uno.util.CardUtil;
 
-import java.util.Comparator;
-
 public class ComputerPlayer extends Player {
 
     public ComputerPlayer(String username) {
@@ -25,11 +24,25 @@ public class ComputerPlayer extends Player {
         * 2. Number
         * 3. Wild
         * */
-        Card cardToPlay = deck.stream()
-            .filter(card -> CardUtil.isValidMove(card, lastPlayedCard, currentCardColor))
-            .min(Comparator.comparing(Card::getCardType)).get();
+        long playableMask = deck.getPlayableMask(lastPlayedCard, currentCardColor);
+
+        // Card types are declared in priority order, pick the first type the hand can play
+        long preferredMask = 0;
+        for (CardType cardType : CardType.values()) {
+            preferredMask = playableMask & CardUtil.getTypeMask(cardType);
+            if (preferredMask != 0) {
+                break;
+            }
+        }
+        if (preferredMask == 0) {
+            throw new IllegalStateException("Computer player " + username + " has no valid card to play");
+        }
 
-        deck.remove(cardToPlay);
-        return cardToPlay;
+        for (int i = 0; i < deck.size(); i++) {
+            if ((preferredMask & (1L << CardUtil.getCardOrdinal(deck.get(i)))) != 0) {
+                return deck.remove(i);
+            }
+        }
+        throw new IllegalStateException("Hand index of computer player " + username + " is out of sync");
     }
 }
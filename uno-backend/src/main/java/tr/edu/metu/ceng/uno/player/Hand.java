@@ -0,0 +1,114 @@
+package tr.edu.metu.ceng.uno.player;
+
+import tr.edu.metu.ceng.uno.card.Card;
+import tr.edu.metu.ceng.uno.card.CardColor;
+import tr.edu.metu.ceng.uno.card.CardType;
+import tr.edu.metu.ceng.uno.util.CardUtil;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * The cards of a player, in the order they were received.
+ *
+ * Next to the list itself the hand keeps a count per card ordinal and a bitset of the ordinals it holds,
+ * updated on every add and remove. Playability questions are then answered with a few mask operations
+ * against {@link CardUtil#getPlayableMask} instead of checking every card.
+ */
+public class Hand extends AbstractList<Card> implements RandomAccess {
+    private final List<Card> cards = new ArrayList<>();
+    private final int[] ordinalCounts = new int[CardUtil.CARD_ORDINAL_COUNT];
+    private final int[] colorCounts = new int[CardColor.values().length];
+    private long ordinalMask = 0;
+
+    @Override
+    public Card get(int index) {
+        return cards.get(index);
+    }
+
+    @Override
+    public int size() {
+        return cards.size();
+    }
+
+    @Override
+    public void add(int index, Card card) {
+        cards.add(index, card);
+        index(card);
+        modCount++;
+    }
+
+    @Override
+    public Card set(int index, Card card) {
+        Card previous = cards.set(index, card);
+        unindex(previous);
+        index(card);
+        return previous;
+    }
+
+    @Override
+    public Card remove(int index) {
+        Card removed = cards.remove(index);
+        unindex(removed);
+        modCount++;
+        return removed;
+    }
+
+    /**
+     * @return Bitset of the ordinals in this hand that can be played on the given card
+     */
+    public long getPlayableMask(Card lastPlayedCard, CardColor currentCardColor) {
+        return ordinalMask & CardUtil.getPlayableMask(lastPlayedCard, currentCardColor);
+    }
+
+    public boolean hasPlayableCard(Card lastPlayedCard, CardColor currentCardColor) {
+        return getPlayableMask(lastPlayedCard, currentCardColor) != 0;
+    }
+
+    /**
+     * A Wild Draw Four may only be played when this is false
+     */
+    public boolean hasPlayableCardOtherThanWildDrawFour(Card lastPlayedCard, CardColor currentCardColor) {
+        return (getPlayableMask(lastPlayedCard, currentCardColor) & ~CardUtil.getTypeMask(CardType.WILD_DRAW_FOUR)) != 0;
+    }
+
+    public boolean containsType(CardType cardType) {
+        return (ordinalMask & CardUtil.getTypeMask(cardType)) != 0;
+    }
+
+    /**
+     * @return The color the hand holds the most cards of, the first one in {@link CardColor#getColors()} order
+     *         on ties and RED for a hand without colored cards
+     */
+    public CardColor getMostFrequentColor() {
+        int maxCount = 0;
+        CardColor mostFrequentColor = CardColor.RED;
+
+        for (CardColor cardColor : CardColor.getColors()) {
+            if (colorCounts[cardColor.ordinal()] > maxCount) {
+                maxCount = colorCounts[cardColor.ordinal()];
+                mostFrequentColor = cardColor;
+            }
+        }
+
+        return mostFrequentColor;
+    }
+
+    private void index(Card card) {
+        int ordinal = CardUtil.getCardOrdinal(card);
+        if (ordinalCounts[ordinal]++ == 0) {
+            ordinalMask |= 1L << ordinal;
+        }
+        colorCounts[CardUtil.getOrdinalColor(ordinal).ordinal()]++;
+    }
+
+    private void unindex(Card card) {
+        int ordinal = CardUtil.getCardOrdinal(card);
+        if (--ordinalCounts[ordinal] == 0) {
+            ordinalMask &= ~(1L << ordinal);
+        }
+        colorCounts[CardUtil.getOrdinalColor(ordinal).ordinal()]--;
+    }
+}
@@ -7,9 +7,7 @@ import tr.edu.metu.ceng.uno.card.Card;
 import tr.edu.metu.ceng.uno.card.CardType;
 import tr.edu.metu.ceng.uno.card.NumberCard;
 import tr.edu.metu.ceng.uno.card.CardColor;
-import tr.edu.metu.ceng.uno.util.CardUtil;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -18,7 +16,7 @@ import java.util.stream.Collectors;
 @Slf4j
 public abstract class Player {
     protected final String username;
-    protected final List<Card> deck = new ArrayList<>();
+    protected final Hand deck = new Hand();
 
     public Player(String username) {
         this.username = username;
@@ -35,12 +33,9 @@ public abstract class Player {
         log.debug("Checking if player {} should draw a card. Last played card: {} {}, Current color: {}", 
                 username, lastPlayedCard.getCardColor(), lastPlayedCard.getCardType(), currentCardColor);
 
-        for (Card card : deck) {
-            if (CardUtil.isValidMove(card, lastPlayedCard, currentCardColor)) {
-                log.debug("Player {} has a valid card to play: {} {}", 
-                        username, card.getCardColor(), card.getCardType());
-                return false;
-            }
+        if (deck.hasPlayableCard(lastPlayedCard, currentCardColor)) {
+            log.debug("Player {} has a valid card to play", username);
+            return false;
         }
 
         log.info("Player {} has no valid cards to play and must draw a card", username);
@@ -48,7 +43,7 @@ public abstract class Player {
     }
 
     public boolean hasDrawTwoCard() {
-        boolean hasCard = deck.stream().anyMatch(card -> card.getCardType() == CardType.DRAW_TWO);
+        boolean hasCard = deck.containsType(CardType.DRAW_TWO);
         log.debug("Checking if player {} has a DRAW_TWO card: {}", username, hasCard);
         return hasCard;
     }
@@ -87,7 +82,7 @@ public abstract class Player {
      * @return true if the player has a card of the specified type
      */
     public boolean hasCardType(CardType cardType, List<Card> drawDeck) {
-        boolean hasCard = deck.stream().anyMatch(card -> card.getCardType() == cardType);
+        boolean hasCard = deck.containsType(cardType);
         log.debug("Checking if player {} has a card of type {}: {}", username, cardType, hasCard);
         return hasCard;
     }
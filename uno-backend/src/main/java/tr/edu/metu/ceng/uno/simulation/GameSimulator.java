@@ -0,0 +1,80 @@
+package tr.edu.metu.ceng.uno.simulation;
+
+import tr.edu.metu.ceng.uno.card.CardPile;
+import tr.edu.metu.ceng.uno.card.CardType;
+import tr.edu.metu.ceng.uno.game.Game;
+import tr.edu.metu.ceng.uno.player.ComputerPlayer;
+import tr.edu.metu.ceng.uno.player.Player;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Plays a complete game between computer players with the same rules as singleplayer games.
+ */
+public class GameSimulator {
+
+    // A game that has not ended after this many turns is counted as unfinished
+    static final int MAX_TURNS = 5_000;
+
+    private GameSimulator() {
+    }
+
+    /**
+     * Plays one game and adds its outcome to the given statistics
+     * @param seed Seed of the game, the same seed always plays the same game
+     * @param statistics Statistics of the table size to play
+     */
+    public static void simulate(long seed, SimulationStatistics statistics) {
+        int playerCount = statistics.getPlayerCount();
+        List<Player> players = new ArrayList<>(playerCount);
+        for (int i = 1; i <= playerCount; i++) {
+            players.add(new ComputerPlayer("Computer " + i));
+        }
+
+        Game game = new Game(players, seed);
+        game.distributeCards();
+        game.initializeFirstCard();
+
+        boolean[] playedWildSkip = new boolean[playerCount];
+        for (int turn = 1; turn <= MAX_TURNS; turn++) {
+            int playerId = game.getCurrentPlayer();
+            Player player = players.get(playerId);
+
+            if (mustDrawFromExhaustedPiles(game, player)) {
+                // Every card is held by the players, a player with nothing to play or draw passes
+                game.setNextPlayerUnconditionally();
+                continue;
+            }
+
+            int deckSizeBefore = player.getDeck().size();
+            int drawTwoStackBefore = game.getDrawTwoStackAmount();
+
+            game.playComputerTurn(playerId);
+
+            if (player.getDeck().size() >= deckSizeBefore) {
+                continue;
+            }
+
+            CardType playedType = game.getLastPlayedCard().getCardType();
+            if (playedType == CardType.WILD_SKIP_EVERYONE_ONCE) {
+                playedWildSkip[playerId] = true;
+            } else if (playedType == CardType.DRAW_TWO && game.getDrawTwoStackAmount() == 0) {
+                statistics.recordDrawTwoStack(drawTwoStackBefore + 1);
+            }
+
+            if (player.getDeck().isEmpty()) {
+                statistics.recordFinishedGame(playerId, turn, playedWildSkip);
+                return;
+            }
+        }
+
+        statistics.recordUnfinishedGame();
+    }
+
+    private static boolean mustDrawFromExhaustedPiles(Game game, Player player) {
+        CardPile cardPile = game.getCardPile();
+        return cardPile.isDrawPileEmpty() && cardPile.discardPileSize() <= 1
+                && player.shouldDrawCard(game.getLastPlayedCard(), game.getCurrentCardColor());
+    }
+}
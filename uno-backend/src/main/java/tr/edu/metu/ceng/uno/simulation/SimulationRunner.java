@@ -0,0 +1,131 @@
+package tr.edu.metu.ceng.uno.simulation;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Plays games between computer players on every core, without Spring, websockets or DTOs,
+ * to tune bot strategies and rule variants offline.
+ *
+ * Usage: mvn compile exec:java -Dexec.mainClass=tr.edu.metu.ceng.uno.simulation.SimulationRunner
+ *        -Dexec.args="--games=1000000 --players=2,3,4 --threads=8 --seed=42"
+ */
+public class SimulationRunner {
+
+    // Games are split into chunks so that fast and slow workers even out
+    private static final int CHUNKS_PER_THREAD = 8;
+
+    private SimulationRunner() {
+    }
+
+    /**
+     * Simulates the given number of games of one table size. Game i is always played with the same seed,
+     * so the statistics only depend on the base seed and not on the number of threads.
+     */
+    public static SimulationStatistics run(int games, int playerCount, int threads, long seed)
+            throws InterruptedException, ExecutionException {
+        if (playerCount < 2 || playerCount > 4) {
+            throw new IllegalArgumentException("Player count must be between 2 and 4!");
+        }
+
+        int chunkSize = Math.max(1, games / (threads * CHUNKS_PER_THREAD));
+        List<Future<SimulationStatistics>> chunks = new ArrayList<>();
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            for (int from = 0; from < games; from += chunkSize) {
+                int start = from;
+                int end = Math.min(games, from + chunkSize);
+                chunks.add(executor.submit(() -> simulateChunk(start, end, playerCount, seed)));
+            }
+
+            SimulationStatistics statistics = new SimulationStatistics(playerCount);
+            for (Future<SimulationStatistics> chunk : chunks) {
+                statistics.merge(chunk.get());
+            }
+            return statistics;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static SimulationStatistics simulateChunk(int start, int end, int playerCount, long seed) {
+        SimulationStatistics statistics = new SimulationStatistics(playerCount);
+        for (int game = start; game < end; game++) {
+            GameSimulator.simulate(gameSeed(seed, game), statistics);
+        }
+        return statistics;
+    }
+
+    static long gameSeed(long seed, int game) {
+        return new SplittableRandom(seed + game * 0x9E3779B97F4A7C15L).nextLong();
+    }
+
+    public static void main(String[] args) throws InterruptedException, ExecutionException {
+        int games = 1_000_000;
+        int threads = Runtime.getRuntime().availableProcessors();
+        long seed = System.nanoTime();
+        List<Integer> playerCounts = List.of(2, 3, 4);
+
+        for (String arg : args) {
+            String[] option = arg.split("=", 2);
+            if (option.length != 2) {
+                throw new IllegalArgumentException("Options must be given as --name=value: " + arg);
+            }
+            switch (option[0]) {
+                case "--games" -> games = Integer.parseInt(option[1]);
+                case "--threads" -> threads = Integer.parseInt(option[1]);
+                case "--seed" -> seed = Long.parseLong(option[1]);
+                case "--players" -> playerCounts = parsePlayerCounts(option[1]);
+                default -> throw new IllegalArgumentException("Unknown option: " + option[0]);
+            }
+        }
+
+        // The engine logs every move, which would dominate the run time
+        ((Logger) LoggerFactory.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME)).setLevel(Level.OFF);
+
+        System.out.printf("Simulating %d games per table size on %d threads, seed %d%n", games, threads, seed);
+        for (int playerCount : playerCounts) {
+            long startTime = System.nanoTime();
+            SimulationStatistics statistics = run(games, playerCount, threads, seed);
+            double seconds = (System.nanoTime() - startTime) / 1e9;
+
+            printReport(statistics, seconds);
+        }
+    }
+
+    private static List<Integer> parsePlayerCounts(String value) {
+        List<Integer> playerCounts = new ArrayList<>();
+        for (String playerCount : value.split(",")) {
+            playerCounts.add(Integer.parseInt(playerCount.trim()));
+        }
+        return playerCounts;
+    }
+
+    private static void printReport(SimulationStatistics statistics, double seconds) {
+        System.out.println("==============================");
+        System.out.printf("%d players: %d games in %.1f s (%.0f games/sec)%n", statistics.getPlayerCount(),
+                statistics.getGames(), seconds, statistics.getGames() / seconds);
+        System.out.printf("Unfinished games: %d%n", statistics.getUnfinishedGames());
+        System.out.printf("Average game length: %.1f turns (longest %d)%n",
+                statistics.getAverageTurns(), statistics.getMaxTurns());
+        for (int seat = 0; seat < statistics.getPlayerCount(); seat++) {
+            System.out.printf("Win rate of seat %d: %.2f%%%n", seat, statistics.getWinRate(seat) * 100);
+        }
+        System.out.printf("DRAW_TWO stacks: %d, average depth %.3f, deepest %d%n", statistics.getDrawTwoStacks(),
+                statistics.getAverageDrawTwoStackDepth(), statistics.getMaxDrawTwoStackDepth());
+        System.out.printf("Win rate with WILD_SKIP_EVERYONE_ONCE played: %.2f%%, without: %.2f%%%n",
+                statistics.getWildSkipWinRate() * 100, statistics.getOtherWinRate() * 100);
+        System.out.printf("Average game length with WILD_SKIP_EVERYONE_ONCE played: %.1f turns, without: %.1f turns%n",
+                statistics.getAverageTurnsWithWildSkip(), statistics.getAverageTurnsWithoutWildSkip());
+    }
+}
@@ -0,0 +1,140 @@
+package tr.edu.metu.ceng.uno.simulation;
+
+import lombok.Getter;
+
+/**
+ * Outcome counters of simulated games of one table size.
+ * Each worker fills its own instance, the instances are merged once the workers are done.
+ */
+@Getter
+public class SimulationStatistics {
+    private final int playerCount;
+
+    private long games = 0;
+    private long unfinishedGames = 0;
+    // Turns of finished games
+    private long turns = 0;
+    private long maxTurns = 0;
+    private final long[] winsBySeat;
+
+    // DRAW_TWO stacks that ended with a player drawing, by the number of DRAW_TWO cards in the stack
+    private long drawTwoStacks = 0;
+    private long drawTwoStackDepth = 0;
+    private long maxDrawTwoStackDepth = 0;
+
+    // Players of finished games, split by whether they played a WILD_SKIP_EVERYONE_ONCE
+    private long wildSkipPlayers = 0;
+    private long wildSkipWinners = 0;
+    private long otherPlayers = 0;
+    private long otherWinners = 0;
+    private long gamesWithWildSkip = 0;
+    private long turnsOfGamesWithWildSkip = 0;
+
+    public SimulationStatistics(int playerCount) {
+        this.playerCount = playerCount;
+        this.winsBySeat = new long[playerCount];
+    }
+
+    void recordDrawTwoStack(int depth) {
+        drawTwoStacks++;
+        drawTwoStackDepth += depth;
+        maxDrawTwoStackDepth = Math.max(maxDrawTwoStackDepth, depth);
+    }
+
+    void recordUnfinishedGame() {
+        games++;
+        unfinishedGames++;
+    }
+
+    /**
+     * @param winner Seat of the winner
+     * @param gameTurns Number of turns the game took
+     * @param playedWildSkip Whether the player at each seat played a WILD_SKIP_EVERYONE_ONCE
+     */
+    void recordFinishedGame(int winner, int gameTurns, boolean[] playedWildSkip) {
+        games++;
+        turns += gameTurns;
+        maxTurns = Math.max(maxTurns, gameTurns);
+        winsBySeat[winner]++;
+
+        boolean anyWildSkip = false;
+        for (int seat = 0; seat < playerCount; seat++) {
+            if (playedWildSkip[seat]) {
+                anyWildSkip = true;
+                wildSkipPlayers++;
+                if (seat == winner) {
+                    wildSkipWinners++;
+                }
+            } else {
+                otherPlayers++;
+                if (seat == winner) {
+                    otherWinners++;
+                }
+            }
+        }
+
+        if (anyWildSkip) {
+            gamesWithWildSkip++;
+            turnsOfGamesWithWildSkip += gameTurns;
+        }
+    }
+
+    public void merge(SimulationStatistics other) {
+        if (other.playerCount != playerCount) {
+            throw new IllegalArgumentException("Cannot merge statistics of different table sizes");
+        }
+
+        games += other.games;
+        unfinishedGames += other.unfinishedGames;
+        turns += other.turns;
+        maxTurns = Math.max(maxTurns, other.maxTurns);
+        for (int seat = 0; seat < playerCount; seat++) {
+            winsBySeat[seat] += other.winsBySeat[seat];
+        }
+        drawTwoStacks += other.drawTwoStacks;
+        drawTwoStackDepth += other.drawTwoStackDepth;
+        maxDrawTwoStackDepth = Math.max(maxDrawTwoStackDepth, other.maxDrawTwoStackDepth);
+        wildSkipPlayers += other.wildSkipPlayers;
+        wildSkipWinners += other.wildSkipWinners;
+        otherPlayers += other.otherPlayers;
+        otherWinners += other.otherWinners;
+        gamesWithWildSkip += other.gamesWithWildSkip;
+        turnsOfGamesWithWildSkip += other.turnsOfGamesWithWildSkip;
+    }
+
+    public long getFinishedGames() {
+        return games - unfinishedGames;
+    }
+
+    public double getWinRate(int seat) {
+        return ratio(winsBySeat[seat], getFinishedGames());
+    }
+
+    public double getAverageTurns() {
+        return ratio(turns, getFinishedGames());
+    }
+
+    public double getAverageDrawTwoStackDepth() {
+        return ratio(drawTwoStackDepth, drawTwoStacks);
+    }
+
+    public double getWildSkipWinRate() {
+        return ratio(wildSkipWinners, wildSkipPlayers);
+    }
+
+    public double getOtherWinRate() {
+        return ratio(otherWinners, otherPlayers);
+    }
+
+    public double getAverageTurnsWithWildSkip() {
+        return ratio(turnsOfGamesWithWildSkip, gamesWithWildSkip);
+    }
+
+    public double getAverageTurnsWithoutWildSkip() {
+        return ratio(turns - turnsOfGamesWithWildSkip, getFinishedGames() - gamesWithWildSkip);
+    }
+
+    private static double ratio(long numerator, long denominator) {
+        return denominator == 0 ? 0 : (double) numerator / denominator;
+    }
+}
@@ -3,146 +3,188 @@ package tr.edu.metu.ceng.uno.util;
 import lombok.extern.slf4j.Slf4j;
 import tr.edu.metu.ceng.uno.card.*;
 
+import java.util.ArrayList;
 import java.util.Collections;
-import java.util.LinkedList;
 import java.util.List;
+import java.util.random.RandomGenerator;
 
 @Slf4j
 public class CardUtil {
-    public static List<Card> getShuffledDeck() {
-        log.info("Creating new shuffled deck");
-        List<Card> deck = new LinkedList<>();
-        log.debug("Initialized empty deck");
 
-        int numberCards = 0;
-        int actionCards = 0;
-        int wildCards = 0;
-        int wildCustomizables = 0;
-
-        log.debug("Creating deck with 2 sets of cards");
-        for (int i = 0; i < 2; i++) {
-            log.trace("Creating set {} of cards", i+1);
-
-            // Add number cards (0-9) of each color
-            log.debug("Adding number cards (0-9) for each color");
+    /*
+     * Compact card ordinals shared by every card with the same face:
+     * 0-39 number cards (color * 10 + number), 40-51 action cards (40 + color * 3 + action type),
+     * 52-54 wild cards. Colors and action types are indexed in their enum order.
+     */
+    public static final int CARD_ORDINAL_COUNT = 55;
+    private static final int ACTION_ORDINAL_BASE = 40;
+    private static final int WILD_ORDINAL_BASE = 52;
+    private static final int COLOR_COUNT = CardColor.values().length;
+
+    private static final Card[] ORDINAL_CARDS = new Card[CARD_ORDINAL_COUNT];
+    private static final CardColor[] ORDINAL_COLORS = new CardColor[CARD_ORDINAL_COUNT];
+    private static final CardType[] ORDINAL_TYPES = new CardType[CARD_ORDINAL_COUNT];
+    private static final int[] ORDINAL_NUMBERS = new int[CARD_ORDINAL_COUNT];
+    private static final long[] TYPE_MASKS = new long[CardType.values().length];
+
+    // The cards of one full deck in a fixed order, every game shuffles a copy of it
+    private static final List<Card> STANDARD_DECK = createStandardDeck();
+
+    /*
+     * Move legality for every (last played ordinal, current color, card ordinal) combination, laid out so that
+     * the cards playable on one top card and color form a contiguous row. PLAYABLE_MASKS holds the same rows as bitsets.
+     */
+    private static final boolean[] LEGAL_MOVES = new boolean[CARD_ORDINAL_COUNT * COLOR_COUNT * CARD_ORDINAL_COUNT];
+    private static final long[] PLAYABLE_MASKS = new long[CARD_ORDINAL_COUNT * COLOR_COUNT];
+
+    static {
+        for (CardColor color : CardColor.getColors()) {
             for (int number = 0; number < 10; number++) {
-                for (CardColor color : CardColor.values()) {
-                    if (color == CardColor.NONE) {
-                        log.trace("Skipping NONE color for number card {}", number);
-                        continue;
+                indexOrdinal(color.ordinal() * 10 + number, NumberCard.of(color, number));
+            }
+            for (CardType type : List.of(CardType.DRAW_TWO, CardType.SKIP, CardType.REVERSE)) {
+                indexOrdinal(ACTION_ORDINAL_BASE + color.ordinal() * 3 + type.ordinal(), ActionCard.of(type, color));
+            }
+        }
+        for (CardType type : List.of(CardType.WILD, CardType.WILD_SKIP_EVERYONE_ONCE, CardType.WILD_DRAW_FOUR)) {
+            indexOrdinal(WILD_ORDINAL_BASE + type.ordinal() - CardType.WILD.ordinal(), WildCard.of(type));
+        }
+
+        for (int lastPlayedOrdinal = 0; lastPlayedOrdinal < CARD_ORDINAL_COUNT; lastPlayedOrdinal++) {
+            for (CardColor currentCardColor : CardColor.values()) {
+                int row = lastPlayedOrdinal * COLOR_COUNT + currentCardColor.ordinal();
+                for (int cardOrdinal = 0; cardOrdinal < CARD_ORDINAL_COUNT; cardOrdinal++) {
+                    if (followsMoveRules(cardOrdinal, lastPlayedOrdinal, currentCardColor)) {
+                        LEGAL_MOVES[row * CARD_ORDINAL_COUNT + cardOrdinal] = true;
+                        PLAYABLE_MASKS[row] |= 1L << cardOrdinal;
                     }
-                    deck.add(new NumberCard(color, number));
-                    numberCards++;
-                    log.trace("Added number card: {} {}", color, number);
                 }
             }
-            log.debug("Added {} number cards in set {}", numberCards/2, i+1);
-
-            // Add action cards of each color
-            log.debug("Adding action cards for each color");
-            for (CardColor color : CardColor.values()) {
-                if (color == CardColor.NONE) {
-                    log.trace("Skipping NONE color for action cards");
-                    continue;
-                }
-                deck.add(new ActionCard(CardType.SKIP, color));
-                actionCards++;
-                log.trace("Added SKIP card: {}", color);
+        }
+    }
 
-                deck.add(new ActionCard(CardType.REVERSE, color));
-                actionCards++;
-                log.trace("Added REVERSE card: {}", color);
+    private static void indexOrdinal(int ordinal, Card card) {
+        ORDINAL_CARDS[ordinal] = card;
+        ORDINAL_TYPES[ordinal] = card.getCardType();
+        ORDINAL_COLORS[ordinal] = card.getCardColor();
+        ORDINAL_NUMBERS[ordinal] = card.isNumberCard() ? ((NumberCard) card).getCardNumber() : -1;
+        TYPE_MASKS[card.getCardType().ordinal()] |= 1L << ordinal;
+    }
 
-                deck.add(new ActionCard(CardType.DRAW_TWO, color));
-                actionCards++;
-                log.trace("Added DRAW_TWO card: {}", color);
-            }
-            log.debug("Added {} action cards in set {}", actionCards/2, i+1);
+    /**
+     * The Uno matching rules, only evaluated while the legality table is built:
+     * wild cards can always be played, other cards need the current color or the same face as the last played card
+     */
+    private static boolean followsMoveRules(int cardOrdinal, int lastPlayedOrdinal, CardColor currentCardColor) {
+        CardType cardType = ORDINAL_TYPES[cardOrdinal];
 
-            // Add wild cards
-            log.debug("Adding wild cards");
-            for (int j = 0; j < 4; j++) {
-                deck.add(new WildCard(CardType.WILD));
-                wildCards++;
-                log.trace("Added WILD card #{}", j+1);
+        if (ORDINAL_COLORS[cardOrdinal] == CardColor.NONE) {
+            return true;
+        }
 
-                deck.add(new WildCard(CardType.WILD_DRAW_FOUR));
-                wildCards++;
-                log.trace("Added WILD_DRAW_FOUR card #{}", j+1);
-            }
-            log.debug("Added {} wild cards in set {}", wildCards/2, i+1);
+        if (ORDINAL_COLORS[cardOrdinal] == currentCardColor) {
+            return true;
         }
 
-        for(int i = 0; i < 3; i ++){
-            log.trace("Adding skip everyone once wild card");
-            deck.add(new WildCard(CardType.WILD_SKIP_EVERYONE_ONCE));
-            wildCustomizables++;
+        if (cardType == ORDINAL_TYPES[lastPlayedOrdinal]) {
+            return cardType != CardType.NUMBER || ORDINAL_NUMBERS[cardOrdinal] == ORDINAL_NUMBERS[lastPlayedOrdinal];
         }
 
-        log.info("Deck created with {} cards: {} number cards, {} action cards, {} wild cards, {} wild customizables",
-                deck.size(), numberCards, actionCards, wildCards, wildCustomizables);
+        return false;
+    }
 
-        log.debug("Shuffling deck");
-        Collections.shuffle(deck);
-        log.debug("Deck shuffled");
+    public static int getCardOrdinal(Card card) {
+        CardType cardType = card.getCardType();
+        switch (cardType) {
+            case NUMBER:
+                return card.getCardColor().ordinal() * 10 + ((NumberCard) card).getCardNumber();
+            case DRAW_TWO:
+            case SKIP:
+            case REVERSE:
+                return ACTION_ORDINAL_BASE + card.getCardColor().ordinal() * 3 + cardType.ordinal();
+            default:
+                return WILD_ORDINAL_BASE + cardType.ordinal() - CardType.WILD.ordinal();
+        }
+    }
 
-        return deck;
+    /**
+     * @return The shared card instance with the given ordinal
+     */
+    public static Card getCard(int ordinal) {
+        return ORDINAL_CARDS[ordinal];
     }
 
-    public static boolean isValidMove(Card cardToPlay, Card lastPlayedCard, CardColor currentCardColor) {
-        log.debug("Checking if card {} {} can be played on {} {} with current color {}", 
-                cardToPlay.getCardColor(), cardToPlay.getCardType(),
-                lastPlayedCard.getCardColor(), lastPlayedCard.getCardType(),
-                currentCardColor);
-
-        // WildCard Card
-        if (cardToPlay.isWildCard()) {
-            log.debug("Card {} {} is a wild card, which can always be played", 
-                    cardToPlay.getCardColor(), cardToPlay.getCardType());
-            return true;
-        }
+    public static CardColor getOrdinalColor(int ordinal) {
+        return ORDINAL_COLORS[ordinal];
+    }
 
-        // Action and Number Cards - check if colors match
-        if (cardToPlay.getCardColor() == currentCardColor) {
-            log.debug("Card {} {} matches the current color {}, valid move", 
-                    cardToPlay.getCardColor(), cardToPlay.getCardType(), currentCardColor);
-            return true;
+    public static long getTypeMask(CardType cardType) {
+        return TYPE_MASKS[cardType.ordinal()];
+    }
+
+    /**
+     * Bitmask of the card ordinals that can be played on the given card, same rules as {@link #isValidMove}
+     * @param lastPlayedCard The card on top of the discard deck
+     * @param currentCardColor The active color
+     * @return Mask with bit {@code 1L << ordinal} set for every playable card ordinal
+     */
+    public static long getPlayableMask(Card lastPlayedCard, CardColor currentCardColor) {
+        return PLAYABLE_MASKS[getCardOrdinal(lastPlayedCard) * COLOR_COUNT + currentCardColor.ordinal()];
+    }
+
+    /**
+     * @param random Source of the shuffle, the same seeded source always yields the same deck order
+     * @return A copy of the standard deck in uniformly random order
+     */
+    public static List<Card> getShuffledDeck(RandomGenerator random) {
+        List<Card> deck = new ArrayList<>(STANDARD_DECK);
+
+        // Fisher-Yates
+        for (int i = deck.size() - 1; i > 0; i--) {
+            Collections.swap(deck, i, random.nextInt(i + 1));
         }
+        return deck;
+    }
 
-        // Number and Action Cards - check if types match
-        if (cardToPlay.getCardType() == lastPlayedCard.getCardType()) {
-            log.debug("Card types match: {}", cardToPlay.getCardType());
-
-            // For number cards, check if the numbers match
-            if (cardToPlay.isNumberCard()) {
-                NumberCard numberCardToPlay = (NumberCard) cardToPlay;
-                NumberCard numberCardLastPlayed = (NumberCard) lastPlayedCard;
-
-                boolean numbersMatch = numberCardToPlay.getCardNumber() == numberCardLastPlayed.getCardNumber();
-
-                if (numbersMatch) {
-                    log.debug("Number cards match: {} {} and {} {}", 
-                            numberCardToPlay.getCardColor(), numberCardToPlay.getCardNumber(),
-                            numberCardLastPlayed.getCardColor(), numberCardLastPlayed.getCardNumber());
-                } else {
-                    log.debug("Number cards don't match: {} {} and {} {}", 
-                            numberCardToPlay.getCardColor(), numberCardToPlay.getCardNumber(),
-                            numberCardLastPlayed.getCardColor(), numberCardLastPlayed.getCardNumber());
+    private static List<Card> createStandardDeck() {
+        List<Card> deck = new ArrayList<>(123);
+
+        // 2 sets of number cards (0-9), action cards and wild cards of each color
+        for (int i = 0; i < 2; i++) {
+            for (int number = 0; number < 10; number++) {
+                for (CardColor color : CardColor.getColors()) {
+                    deck.add(NumberCard.of(color, number));
                 }
+            }
 
-                return numbersMatch;
+            for (CardColor color : CardColor.getColors()) {
+                deck.add(ActionCard.of(CardType.SKIP, color));
+                deck.add(ActionCard.of(CardType.REVERSE, color));
+                deck.add(ActionCard.of(CardType.DRAW_TWO, color));
             }
 
-            // Action Card - if types match, it's a valid move
-            log.debug("Action cards of same type can be played regardless of color: {}", 
-                    cardToPlay.getCardType());
-            return true;
+            for (int j = 0; j < 4; j++) {
+                deck.add(WildCard.of(CardType.WILD));
+                deck.add(WildCard.of(CardType.WILD_DRAW_FOUR));
+            }
         }
 
-        log.debug("Card {} {} cannot be played on {} {} with current color {}", 
-                cardToPlay.getCardColor(), cardToPlay.getCardType(),
-                lastPlayedCard.getCardColor(), lastPlayedCard.getCardType(),
-                currentCardColor);
-        return false;
+        for (int i = 0; i < 3; i++) {
+            deck.add(WildCard.of(CardType.WILD_SKIP_EVERYONE_ONCE));
+        }
+
+        log.info("Standard deck created with {} cards", deck.size());
+        return List.copyOf(deck);
+    }
+
+    /**
+     * Table lookup of the move rules, for callers that already work with card ordinals
+     */
+    public static boolean isValidMove(int cardOrdinal, int lastPlayedOrdinal, CardColor currentCardColor) {
+        return LEGAL_MOVES[(lastPlayedOrdinal * COLOR_COUNT + currentCardColor.ordinal()) * CARD_ORDINAL_COUNT + cardOrdinal];
+    }
+
+    public static boolean isValidMove(Card cardToPlay, Card lastPlayedCard, CardColor currentCardColor) {
+        return isValidMove(getCardOrdinal(cardToPlay), getCardOrdinal(lastPlayedCard), currentCardColor);
     }
 }
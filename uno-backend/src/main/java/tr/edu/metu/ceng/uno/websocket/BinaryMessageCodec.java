@@ -0,0 +1,264 @@
+package tr.edu.metu.ceng.uno.websocket;
+
+import org.springframework.util.MimeType;
+import tr.edu.metu.ceng.uno.dto.CardDTO;
+import tr.edu.metu.ceng.uno.dto.StateChangeDTO;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compact binary encoding of {@link MultiplayerMessage}, used instead of JSON by clients that ask for it.
+ *
+ * A message starts with the format version and a varint with one bit per non-null field, followed by the fields in
+ * declaration order. Integers are varints (zigzag encoded when they may be negative), enums are their ordinals,
+ * cards are the single byte ordinals also used by CardUtil, and color, direction and boolean strings are indexes
+ * into {@link #NAMES}. Any other string is written as its UTF-8 length and bytes.
+ * The frontend has the same codec for its own DTO classes, both must be changed together. The tests of both check
+ * them against the same encoded messages in test-fixtures/binary-messages.
+ */
+public final class BinaryMessageCodec {
+
+    public static final MimeType MIME_TYPE = new MimeType("application", "x-uno");
+
+    private static final int FORMAT_VERSION = 1;
+
+    // Index 0 is reserved for a string that is not in the table
+    private static final List<String> NAMES = List.of(
+            "BLUE", "GREEN", "RED", "YELLOW", "NONE", "CLOCKWISE", "COUNTER_CLOCKWISE", "true", "false");
+    private static final List<String> COLORS = NAMES.subList(0, 4);
+    private static final List<String> ACTION_TYPES = List.of("DRAW_TWO", "SKIP", "REVERSE");
+    private static final List<String> WILD_TYPES = List.of("WILD", "WILD_SKIP_EVERYONE_ONCE", "WILD_DRAW_FOUR");
+    private static final int ACTION_CARD_BASE = 40;
+    private static final int WILD_CARD_BASE = 52;
+
+    private static final MultiplayerMessage.MessageType[] MESSAGE_TYPES = MultiplayerMessage.MessageType.values();
+    private static final StateChangeDTO.ChangeType[] CHANGE_TYPES = StateChangeDTO.ChangeType.values();
+
+    private BinaryMessageCodec() {
+    }
+
+    public static byte[] encode(MultiplayerMessage message) {
+        Writer out = new Writer();
+        out.write(FORMAT_VERSION);
+        out.writeVarint(presence(message.getType(), message.getUsername(), message.getGameId(), message.getPlayerIndex(),
+                message.getCardIndex(), message.getCardColor(), message.getContent(), message.getVersion(),
+                message.getChanges()));
+
+        if (message.getType() != null) out.writeVarint(message.getType().ordinal());
+        if (message.getUsername() != null) out.writeString(message.getUsername());
+        if (message.getGameId() != null) out.writeString(message.getGameId());
+        if (message.getPlayerIndex() != null) out.writeSignedVarint(message.getPlayerIndex());
+        if (message.getCardIndex() != null) out.writeSignedVarint(message.getCardIndex());
+        if (message.getCardColor() != null) out.writeName(message.getCardColor());
+        if (message.getContent() != null) out.writeString(message.getContent());
+        if (message.getVersion() != null) out.writeVarint(message.getVersion());
+        if (message.getChanges() != null) {
+            out.writeVarint(message.getChanges().size());
+            for (StateChangeDTO change : message.getChanges()) {
+                writeChange(out, change);
+            }
+        }
+        return out.toByteArray();
+    }
+
+    public static MultiplayerMessage decode(byte[] bytes) {
+        Reader in = new Reader(bytes);
+        int formatVersion = in.read();
+        if (formatVersion != FORMAT_VERSION) {
+            throw new IllegalArgumentException("Unsupported binary message format version: " + formatVersion);
+        }
+
+        long fields = in.readVarint();
+        MultiplayerMessage message = new MultiplayerMessage();
+        if (has(fields, 0)) message.setType(MESSAGE_TYPES[(int) in.readVarint()]);
+        if (has(fields, 1)) message.setUsername(in.readString());
+        if (has(fields, 2)) message.setGameId(in.readString());
+        if (has(fields, 3)) message.setPlayerIndex(in.readSignedVarint());
+        if (has(fields, 4)) message.setCardIndex(in.readSignedVarint());
+        if (has(fields, 5)) message.setCardColor(in.readName());
+        if (has(fields, 6)) message.setContent(in.readString());
+        if (has(fields, 7)) message.setVersion(in.readVarint());
+        if (has(fields, 8)) {
+            int size = (int) in.readVarint();
+            List<StateChangeDTO> changes = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                changes.add(readChange(in));
+            }
+            message.setChanges(changes);
+        }
+        return message;
+    }
+
+    private static void writeChange(Writer out, StateChangeDTO change) {
+        out.writeVarint(change.getType().ordinal());
+        out.writeVarint(presence(change.getPlayerNo(), change.getCardIndex(), change.getCount(), change.getCard(),
+                change.getValue(), change.getCards()));
+
+        if (change.getPlayerNo() != null) out.writeSignedVarint(change.getPlayerNo());
+        if (change.getCardIndex() != null) out.writeSignedVarint(change.getCardIndex());
+        if (change.getCount() != null) out.writeSignedVarint(change.getCount());
+        if (change.getCard() != null) out.write(cardOrdinal(change.getCard()));
+        if (change.getValue() != null) out.writeName(change.getValue());
+        if (change.getCards() != null) {
+            out.writeVarint(change.getCards().size());
+            for (CardDTO card : change.getCards()) {
+                out.write(cardOrdinal(card));
+            }
+        }
+    }
+
+    private static StateChangeDTO readChange(Reader in) {
+        StateChangeDTO change = new StateChangeDTO();
+        change.setType(CHANGE_TYPES[(int) in.readVarint()]);
+
+        long fields = in.readVarint();
+        if (has(fields, 0)) change.setPlayerNo(in.readSignedVarint());
+        if (has(fields, 1)) change.setCardIndex(in.readSignedVarint());
+        if (has(fields, 2)) change.setCount(in.readSignedVarint());
+        if (has(fields, 3)) change.setCard(card(in.read()));
+        if (has(fields, 4)) change.setValue(in.readName());
+        if (has(fields, 5)) {
+            int size = (int) in.readVarint();
+            List<CardDTO> cards = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                cards.add(card(in.read()));
+            }
+            change.setCards(cards);
+        }
+        return change;
+    }
+
+    private static long presence(Object... fields) {
+        long bits = 0;
+        for (int i = 0; i < fields.length; i++) {
+            if (fields[i] != null) {
+                bits |= 1L << i;
+            }
+        }
+        return bits;
+    }
+
+    private static boolean has(long fields, int field) {
+        return (fields & (1L << field)) != 0;
+    }
+
+    private static int cardOrdinal(CardDTO card) {
+        int wildType = WILD_TYPES.indexOf(card.getType());
+        if (wildType >= 0) {
+            return WILD_CARD_BASE + wildType;
+        }
+
+        int color = COLORS.indexOf(card.getColor());
+        if (color < 0) {
+            throw new IllegalArgumentException("Card color can not be encoded: " + card.getColor());
+        }
+        if ("NUMBER".equals(card.getType()) && card.getNumber() != null) {
+            return color * 10 + card.getNumber();
+        }
+
+        int actionType = ACTION_TYPES.indexOf(card.getType());
+        if (actionType < 0) {
+            throw new IllegalArgumentException("Card type can not be encoded: " + card.getType());
+        }
+        return ACTION_CARD_BASE + color * 3 + actionType;
+    }
+
+    private static CardDTO card(int ordinal) {
+        if (ordinal >= WILD_CARD_BASE + WILD_TYPES.size()) {
+            throw new IllegalArgumentException("Unknown card ordinal in binary message: " + ordinal);
+        }
+        if (ordinal >= WILD_CARD_BASE) {
+            return new CardDTO(WILD_TYPES.get(ordinal - WILD_CARD_BASE), "NONE", null);
+        }
+        if (ordinal >= ACTION_CARD_BASE) {
+            int action = ordinal - ACTION_CARD_BASE;
+            return new CardDTO(ACTION_TYPES.get(action % 3), COLORS.get(action / 3), null);
+        }
+        return new CardDTO("NUMBER", COLORS.get(ordinal / 10), ordinal % 10);
+    }
+
+    private static final class Writer extends ByteArrayOutputStream {
+
+        Writer() {
+            super(64);
+        }
+
+        void writeVarint(long value) {
+            while ((value & ~0x7FL) != 0) {
+                write((int) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            write((int) value);
+        }
+
+        void writeSignedVarint(int value) {
+            writeVarint(Integer.toUnsignedLong((value << 1) ^ (value >> 31)));
+        }
+
+        void writeString(String value) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarint(bytes.length);
+            write(bytes, 0, bytes.length);
+        }
+
+        void writeName(String value) {
+            int index = NAMES.indexOf(value);
+            writeVarint(index + 1);
+            if (index < 0) {
+                writeString(value);
+            }
+        }
+    }
+
+    private static final class Reader {
+
+        private final byte[] bytes;
+        private int position;
+
+        Reader(byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        int read() {
+            if (position >= bytes.length) {
+                throw new IllegalArgumentException("Binary message ended after " + bytes.length + " bytes");
+            }
+            return bytes[position++] & 0xFF;
+        }
+
+        long readVarint() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                int b = read();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IllegalArgumentException("Malformed varint in binary message");
+        }
+
+        int readSignedVarint() {
+            int value = (int) readVarint();
+            return (value >>> 1) ^ -(value & 1);
+        }
+
+        String readString() {
+            int length = (int) readVarint();
+            if (length < 0 || position + length > bytes.length) {
+                throw new IllegalArgumentException("String of " + length + " bytes does not fit in the binary message");
+            }
+            String value = new String(bytes, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        }
+
+        String readName() {
+            int index = (int) readVarint();
+            return index == 0 ? readString() : NAMES.get(index - 1);
+        }
+    }
+}
@@ -4,6 +4,9 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import tr.edu.metu.ceng.uno.dto.StateChangeDTO;
+
+import java.util.List;
 
 @Data
 @Builder
@@ -19,7 +22,9 @@ public class MultiplayerMessage {
         PLAY_CARD,
         GAME_END,
         CHALLENGE,
-        REJECT_CHALLENGE
+        REJECT_CHALLENGE,
+        STATE_DELTA,  // Changes from the previous version of the game state
+        STATE_REQUEST // Sent by a client that missed a STATE_DELTA, answered with its full game state
     }
     
     private MessageType type;
@@ -29,4 +34,6 @@ public class MultiplayerMessage {
     private Integer cardIndex;
     private String cardColor;
     private String content;
+    private Long version;
+    private List<StateChangeDTO> changes;
 } 
\ No newline at end of file
@@ -0,0 +1,46 @@
+package tr.edu.metu.ceng.uno.websocket;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.converter.AbstractMessageConverter;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reads {@link MultiplayerMessage}s sent in the binary format and leaves the ones sent to clients unencoded,
+ * so that {@link WireFormatChannelInterceptor} can encode them in the format each session asked for.
+ * Messages in JSON are read by the default Jackson converter that follows this one.
+ */
+@Component
+public class MultiplayerMessageConverter extends AbstractMessageConverter {
+
+    private final ObjectMapper objectMapper;
+
+    public MultiplayerMessageConverter(ObjectMapper objectMapper) {
+        super(BinaryMessageCodec.MIME_TYPE);
+        this.objectMapper = objectMapper;
+        // Incoming frames without a content type are left to the JSON converter
+        setStrictContentTypeMatch(true);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return MultiplayerMessage.class == clazz;
+    }
+
+    @Override
+    protected boolean canConvertTo(Object payload, MessageHeaders headers) {
+        // Outgoing messages are encoded per session after the broker, whatever content type they were sent with
+        return supports(payload.getClass());
+    }
+
+    @Override
+    protected Object convertFromInternal(Message<?> message, Class<?> targetClass, Object conversionHint) {
+        return BinaryMessageCodec.decode((byte[]) message.getPayload());
+    }
+
+    @Override
+    protected Object convertToInternal(Object payload, MessageHeaders headers, Object conversionHint) {
+        return new OutboundMultiplayerMessage((MultiplayerMessage) payload, objectMapper);
+    }
+}
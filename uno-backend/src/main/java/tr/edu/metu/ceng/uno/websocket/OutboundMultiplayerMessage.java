@@ -0,0 +1,41 @@
+package tr.edu.metu.ceng.uno.websocket;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.Getter;
+
+/**
+ * A {@link MultiplayerMessage} on its way through the broker, before it is encoded for the sessions it is sent to.
+ * The broker hands the same instance to every subscriber, so each encoding is made at most once per message.
+ */
+public class OutboundMultiplayerMessage {
+
+    @Getter
+    private final MultiplayerMessage message;
+    private final ObjectMapper objectMapper;
+    private byte[] json;
+    private byte[] binary;
+
+    public OutboundMultiplayerMessage(MultiplayerMessage message, ObjectMapper objectMapper) {
+        this.message = message;
+        this.objectMapper = objectMapper;
+    }
+
+    public synchronized byte[] toJson() {
+        if (json == null) {
+            try {
+                json = objectMapper.writeValueAsBytes(message);
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("Could not serialize " + message.getType() + " message", e);
+            }
+        }
+        return json;
+    }
+
+    public synchronized byte[] toBinary() {
+        if (binary == null) {
+            binary = BinaryMessageCodec.encode(message);
+        }
+        return binary;
+    }
+}
@@ -0,0 +1,160 @@
+package tr.edu.metu.ceng.uno.websocket;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.messaging.SessionConnectedEvent;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import tr.edu.metu.ceng.uno.game.MultiplayerGameService;
+
+import java.security.Principal;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tracks the STOMP sessions of each authenticated user.
+ *
+ * When the last session of a player in a multiplayer game or queue closes, whether by a DISCONNECT frame or a
+ * dropped connection, the player's seat is held for the reconnect grace period while the server covers their turns.
+ * A player who connects again within the grace period takes the seat back, otherwise the player leaves the game,
+ * which ends it and releases the seats of the other players.
+ */
+@Component
+@Slf4j
+public class PlayerSessionRegistry {
+
+    private final MultiplayerGameService multiplayerGameService;
+    private final Duration reconnectGrace;
+
+    // Authenticated sessions: sessionId -> username
+    private final Map<String, String> sessionUsers = new ConcurrentHashMap<>();
+    // Sessions and held seat of each connected or disconnected player, only changed under compute: username -> state
+    private final Map<String, UserState> users = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService timer;
+
+    public PlayerSessionRegistry(MultiplayerGameService multiplayerGameService,
+                                 @Value("${uno.multiplayer.reconnect-grace:60s}") Duration reconnectGrace) {
+        this.multiplayerGameService = multiplayerGameService;
+        this.reconnectGrace = reconnectGrace;
+        this.timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "session-release");
+            thread.setDaemon(true);
+            return thread;
+        });
+        log.info("PlayerSessionRegistry initialized with reconnect grace period {}", reconnectGrace);
+    }
+
+    @EventListener
+    public void onSessionConnected(SessionConnectedEvent event) {
+        Principal user = event.getUser();
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(event.getMessage().getHeaders());
+        if (user == null || sessionId == null) {
+            return;
+        }
+
+        String username = user.getName();
+        sessionUsers.put(sessionId, username);
+        users.compute(username, (key, state) -> {
+            if (state == null) {
+                state = new UserState();
+            }
+            state.sessions.add(sessionId);
+            if (state.pendingRelease != null) {
+                state.pendingRelease.cancel(false);
+                state.pendingRelease = null;
+                multiplayerGameService.playerReconnected(username);
+            }
+            return state;
+        });
+        log.debug("STOMP session {} of player {} connected", sessionId, username);
+    }
+
+    @EventListener
+    public void onSessionDisconnect(SessionDisconnectEvent event) {
+        String username = sessionUsers.remove(event.getSessionId());
+        if (username == null) {
+            return;
+        }
+
+        log.debug("STOMP session {} of player {} closed with {}", event.getSessionId(), username, event.getCloseStatus());
+        users.computeIfPresent(username, (key, state) -> {
+            state.sessions.remove(event.getSessionId());
+            if (!state.sessions.isEmpty()) {
+                return state;
+            }
+            if (!multiplayerGameService.playerDisconnected(username)) {
+                return null;
+            }
+
+            long disconnect = ++state.disconnects;
+            state.pendingRelease = timer.schedule(() -> release(username, disconnect),
+                    reconnectGrace.toNanos(), TimeUnit.NANOSECONDS);
+            log.info("Holding the seat of player {} for {}", username, reconnectGrace);
+            return state;
+        });
+    }
+
+    public boolean isConnected(String username) {
+        UserState state = users.get(username);
+        return state != null && !state.sessions.isEmpty();
+    }
+
+    public int getConnectedPlayers() {
+        return (int) users.values().stream().filter(state -> !state.sessions.isEmpty()).count();
+    }
+
+    /**
+     * Releases the seat held since the given disconnect, unless the player connected again in the meantime.
+     * A connecting player normally cancels the release under the same compute, a release that started anyway
+     * finds the seat taken back and does nothing.
+     */
+    private void release(String username, long disconnect) {
+        boolean[] released = {false};
+        users.computeIfPresent(username, (key, state) -> {
+            if (state.pendingRelease == null || state.disconnects != disconnect) {
+                return state;
+            }
+            state.pendingRelease = null;
+            if (!state.sessions.isEmpty()) {
+                multiplayerGameService.playerReconnected(username);
+                return state;
+            }
+            released[0] = true;
+            return null;
+        });
+        if (!released[0]) {
+            return;
+        }
+
+        log.info("Player {} did not reconnect within {}, releasing their seat", username, reconnectGrace);
+        try {
+            multiplayerGameService.leaveGame(username);
+        } catch (RuntimeException e) {
+            log.error("Could not release the seat of player {}: {}", username, e.getMessage(), e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        timer.shutdownNow();
+        log.info("PlayerSessionRegistry shut down");
+    }
+
+    private static final class UserState {
+        // Open STOMP sessions of the player
+        private final Set<String> sessions = ConcurrentHashMap.newKeySet();
+        // Release of the seat held since the last session closed, null while connected
+        private ScheduledFuture<?> pendingRelease;
+        // Number of times the seat was held, tells a cancelled release from the current one
+        private long disconnects;
+    }
+}
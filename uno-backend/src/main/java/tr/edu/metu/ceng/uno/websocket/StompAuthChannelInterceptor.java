@@ -0,0 +1,54 @@
+package tr.edu.metu.ceng.uno.websocket;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.stereotype.Component;
+import tr.edu.metu.ceng.uno.util.JwtUtil;
+
+import java.util.List;
+
+/**
+ * Identifies the user of a STOMP session from the JWT sent in the Authorization header of the CONNECT frame,
+ * so messages can be sent to the user's own destinations under /user.
+ * Sessions connecting without a valid token stay anonymous and only receive the broadcast topics.
+ */
+@Component
+@Slf4j
+public class StompAuthChannelInterceptor implements ChannelInterceptor {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final JwtUtil jwtUtil;
+
+    public StompAuthChannelInterceptor(JwtUtil jwtUtil) {
+        this.jwtUtil = jwtUtil;
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null || accessor.getCommand() != StompCommand.CONNECT) {
+            return message;
+        }
+
+        String authorization = accessor.getFirstNativeHeader("Authorization");
+        if (authorization == null || !authorization.startsWith(BEARER_PREFIX)) {
+            log.debug("STOMP session {} connected without a token", accessor.getSessionId());
+            return message;
+        }
+
+        jwtUtil.extractUsername(authorization.substring(BEARER_PREFIX.length()))
+                .ifPresentOrElse(username -> {
+                    accessor.setUser(new UsernamePasswordAuthenticationToken(username, null, List.of()));
+                    log.debug("STOMP session {} authenticated as {}", accessor.getSessionId(), username);
+                }, () -> log.warn("STOMP session {} sent an invalid token", accessor.getSessionId()));
+
+        return message;
+    }
+}
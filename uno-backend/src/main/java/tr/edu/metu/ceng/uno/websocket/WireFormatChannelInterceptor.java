@@ -0,0 +1,60 @@
+package tr.edu.metu.ceng.uno.websocket;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeType;
+import org.springframework.util.MimeTypeUtils;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Chooses the wire format of the {@link MultiplayerMessage}s sent to each STOMP session.
+ * A client that sends content-type {@code application/x-uno} in its CONNECT frame receives them in the
+ * {@link BinaryMessageCodec binary format}, every other client receives JSON.
+ * Registered on both the inbound channel, to see sessions connect and disconnect, and the outbound channel.
+ */
+@Component
+@Slf4j
+public class WireFormatChannelInterceptor implements ChannelInterceptor {
+
+    private final Set<String> binarySessions = ConcurrentHashMap.newKeySet();
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        if (message.getPayload() instanceof OutboundMultiplayerMessage outbound) {
+            return encode(message, outbound);
+        }
+
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null || accessor.getSessionId() == null) {
+            return message;
+        }
+
+        if (accessor.getCommand() == StompCommand.CONNECT && BinaryMessageCodec.MIME_TYPE.equalsTypeAndSubtype(accessor.getContentType())) {
+            binarySessions.add(accessor.getSessionId());
+            log.debug("STOMP session {} uses the binary message format", accessor.getSessionId());
+        } else if (accessor.getCommand() == StompCommand.DISCONNECT) {
+            binarySessions.remove(accessor.getSessionId());
+        }
+        return message;
+    }
+
+    private Message<byte[]> encode(Message<?> message, OutboundMultiplayerMessage outbound) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.wrap(message);
+        boolean binary = binarySessions.contains(accessor.getSessionId());
+
+        MimeType contentType = binary ? BinaryMessageCodec.MIME_TYPE : MimeTypeUtils.APPLICATION_JSON;
+        accessor.setContentType(contentType);
+        byte[] payload = binary ? outbound.toBinary() : outbound.toJson();
+        return MessageBuilder.createMessage(payload, accessor.getMessageHeaders());
+    }
+}
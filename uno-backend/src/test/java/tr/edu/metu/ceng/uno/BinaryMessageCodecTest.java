@@ -0,0 +1,167 @@
+package tr.edu.metu.ceng.uno;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import tr.edu.metu.ceng.uno.dto.CardDTO;
+import tr.edu.metu.ceng.uno.dto.StateChangeDTO;
+import tr.edu.metu.ceng.uno.dto.StateChangeDTO.ChangeType;
+import tr.edu.metu.ceng.uno.websocket.BinaryMessageCodec;
+import tr.edu.metu.ceng.uno.websocket.MultiplayerMessage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BinaryMessageCodecTest {
+
+    /**
+     * Reads a message from the fixtures the frontend's copy of the codec is checked against as well
+     * @return The bytes of the message as lowercase hex
+     */
+    private static String golden(String name) throws IOException {
+        try (InputStream in = BinaryMessageCodecTest.class.getResourceAsStream("/binary-messages/" + name)) {
+            assertNotNull(in, "fixture " + name);
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8).lines()
+                    .filter(line -> !line.startsWith("#"))
+                    .map(String::strip)
+                    .collect(Collectors.joining());
+        }
+    }
+
+    @Test
+    void testStateDeltaMatchesGoldenBytes() throws Exception {
+        StateChangeDTO played = new StateChangeDTO();
+        played.setType(ChangeType.LAST_PLAYED_CARD);
+        played.setCard(new CardDTO("REVERSE", "YELLOW", null));
+        StateChangeDTO currentPlayer = new StateChangeDTO();
+        currentPlayer.setType(ChangeType.CURRENT_PLAYER);
+        currentPlayer.setPlayerNo(2);
+        StateChangeDTO drawDeckSize = new StateChangeDTO();
+        drawDeckSize.setType(ChangeType.DRAW_DECK_SIZE);
+        drawDeckSize.setCount(61);
+        MultiplayerMessage message = MultiplayerMessage.builder()
+                .type(MultiplayerMessage.MessageType.STATE_DELTA)
+                .gameId("game-1")
+                .version(300L)
+                .changes(List.of(
+                        StateChangeDTO.cardRemoved(3, 0),
+                        played,
+                        StateChangeDTO.of(ChangeType.CURRENT_COLOR, "RED"),
+                        StateChangeDTO.of(ChangeType.DIRECTION, "COUNTER_CLOCKWISE"),
+                        currentPlayer,
+                        drawDeckSize,
+                        StateChangeDTO.cardsDrawn(1, List.of(new CardDTO("NUMBER", "BLUE", 7), new CardDTO("WILD_DRAW_FOUR", "NONE", null))),
+                        StateChangeDTO.of(ChangeType.CAN_CHALLENGE, "true"),
+                        StateChangeDTO.of(ChangeType.CAN_PLAY_WILD_DRAW_FOUR, "false"),
+                        StateChangeDTO.of(ChangeType.GAME_FINISHED, "Player1")))
+                .build();
+        String golden = golden("state-delta.hex");
+
+        assertEquals(golden, HexFormat.of().formatHex(BinaryMessageCodec.encode(message)));
+        assertEquals(golden, HexFormat.of().formatHex(BinaryMessageCodec.encode(BinaryMessageCodec.decode(HexFormat.of().parseHex(golden)))));
+    }
+
+    @Test
+    void testPlayCardMatchesGoldenBytes() throws Exception {
+        MultiplayerMessage message = MultiplayerMessage.builder()
+                .type(MultiplayerMessage.MessageType.PLAY_CARD)
+                .username("Oyuncu Çağrı")
+                .gameId("game-1")
+                .playerIndex(1)
+                .cardIndex(12)
+                .cardColor("GREEN")
+                .build();
+        String golden = golden("play-card.hex");
+
+        assertEquals(golden, HexFormat.of().formatHex(BinaryMessageCodec.encode(message)));
+        assertEquals(golden, HexFormat.of().formatHex(BinaryMessageCodec.encode(BinaryMessageCodec.decode(HexFormat.of().parseHex(golden)))));
+    }
+
+    @Test
+    void testStateDeltaRoundTrip() {
+        StateChangeDTO played = new StateChangeDTO();
+        played.setType(ChangeType.LAST_PLAYED_CARD);
+        played.setCard(new CardDTO("REVERSE", "YELLOW", null));
+        MultiplayerMessage message = MultiplayerMessage.builder()
+                .type(MultiplayerMessage.MessageType.STATE_DELTA)
+                .gameId("game-1")
+                .version(300L)
+                .changes(List.of(
+                        StateChangeDTO.cardRemoved(3, 0),
+                        played,
+                        StateChangeDTO.of(ChangeType.DIRECTION, "COUNTER_CLOCKWISE"),
+                        StateChangeDTO.cardsDrawn(1, List.of(new CardDTO("NUMBER", "BLUE", 7), new CardDTO("WILD_DRAW_FOUR", "NONE", null))),
+                        StateChangeDTO.of(ChangeType.GAME_FINISHED, "Player1")))
+                .build();
+
+        MultiplayerMessage decoded = BinaryMessageCodec.decode(BinaryMessageCodec.encode(message));
+
+        assertEquals(MultiplayerMessage.MessageType.STATE_DELTA, decoded.getType());
+        assertEquals("game-1", decoded.getGameId());
+        assertEquals(300L, decoded.getVersion());
+        assertNull(decoded.getUsername());
+        List<StateChangeDTO> changes = decoded.getChanges();
+        assertEquals(5, changes.size());
+        assertEquals(3, changes.get(0).getPlayerNo());
+        assertEquals(0, changes.get(0).getCardIndex());
+        assertNull(changes.get(0).getCount());
+        assertEquals("REVERSE", changes.get(1).getCard().getType());
+        assertEquals("YELLOW", changes.get(1).getCard().getColor());
+        assertEquals("COUNTER_CLOCKWISE", changes.get(2).getValue());
+        List<CardDTO> drawn = changes.get(3).getCards();
+        assertEquals(2, changes.get(3).getCount());
+        assertEquals(7, drawn.get(0).getNumber());
+        assertEquals("BLUE", drawn.get(0).getColor());
+        assertEquals("WILD_DRAW_FOUR", drawn.get(1).getType());
+        assertEquals("Player1", changes.get(4).getValue());
+    }
+
+    @Test
+    void testPlayCardRoundTrip() {
+        MultiplayerMessage message = MultiplayerMessage.builder()
+                .type(MultiplayerMessage.MessageType.PLAY_CARD)
+                .username("Oyuncu Çağrı")
+                .gameId("game-1")
+                .playerIndex(1)
+                .cardIndex(12)
+                .cardColor("GREEN")
+                .build();
+
+        MultiplayerMessage decoded = BinaryMessageCodec.decode(BinaryMessageCodec.encode(message));
+
+        assertEquals(MultiplayerMessage.MessageType.PLAY_CARD, decoded.getType());
+        assertEquals("Oyuncu Çağrı", decoded.getUsername());
+        assertEquals(1, decoded.getPlayerIndex());
+        assertEquals(12, decoded.getCardIndex());
+        assertEquals("GREEN", decoded.getCardColor());
+        assertNull(decoded.getChanges());
+    }
+
+    @Test
+    void testBinaryIsSmallerThanJson() throws Exception {
+        MultiplayerMessage message = MultiplayerMessage.builder()
+                .type(MultiplayerMessage.MessageType.STATE_DELTA)
+                .gameId("game-1")
+                .version(42L)
+                .changes(List.of(StateChangeDTO.cardRemoved(0, 4), StateChangeDTO.of(ChangeType.CURRENT_COLOR, "RED")))
+                .build();
+
+        int binarySize = BinaryMessageCodec.encode(message).length;
+        int jsonSize = new ObjectMapper().writeValueAsBytes(message).length;
+
+        assertTrue(binarySize * 5 < jsonSize, "binary " + binarySize + " bytes, JSON " + jsonSize + " bytes");
+    }
+
+    @Test
+    void testUnknownFormatVersionIsRejected() {
+        byte[] encoded = BinaryMessageCodec.encode(MultiplayerMessage.builder().type(MultiplayerMessage.MessageType.ROOM_JOIN).build());
+        encoded[0] = 9;
+
+        assertThrows(IllegalArgumentException.class, () -> BinaryMessageCodec.decode(encoded));
+    }
+}
@@ -0,0 +1,92 @@
+package tr.edu.metu.ceng.uno;
+
+import org.junit.jupiter.api.Test;
+import tr.edu.metu.ceng.uno.card.*;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CardPileTest {
+
+    private static List<Card> numberCards(int count) {
+        List<Card> cards = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            cards.add(NumberCard.of(CardColor.getColors().get(i % 4), i % 10));
+        }
+        return cards;
+    }
+
+    @Test
+    void testDrawKeepsOrder() {
+        List<Card> cards = numberCards(5);
+        CardPile cardPile = new CardPile(cards, new Random(0));
+
+        Card first = cardPile.draw();
+        Card second = cardPile.draw();
+
+        assertSame(cards.get(0), first);
+        assertSame(cards.get(1), second);
+        assertEquals(3, cardPile.drawPileSize());
+    }
+
+    @Test
+    void testRecyclingKeepsTopDiscardCard() {
+        CardPile cardPile = new CardPile(numberCards(10), new Random(0));
+        Card top = null;
+        while (!cardPile.isDrawPileEmpty()) {
+            top = cardPile.draw();
+            cardPile.discard(top);
+        }
+
+        boolean recycled = cardPile.recycleDiscardPile();
+
+        assertTrue(recycled);
+        assertEquals(9, cardPile.drawPileSize());
+        assertEquals(1, cardPile.discardPileSize());
+        assertSame(top, cardPile.peekDiscardPile());
+    }
+
+    @Test
+    void testBulkDrawRefillsMidDraw() {
+        List<Card> cards = numberCards(6);
+        CardPile cardPile = new CardPile(cards, new Random(0));
+        for (int i = 0; i < 4; i++) {
+            cardPile.discard(cardPile.draw());
+        }
+
+        List<Card> drawn = cardPile.draw(4);
+
+        // 2 cards left in the draw pile, 3 of the 4 discarded cards are recycled, the top one stays
+        assertEquals(4, drawn.size());
+        assertEquals(1, cardPile.drawPileSize());
+        assertEquals(1, cardPile.discardPileSize());
+        assertEquals(4, new HashSet<>(drawn).size());
+        assertFalse(drawn.contains(cardPile.peekDiscardPile()));
+    }
+
+    @Test
+    void testBulkDrawStopsWhenBothPilesAreEmpty() {
+        CardPile cardPile = new CardPile(numberCards(3), new Random(0));
+
+        List<Card> drawn = cardPile.draw(5);
+
+        assertEquals(3, drawn.size());
+        assertThrows(IllegalStateException.class, cardPile::draw);
+    }
+
+    @Test
+    void testDiscardBeyondInitialCapacityGrows() {
+        CardPile cardPile = new CardPile(numberCards(2), new Random(0));
+
+        cardPile.discard(ActionCard.of(CardType.SKIP, CardColor.RED));
+        cardPile.discard(WildCard.of(CardType.WILD));
+
+        assertEquals(2, cardPile.drawPileSize());
+        assertEquals(2, cardPile.discardPileSize());
+        assertEquals(CardType.WILD, cardPile.peekDiscardPile().getCardType());
+    }
+}
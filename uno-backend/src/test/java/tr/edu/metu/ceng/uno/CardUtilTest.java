@@ -0,0 +1,69 @@
+package tr.edu.metu.ceng.uno;
+
+import org.junit.jupiter.api.Test;
+import tr.edu.metu.ceng.uno.card.*;
+import tr.edu.metu.ceng.uno.util.CardUtil;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CardUtilTest {
+
+    @Test
+    void testEveryCardOrdinalRoundTrips() {
+        for (int ordinal = 0; ordinal < CardUtil.CARD_ORDINAL_COUNT; ordinal++) {
+            Card card = CardUtil.getCard(ordinal);
+
+            assertNotNull(card);
+            assertEquals(ordinal, CardUtil.getCardOrdinal(card));
+            assertEquals(card.getCardColor(), CardUtil.getOrdinalColor(ordinal));
+        }
+    }
+
+    @Test
+    void testLegalityTableMatchesMoveRules() {
+        int legalMoves = 0;
+
+        for (int lastPlayedOrdinal = 0; lastPlayedOrdinal < CardUtil.CARD_ORDINAL_COUNT; lastPlayedOrdinal++) {
+            Card lastPlayedCard = CardUtil.getCard(lastPlayedOrdinal);
+            for (CardColor currentColor : CardColor.values()) {
+                long playableMask = CardUtil.getPlayableMask(lastPlayedCard, currentColor);
+                for (int cardOrdinal = 0; cardOrdinal < CardUtil.CARD_ORDINAL_COUNT; cardOrdinal++) {
+                    Card card = CardUtil.getCard(cardOrdinal);
+                    boolean expected = isValidMoveByRules(card, lastPlayedCard, currentColor);
+                    String move = card + " on " + lastPlayedCard + " with color " + currentColor;
+
+                    assertEquals(expected, CardUtil.isValidMove(card, lastPlayedCard, currentColor), move);
+                    assertEquals(expected, CardUtil.isValidMove(cardOrdinal, lastPlayedOrdinal, currentColor), move);
+                    assertEquals(expected, (playableMask & (1L << cardOrdinal)) != 0, move);
+                    if (expected) {
+                        legalMoves++;
+                    }
+                }
+            }
+        }
+
+        assertTrue(legalMoves > 0);
+    }
+
+    /**
+     * The rule-by-rule check the legality table replaced
+     */
+    private static boolean isValidMoveByRules(Card cardToPlay, Card lastPlayedCard, CardColor currentCardColor) {
+        if (cardToPlay.isWildCard()) {
+            return true;
+        }
+
+        if (cardToPlay.getCardColor() == currentCardColor) {
+            return true;
+        }
+
+        if (cardToPlay.getCardType() == lastPlayedCard.getCardType()) {
+            if (cardToPlay.isNumberCard()) {
+                return ((NumberCard) cardToPlay).getCardNumber() == ((NumberCard) lastPlayedCard).getCardNumber();
+            }
+            return true;
+        }
+
+        return false;
+    }
+}
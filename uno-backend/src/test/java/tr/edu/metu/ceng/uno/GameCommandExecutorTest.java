@@ -0,0 +1,56 @@
+package tr.edu.metu.ceng.uno;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import tr.edu.metu.ceng.uno.game.GameCommandExecutor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameCommandExecutorTest {
+
+    private final GameCommandExecutor gameExecutor = new GameCommandExecutor(4);
+
+    @AfterEach
+    void tearDown() {
+        gameExecutor.shutdown();
+    }
+
+    @Test
+    void testCommandsOfAGameRunSerially() {
+        int[] counter = new int[1];
+        ExecutorService callers = Executors.newFixedThreadPool(8);
+
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            futures.add(CompletableFuture.runAsync(() -> gameExecutor.run("game", () -> counter[0]++), callers));
+        }
+        futures.forEach(CompletableFuture::join);
+        callers.shutdown();
+
+        assertEquals(10_000, counter[0]);
+    }
+
+    @Test
+    void testNestedCommandRunsInline() {
+        String thread = gameExecutor.execute("game", () ->
+                gameExecutor.execute("game", () -> Thread.currentThread().getName()));
+
+        assertTrue(thread.startsWith("game-"));
+    }
+
+    @Test
+    void testCommandExceptionReachesCaller() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> gameExecutor.run("game", () -> {
+                    throw new IllegalArgumentException("Invalid move");
+                }));
+
+        assertEquals("Invalid move", exception.getMessage());
+    }
+}
@@ -0,0 +1,35 @@
+package tr.edu.metu.ceng.uno;
+
+import org.junit.jupiter.api.Test;
+import tr.edu.metu.ceng.uno.simulation.GameSimulator;
+import tr.edu.metu.ceng.uno.simulation.SimulationRunner;
+import tr.edu.metu.ceng.uno.simulation.SimulationStatistics;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameSimulatorTest {
+
+    @Test
+    void testSimulatedGameEndsWithAWinner() {
+        SimulationStatistics statistics = new SimulationStatistics(3);
+
+        GameSimulator.simulate(42, statistics);
+
+        assertEquals(1, statistics.getGames());
+        assertEquals(1, statistics.getFinishedGames());
+        assertEquals(1, statistics.getWinsBySeat()[0] + statistics.getWinsBySeat()[1] + statistics.getWinsBySeat()[2]);
+        assertTrue(statistics.getAverageTurns() > 0);
+    }
+
+    @Test
+    void testResultsDoNotDependOnThreadCount() throws Exception {
+        SimulationStatistics singleThreaded = SimulationRunner.run(200, 4, 1, 7);
+
+        SimulationStatistics multiThreaded = SimulationRunner.run(200, 4, 4, 7);
+
+        assertEquals(200, multiThreaded.getGames());
+        assertArrayEquals(singleThreaded.getWinsBySeat(), multiThreaded.getWinsBySeat());
+        assertEquals(singleThreaded.getAverageTurns(), multiThreaded.getAverageTurns());
+        assertEquals(singleThreaded.getDrawTwoStacks(), multiThreaded.getDrawTwoStacks());
+    }
+}
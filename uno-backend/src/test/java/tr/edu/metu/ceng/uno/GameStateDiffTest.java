@@ -0,0 +1,93 @@
+package tr.edu.metu.ceng.uno;
+
+import org.junit.jupiter.api.Test;
+import tr.edu.metu.ceng.uno.card.Card;
+import tr.edu.metu.ceng.uno.card.CardColor;
+import tr.edu.metu.ceng.uno.card.NumberCard;
+import tr.edu.metu.ceng.uno.dto.CardDTO;
+import tr.edu.metu.ceng.uno.dto.GameStateDTO;
+import tr.edu.metu.ceng.uno.dto.StateChangeDTO;
+import tr.edu.metu.ceng.uno.dto.StateChangeDTO.ChangeType;
+import tr.edu.metu.ceng.uno.game.Game;
+import tr.edu.metu.ceng.uno.game.GameStateDiff;
+import tr.edu.metu.ceng.uno.player.HumanPlayer;
+import tr.edu.metu.ceng.uno.player.Player;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameStateDiffTest {
+
+    private static Game newGame() {
+        Game game = new Game(List.of(new HumanPlayer("Player1"), new HumanPlayer("Player2")), 0);
+        game.distributeCards();
+        game.initializeFirstCard();
+        return game;
+    }
+
+    @Test
+    void testUnchangedStateHasNoChanges() {
+        Game game = newGame();
+        GameStateDTO previous = game.publishSnapshot();
+        GameStateDTO next = game.publishSnapshot();
+
+        List<StateChangeDTO> changes = GameStateDiff.diff(previous, next);
+
+        assertTrue(changes.isEmpty());
+    }
+
+    @Test
+    void testPlayedCardAndTurnChange() {
+        Game game = newGame();
+        GameStateDTO previous = game.publishSnapshot();
+        Player player = game.getPlayers().get(0);
+        game.setLastPlayedCard(player.getDeck().remove(2));
+        game.setCurrentCardColor(CardColor.GREEN);
+        game.setNextPlayerUnconditionally();
+        GameStateDTO next = game.publishSnapshot();
+
+        List<StateChangeDTO> changes = GameStateDiff.diff(previous, next);
+
+        StateChangeDTO removed = changes.getFirst();
+        assertEquals(ChangeType.CARD_REMOVED, removed.getType());
+        assertEquals(0, removed.getPlayerNo());
+        assertEquals(2, removed.getCardIndex());
+        assertTrue(changes.stream().anyMatch(change -> change.getType() == ChangeType.LAST_PLAYED_CARD));
+        assertTrue(changes.stream().anyMatch(change -> change.getType() == ChangeType.CURRENT_PLAYER && change.getPlayerNo() == 1));
+    }
+
+    @Test
+    void testDrawnCardsAreOnlyVisibleInPrivateChange() {
+        Game game = newGame();
+        GameStateDTO previous = game.publishSnapshot();
+        game.drawCards(game.getPlayers().get(1), 2);
+        GameStateDTO next = game.publishSnapshot();
+
+        List<StateChangeDTO> changes = GameStateDiff.diff(previous, next);
+        StateChangeDTO drawn = changes.getFirst();
+
+        assertEquals(ChangeType.CARDS_DRAWN, drawn.getType());
+        assertEquals(1, drawn.getPlayerNo());
+        assertEquals(2, drawn.getCount());
+        List<CardDTO> hand = next.getPlayers().get(1).getDeck();
+        assertEquals(hand.get(7).getType(), drawn.getCards().get(0).getType());
+        assertNull(drawn.withoutCards().getCards());
+        assertTrue(changes.stream().anyMatch(change -> change.getType() == ChangeType.DRAW_DECK_SIZE));
+    }
+
+    @Test
+    void testReorderedHandHasNoDelta() {
+        Game game = newGame();
+        GameStateDTO previous = game.publishSnapshot();
+        List<Card> hand = game.getPlayers().get(0).getDeck();
+        hand.removeFirst();
+        hand.add(NumberCard.of(CardColor.RED, 0));
+        hand.removeFirst();
+        GameStateDTO next = game.publishSnapshot();
+
+        List<StateChangeDTO> changes = GameStateDiff.diff(previous, next);
+
+        assertNull(changes);
+    }
+}
@@ -0,0 +1,90 @@
+package tr.edu.metu.ceng.uno;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import tr.edu.metu.ceng.uno.dto.CardDTO;
+import tr.edu.metu.ceng.uno.dto.GameStateDTO;
+import tr.edu.metu.ceng.uno.dto.GameStateJsonWriter;
+import tr.edu.metu.ceng.uno.game.Game;
+import tr.edu.metu.ceng.uno.player.ComputerPlayer;
+import tr.edu.metu.ceng.uno.player.Player;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameStateJsonWriterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private static Game newGame(String... usernames) {
+        List<Player> players = Arrays.stream(usernames).<Player>map(ComputerPlayer::new).toList();
+        Game game = new Game(players, 7);
+        game.distributeCards();
+        game.initializeFirstCard();
+        return game;
+    }
+
+    @Test
+    void testWrittenStateMatchesJacksonDuringGame() throws Exception {
+        Game game = newGame("Computer 1", "Computer 2", "Computer 3", "Computer 4");
+
+        for (int turn = 0; turn < 100 && !game.anyPlayerHasEmptyDeck(); turn++) {
+            game.playComputerTurn(game.getCurrentPlayer());
+            GameStateDTO gameState = game.publishSnapshot();
+            GameStateDTO publicState = GameStateDTO.createPublicGameStateDTO(gameState);
+
+            assertEquals(objectMapper.readTree(objectMapper.writeValueAsBytes(gameState)),
+                    objectMapper.readTree(gameState.getJson()), "state after turn " + turn);
+            assertEquals(objectMapper.readTree(objectMapper.writeValueAsBytes(publicState)),
+                    objectMapper.readTree(GameStateJsonWriter.toJson(publicState)), "public state after turn " + turn);
+        }
+    }
+
+    @Test
+    void testSnapshotJsonIsWrittenOnce() {
+        GameStateDTO gameState = newGame("Computer 1", "Computer 2").publishSnapshot();
+
+        assertSame(gameState.getJson(), gameState.getJson());
+    }
+
+    @Test
+    void testUnsharedCardsAreWrittenFieldByField() throws Exception {
+        Game game = newGame("Computer 1", "Computer 2");
+        GameStateDTO gameState = game.publishSnapshot();
+        GameStateDTO withUnsharedCard = new GameStateDTO(gameState.getPlayers(), gameState.getCurrentPlayerNo(),
+                new CardDTO("WILD", "NONE", null), gameState.getCurrentColor(), gameState.getDirection(),
+                gameState.getDrawDeckSize(), false, null, false, false, gameState.getVersion());
+
+        JsonNode card = objectMapper.readTree(GameStateJsonWriter.toJson(withUnsharedCard)).get("lastPlayedCard");
+
+        assertEquals("WILD", card.get("type").asText());
+        assertEquals("NONE", card.get("color").asText());
+        assertTrue(card.get("number").isNull());
+    }
+
+    @Test
+    void testUsernamesAreEscaped() throws Exception {
+        Game game = newGame("Quote \" and \\ slash", "Çağrı\t😀");
+
+        byte[] json = GameStateJsonWriter.toJson(GameStateDTO.createGameStateDTO(game));
+
+        JsonNode players = objectMapper.readTree(json).get("players");
+        assertEquals("Quote \" and \\ slash", players.get(0).get("username").asText());
+        assertEquals("Çağrı\t😀", players.get(1).get("username").asText());
+    }
+
+    @Test
+    void testWriterReusesItsBuffer() {
+        GameStateDTO gameState = GameStateDTO.createGameStateDTO(newGame("Computer 1", "Computer 2"));
+        GameStateJsonWriter writer = new GameStateJsonWriter();
+
+        int first = writer.write(gameState);
+        int second = writer.write(gameState);
+
+        assertEquals(first, second);
+        assertEquals(first, writer.toByteArray().length);
+    }
+}
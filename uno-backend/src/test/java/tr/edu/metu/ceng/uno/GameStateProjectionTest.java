@@ -0,0 +1,75 @@
+package tr.edu.metu.ceng.uno;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import tr.edu.metu.ceng.uno.dto.GameStateDTO;
+import tr.edu.metu.ceng.uno.dto.PlayerGameStateDTO;
+import tr.edu.metu.ceng.uno.game.Game;
+import tr.edu.metu.ceng.uno.game.GameStatePublisher;
+import tr.edu.metu.ceng.uno.player.HumanPlayer;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class GameStateProjectionTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void testPublicStateHasHandSizesOnly() {
+        Game game = new Game(List.of(new HumanPlayer("Player1"), new HumanPlayer("Player2")), 0);
+        game.distributeCards();
+        game.initializeFirstCard();
+        GameStateDTO gameState = game.publishSnapshot();
+
+        GameStateDTO publicState = GameStateDTO.createPublicGameStateDTO(gameState);
+
+        assertEquals(2, publicState.getPlayers().size());
+        assertNull(publicState.getPlayers().get(0).getDeck());
+        assertEquals(7, publicState.getPlayers().get(1).getDeckSize());
+        assertEquals(gameState.getVersion(), publicState.getVersion());
+    }
+
+    @Test
+    void testProjectionEmbedsSharedStateAndOwnCards() throws Exception {
+        Game game = new Game(List.of(new HumanPlayer("Player1"), new HumanPlayer("Player2")), 0);
+        game.distributeCards();
+        game.initializeFirstCard();
+        GameStateDTO gameState = game.publishSnapshot();
+        String sharedState = objectMapper.writeValueAsString(GameStateDTO.createPublicGameStateDTO(gameState));
+
+        JsonNode projection = objectMapper.readTree(objectMapper.writeValueAsString(
+                new PlayerGameStateDTO("game", sharedState, 1, gameState.getPlayers().get(1).getDeck(), gameState.getVersion())));
+
+        assertEquals(1, projection.get("playerNo").asInt());
+        assertEquals(gameState.getVersion(), projection.get("version").asLong());
+        assertEquals(7, projection.get("deck").size());
+        assertEquals("Player1", projection.get("gameState").get("players").get(0).get("username").asText());
+        assertTrue(projection.get("gameState").get("players").get(0).get("deck").isNull());
+    }
+
+    @Test
+    void testPlayerViewHoldsOnlyTheirOwnCards() throws Exception {
+        Game game = new Game(List.of(new HumanPlayer("Player1"), new HumanPlayer("Player2")), 0);
+        game.distributeCards();
+        game.initializeFirstCard();
+        GameStateDTO gameState = game.publishSnapshot();
+        GameStatePublisher publisher = new GameStatePublisher(mock(SimpMessagingTemplate.class));
+
+        PlayerGameStateDTO view = publisher.createPlayerGameState("game", gameState, publisher.getPlayerNo("game", gameState, "Player2"));
+        JsonNode json = objectMapper.readTree(objectMapper.writeValueAsString(view));
+
+        assertEquals(1, view.getPlayerNo());
+        assertSame(gameState.getPlayers().get(1).getDeck(), view.getDeck());
+        assertSame(view.getGameState(), publisher.createPlayerGameState("game", gameState, 0).getGameState());
+        for (JsonNode player : json.get("gameState").get("players")) {
+            assertTrue(player.get("deck").isNull());
+            assertEquals(7, player.get("deckSize").asInt());
+        }
+        assertThrows(IllegalArgumentException.class, () -> publisher.getPlayerNo("game", gameState, "Player3"));
+    }
+}
@@ -3,6 +3,7 @@ package tr.edu.metu.ceng.uno;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import tr.edu.metu.ceng.uno.card.*;
+import tr.edu.metu.ceng.uno.dto.GameStateDTO;
 import tr.edu.metu.ceng.uno.game.Direction;
 import tr.edu.metu.ceng.uno.game.Game;
 import tr.edu.metu.ceng.uno.player.ComputerPlayer;
@@ -12,6 +13,10 @@ import tr.edu.metu.ceng.uno.player.Player;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class GameTest {
     
@@ -36,30 +41,31 @@ class GameTest {
 
     @Test
     void testDeckSizeAfterRefilling(){
-        List<Card> drawDeck = game.getDrawDeck();
-        List<Card> discardDeck = game.getDiscardDeck();
-        while(!drawDeck.isEmpty()){
-            game.setLastPlayedCard(drawDeck.getFirst());
-            discardDeck.add(drawDeck.getFirst());
-            drawDeck.removeFirst();
+        CardPile cardPile = game.getCardPile();
+        while(!cardPile.isDrawPileEmpty()){
+            Card card = cardPile.draw();
+            game.setLastPlayedCard(card);
+            cardPile.discard(card);
         }
         for(Player player: game.getPlayers()){
             List<Card> cardList = player.getDeck();
             while(!cardList.isEmpty()){
                 game.setLastPlayedCard(cardList.getFirst());
-                discardDeck.add(cardList.getFirst());
+                cardPile.discard(cardList.getFirst());
                 cardList.removeFirst();
             }
         }
         game.refillDrawDeck();
-        assertEquals(122, game.getDrawDeck().size());
+        assertEquals(122, game.getCardPile().drawPileSize());
+        assertEquals(1, game.getCardPile().discardPileSize());
+        assertEquals(game.getLastPlayedCard(), game.getCardPile().peekDiscardPile());
     }
 
     @Test
     void testNormalPlayerProgressionFromFirst() {
 
         game.setCurrentPlayer(0);
-        game.setLastPlayedCard(new NumberCard(CardColor.RED, 5));
+        game.setLastPlayedCard(NumberCard.of(CardColor.RED, 5));
 
         game.setNextPlayerConditionally();
 
@@ -70,7 +76,7 @@ class GameTest {
     void testNormalPlayerProgressionFromLast() {
 
         game.setCurrentPlayer(2);
-        game.setLastPlayedCard(new NumberCard(CardColor.RED, 5));
+        game.setLastPlayedCard(NumberCard.of(CardColor.RED, 5));
 
         game.setNextPlayerConditionally();
 
@@ -82,7 +88,7 @@ class GameTest {
         game.setDirection(Direction.CLOCKWISE);
         game.setCurrentPlayer(0);
 
-        game.setLastPlayedCard(new ActionCard(CardType.REVERSE, CardColor.RED));
+        game.setLastPlayedCard(ActionCard.of(CardType.REVERSE, CardColor.RED));
         game.setDirection(game.getDirection().reverse());
 
         game.setNextPlayerUnconditionally();
@@ -96,7 +102,7 @@ class GameTest {
         game.setDirection(Direction.COUNTER_CLOCKWISE);
         game.setCurrentPlayer(0);
 
-        game.setLastPlayedCard(new ActionCard(CardType.REVERSE, CardColor.BLUE));
+        game.setLastPlayedCard(ActionCard.of(CardType.REVERSE, CardColor.BLUE));
         game.setDirection(game.getDirection().reverse());
 
         game.setNextPlayerUnconditionally();
@@ -108,7 +114,7 @@ class GameTest {
     @Test
     void testSkipCardClockwiseFromFirstPlayer() {
         game.setCurrentPlayer(0);
-        game.setLastPlayedCard(new ActionCard(CardType.SKIP, CardColor.RED));
+        game.setLastPlayedCard(ActionCard.of(CardType.SKIP, CardColor.RED));
 
         game.setNextPlayerConditionally();
 
@@ -118,7 +124,7 @@ class GameTest {
     @Test
     void testSkipCardClockwiseFromSecondPlayer() {
         game.setCurrentPlayer(1);
-        game.setLastPlayedCard(new ActionCard(CardType.SKIP, CardColor.RED));
+        game.setLastPlayedCard(ActionCard.of(CardType.SKIP, CardColor.RED));
 
         game.setNextPlayerConditionally();
 
@@ -129,7 +135,7 @@ class GameTest {
     void testSkipCardCounterClockwiseFromThirdPlayer() {
         game.setDirection(Direction.COUNTER_CLOCKWISE);
         game.setCurrentPlayer(2);
-        game.setLastPlayedCard(new ActionCard(CardType.SKIP, CardColor.RED));
+        game.setLastPlayedCard(ActionCard.of(CardType.SKIP, CardColor.RED));
 
         game.setNextPlayerConditionally();
 
@@ -140,7 +146,7 @@ class GameTest {
     void testSkipCardCounterClockwiseFromSecondPlayer(){
         game.setDirection(Direction.COUNTER_CLOCKWISE);
         game.setCurrentPlayer(1);
-        game.setLastPlayedCard(new ActionCard(CardType.SKIP, CardColor.RED));
+        game.setLastPlayedCard(ActionCard.of(CardType.SKIP, CardColor.RED));
 
         game.setNextPlayerConditionally();
 
@@ -154,4 +160,89 @@ class GameTest {
         game.distributeCards();
         game.getPlayers().forEach(Player::stringifyDeck);
     }
-}
\ No newline at end of file
+
+    @Test
+    void testPublishedSnapshotIsNotAffectedByLaterMoves() {
+        game.distributeCards();
+        game.initializeFirstCard();
+        GameStateDTO first = game.publishSnapshot();
+
+        game.drawCards(player1, 1);
+        GameStateDTO second = game.publishSnapshot();
+
+        assertEquals(1, first.getVersion());
+        assertEquals(2, second.getVersion());
+        assertSame(second, game.getSnapshot());
+        assertEquals(7, first.getPlayers().get(0).getDeck().size());
+        assertEquals(8, second.getPlayers().get(0).getDeck().size());
+    }
+
+    @Test
+    void testPublishedSnapshotCannotBeModified() {
+        game.distributeCards();
+        game.initializeFirstCard();
+        GameStateDTO snapshot = game.publishSnapshot();
+
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.getPlayers().clear());
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.getPlayers().get(0).getDeck().clear());
+    }
+
+    @Test
+    void testChallengeAtThreeSeatsTargetsThePlayerOfTheWildDrawFour() {
+        game.distributeCards();
+        game.setLastPlayedCard(NumberCard.of(CardColor.RED, 5));
+        game.setCurrentCardColor(CardColor.RED);
+        player2.drawCard(NumberCard.of(CardColor.RED, 3));
+        int player1Cards = player1.getDeck().size(), player2Cards = player2.getDeck().size(), player3Cards = player3.getDeck().size();
+        game.wildDrawFourPlayed(1);
+        game.setLastPlayedCard(WildCard.of(CardType.WILD_DRAW_FOUR));
+        game.setCurrentPlayer(2);
+
+        boolean succeeded = game.challengeWildDrawFour();
+
+        assertTrue(succeeded);
+        assertEquals(player1Cards, player1.getDeck().size());
+        assertEquals(player2Cards + 4, player2.getDeck().size());
+        assertEquals(player3Cards, player3.getDeck().size());
+        assertEquals(2, game.getCurrentPlayer());
+        assertFalse(game.isCanChallenge());
+        assertEquals(-1, game.getWildDrawFourPlayer());
+    }
+
+    @Test
+    void testFailedChallengeAtThreeSeatsCostsTheChallengerTheTurn() {
+        game.setLastPlayedCard(NumberCard.of(CardColor.RED, 5));
+        game.setCurrentCardColor(CardColor.RED);
+        player1.drawCard(NumberCard.of(CardColor.RED, 3));
+        player2.drawCard(NumberCard.of(CardColor.BLUE, 7));
+        game.wildDrawFourPlayed(1);
+        game.setLastPlayedCard(WildCard.of(CardType.WILD_DRAW_FOUR));
+        game.setCurrentPlayer(2);
+
+        boolean succeeded = game.challengeWildDrawFour();
+
+        assertFalse(succeeded);
+        assertEquals(1, player1.getDeck().size());
+        assertEquals(1, player2.getDeck().size());
+        assertEquals(6, player3.getDeck().size());
+        assertEquals(0, game.getCurrentPlayer());
+        assertFalse(game.isCanChallenge());
+    }
+
+    @Test
+    void testComputerSeatAcceptingWildDrawFourPassesTheTurn() {
+        game.setLastPlayedCard(NumberCard.of(CardColor.RED, 5));
+        game.setCurrentCardColor(CardColor.RED);
+        game.wildDrawFourPlayed(0);
+        game.setLastPlayedCard(WildCard.of(CardType.WILD_DRAW_FOUR));
+        game.setCurrentPlayer(1);
+
+        game.acceptWildDrawFour();
+
+        assertEquals(4, player2.getDeck().size());
+        assertEquals(0, player1.getDeck().size());
+        assertEquals(2, game.getCurrentPlayer());
+        assertFalse(game.isCanChallenge());
+        assertEquals(-1, game.getWildDrawFourPlayer());
+    }
+}
@@ -0,0 +1,69 @@
+package tr.edu.metu.ceng.uno;
+
+import org.junit.jupiter.api.Test;
+import tr.edu.metu.ceng.uno.card.*;
+import tr.edu.metu.ceng.uno.player.Hand;
+import tr.edu.metu.ceng.uno.util.CardUtil;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HandTest {
+
+    @Test
+    void testPlayableMaskMatchesIsValidMove() {
+        List<Card> deck = CardUtil.getShuffledDeck(new SplittableRandom(0));
+
+        for (Card lastPlayedCard : deck) {
+            for (CardColor currentColor : CardColor.getColors()) {
+                long playableMask = CardUtil.getPlayableMask(lastPlayedCard, currentColor);
+                for (Card card : deck) {
+                    boolean playable = (playableMask & (1L << CardUtil.getCardOrdinal(card))) != 0;
+                    assertEquals(CardUtil.isValidMove(card, lastPlayedCard, currentColor), playable);
+                }
+            }
+        }
+    }
+
+    @Test
+    void testWildDrawFourIsNotCountedAsOtherPlayableCard() {
+        Hand hand = new Hand();
+        Card lastPlayedCard = NumberCard.of(CardColor.RED, 5);
+
+        hand.add(WildCard.of(CardType.WILD_DRAW_FOUR));
+        hand.add(NumberCard.of(CardColor.BLUE, 3));
+
+        assertTrue(hand.hasPlayableCard(lastPlayedCard, CardColor.RED));
+        assertFalse(hand.hasPlayableCardOtherThanWildDrawFour(lastPlayedCard, CardColor.RED));
+    }
+
+    @Test
+    void testIndexFollowsRemovals() {
+        Hand hand = new Hand();
+        hand.add(ActionCard.of(CardType.DRAW_TWO, CardColor.GREEN));
+        hand.add(ActionCard.of(CardType.DRAW_TWO, CardColor.GREEN));
+        hand.add(NumberCard.of(CardColor.YELLOW, 1));
+
+        hand.remove(0);
+        boolean afterFirstRemoval = hand.containsType(CardType.DRAW_TWO);
+        Iterator<Card> iterator = hand.iterator();
+        iterator.next();
+        iterator.remove();
+
+        assertTrue(afterFirstRemoval);
+        assertFalse(hand.containsType(CardType.DRAW_TWO));
+        assertEquals(CardColor.YELLOW, hand.getMostFrequentColor());
+    }
+
+    @Test
+    void testMostFrequentColorDefaultsToRed() {
+        Hand hand = new Hand();
+
+        hand.add(WildCard.of(CardType.WILD));
+
+        assertEquals(CardColor.RED, hand.getMostFrequentColor());
+    }
+}
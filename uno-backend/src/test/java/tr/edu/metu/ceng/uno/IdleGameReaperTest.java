@@ -0,0 +1,104 @@
+package tr.edu.metu.ceng.uno;
+
+import org.junit.jupiter.api.Test;
+import tr.edu.metu.ceng.uno.game.IdleGameReaper;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdleGameReaperTest {
+
+    // Time of the reapers under test, only moved by the tests
+    private final AtomicLong nanoTime = new AtomicLong();
+
+    private IdleGameReaper newReaper(Duration idleTtl, List<String> expired) {
+        IdleGameReaper reaper = new IdleGameReaper(idleTtl, 1, nanoTime::get);
+        reaper.onExpired(expired::add);
+        return reaper;
+    }
+
+    private void advance(Duration duration) {
+        nanoTime.addAndGet(duration.toNanos());
+    }
+
+    @Test
+    void testIdleGamesExpire() {
+        List<String> expired = new ArrayList<>();
+        IdleGameReaper reaper = newReaper(Duration.ofMillis(1), expired);
+        reaper.register("game1");
+        reaper.register("game2");
+        advance(Duration.ofMillis(20));
+
+        reaper.reapIdleGames();
+
+        assertEquals(List.of("game1", "game2"), expired);
+        assertEquals(0, reaper.getLiveGames());
+        assertEquals(2, reaper.getReclaimedGames());
+    }
+
+    @Test
+    void testGamesAreNotExpiredBeforeTheIdleTtl() {
+        List<String> expired = new ArrayList<>();
+        IdleGameReaper reaper = newReaper(Duration.ofMillis(300), expired);
+        reaper.register("game1");
+        advance(Duration.ofMillis(299));
+
+        reaper.reapIdleGames();
+
+        assertTrue(expired.isEmpty());
+        assertEquals(1, reaper.getLiveGames());
+    }
+
+    @Test
+    void testActivityPostponesExpiry() {
+        List<String> expired = new ArrayList<>();
+        IdleGameReaper reaper = newReaper(Duration.ofMillis(300), expired);
+        reaper.register("active");
+        reaper.register("idle");
+        advance(Duration.ofMillis(200));
+        reaper.touch("active");
+        advance(Duration.ofMillis(200));
+
+        reaper.reapIdleGames();
+        advance(Duration.ofMillis(200));
+        reaper.reapIdleGames();
+
+        assertEquals(List.of("idle", "active"), expired);
+        assertEquals(0, reaper.getLiveGames());
+    }
+
+    @Test
+    void testGameActiveOverManyRotationsExpiresOnceIdle() {
+        List<String> expired = new ArrayList<>();
+        IdleGameReaper reaper = newReaper(Duration.ofMillis(10), expired);
+        reaper.register("game1");
+
+        for (int i = 0; i < 100; i++) {
+            advance(Duration.ofMillis(1));
+            reaper.touch("game1");
+            reaper.reapIdleGames();
+        }
+        advance(Duration.ofMillis(11));
+        reaper.reapIdleGames();
+
+        assertEquals(List.of("game1"), expired);
+    }
+
+    @Test
+    void testEndedGamesAreNotExpired() {
+        List<String> expired = new ArrayList<>();
+        IdleGameReaper reaper = newReaper(Duration.ofMillis(1), expired);
+        reaper.register("game1");
+        reaper.unregister("game1");
+        advance(Duration.ofMillis(20));
+
+        reaper.reapIdleGames();
+
+        assertTrue(expired.isEmpty());
+        assertEquals(0, reaper.getReclaimedGames());
+    }
+}
@@ -0,0 +1,77 @@
+package tr.edu.metu.ceng.uno;
+
+import org.junit.jupiter.api.Test;
+import tr.edu.metu.ceng.uno.leaderboard.LeaderboardIndex;
+import tr.edu.metu.ceng.uno.leaderboard.LeaderboardRecord;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LeaderboardIndexTest {
+
+    private static List<String> usernames(List<LeaderboardRecord> records) {
+        return records.stream().map(LeaderboardRecord::getUsername).toList();
+    }
+
+    @Test
+    void testPlayersAreRankedByScoreThenUsername() {
+        LeaderboardIndex index = new LeaderboardIndex();
+        index.replaceAll(List.of(new LeaderboardRecord("carol", 3), new LeaderboardRecord("alice", 5),
+                new LeaderboardRecord("bob", 3), new LeaderboardRecord("dave", -1)));
+
+        index.add("dave", 10);
+        index.add("erin", 1);
+
+        assertEquals(List.of("dave", "alice", "bob", "carol", "erin"), usernames(index.top(10)));
+        assertEquals(List.of("dave", "alice"), usernames(index.top(2)));
+        assertEquals(9, index.score("dave"));
+        assertEquals(3, index.rank("bob"));
+        assertEquals(0, index.rank("frank"));
+    }
+
+    @Test
+    void testPlayersAroundAPlayer() {
+        LeaderboardIndex index = new LeaderboardIndex();
+        for (int i = 1; i <= 10; i++) {
+            index.add("player" + i, i);
+        }
+
+        List<LeaderboardRecord> aroundMiddle = index.around("player5", 2);
+        List<LeaderboardRecord> aroundFirst = index.around("player10", 2);
+
+        assertEquals(List.of("player7", "player6", "player5", "player4", "player3"), usernames(aroundMiddle));
+        assertEquals(List.of("player10", "player9", "player8"), usernames(aroundFirst));
+        assertTrue(index.around("unknown", 2).isEmpty());
+    }
+
+    @Test
+    void testRanksMatchASortedListAfterRandomUpdates() {
+        LeaderboardIndex index = new LeaderboardIndex();
+        Map<String, Long> scores = new HashMap<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 5000; i++) {
+            String username = "player" + random.nextInt(300);
+            long delta = random.nextBoolean() ? 1 : -1;
+            index.add(username, delta);
+            scores.merge(username, delta, Long::sum);
+        }
+
+        List<LeaderboardRecord> expected = new ArrayList<>();
+        scores.forEach((username, score) -> expected.add(new LeaderboardRecord(username, score)));
+        expected.sort(Comparator.comparingLong(LeaderboardRecord::getScore).reversed()
+                .thenComparing(LeaderboardRecord::getUsername));
+        List<LeaderboardRecord> actual = index.top(scores.size());
+
+        assertEquals(usernames(expected), usernames(actual));
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(i + 1, index.rank(expected.get(i).getUsername()));
+            assertEquals(expected.get(i).getScore(), actual.get(i).getScore());
+        }
+    }
+}
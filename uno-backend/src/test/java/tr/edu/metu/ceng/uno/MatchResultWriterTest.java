@@ -0,0 +1,199 @@
+package tr.edu.metu.ceng.uno;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.springframework.dao.TransientDataAccessResourceException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+import tr.edu.metu.ceng.uno.history.DailyScoreRollup;
+import tr.edu.metu.ceng.uno.history.MatchResult;
+import tr.edu.metu.ceng.uno.history.MatchResultWriter;
+import tr.edu.metu.ceng.uno.history.MatchResultWriterStatistics;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class MatchResultWriterTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+    // Number of matches in each participant batch, in write order
+    private final List<Integer> batches = Collections.synchronizedList(new ArrayList<>());
+    // Threads the transactions ran on
+    private final List<String> writingThreads = Collections.synchronizedList(new ArrayList<>());
+    private final AtomicLong matchIds = new AtomicLong();
+    private MatchResultWriter writer;
+
+    MatchResultWriterTest() {
+        when(transactionTemplate.execute(any())).thenAnswer(invocation -> {
+            writingThreads.add(Thread.currentThread().getName());
+            return invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null);
+        });
+        when(jdbcTemplate.update(any(PreparedStatementCreator.class), any(KeyHolder.class))).thenAnswer(invocation -> {
+            invocation.<KeyHolder>getArgument(1).getKeyList().add(Map.of("id", matchIds.incrementAndGet()));
+            return 1;
+        });
+        when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(),
+                ArgumentMatchers.<ParameterizedPreparedStatementSetter<Object>>any()))
+                .thenAnswer(invocation -> {
+                    Collection<?> rows = invocation.getArgument(1);
+                    if (invocation.<String>getArgument(0).contains("match_participant")) {
+                        batches.add(rows.size());
+                    }
+                    int[] counts = new int[rows.size()];
+                    Arrays.fill(counts, 1);
+                    return new int[][]{counts};
+                });
+    }
+
+    @AfterEach
+    void tearDown() {
+        writer.flush();
+    }
+
+    private MatchResultWriter newWriter(int queueCapacity, int batchSize, int maxAttempts) {
+        return new MatchResultWriter(jdbcTemplate, transactionTemplate,
+                new DailyScoreRollup(jdbcTemplate, transactionTemplate, 31),
+                queueCapacity, batchSize, maxAttempts, Duration.ofMillis(1), Duration.ofSeconds(5));
+    }
+
+    private static MatchResult match(String username) {
+        LocalDateTime endedAt = LocalDateTime.of(2026, 1, 1, 12, 0);
+        return new MatchResult(endedAt.minusMinutes(10), endedAt, 0, 20, 2,
+                List.of(new MatchResult.Participant(username, 0, 10)));
+    }
+
+    /**
+     * Holds the writer thread in its next transaction until the returned latch is counted down
+     * @param entered Counted down once the writer thread is held
+     */
+    private CountDownLatch holdNextWrite(CountDownLatch entered) {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger calls = new AtomicInteger();
+        doAnswer(invocation -> {
+            writingThreads.add(Thread.currentThread().getName());
+            if (calls.getAndIncrement() == 0) {
+                entered.countDown();
+                assertTrue(release.await(5, TimeUnit.SECONDS));
+            }
+            return invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null);
+        }).when(transactionTemplate).execute(any());
+        return release;
+    }
+
+    @Test
+    void testQueuedMatchesAreWrittenInBatches() throws Exception {
+        writer = newWriter(100, 3, 1);
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = holdNextWrite(entered);
+        writer.submit(match("player0"));
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+        for (int i = 1; i < 7; i++) {
+            writer.submit(match("player" + i));
+        }
+
+        release.countDown();
+        writer.flush();
+
+        assertEquals(List.of(1, 3, 3), batches);
+        MatchResultWriterStatistics statistics = writer.getStatistics();
+        assertEquals(7, statistics.getWrittenMatches());
+        assertEquals(7, statistics.getWrittenParticipants());
+        assertEquals(3, statistics.getWrittenBatches());
+        assertEquals(6, statistics.getMaxQueueDepth());
+    }
+
+    @Test
+    void testFailedBatchIsRetriedThenWritten() {
+        writer = newWriter(100, 10, 3);
+        AtomicInteger attempts = new AtomicInteger();
+        doAnswer(invocation -> {
+            if (attempts.getAndIncrement() == 0) {
+                throw new TransientDataAccessResourceException("Connection reset");
+            }
+            return invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null);
+        }).when(transactionTemplate).execute(any());
+
+        writer.submit(match("player0"));
+        writer.flush();
+
+        MatchResultWriterStatistics statistics = writer.getStatistics();
+        assertEquals(1, statistics.getRetries());
+        assertEquals(1, statistics.getWrittenMatches());
+        assertEquals(0, statistics.getDroppedMatches());
+    }
+
+    @Test
+    void testBatchIsDroppedAfterTheLastAttempt() {
+        writer = newWriter(100, 10, 3);
+        doThrow(new TransientDataAccessResourceException("Database is down")).when(transactionTemplate).execute(any());
+
+        writer.submit(match("player0"));
+        writer.flush();
+
+        MatchResultWriterStatistics statistics = writer.getStatistics();
+        assertEquals(2, statistics.getRetries());
+        assertEquals(1, statistics.getDroppedMatches());
+        assertEquals(0, statistics.getWrittenMatches());
+        verify(transactionTemplate, times(3)).execute(any());
+    }
+
+    @Test
+    void testFullQueueRejectsWithoutWritingOnTheCaller() throws Exception {
+        writer = newWriter(1, 10, 1);
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = holdNextWrite(entered);
+        writer.submit(match("player0"));
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+
+        boolean queued = writer.submit(match("player1"));
+        boolean rejected = !writer.submit(match("player2"));
+        release.countDown();
+        writer.flush();
+
+        assertTrue(queued);
+        assertTrue(rejected);
+        MatchResultWriterStatistics statistics = writer.getStatistics();
+        assertEquals(1, statistics.getRejectedMatches());
+        assertEquals(2, statistics.getWrittenMatches());
+        assertEquals(List.of("match-result-writer", "match-result-writer"), writingThreads);
+    }
+
+    @Test
+    void testQueuedMatchesAreWrittenOnShutdown() {
+        writer = newWriter(100, 2, 1);
+        List<String> notified = Collections.synchronizedList(new ArrayList<>());
+        writer.onRecordWritten((username, score, date) -> notified.add(username));
+        for (int i = 0; i < 5; i++) {
+            writer.submit(match("player" + i));
+        }
+
+        writer.flush();
+        boolean acceptedAfterShutdown = writer.submit(match("late"));
+
+        assertEquals(5, writer.getStatistics().getWrittenMatches());
+        assertEquals(0, writer.getStatistics().getQueuedMatches());
+        assertEquals(5, notified.size());
+        assertFalse(acceptedAfterShutdown);
+        assertEquals(1, writer.getStatistics().getRejectedMatches());
+    }
+}
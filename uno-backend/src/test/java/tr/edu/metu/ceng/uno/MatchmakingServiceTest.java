@@ -0,0 +1,179 @@
+package tr.edu.metu.ceng.uno;
+
+import org.junit.jupiter.api.Test;
+import tr.edu.metu.ceng.uno.matchmaking.MatchmakingService;
+import tr.edu.metu.ceng.uno.matchmaking.MatchmakingStatistics;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CyclicBarrier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MatchmakingServiceTest {
+
+    private static MatchmakingService newService(Duration widenInterval, List<List<String>> tables) {
+        MatchmakingService matchmakingService = new MatchmakingService(100, widenInterval, Duration.ofHours(1));
+        matchmakingService.onTableFormed((players, seats) -> tables.add(players));
+        return matchmakingService;
+    }
+
+    @Test
+    void testTablesAreFormedPerTableSize() {
+        List<List<String>> tables = new ArrayList<>();
+        MatchmakingService matchmakingService = newService(Duration.ofHours(1), tables);
+        for (int i = 1; i <= 4; i++) {
+            matchmakingService.enqueue("Pair" + i, 2, 0);
+        }
+        for (int i = 1; i <= 3; i++) {
+            matchmakingService.enqueue("Three" + i, 3, 0);
+        }
+        matchmakingService.enqueue("Four1", 4, 0);
+
+        matchmakingService.formTables();
+
+        assertEquals(3, tables.size());
+        assertEquals(List.of("Pair1", "Pair2"), tables.get(0));
+        assertEquals(List.of("Pair3", "Pair4"), tables.get(1));
+        assertEquals(List.of("Three1", "Three2", "Three3"), tables.get(2));
+        assertTrue(matchmakingService.isWaiting("Four1"));
+        MatchmakingStatistics statistics = matchmakingService.getStatistics();
+        assertEquals(3, statistics.getTablesFormed());
+        assertEquals(7, statistics.getMatchedPlayers());
+        assertEquals(1, statistics.getWaitingPlayers().get(4));
+        assertEquals(0, statistics.getWaitingPlayers().get(2));
+    }
+
+    @Test
+    void testDistantRatingsWaitForTheBandsToWiden() {
+        List<List<String>> tables = new ArrayList<>();
+        MatchmakingService strict = newService(Duration.ofHours(1), tables);
+        strict.enqueue("Beginner", 2, 50);
+        strict.enqueue("Expert", 2, 950);
+        MatchmakingService widened = newService(Duration.ofNanos(1), tables);
+        widened.enqueue("Beginner", 2, 50);
+        widened.enqueue("Expert", 2, 950);
+
+        strict.formTables();
+        widened.formTables();
+
+        assertEquals(1, tables.size());
+        assertTrue(strict.isWaiting("Beginner"));
+        assertTrue(strict.isWaiting("Expert"));
+        assertFalse(widened.isWaiting("Beginner"));
+    }
+
+    @Test
+    void testCancelledPlayersAreNotMatched() {
+        List<List<String>> tables = new ArrayList<>();
+        MatchmakingService matchmakingService = newService(Duration.ofHours(1), tables);
+        matchmakingService.enqueue("Player1", 2, 0);
+        matchmakingService.enqueue("Player2", 2, 0);
+        matchmakingService.enqueue("Player3", 2, 0);
+        matchmakingService.cancel("Player1");
+
+        matchmakingService.formTables();
+
+        assertEquals(List.of(List.of("Player2", "Player3")), tables);
+        assertEquals(0, matchmakingService.getStatistics().getWaitingPlayers().get(2));
+    }
+
+    @Test
+    void testPlayerIsQueuedOnce() {
+        MatchmakingService matchmakingService = newService(Duration.ofHours(1), new ArrayList<>());
+
+        boolean first = matchmakingService.enqueue("Player1", 2, 0);
+        boolean second = matchmakingService.enqueue("Player1", 3, 0);
+
+        assertTrue(first);
+        assertFalse(second);
+        assertThrows(IllegalArgumentException.class, () -> matchmakingService.enqueue("Player2", 5, 0));
+    }
+
+    @Test
+    void testOverduePlayersAreSeatedWithComputerPlayers() {
+        List<List<String>> tables = new ArrayList<>();
+        List<Integer> seats = new ArrayList<>();
+        MatchmakingService matchmakingService = new MatchmakingService(100, Duration.ofHours(1), Duration.ofNanos(1));
+        matchmakingService.onTableFormed((players, tableSeats) -> {
+            tables.add(players);
+            seats.add(tableSeats);
+        });
+        matchmakingService.enqueue("Beginner", 4, 50);
+        matchmakingService.enqueue("Expert", 4, 950);
+        matchmakingService.enqueue("Solo", 3, 0);
+
+        matchmakingService.formTables();
+
+        assertEquals(List.of(List.of("Solo"), List.of("Beginner", "Expert")), tables);
+        assertEquals(List.of(3, 4), seats);
+        assertFalse(matchmakingService.isWaiting("Expert"));
+        MatchmakingStatistics statistics = matchmakingService.getStatistics();
+        assertEquals(2, statistics.getBackfilledTables());
+        assertEquals(0, statistics.getWaitingPlayers().get(4));
+    }
+
+    @Test
+    void testPlayerCanJoinAgainAfterCancelling() {
+        List<List<String>> tables = new ArrayList<>();
+        MatchmakingService matchmakingService = newService(Duration.ofHours(1), tables);
+        matchmakingService.enqueue("Player1", 2, 0);
+        matchmakingService.cancel("Player1");
+
+        boolean joined = matchmakingService.enqueue("Player1", 2, 0);
+        matchmakingService.enqueue("Player2", 2, 0);
+        matchmakingService.formTables();
+
+        assertTrue(joined);
+        assertEquals(List.of(List.of("Player1", "Player2")), tables);
+        assertEquals(0, matchmakingService.getStatistics().getWaitingPlayers().get(2));
+    }
+
+    @Test
+    void testCancelDuringClaimEitherSeatsOrRemovesThePlayer() throws Exception {
+        for (int round = 0; round < 200; round++) {
+            List<List<String>> tables = new ArrayList<>();
+            MatchmakingService matchmakingService = newService(Duration.ofHours(1), tables);
+            List<String> players = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                players.add("Player" + i);
+                matchmakingService.enqueue("Player" + i, 2, 0);
+            }
+            CyclicBarrier start = new CyclicBarrier(2);
+
+            // Players leave from the back of the queue while the tick seats them from the front
+            CompletableFuture<Set<String>> cancelled = CompletableFuture.supplyAsync(() -> {
+                Set<String> left = new HashSet<>();
+                await(start);
+                for (String player : players.reversed()) {
+                    if (matchmakingService.cancel(player)) {
+                        left.add(player);
+                    }
+                }
+                return left;
+            });
+            await(start);
+            matchmakingService.formTables();
+            Set<String> left = cancelled.get();
+
+            for (String player : players) {
+                boolean seated = tables.stream().anyMatch(table -> table.contains(player));
+                assertNotEquals(seated, left.contains(player), player + " in round " + round);
+                assertFalse(matchmakingService.isWaiting(player), player + " in round " + round);
+            }
+            assertEquals(0, matchmakingService.getStatistics().getWaitingPlayers().get(2));
+        }
+    }
+
+    private static void await(CyclicBarrier barrier) {
+        try {
+            barrier.await();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
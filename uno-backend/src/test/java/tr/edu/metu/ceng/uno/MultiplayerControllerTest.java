@@ -0,0 +1,78 @@
+package tr.edu.metu.ceng.uno;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import tr.edu.metu.ceng.uno.dto.CardDTO;
+import tr.edu.metu.ceng.uno.dto.GameStateDTO;
+import tr.edu.metu.ceng.uno.dto.PlayerDTO;
+import tr.edu.metu.ceng.uno.dto.PlayerGameStateDTO;
+import tr.edu.metu.ceng.uno.game.MultiplayerController;
+import tr.edu.metu.ceng.uno.game.MultiplayerGameService;
+
+import java.security.Principal;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+class MultiplayerControllerTest {
+
+    private final MultiplayerGameService multiplayerGameService = mock(MultiplayerGameService.class);
+    private final MockMvc mockMvc = MockMvcBuilders
+            .standaloneSetup(new MultiplayerController(multiplayerGameService, mock(SimpMessagingTemplate.class)))
+            .build();
+    private final Principal alice = new UsernamePasswordAuthenticationToken("alice", null);
+    private final GameStateDTO gameState = new GameStateDTO(
+            List.of(new PlayerDTO("bob", List.of(), 7), new PlayerDTO("alice", List.of(new CardDTO("NUMBER", "RED", 5)), 1)),
+            0, new CardDTO("NUMBER", "RED", 3), "RED", "CLOCKWISE", 80, false, null, false, false, 3);
+
+    @Test
+    void testGameStateIsTheCallersOwnView() throws Exception {
+        when(multiplayerGameService.getGameState("game")).thenReturn(gameState);
+        when(multiplayerGameService.getPlayerNo("game", gameState, "alice")).thenReturn(1);
+        when(multiplayerGameService.getPlayerGameState("game", gameState, 1)).thenReturn(new PlayerGameStateDTO("game",
+                "{\"players\":[{\"username\":\"bob\",\"deck\":null,\"deckSize\":7}]}", 1,
+                List.of(new CardDTO("NUMBER", "RED", 5)), 3));
+
+        mockMvc.perform(get("/api/multiplayer/game/game").principal(alice))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3-1\""))
+                .andExpect(jsonPath("$.playerNo").value(1))
+                .andExpect(jsonPath("$.deck[0].color").value("RED"))
+                .andExpect(jsonPath("$.gameState.players[0].deckSize").value(7));
+    }
+
+    @Test
+    void testUnchangedViewIsNotBuiltAgain() throws Exception {
+        when(multiplayerGameService.getGameState("game")).thenReturn(gameState);
+        when(multiplayerGameService.getPlayerNo("game", gameState, "alice")).thenReturn(1);
+        when(multiplayerGameService.getPlayerGameState("game", gameState, 1))
+                .thenReturn(new PlayerGameStateDTO("game", "{}", 1, List.of(), 3));
+
+        mockMvc.perform(get("/api/multiplayer/game/game").principal(alice).header(HttpHeaders.IF_NONE_MATCH, "\"3-1\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+        verify(multiplayerGameService, never()).getPlayerGameState(any(), any(), anyInt());
+
+        mockMvc.perform(get("/api/multiplayer/game/game").principal(alice).header(HttpHeaders.IF_NONE_MATCH, "\"3-0\""))
+                .andExpect(status().isOk());
+        verify(multiplayerGameService).getPlayerGameState("game", gameState, 1);
+    }
+
+    @Test
+    void testOnlyPlayersOfTheGameGetItsState() throws Exception {
+        when(multiplayerGameService.getGameState("game")).thenReturn(gameState);
+        when(multiplayerGameService.getPlayerNo("game", gameState, "alice"))
+                .thenThrow(new IllegalArgumentException("Player alice is not in game game"));
+
+        mockMvc.perform(get("/api/multiplayer/game/game").principal(alice))
+                .andExpect(status().isForbidden());
+    }
+}
@@ -0,0 +1,133 @@
+package tr.edu.metu.ceng.uno;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.messaging.SessionConnectedEvent;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import tr.edu.metu.ceng.uno.game.MultiplayerGameService;
+import tr.edu.metu.ceng.uno.websocket.PlayerSessionRegistry;
+
+import java.security.Principal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class PlayerSessionRegistryTest {
+
+    private final MultiplayerGameService multiplayerGameService = mock(MultiplayerGameService.class);
+    private PlayerSessionRegistry registry;
+
+    @AfterEach
+    void tearDown() {
+        registry.shutdown();
+    }
+
+    private static Message<byte[]> message(String sessionId) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create();
+        accessor.setSessionId(sessionId);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+
+    private void connect(String username, String sessionId) {
+        Principal user = new UsernamePasswordAuthenticationToken(username, null);
+        registry.onSessionConnected(new SessionConnectedEvent(this, message(sessionId), user));
+    }
+
+    private void disconnect(String username, String sessionId) {
+        Principal user = new UsernamePasswordAuthenticationToken(username, null);
+        registry.onSessionDisconnect(new SessionDisconnectEvent(this, message(sessionId), sessionId,
+                CloseStatus.GOING_AWAY, user));
+    }
+
+    @Test
+    void testSeatIsReleasedAfterTheGracePeriod() {
+        registry = new PlayerSessionRegistry(multiplayerGameService, Duration.ofMillis(10));
+        when(multiplayerGameService.playerDisconnected("alice")).thenReturn(true);
+        connect("alice", "session1");
+        connect("alice", "session2");
+
+        disconnect("alice", "session1");
+        boolean connectedWithOneSession = registry.isConnected("alice");
+        disconnect("alice", "session2");
+
+        assertTrue(connectedWithOneSession);
+        assertFalse(registry.isConnected("alice"));
+        verify(multiplayerGameService, times(1)).playerDisconnected("alice");
+        verify(multiplayerGameService, timeout(5_000)).leaveGame("alice");
+        verify(multiplayerGameService, never()).playerReconnected(anyString());
+    }
+
+    @Test
+    void testPlayersOutsideOfGamesAreForgotten() {
+        registry = new PlayerSessionRegistry(multiplayerGameService, Duration.ofMillis(10));
+        connect("alice", "session1");
+
+        disconnect("alice", "session1");
+
+        assertEquals(0, registry.getConnectedPlayers());
+        verify(multiplayerGameService).playerDisconnected("alice");
+        verifyNoMoreInteractions(multiplayerGameService);
+    }
+
+    @Test
+    void testReconnectWithinTheGracePeriodKeepsTheSeat() {
+        registry = new PlayerSessionRegistry(multiplayerGameService, Duration.ofMinutes(1));
+        when(multiplayerGameService.playerDisconnected("alice")).thenReturn(true);
+        connect("alice", "session1");
+        disconnect("alice", "session1");
+
+        connect("alice", "session2");
+        connect("alice", "session3");
+
+        assertTrue(registry.isConnected("alice"));
+        assertEquals(1, registry.getConnectedPlayers());
+        verify(multiplayerGameService, times(1)).playerReconnected("alice");
+        verify(multiplayerGameService, never()).leaveGame(anyString());
+    }
+
+    @Test
+    void testReconnectRacingTheReleaseEitherKeepsOrReleasesTheSeat() throws Exception {
+        int players = 200;
+        registry = new PlayerSessionRegistry(multiplayerGameService, Duration.ofNanos(1));
+        Map<String, List<String>> outcomes = new ConcurrentHashMap<>();
+        CountDownLatch settled = new CountDownLatch(players);
+        when(multiplayerGameService.playerDisconnected(anyString())).thenReturn(true);
+        doAnswer(invocation -> record(outcomes, settled, invocation.getArgument(0), "reconnected"))
+                .when(multiplayerGameService).playerReconnected(anyString());
+        doAnswer(invocation -> record(outcomes, settled, invocation.getArgument(0), "released"))
+                .when(multiplayerGameService).leaveGame(anyString());
+
+        for (int i = 0; i < players; i++) {
+            String username = "player" + i;
+            connect(username, username + "-1");
+            disconnect(username, username + "-1");
+            connect(username, username + "-2");
+        }
+        boolean allSettled = settled.await(5, TimeUnit.SECONDS);
+
+        assertTrue(allSettled);
+        for (int i = 0; i < players; i++) {
+            assertEquals(1, outcomes.get("player" + i).size(), "player" + i + ": " + outcomes.get("player" + i));
+            assertTrue(registry.isConnected("player" + i));
+        }
+    }
+
+    private static Object record(Map<String, List<String>> outcomes, CountDownLatch settled, String username,
+                                 String outcome) {
+        outcomes.merge(username, List.of(outcome), (first, second) -> List.of(first.getFirst(), outcome));
+        settled.countDown();
+        return null;
+    }
+}
@@ -0,0 +1,91 @@
+package tr.edu.metu.ceng.uno;
+
+import org.junit.jupiter.api.Test;
+import tr.edu.metu.ceng.uno.card.Card;
+import tr.edu.metu.ceng.uno.game.Game;
+import tr.edu.metu.ceng.uno.player.ComputerPlayer;
+import tr.edu.metu.ceng.uno.player.HumanPlayer;
+import tr.edu.metu.ceng.uno.player.Player;
+import tr.edu.metu.ceng.uno.util.CardUtil;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SeededGameTest {
+
+    // Every face is expected at least DEALS / deck size times per position, well above the 5 the chi-square test needs
+    private static final int DEALS = 2_000_000;
+    // Chi-square critical value for 54 degrees of freedom at p = 1e-6
+    private static final double CHI_SQUARE_LIMIT = 118.9;
+
+    private static Game newGame(long seed) {
+        return new Game(List.of(new HumanPlayer("alice"), new ComputerPlayer("Computer 1")), seed);
+    }
+
+    private static List<String> hands(Game game) {
+        List<String> hands = new ArrayList<>();
+        for (Player player : game.getPlayers()) {
+            hands.add(player.getDeck().toString());
+        }
+        return hands;
+    }
+
+    @Test
+    void testSameSeedReplaysSameGame() {
+        Game game = newGame(42);
+        Game replay = newGame(42);
+
+        game.initializeFirstCard();
+        game.distributeCards();
+        replay.initializeFirstCard();
+        replay.distributeCards();
+
+        assertEquals(42, game.getSeed());
+        assertSame(game.getLastPlayedCard(), replay.getLastPlayedCard());
+        assertEquals(game.getCurrentCardColor(), replay.getCurrentCardColor());
+        assertEquals(hands(game), hands(replay));
+        assertEquals(game.nextRandomColor(), replay.nextRandomColor());
+    }
+
+    @Test
+    void testDifferentSeedsShuffleDifferently() {
+        List<Card> deck = CardUtil.getShuffledDeck(new SplittableRandom(1));
+
+        List<Card> otherDeck = CardUtil.getShuffledDeck(new SplittableRandom(2));
+
+        assertNotEquals(deck, otherDeck);
+    }
+
+    @Test
+    void testShuffleIsUniformOverEveryPosition() {
+        SplittableRandom random = new SplittableRandom(7);
+        List<Card> standardDeck = CardUtil.getShuffledDeck(random);
+        int deckSize = standardDeck.size();
+        int[] copies = new int[CardUtil.CARD_ORDINAL_COUNT];
+        for (Card card : standardDeck) {
+            copies[CardUtil.getCardOrdinal(card)]++;
+        }
+        long[][] counts = new long[deckSize][CardUtil.CARD_ORDINAL_COUNT];
+
+        for (int deal = 0; deal < DEALS; deal++) {
+            List<Card> deck = CardUtil.getShuffledDeck(random);
+            for (int position = 0; position < deckSize; position++) {
+                counts[position][CardUtil.getCardOrdinal(deck.get(position))]++;
+            }
+        }
+
+        // Each position must hold each face in proportion to the number of copies of that face in the deck
+        for (int position = 0; position < deckSize; position++) {
+            double chiSquare = 0;
+            for (int ordinal = 0; ordinal < CardUtil.CARD_ORDINAL_COUNT; ordinal++) {
+                double expected = (double) DEALS * copies[ordinal] / deckSize;
+                double difference = counts[position][ordinal] - expected;
+                chiSquare += difference * difference / expected;
+            }
+            assertTrue(chiSquare < CHI_SQUARE_LIMIT, "Position " + position + " is biased, chi-square: " + chiSquare);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package tr.edu.metu.ceng.uno;
+
+import org.junit.jupiter.api.Test;
+import tr.edu.metu.ceng.uno.game.Game;
+import tr.edu.metu.ceng.uno.game.SingleplayerGameRegistry;
+import tr.edu.metu.ceng.uno.player.ComputerPlayer;
+import tr.edu.metu.ceng.uno.player.HumanPlayer;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleplayerGameRegistryTest {
+
+    private static Game newGame(String username) {
+        return new Game(List.of(new HumanPlayer(username), new ComputerPlayer("Computer 1")));
+    }
+
+    @Test
+    void testEachPlayerGetsTheirOwnGame() {
+        SingleplayerGameRegistry registry = new SingleplayerGameRegistry(10, Duration.ofMinutes(30));
+        Game aliceGame = newGame("alice");
+        Game bobGame = newGame("bob");
+
+        registry.register("alice", aliceGame);
+        registry.register("bob", bobGame);
+
+        assertSame(aliceGame, registry.get("alice"));
+        assertSame(bobGame, registry.get("bob"));
+        assertEquals(2, registry.size());
+    }
+
+    @Test
+    void testStartingAgainReplacesPreviousGame() {
+        SingleplayerGameRegistry registry = new SingleplayerGameRegistry(1, Duration.ofMinutes(30));
+        Game newerGame = newGame("alice");
+
+        registry.register("alice", newGame("alice"));
+        registry.register("alice", newerGame);
+
+        assertSame(newerGame, registry.get("alice"));
+        assertEquals(1, registry.size());
+    }
+
+    @Test
+    void testUnknownPlayerHasNoGame() {
+        SingleplayerGameRegistry registry = new SingleplayerGameRegistry(10, Duration.ofMinutes(30));
+
+        assertThrows(IllegalStateException.class, () -> registry.get("nobody"));
+    }
+
+    @Test
+    void testCapacityIsBounded() {
+        SingleplayerGameRegistry registry = new SingleplayerGameRegistry(1, Duration.ofMinutes(30));
+
+        registry.register("alice", newGame("alice"));
+
+        assertThrows(IllegalStateException.class, () -> registry.register("bob", newGame("bob")));
+    }
+
+    @Test
+    void testConcurrentRegistrationsStayWithinCapacity() throws InterruptedException {
+        int capacity = 10;
+        int players = 200;
+        SingleplayerGameRegistry registry = new SingleplayerGameRegistry(capacity, Duration.ofMinutes(30));
+        AtomicInteger registered = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+
+        for (int i = 0; i < players; i++) {
+            String username = "player" + i;
+            Game game = newGame(username);
+            threads.add(Thread.ofPlatform().start(() -> {
+                try {
+                    start.await();
+                    registry.register(username, game);
+                    registered.incrementAndGet();
+                } catch (IllegalStateException | InterruptedException ignored) {
+                    // rejected because the registry is full
+                }
+            }));
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(capacity, registered.get());
+        assertEquals(capacity, registry.size());
+    }
+
+    @Test
+    void testIdleGamesAreEvicted() throws InterruptedException {
+        SingleplayerGameRegistry registry = new SingleplayerGameRegistry(1, Duration.ZERO);
+        registry.register("alice", newGame("alice"));
+        Thread.sleep(5);
+
+        registry.register("bob", newGame("bob"));
+
+        assertEquals(1, registry.size());
+        assertThrows(IllegalStateException.class, () -> registry.get("alice"));
+        assertNotNull(registry.get("bob"));
+    }
+}
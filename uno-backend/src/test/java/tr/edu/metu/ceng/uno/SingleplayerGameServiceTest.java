@@ -0,0 +1,62 @@
+package tr.edu.metu.ceng.uno;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import tr.edu.metu.ceng.uno.dto.GameStateDTO;
+import tr.edu.metu.ceng.uno.game.Game;
+import tr.edu.metu.ceng.uno.game.GameCommandExecutor;
+import tr.edu.metu.ceng.uno.game.SingleplayerGameRegistry;
+import tr.edu.metu.ceng.uno.game.SingleplayerGameService;
+import tr.edu.metu.ceng.uno.history.GameHistoryService;
+import tr.edu.metu.ceng.uno.history.MatchResult;
+import tr.edu.metu.ceng.uno.player.ComputerPlayer;
+import tr.edu.metu.ceng.uno.player.HumanPlayer;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class SingleplayerGameServiceTest {
+
+    private final GameCommandExecutor gameExecutor = new GameCommandExecutor(2);
+    private final SingleplayerGameRegistry gameRegistry = new SingleplayerGameRegistry(10, Duration.ofMinutes(30));
+    private final GameHistoryService gameHistoryService = mock(GameHistoryService.class);
+    private final SingleplayerGameService service = new SingleplayerGameService(gameRegistry, gameHistoryService, gameExecutor);
+
+    @AfterEach
+    void tearDown() {
+        gameExecutor.shutdown();
+    }
+
+    @Test
+    void testWinIsRecordedOnceAcrossMovesAndPolls() {
+        Game game = new Game(List.of(new HumanPlayer("alice"), new ComputerPlayer("Computer 1")), 3);
+        game.initializeFirstCard();
+        game.setCurrentPlayer(0);
+        game.getPlayers().getFirst().getDeck().clear();
+        gameRegistry.register("alice", game);
+
+        GameStateDTO finished = service.useCheatCard("alice", 0, "WILD_SKIP_EVERYONE_ONCE");
+        service.useCheatCard("alice", 0, "WILD_SKIP_EVERYONE_ONCE");
+        service.getSingleplayerGameState("alice");
+        service.getSingleplayerGameState("alice");
+
+        assertTrue(finished.isGameFinished());
+        assertEquals("alice", finished.getWinner());
+        assertTrue(game.isResultRecorded());
+        verify(gameHistoryService, times(1)).recordMatch(any(MatchResult.class));
+    }
+
+    @Test
+    void testPollingAnUnfinishedGameRecordsNothing() {
+        service.createSingleplayerGame("alice", 1);
+
+        GameStateDTO gameState = service.getSingleplayerGameState("alice");
+
+        assertFalse(gameState.isGameFinished());
+        verifyNoInteractions(gameHistoryService);
+    }
+}
@@ -6,6 +6,7 @@ import tr.edu.metu.ceng.uno.card.*;
 import tr.edu.metu.ceng.uno.util.CardUtil;
 
 import java.util.List;
+import java.util.SplittableRandom;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -19,15 +20,15 @@ class UnoApplicationTests {
 
 	@Test
 	void testDeckSize() {
-		List<Card> deck = CardUtil.getShuffledDeck();
+		List<Card> deck = CardUtil.getShuffledDeck(new SplittableRandom(0));
 		assertEquals(123, deck.size()); // one bonus added
 	}
 
 	@Test
 	void testToString() {
-		Card card1 = new ActionCard(CardType.SKIP, CardColor.BLUE);
-		Card card2 = new WildCard(CardType.WILD_DRAW_FOUR);
-		Card card3 = new NumberCard(CardColor.RED, 3);
+		Card card1 = ActionCard.of(CardType.SKIP, CardColor.BLUE);
+		Card card2 = WildCard.of(CardType.WILD_DRAW_FOUR);
+		Card card3 = NumberCard.of(CardColor.RED, 3);
 
 		assertEquals("BLUE SKIP", card1.toString());
 		assertEquals("WILD_DRAW_FOUR", card2.toString());
@@ -36,8 +37,8 @@ class UnoApplicationTests {
 
 	@Test
 	void testIsValidMoveWildCard() {
-		Card cardToPlay = new WildCard(CardType.WILD);
-		Card lastPlayedCard = new NumberCard(CardColor.RED, 3);
+		Card cardToPlay = WildCard.of(CardType.WILD);
+		Card lastPlayedCard = NumberCard.of(CardColor.RED, 3);
 		CardColor currentCardColor = CardColor.RED;
 
         assertTrue(CardUtil.isValidMove(cardToPlay, lastPlayedCard, currentCardColor));
@@ -45,8 +46,8 @@ class UnoApplicationTests {
 
 	@Test
 	void testIsValidMoveNumberCard() {
-		Card cardToPlay = new NumberCard(CardColor.RED,1);
-		Card lastPlayedCard = new NumberCard(CardColor.BLUE, 1);
+		Card cardToPlay = NumberCard.of(CardColor.RED,1);
+		Card lastPlayedCard = NumberCard.of(CardColor.BLUE, 1);
 		CardColor currentCardColor = CardColor.BLUE;
 
         assertTrue(CardUtil.isValidMove(cardToPlay, lastPlayedCard, currentCardColor));
@@ -54,8 +55,8 @@ class UnoApplicationTests {
 
 	@Test
 	void testIsValidMoveActionCard() {
-		Card cardToPlay = new ActionCard(CardType.SKIP, CardColor.BLUE);
-		Card lastPlayedCard = new ActionCard(CardType.SKIP, CardColor.RED);
+		Card cardToPlay = ActionCard.of(CardType.SKIP, CardColor.BLUE);
+		Card lastPlayedCard = ActionCard.of(CardType.SKIP, CardColor.RED);
 		CardColor currentCardColor = CardColor.RED;
 
 		assertTrue(CardUtil.isValidMove(cardToPlay, lastPlayedCard, currentCardColor));
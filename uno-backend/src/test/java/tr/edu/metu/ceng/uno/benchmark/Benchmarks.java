@@ -0,0 +1,42 @@
+package tr.edu.metu.ceng.uno.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import org.slf4j.LoggerFactory;
+import tr.edu.metu.ceng.uno.game.Game;
+import tr.edu.metu.ceng.uno.player.ComputerPlayer;
+import tr.edu.metu.ceng.uno.player.Player;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Shared setup of the JMH benchmarks
+ */
+final class Benchmarks {
+
+    private Benchmarks() {
+    }
+
+    /**
+     * Outside of Spring logback falls back to DEBUG console logging, which would dominate every measurement
+     */
+    static void disableLogging() {
+        ((Logger) LoggerFactory.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME)).setLevel(Level.OFF);
+    }
+
+    /**
+     * @return A started game between computer players, cards distributed and first card played
+     */
+    static Game newGame(int playerCount, long seed) {
+        List<Player> players = new ArrayList<>(playerCount);
+        for (int i = 1; i <= playerCount; i++) {
+            players.add(new ComputerPlayer("Computer " + i));
+        }
+
+        Game game = new Game(players, seed);
+        game.distributeCards();
+        game.initializeFirstCard();
+        return game;
+    }
+}
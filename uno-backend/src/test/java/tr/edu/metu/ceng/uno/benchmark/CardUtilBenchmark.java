@@ -0,0 +1,147 @@
+package tr.edu.metu.ceng.uno.benchmark;
+
+import lombok.extern.slf4j.Slf4j;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import tr.edu.metu.ceng.uno.card.Card;
+import tr.edu.metu.ceng.uno.card.CardColor;
+import tr.edu.metu.ceng.uno.card.NumberCard;
+import tr.edu.metu.ceng.uno.util.CardUtil;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Deck creation and move legality checks over a full deck against a fixed set of top cards.
+ * ruleBased is the rule-by-rule check that was used before the legality table, kept here unchanged as the baseline.
+ */
+@Slf4j
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CardUtilBenchmark {
+
+    private Card[] cards;
+    private Card[] lastPlayedCards;
+    private int[] cardOrdinals;
+    private int[] lastPlayedOrdinals;
+    private final CardColor[] colors = CardColor.getColors().toArray(new CardColor[0]);
+    private final SplittableRandom random = new SplittableRandom(0);
+
+    @Setup
+    public void setup() {
+        Benchmarks.disableLogging();
+        List<Card> deck = CardUtil.getShuffledDeck(random);
+        cards = deck.toArray(new Card[0]);
+        lastPlayedCards = deck.subList(0, 16).toArray(new Card[0]);
+
+        cardOrdinals = new int[cards.length];
+        for (int i = 0; i < cards.length; i++) {
+            cardOrdinals[i] = CardUtil.getCardOrdinal(cards[i]);
+        }
+        lastPlayedOrdinals = new int[lastPlayedCards.length];
+        for (int i = 0; i < lastPlayedCards.length; i++) {
+            lastPlayedOrdinals[i] = CardUtil.getCardOrdinal(lastPlayedCards[i]);
+        }
+    }
+
+    @Benchmark
+    public List<Card> shuffledDeck() {
+        return CardUtil.getShuffledDeck(random);
+    }
+
+    @Benchmark
+    public void ruleBased(Blackhole blackhole) {
+        for (int i = 0; i < lastPlayedCards.length; i++) {
+            CardColor currentCardColor = colors[i & 3];
+            for (Card card : cards) {
+                blackhole.consume(isValidMoveByRules(card, lastPlayedCards[i], currentCardColor));
+            }
+        }
+    }
+
+    @Benchmark
+    public void tableLookup(Blackhole blackhole) {
+        for (int i = 0; i < lastPlayedCards.length; i++) {
+            CardColor currentCardColor = colors[i & 3];
+            for (Card card : cards) {
+                blackhole.consume(CardUtil.isValidMove(card, lastPlayedCards[i], currentCardColor));
+            }
+        }
+    }
+
+    @Benchmark
+    public void tableLookupByOrdinal(Blackhole blackhole) {
+        for (int i = 0; i < lastPlayedOrdinals.length; i++) {
+            CardColor currentCardColor = colors[i & 3];
+            for (int cardOrdinal : cardOrdinals) {
+                blackhole.consume(CardUtil.isValidMove(cardOrdinal, lastPlayedOrdinals[i], currentCardColor));
+            }
+        }
+    }
+
+    /**
+     * The original rule-by-rule check, including its debug logging: with logging disabled the level checks and
+     * argument arrays of the log calls are still paid for on every call, as they were in the game
+     */
+    private static boolean isValidMoveByRules(Card cardToPlay, Card lastPlayedCard, CardColor currentCardColor) {
+        log.debug("Checking if card {} {} can be played on {} {} with current color {}", 
+                cardToPlay.getCardColor(), cardToPlay.getCardType(),
+                lastPlayedCard.getCardColor(), lastPlayedCard.getCardType(),
+                currentCardColor);
+
+        // WildCard Card
+        if (cardToPlay.isWildCard()) {
+            log.debug("Card {} {} is a wild card, which can always be played", 
+                    cardToPlay.getCardColor(), cardToPlay.getCardType());
+            return true;
+        }
+
+        // Action and Number Cards - check if colors match
+        if (cardToPlay.getCardColor() == currentCardColor) {
+            log.debug("Card {} {} matches the current color {}, valid move", 
+                    cardToPlay.getCardColor(), cardToPlay.getCardType(), currentCardColor);
+            return true;
+        }
+
+        // Number and Action Cards - check if types match
+        if (cardToPlay.getCardType() == lastPlayedCard.getCardType()) {
+            log.debug("Card types match: {}", cardToPlay.getCardType());
+
+            // For number cards, check if the numbers match
+            if (cardToPlay.isNumberCard()) {
+                NumberCard numberCardToPlay = (NumberCard) cardToPlay;
+                NumberCard numberCardLastPlayed = (NumberCard) lastPlayedCard;
+
+                boolean numbersMatch = numberCardToPlay.getCardNumber() == numberCardLastPlayed.getCardNumber();
+
+                if (numbersMatch) {
+                    log.debug("Number cards match: {} {} and {} {}", 
+                            numberCardToPlay.getCardColor(), numberCardToPlay.getCardNumber(),
+                            numberCardLastPlayed.getCardColor(), numberCardLastPlayed.getCardNumber());
+                } else {
+                    log.debug("Number cards don't match: {} {} and {} {}", 
+                            numberCardToPlay.getCardColor(), numberCardToPlay.getCardNumber(),
+                            numberCardLastPlayed.getCardColor(), numberCardLastPlayed.getCardNumber());
+                }
+
+                return numbersMatch;
+            }
+
+            // Action Card - if types match, it's a valid move
+            log.debug("Action cards of same type can be played regardless of color: {}", 
+                    cardToPlay.getCardType());
+            return true;
+        }
+
+        log.debug("Card {} {} cannot be played on {} {} with current color {}", 
+                cardToPlay.getCardColor(), cardToPlay.getCardType(),
+                lastPlayedCard.getCardColor(), lastPlayedCard.getCardType(),
+                currentCardColor);
+        return false;
+    }
+}
@@ -0,0 +1,167 @@
+package tr.edu.metu.ceng.uno.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Weekly and monthly leaderboard sums read from the raw per-player scores against the same sums read from the daily
+ * score rollup, at 1M and 10M scores of 1000 players spread over a year.
+ *
+ * Needs a MariaDB database to write scratch tables to, given by the UNO_BENCHMARK_JDBC_URL, UNO_BENCHMARK_USERNAME
+ * and UNO_BENCHMARK_PASSWORD environment variables. The bench_ tables mirror the per-player score rows the rollup is
+ * built from and the user_daily_score table, and are kept between runs of the same size.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Thread)
+public class DailyScoreRollupBenchmark {
+
+    private static final int PLAYERS = 1000;
+    private static final int DAYS = 365;
+
+    private static final String RAW_SUM = """
+            SELECT u.username, SUM(g.score) FROM bench_game_record g
+            JOIN bench_user u ON u.id = g.user_id
+            WHERE g.date >= ?
+            GROUP BY u.username
+            """;
+
+    private static final String ROLLUP_SUM = """
+            SELECT u.username, SUM(s.score) FROM bench_user_daily_score s
+            JOIN bench_user u ON u.id = s.user_id
+            WHERE s.day >= ?
+            GROUP BY u.username
+            """;
+
+    @Param({"1000000", "10000000"})
+    private int gameRecords;
+
+    private Connection connection;
+    private PreparedStatement rawSum;
+    private PreparedStatement rollupSum;
+
+    @Setup(Level.Trial)
+    public void setup() throws SQLException {
+        Benchmarks.disableLogging();
+
+        String url = System.getenv("UNO_BENCHMARK_JDBC_URL");
+        if (url == null) {
+            throw new IllegalStateException("Set UNO_BENCHMARK_JDBC_URL to a scratch MariaDB database to run this benchmark");
+        }
+        connection = DriverManager.getConnection(url, System.getenv("UNO_BENCHMARK_USERNAME"), System.getenv("UNO_BENCHMARK_PASSWORD"));
+        if (countGameRecords() != gameRecords) {
+            populate();
+        }
+
+        rawSum = connection.prepareStatement(RAW_SUM);
+        rollupSum = connection.prepareStatement(ROLLUP_SUM);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Benchmark
+    public long weeklyFromGameRecords() throws SQLException {
+        return sum(rawSum, LocalDate.now().minusWeeks(1));
+    }
+
+    @Benchmark
+    public long weeklyFromRollup() throws SQLException {
+        return sum(rollupSum, LocalDate.now().minusWeeks(1));
+    }
+
+    @Benchmark
+    public long monthlyFromGameRecords() throws SQLException {
+        return sum(rawSum, LocalDate.now().minusMonths(1));
+    }
+
+    @Benchmark
+    public long monthlyFromRollup() throws SQLException {
+        return sum(rollupSum, LocalDate.now().minusMonths(1));
+    }
+
+    private static long sum(PreparedStatement statement, LocalDate since) throws SQLException {
+        statement.setDate(1, Date.valueOf(since));
+        long total = 0;
+        try (ResultSet resultSet = statement.executeQuery()) {
+            while (resultSet.next()) {
+                total += resultSet.getLong(2);
+            }
+        }
+        return total;
+    }
+
+    private long countGameRecords() throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(
+                     "SELECT COUNT(*) FROM information_schema.tables WHERE table_schema = DATABASE() AND table_name = 'bench_game_record'")) {
+            resultSet.next();
+            if (resultSet.getLong(1) == 0) {
+                return 0;
+            }
+        }
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT COUNT(*) FROM bench_game_record")) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+
+    /**
+     * Creates the scratch tables with one win or loss per game record and builds the rollup from them the way the
+     * rollup compaction does. Rows come from the sequence engine of MariaDB, so no data leaves the server.
+     */
+    private void populate() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS bench_user_daily_score, bench_game_record, bench_user");
+            statement.execute("CREATE TABLE bench_user (id BIGINT PRIMARY KEY, username VARCHAR(255) NOT NULL UNIQUE)");
+            statement.execute("""
+                    CREATE TABLE bench_game_record (
+                        id BIGINT AUTO_INCREMENT PRIMARY KEY,
+                        user_id BIGINT NOT NULL,
+                        score INT NOT NULL,
+                        date DATE NOT NULL,
+                        INDEX idx_bench_game_record_user (user_id),
+                        INDEX idx_bench_game_record_date (date)
+                    )
+                    """);
+            statement.execute("""
+                    CREATE TABLE bench_user_daily_score (
+                        user_id BIGINT NOT NULL,
+                        day DATE NOT NULL,
+                        score BIGINT NOT NULL,
+                        games INT NOT NULL,
+                        PRIMARY KEY (user_id, day),
+                        INDEX idx_bench_user_daily_score_day (day)
+                    )
+                    """);
+
+            statement.execute("INSERT INTO bench_user SELECT seq, CONCAT('user', seq) FROM seq_1_to_" + PLAYERS);
+            statement.execute("""
+                    INSERT INTO bench_game_record (user_id, score, date)
+                    SELECT seq %% %d + 1, IF(seq %% 2 = 0, 1, -1), CURDATE() - INTERVAL (seq * 7919 %% %d) DAY
+                    FROM seq_1_to_%d
+                    """.formatted(PLAYERS, DAYS, gameRecords));
+            statement.execute("""
+                    INSERT INTO bench_user_daily_score (user_id, day, score, games)
+                    SELECT user_id, date, SUM(score), COUNT(*) FROM bench_game_record
+                    GROUP BY user_id, date
+                    """);
+            statement.execute("ANALYZE TABLE bench_user, bench_game_record, bench_user_daily_score");
+        }
+    }
+}
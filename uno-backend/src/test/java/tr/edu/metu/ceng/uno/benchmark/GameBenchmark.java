@@ -0,0 +1,72 @@
+package tr.edu.metu.ceng.uno.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import tr.edu.metu.ceng.uno.card.ActionCard;
+import tr.edu.metu.ceng.uno.card.CardColor;
+import tr.edu.metu.ceng.uno.card.CardPile;
+import tr.edu.metu.ceng.uno.card.CardType;
+import tr.edu.metu.ceng.uno.card.NumberCard;
+import tr.edu.metu.ceng.uno.game.Game;
+import tr.edu.metu.ceng.uno.simulation.GameSimulator;
+import tr.edu.metu.ceng.uno.simulation.SimulationStatistics;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Turn handling, draw pile recycling and complete 4 player games between computer players
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GameBenchmark {
+
+    private Game game;
+    private Game exhaustedGame;
+    private SimulationStatistics statistics;
+    private long seed = 0;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Benchmarks.disableLogging();
+
+        game = Benchmarks.newGame(4, 1);
+        statistics = new SimulationStatistics(4);
+    }
+
+    /**
+     * Moves every card of the draw pile to the discard pile so that refillDrawDeck has to recycle all of them
+     */
+    @Setup(Level.Invocation)
+    public void exhaustDrawPile() {
+        exhaustedGame = Benchmarks.newGame(4, seed);
+        CardPile cardPile = exhaustedGame.getCardPile();
+        while (!cardPile.isDrawPileEmpty()) {
+            cardPile.discard(cardPile.draw());
+        }
+    }
+
+    @Benchmark
+    public int setNextPlayerConditionally() {
+        game.setLastPlayedCard(NumberCard.of(CardColor.RED, 5));
+        game.setNextPlayerConditionally();
+        game.setLastPlayedCard(ActionCard.of(CardType.SKIP, CardColor.RED));
+        game.setNextPlayerConditionally();
+        return game.getCurrentPlayer();
+    }
+
+    @Benchmark
+    public int refillDrawDeck() {
+        exhaustedGame.refillDrawDeck();
+        return exhaustedGame.getCardPile().drawPileSize();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public long fullGame() {
+        GameSimulator.simulate(seed++, statistics);
+        return statistics.getGames();
+    }
+}
@@ -0,0 +1,67 @@
+package tr.edu.metu.ceng.uno.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import tr.edu.metu.ceng.uno.dto.GameStateDTO;
+import tr.edu.metu.ceng.uno.dto.GameStateJsonWriter;
+import tr.edu.metu.ceng.uno.game.Game;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building the game state DTO of a 4 player game and serializing it to JSON, as done for every state update.
+ * writeGameStateJson is the streaming writer used for published snapshots, run with -prof gc to see it allocate nothing.
+ * writePublicGameStateJson writes the part shared by all players of a multiplayer game, once per published state.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GameStateBenchmark {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private Game game;
+    private GameStateDTO gameState;
+    private final GameStateJsonWriter writer = new GameStateJsonWriter();
+
+    @Setup
+    public void setup() {
+        Benchmarks.disableLogging();
+
+        game = Benchmarks.newGame(4, 1);
+        gameState = GameStateDTO.createGameStateDTO(game);
+    }
+
+    @Benchmark
+    public GameStateDTO createGameStateDTO() {
+        return GameStateDTO.createGameStateDTO(game);
+    }
+
+    @Benchmark
+    public byte[] serializeGameState() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(gameState);
+    }
+
+    @Benchmark
+    public byte[] createAndSerializeGameState() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(GameStateDTO.createGameStateDTO(game));
+    }
+
+    @Benchmark
+    public int writeGameStateJson() {
+        return writer.write(gameState);
+    }
+
+    @Benchmark
+    public byte[] writeGameStateJsonCopy() {
+        return GameStateJsonWriter.toJson(gameState);
+    }
+
+    @Benchmark
+    public byte[] writePublicGameStateJson() {
+        return GameStateJsonWriter.toJson(GameStateDTO.createPublicGameStateDTO(gameState));
+    }
+}
@@ -0,0 +1,50 @@
+package tr.edu.metu.ceng.uno.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import tr.edu.metu.ceng.uno.card.Card;
+import tr.edu.metu.ceng.uno.card.CardColor;
+import tr.edu.metu.ceng.uno.player.ComputerPlayer;
+import tr.edu.metu.ceng.uno.player.Player;
+import tr.edu.metu.ceng.uno.util.CardUtil;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Player.shouldDrawCard for a starting hand and a long hand, cycling through different top cards
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PlayerBenchmark {
+
+    @Param({"7", "20"})
+    private int handSize;
+
+    private Player player;
+    private Card[] lastPlayedCards;
+    private final CardColor[] colors = CardColor.getColors().toArray(new CardColor[0]);
+    private int next = 0;
+
+    @Setup
+    public void setup() {
+        Benchmarks.disableLogging();
+
+        List<Card> deck = CardUtil.getShuffledDeck(new SplittableRandom(0));
+        player = new ComputerPlayer("Computer 1");
+        for (Card card : deck.subList(0, handSize)) {
+            player.drawCard(card);
+        }
+        lastPlayedCards = deck.subList(handSize, handSize + 64).toArray(new Card[0]);
+    }
+
+    @Benchmark
+    public boolean shouldDrawCard() {
+        int index = next++ & 63;
+        return player.shouldDrawCard(lastPlayedCards[index], colors[index & 3]);
+    }
+}
@@ -0,0 +1,99 @@
+package tr.edu.metu.ceng.uno.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import tr.edu.metu.ceng.uno.dto.GameStateDTO;
+import tr.edu.metu.ceng.uno.dto.StateChangeDTO;
+import tr.edu.metu.ceng.uno.game.Game;
+import tr.edu.metu.ceng.uno.game.GameStateDiff;
+import tr.edu.metu.ceng.uno.websocket.BinaryMessageCodec;
+import tr.edu.metu.ceng.uno.websocket.MultiplayerMessage;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encoding and decoding the STATE_DELTA messages of a 4 player game in JSON and in the binary format.
+ * Each invocation handles the delta of one move, the average bytes per move of both formats are printed at setup.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class WireFormatBenchmark {
+
+    private static final int MOVES = 200;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<MultiplayerMessage> messages = new ArrayList<>();
+    private final List<byte[]> jsonMessages = new ArrayList<>();
+    private final List<byte[]> binaryMessages = new ArrayList<>();
+    private int move;
+
+    @Setup
+    public void setup() throws IOException {
+        Benchmarks.disableLogging();
+
+        Game game = Benchmarks.newGame(4, 1);
+        GameStateDTO previous = game.publishSnapshot();
+        while (messages.size() < MOVES) {
+            if (game.anyPlayerHasEmptyDeck()) {
+                game = Benchmarks.newGame(4, messages.size());
+                previous = game.publishSnapshot();
+            }
+
+            game.playComputerTurn(game.getCurrentPlayer());
+            GameStateDTO next = game.publishSnapshot();
+            List<StateChangeDTO> changes = GameStateDiff.diff(previous, next);
+            previous = next;
+            if (changes == null) {
+                continue;
+            }
+
+            MultiplayerMessage message = MultiplayerMessage.builder()
+                    .type(MultiplayerMessage.MessageType.STATE_DELTA)
+                    .gameId("00000000-0000-0000-0000-000000000000")
+                    .version(next.getVersion())
+                    .changes(changes)
+                    .build();
+            messages.add(message);
+            jsonMessages.add(objectMapper.writeValueAsBytes(message));
+            binaryMessages.add(BinaryMessageCodec.encode(message));
+        }
+
+        System.out.printf("Bytes per move: JSON %.1f, binary %.1f%n", averageSize(jsonMessages), averageSize(binaryMessages));
+    }
+
+    private static double averageSize(List<byte[]> encodedMessages) {
+        return encodedMessages.stream().mapToInt(encoded -> encoded.length).average().orElse(0);
+    }
+
+    private int nextMove() {
+        move = (move + 1) % MOVES;
+        return move;
+    }
+
+    @Benchmark
+    public byte[] encodeJson() throws IOException {
+        return objectMapper.writeValueAsBytes(messages.get(nextMove()));
+    }
+
+    @Benchmark
+    public byte[] encodeBinary() {
+        return BinaryMessageCodec.encode(messages.get(nextMove()));
+    }
+
+    @Benchmark
+    public MultiplayerMessage decodeJson() throws IOException {
+        return objectMapper.readValue(jsonMessages.get(nextMove()), MultiplayerMessage.class);
+    }
+
+    @Benchmark
+    public MultiplayerMessage decodeBinary() {
+        return BinaryMessageCodec.decode(binaryMessages.get(nextMove()));
+    }
+}
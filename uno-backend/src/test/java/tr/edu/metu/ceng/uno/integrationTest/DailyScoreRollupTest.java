@@ -0,0 +1,136 @@
+package tr.edu.metu.ceng.uno.integrationTest;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import tr.edu.metu.ceng.uno.history.*;
+import tr.edu.metu.ceng.uno.user.User;
+import tr.edu.metu.ceng.uno.user.UserRepository;
+
+import java.sql.Date;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("h2")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class DailyScoreRollupTest { // daily score rollup on H2 in MariaDB mode
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private DailyScoreRollup dailyScoreRollup;
+    private MatchResultWriter matchResultWriter;
+
+    @BeforeEach
+    void setUp() {
+        for (String username : List.of("alice", "bob")) {
+            userRepository.save(new User(username, username + "@example.com", "password"));
+        }
+        dailyScoreRollup = new DailyScoreRollup(jdbcTemplate, transactionTemplate, 31);
+        matchResultWriter = new MatchResultWriter(jdbcTemplate, transactionTemplate, dailyScoreRollup,
+                100, 100, 1, Duration.ofMillis(1), Duration.ofSeconds(5));
+    }
+
+    @AfterEach
+    void tearDown() {
+        matchResultWriter.flush();
+        jdbcTemplate.update("DELETE FROM user_daily_score");
+        jdbcTemplate.update("DELETE FROM match_participant");
+        jdbcTemplate.update("DELETE FROM game_match");
+        jdbcTemplate.update("DELETE FROM user");
+    }
+
+    /**
+     * Writes one match of alice and bob on each of the closed days from 2 to 5 days ago, the later ones won by alice
+     */
+    private void writeClosedDays() {
+        List<MatchResult> matches = new ArrayList<>();
+        for (int daysBefore = 2; daysBefore <= 5; daysBefore++) {
+            LocalDateTime endedAt = LocalDate.now().minusDays(daysBefore).atTime(20, 0);
+            int aliceScore = daysBefore < 4 ? 1 : -1;
+            matches.add(new MatchResult(endedAt.minusMinutes(10), endedAt, aliceScore > 0 ? 0 : 1, 30, 2, List.of(
+                    new MatchResult.Participant("alice", 0, aliceScore),
+                    new MatchResult.Participant("bob", 1, -aliceScore))));
+        }
+        matchResultWriter.writeNow(matches);
+    }
+
+    private Integer rollupScore(String username, LocalDate day) {
+        return jdbcTemplate.queryForList("""
+                SELECT s.score FROM user_daily_score s JOIN user u ON u.id = s.user_id
+                WHERE u.username = ? AND s.day = ?
+                """, Integer.class, username, Date.valueOf(day)).stream().findFirst().orElse(null);
+    }
+
+    @Test
+    void testWrittenMatchesKeepTheRollupConsistent() {
+        writeClosedDays();
+
+        DailyScoreConsistencyReport report = dailyScoreRollup.checkConsistency(7);
+
+        assertTrue(report.isConsistent());
+        assertEquals(LocalDate.now().minusDays(6), report.getCheckedFrom());
+        assertEquals(8, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM user_daily_score", Integer.class));
+        assertEquals(1, rollupScore("alice", LocalDate.now().minusDays(2)));
+        assertEquals(-1, rollupScore("alice", LocalDate.now().minusDays(5)));
+    }
+
+    @Test
+    void testCompactionRepairsDriftedRows() {
+        writeClosedDays();
+        LocalDate drifted = LocalDate.now().minusDays(3);
+        LocalDate orphaned = LocalDate.now().minusDays(6);
+        jdbcTemplate.update("""
+                UPDATE user_daily_score SET score = 42
+                WHERE day = ? AND user_id = (SELECT id FROM user WHERE username = 'alice')
+                """, Date.valueOf(drifted));
+        jdbcTemplate.update("""
+                INSERT INTO user_daily_score (user_id, day, score, games)
+                SELECT id, ?, 5, 1 FROM user WHERE username = 'bob'
+                """, Date.valueOf(orphaned));
+
+        DailyScoreConsistencyReport drift = dailyScoreRollup.checkConsistency(7);
+        dailyScoreRollup.compact();
+        DailyScoreConsistencyReport repaired = dailyScoreRollup.checkConsistency(7);
+
+        assertEquals(1, drift.getMismatchedDays());
+        assertEquals(1, drift.getOrphanedDays());
+        assertTrue(repaired.isConsistent());
+        assertEquals(1, rollupScore("alice", drifted));
+        assertNull(rollupScore("bob", orphaned));
+    }
+
+    @Test
+    void testCompactionLeavesTodayToIncrementalUpdates() {
+        LocalDateTime now = LocalDateTime.now();
+        matchResultWriter.writeNow(List.of(new MatchResult(now.minusMinutes(10), now, 0, 30, 2, List.of(
+                new MatchResult.Participant("alice", 0, 1), new MatchResult.Participant("bob", 1, -1)))));
+        jdbcTemplate.update("UPDATE user_daily_score SET score = 42 WHERE day = ?", Date.valueOf(LocalDate.now()));
+
+        dailyScoreRollup.compact();
+
+        assertEquals(42, rollupScore("alice", LocalDate.now()));
+        assertEquals(2, dailyScoreRollup.checkConsistency(1).getMismatchedDays());
+    }
+}
@@ -0,0 +1,203 @@
+package tr.edu.metu.ceng.uno.integrationTest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import tr.edu.metu.ceng.uno.history.*;
+import tr.edu.metu.ceng.uno.user.User;
+import tr.edu.metu.ceng.uno.user.UserRepository;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("h2")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class GameHistoryPaginationTest { // game history pages on H2 in MariaDB mode
+
+    // Every match of a test ends at the same time, so only the match IDs can order the pages
+    private static final LocalDateTime ENDED_AT = LocalDateTime.now().minusDays(1).truncatedTo(ChronoUnit.SECONDS);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private GameMatchRepository gameMatchRepository;
+
+    @Autowired
+    private MatchParticipantRepository matchParticipantRepository;
+
+    // Dates written as Spring Boot configures its own mapper
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+    private MatchResultWriter matchResultWriter;
+    private GameHistoryService gameHistoryService;
+
+    @BeforeEach
+    void setUp() {
+        for (String username : List.of("alice", "bob")) {
+            userRepository.save(new User(username, username + "@example.com", "password"));
+        }
+        DailyScoreRollup dailyScoreRollup = new DailyScoreRollup(jdbcTemplate, transactionTemplate, 31);
+        matchResultWriter = new MatchResultWriter(jdbcTemplate, transactionTemplate, dailyScoreRollup,
+                100, 100, 1, Duration.ofMillis(1), Duration.ofSeconds(5));
+        gameHistoryService = new GameHistoryService(gameMatchRepository, matchParticipantRepository, userRepository,
+                new BCryptPasswordEncoder(), matchResultWriter, dailyScoreRollup, objectMapper);
+    }
+
+    @AfterEach
+    void tearDown() {
+        matchResultWriter.flush();
+        jdbcTemplate.update("DELETE FROM user_daily_score");
+        jdbcTemplate.update("DELETE FROM match_participant");
+        jdbcTemplate.update("DELETE FROM game_match");
+        jdbcTemplate.update("DELETE FROM user");
+    }
+
+    /**
+     * Writes matches of alice and bob ending at the same time, won by alice
+     * @return IDs of the matches in ascending order
+     */
+    private List<Long> writeMatches(int count, LocalDateTime endedAt) {
+        List<MatchResult> matches = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            matches.add(new MatchResult(endedAt.minusMinutes(10), endedAt, 0, 30, 2, List.of(
+                    new MatchResult.Participant("alice", 0, 1), new MatchResult.Participant("bob", 1, -1))));
+        }
+        matchResultWriter.writeNow(matches);
+        return jdbcTemplate.queryForList("SELECT id FROM game_match WHERE ended_at = ? ORDER BY id", Long.class, endedAt);
+    }
+
+    private static List<Long> matchIds(GameHistoryPage<MatchSummary> page) {
+        return page.getItems().stream().map(MatchSummary::getId).toList();
+    }
+
+    @Test
+    void testPagesFollowTheCursorAcrossEqualTimestamps() {
+        List<Long> ids = writeMatches(5, ENDED_AT);
+
+        GameHistoryPage<MatchSummary> first = gameHistoryService.getAllGameRecords(0, 2);
+        GameHistoryPage<MatchSummary> second = gameHistoryService.getAllGameRecords(first.getNextAfter(), 2);
+        GameHistoryPage<MatchSummary> last = gameHistoryService.getAllGameRecords(second.getNextAfter(), 2);
+
+        assertEquals(ids.subList(0, 2), matchIds(first));
+        assertEquals(ids.get(1), first.getNextAfter());
+        assertEquals(ids.subList(2, 4), matchIds(second));
+        assertEquals(ids.get(3), second.getNextAfter());
+        assertEquals(ids.subList(4, 5), matchIds(last));
+        assertNull(last.getNextAfter());
+        assertEquals(List.of("alice", "bob"), first.getItems().getFirst().getParticipants().stream()
+                .map(MatchSummary.Participant::getUsername).toList());
+    }
+
+    @Test
+    void testFullLastPageIsFollowedByAnEmptyPage() {
+        List<Long> ids = writeMatches(4, ENDED_AT);
+
+        GameHistoryPage<MatchSummary> second = gameHistoryService.getAllGameRecords(ids.get(1), 2);
+        GameHistoryPage<MatchSummary> empty = gameHistoryService.getAllGameRecords(second.getNextAfter(), 2);
+
+        assertEquals(ids.subList(2, 4), matchIds(second));
+        assertEquals(ids.get(3), second.getNextAfter());
+        assertTrue(empty.getItems().isEmpty());
+        assertNull(empty.getNextAfter());
+    }
+
+    @Test
+    void testLimitIsClampedToTheMaximumPageSize() {
+        List<Long> ids = writeMatches(GameHistoryService.MAX_PAGE_SIZE + 1, ENDED_AT);
+
+        GameHistoryPage<MatchSummary> page = gameHistoryService.getAllGameRecords(0, 10_000);
+
+        assertEquals(GameHistoryService.MAX_PAGE_SIZE, page.getItems().size());
+        assertEquals(ids.get(GameHistoryService.MAX_PAGE_SIZE - 1), page.getNextAfter());
+        assertThrows(IllegalArgumentException.class, () -> gameHistoryService.getAllGameRecords(0, 0));
+    }
+
+    @Test
+    void testWeeklyPagesSkipOlderMatches() {
+        writeMatches(2, ENDED_AT.minusDays(10));
+        List<Long> recent = writeMatches(3, ENDED_AT);
+
+        GameHistoryPage<MatchSummary> weekly = gameHistoryService.getWeeklyGameRecords(0, 10);
+        GameHistoryPage<MatchSummary> monthly = gameHistoryService.getMonthlyGameRecords(0, 10);
+
+        assertEquals(recent, matchIds(weekly));
+        assertNull(weekly.getNextAfter());
+        assertEquals(5, monthly.getItems().size());
+    }
+
+    @Test
+    void testUserPagesFollowTheCursor() {
+        List<Long> ids = writeMatches(3, ENDED_AT);
+
+        GameHistoryPage<GameHistoryEntry> first = gameHistoryService.getUserGameRecords("bob", 0, 2);
+        GameHistoryPage<GameHistoryEntry> last = gameHistoryService.getUserGameRecords("bob", first.getNextAfter(), 2);
+        GameHistoryPage<GameHistoryEntry> unknown = gameHistoryService.getUserGameRecords("nobody", 0, 2);
+
+        assertEquals(ids.subList(0, 2), first.getItems().stream().map(GameHistoryEntry::getMatchId).toList());
+        assertEquals(ids.get(1), first.getNextAfter());
+        assertEquals(ids.subList(2, 3), last.getItems().stream().map(GameHistoryEntry::getMatchId).toList());
+        assertNull(last.getNextAfter());
+        assertEquals(-1, last.getItems().getFirst().getScore());
+        assertTrue(unknown.getItems().isEmpty());
+        assertNull(unknown.getNextAfter());
+    }
+
+    @Test
+    void testExportWritesOneJsonObjectPerLine() throws Exception {
+        List<Long> ids = writeMatches(2, ENDED_AT);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            try {
+                gameHistoryService.exportGameHistory(out);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        String export = out.toString(StandardCharsets.UTF_8);
+        List<JsonNode> lines = new ArrayList<>();
+        for (String line : export.split("\n")) {
+            lines.add(objectMapper.readTree(line));
+        }
+        assertTrue(export.endsWith("\n"));
+        assertEquals(4, lines.size());
+        assertEquals(List.of(ids.get(0), ids.get(0), ids.get(1), ids.get(1)),
+                lines.stream().map(line -> line.get("matchId").asLong()).toList());
+        assertEquals("alice", lines.get(0).get("username").asText());
+        assertEquals(1, lines.get(1).get("seat").asInt());
+        assertEquals(-1, lines.get(1).get("score").asInt());
+        assertEquals(ENDED_AT.toString(), lines.get(0).get("endedAt").asText());
+    }
+}
@@ -0,0 +1,126 @@
+package tr.edu.metu.ceng.uno.integrationTest;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import tr.edu.metu.ceng.uno.history.LegacyGameRecordMigration;
+import tr.edu.metu.ceng.uno.user.User;
+import tr.edu.metu.ceng.uno.user.UserRepository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("h2")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class LegacyGameRecordMigrationTest { // game_record table on H2 in MariaDB mode
+
+    private static final LocalDateTime DATE = LocalDateTime.of(2025, 11, 5, 18, 30);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private LegacyGameRecordMigration migration;
+    private UUID alice;
+    private UUID bob;
+
+    @BeforeEach
+    void setUp() {
+        alice = userRepository.save(new User("alice", "alice@example.com", "password")).getId();
+        bob = userRepository.save(new User("bob", "bob@example.com", "password")).getId();
+        migration = new LegacyGameRecordMigration(jdbcTemplate, transactionTemplate);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS game_record");
+        jdbcTemplate.update("DELETE FROM match_participant");
+        jdbcTemplate.update("DELETE FROM game_match");
+        jdbcTemplate.update("DELETE FROM user");
+    }
+
+    private void createLegacyTable() {
+        jdbcTemplate.execute("CREATE TABLE game_record (id BIGINT AUTO_INCREMENT PRIMARY KEY, user_id UUID, score INT, date TIMESTAMP)");
+    }
+
+    private void insertLegacyRecord(long id, UUID userId, int score) {
+        jdbcTemplate.update("INSERT INTO game_record (id, user_id, score, date) VALUES (?, ?, ?, ?)",
+                id, userId, score, Timestamp.valueOf(DATE));
+    }
+
+    private void insertMatch(long id) {
+        jdbcTemplate.update("INSERT INTO game_match (id, started_at, ended_at, winner_seat, turn_count, seats) VALUES (?, ?, ?, 0, 10, 2)",
+                id, Timestamp.valueOf(DATE), Timestamp.valueOf(DATE));
+    }
+
+    @Test
+    void testRecordsBecomeMatchesAfterTheExistingIds() {
+        insertMatch(1);
+        insertMatch(7);
+        createLegacyTable();
+        insertLegacyRecord(1, alice, 1);
+        insertLegacyRecord(2, bob, -1);
+        insertLegacyRecord(3, null, 1);
+
+        migration.migrate();
+
+        List<Map<String, Object>> matches = jdbcTemplate.queryForList(
+                "SELECT id, started_at, ended_at, winner_seat, turn_count, seats FROM game_match WHERE id > 7 ORDER BY id");
+        List<Map<String, Object>> participants = jdbcTemplate.queryForList(
+                "SELECT match_id, user_id, seat, score FROM match_participant ORDER BY match_id");
+        assertEquals(List.of(8L, 9L), matches.stream().map(match -> ((Number) match.get("id")).longValue()).toList());
+        assertEquals(0, matches.get(0).get("winner_seat"));
+        assertNull(matches.get(1).get("winner_seat"));
+        assertEquals(Timestamp.valueOf(DATE), matches.get(0).get("started_at"));
+        assertEquals(Timestamp.valueOf(DATE), matches.get(0).get("ended_at"));
+        assertEquals(0, matches.get(0).get("turn_count"));
+        assertEquals(1, matches.get(0).get("seats"));
+        assertEquals(List.of(alice, bob), participants.stream().map(participant -> participant.get("user_id")).toList());
+        assertEquals(List.of(1, -1), participants.stream().map(participant -> participant.get("score")).toList());
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM game_record", Integer.class));
+    }
+
+    @Test
+    void testRunningAgainMigratesNothingTwice() {
+        createLegacyTable();
+        insertLegacyRecord(1, alice, 1);
+        migration.migrate();
+
+        migration.migrate();
+        insertLegacyRecord(2, bob, 1);
+        migration.migrate();
+
+        List<Long> matchIds = jdbcTemplate.queryForList("SELECT id FROM game_match ORDER BY id", Long.class);
+        assertEquals(List.of(1L, 3L), matchIds);
+        assertEquals(2, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM match_participant", Integer.class));
+    }
+
+    @Test
+    void testNothingHappensWithoutTheLegacyTable() {
+        insertMatch(1);
+
+        migration.migrate();
+
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM game_match", Integer.class));
+    }
+}
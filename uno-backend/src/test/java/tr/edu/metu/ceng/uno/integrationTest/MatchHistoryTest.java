@@ -0,0 +1,148 @@
+package tr.edu.metu.ceng.uno.integrationTest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import tr.edu.metu.ceng.uno.history.*;
+import tr.edu.metu.ceng.uno.user.User;
+import tr.edu.metu.ceng.uno.user.UserRepository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("h2")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class MatchHistoryTest { // match tables on H2 in MariaDB mode
+
+    private static final LocalDateTime ENDED_AT = LocalDateTime.of(2026, 3, 1, 20, 0);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private GameMatchRepository gameMatchRepository;
+
+    @Autowired
+    private MatchParticipantRepository matchParticipantRepository;
+
+    private JdbcTemplate jdbcSpy;
+    private MatchResultWriter matchResultWriter;
+    private GameHistoryService gameHistoryService;
+
+    @BeforeEach
+    void setUp() {
+        for (String username : List.of("alice", "bob", "carol")) {
+            userRepository.save(new User(username, username + "@example.com", "password"));
+        }
+        jdbcSpy = spy(jdbcTemplate);
+        DailyScoreRollup dailyScoreRollup = new DailyScoreRollup(jdbcSpy, transactionTemplate, 31);
+        matchResultWriter = new MatchResultWriter(jdbcSpy, transactionTemplate, dailyScoreRollup,
+                100, 100, 1, Duration.ofMillis(1), Duration.ofSeconds(5));
+        gameHistoryService = new GameHistoryService(gameMatchRepository, matchParticipantRepository, userRepository,
+                new BCryptPasswordEncoder(), matchResultWriter, dailyScoreRollup, new ObjectMapper());
+    }
+
+    @AfterEach
+    void tearDown() {
+        matchResultWriter.flush();
+        jdbcTemplate.update("DELETE FROM user_daily_score");
+        jdbcTemplate.update("DELETE FROM match_participant");
+        jdbcTemplate.update("DELETE FROM game_match");
+        jdbcTemplate.update("DELETE FROM user");
+    }
+
+    private static MatchResult match(Integer winnerSeat, String... usernames) {
+        List<MatchResult.Participant> participants = new ArrayList<>();
+        for (int seat = 0; seat < usernames.length; seat++) {
+            participants.add(new MatchResult.Participant(usernames[seat], seat,
+                    winnerSeat != null && winnerSeat == seat ? 1 : -1));
+        }
+        return new MatchResult(ENDED_AT.minusMinutes(15), ENDED_AT, winnerSeat, 40, 4, participants);
+    }
+
+    private int count(String table) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Integer.class);
+    }
+
+    @Test
+    void testMatchIsWrittenWithItsParticipants() {
+        matchResultWriter.writeNow(List.of(match(1, "alice", "Computer 1", "bob")));
+
+        GameMatch match = gameMatchRepository.findAll().getFirst();
+        List<GameHistoryEntry> entries = matchParticipantRepository.findByMatchIds(List.of(match.getId()));
+        assertEquals(1, gameMatchRepository.count());
+        assertEquals(ENDED_AT, match.getEndedAt());
+        assertEquals(1, match.getWinnerSeat());
+        assertEquals(40, match.getTurnCount());
+        assertEquals(4, match.getSeats());
+        assertEquals(List.of("alice", "bob"), entries.stream().map(GameHistoryEntry::getUsername).toList());
+        assertEquals(List.of(0, 2), entries.stream().map(GameHistoryEntry::getSeat).toList());
+        assertEquals(2, count("user_daily_score"));
+    }
+
+    @Test
+    void testFailedParticipantRollsBackItsWholeBatch() {
+        List<MatchResult> batch = List.of(match(0, "alice", "bob"), match(0, "carol", "carol"));
+
+        assertThrows(DataIntegrityViolationException.class, () -> matchResultWriter.writeNow(batch));
+
+        assertEquals(0, count("game_match"));
+        assertEquals(0, count("match_participant"));
+        assertEquals(0, count("user_daily_score"));
+    }
+
+    @Test
+    void testParticipantsOfABatchAreInsertedInOneJdbcBatch() {
+        matchResultWriter.writeNow(List.of(match(0, "alice", "bob"), match(1, "alice", "carol"),
+                match(2, "alice", "bob", "carol")));
+
+        verify(jdbcSpy, times(1)).batchUpdate(contains("match_participant"), argThat((Collection<?> rows) -> rows.size() == 7),
+                eq(7), any());
+        assertEquals(3, count("game_match"));
+        assertEquals(7, count("match_participant"));
+    }
+
+    @Test
+    void testHeadToHeadCountsTheMatchesPlayedTogether() {
+        matchResultWriter.writeNow(List.of(match(0, "alice", "bob"), match(0, "alice", "bob"),
+                match(1, "alice", "bob"), match(2, "alice", "bob", "carol"), match(0, "alice", "carol")));
+
+        HeadToHead aliceAgainstBob = gameHistoryService.getHeadToHead("alice", "bob");
+        HeadToHead bobAgainstAlice = gameHistoryService.getHeadToHead("bob", "alice");
+        HeadToHead strangers = gameHistoryService.getHeadToHead("bob", "nobody");
+
+        assertEquals(4, aliceAgainstBob.getMatches());
+        assertEquals(2, aliceAgainstBob.getWins());
+        assertEquals(1, aliceAgainstBob.getOpponentWins());
+        assertEquals(4, bobAgainstAlice.getMatches());
+        assertEquals(1, bobAgainstAlice.getWins());
+        assertEquals(2, bobAgainstAlice.getOpponentWins());
+        assertEquals(0, strangers.getMatches());
+    }
+}
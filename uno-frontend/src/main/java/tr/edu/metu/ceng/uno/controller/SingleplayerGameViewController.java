@@ -1,5 +1,7 @@
 package tr.edu.metu.ceng.uno.controller;
 
+import javafx.animation.PauseTransition;
+import javafx.animation.SequentialTransition;
 import javafx.application.Platform;
 import javafx.fxml.FXML;
 import javafx.scene.control.Alert;
@@ -12,11 +14,14 @@ import javafx.scene.layout.GridPane;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.StackPane;
 import javafx.scene.layout.VBox;
+import javafx.util.Duration;
 
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestClientException;
 
+import tr.edu.metu.ceng.uno.model.BotMoveDTO;
+import tr.edu.metu.ceng.uno.model.BotTurnsDTO;
 import tr.edu.metu.ceng.uno.model.CardDTO;
 import tr.edu.metu.ceng.uno.model.GameStateDTO;
 import tr.edu.metu.ceng.uno.model.PlayerDTO;
@@ -90,6 +95,10 @@ public class SingleplayerGameViewController {
 
     private CompletableFuture<String> colorSelectionFuture;
 
+    // Pacing of the locally animated computer moves
+    private static final long COMPUTER_MOVE_DELAY_MS = 2000;
+    private static final long PENALTY_DRAW_DELAY_MS = 500;
+
     public SingleplayerGameViewController(GameService gameService, ApplicationContext applicationContext) {
         log.info("Creating SingleplayerGameViewController instance");
         this.gameService = gameService;
@@ -707,21 +716,9 @@ public class SingleplayerGameViewController {
 
             if (gameState.getCurrentPlayerNo() != 0) {
                 log.debug("Current player is computer (player {})", gameState.getCurrentPlayerNo());
-                log.debug("Scheduling computer player {} turn in 2 seconds", gameState.getCurrentPlayerNo());
-                new java.util.Timer().schedule(
-                    new java.util.TimerTask() {
-                        @Override
-                        public void run() {
-                            log.debug("Computer player timer triggered, executing turn on JavaFX thread");
-                            Platform.runLater(() -> {
-                                log.info("Computer player {} is taking their turn", gameState.getCurrentPlayerNo());
-                                gameService.playCardComputer(gameState.getCurrentPlayerNo());
-                                log.debug("Computer player turn executed");
-                            });
-                        }
-                    },
-                    2000
-                );
+                log.debug("Requesting all computer turns in a single round trip");
+                CompletableFuture.supplyAsync(gameService::playComputerTurns)
+                    .thenAccept(botTurns -> Platform.runLater(() -> animateComputerMoves(botTurns)));
             } else {
                 log.debug("Current player is human (player 0), waiting for user input");
             }
@@ -730,6 +727,82 @@ public class SingleplayerGameViewController {
         });
     }
 
+    /**
+     * Replays the computer moves received from the backend one after another,
+     * then displays the resulting game state
+     * 
+     * @param botTurns The computer moves and the game state after them
+     */
+    private void animateComputerMoves(BotTurnsDTO botTurns) {
+        if (botTurns == null || botTurns.getGameState() == null) {
+            log.warn("No computer moves received from server");
+            return;
+        }
+
+        SequentialTransition sequence = new SequentialTransition();
+        for (BotMoveDTO move : botTurns.getMoves()) {
+            // Penalty draws happen as part of the previous move, so they are shown without the thinking delay
+            long delay = move.getType() == BotMoveDTO.MoveType.PENALTY_DRAW ? PENALTY_DRAW_DELAY_MS : COMPUTER_MOVE_DELAY_MS;
+            PauseTransition pause = new PauseTransition(Duration.millis(delay));
+            pause.setOnFinished(event -> displayComputerMove(move));
+            sequence.getChildren().add(pause);
+        }
+
+        sequence.setOnFinished(event -> refreshUI(botTurns.getGameState()));
+        log.debug("Animating {} computer moves", botTurns.getMoves().size());
+        sequence.play();
+    }
+
+    /**
+     * Shows a single computer move on the board without re-rendering the whole game state
+     * 
+     * @param move The computer move to display
+     */
+    private void displayComputerMove(BotMoveDTO move) {
+        log.debug("Displaying computer move: player {} {} {}", move.getPlayerNo(), move.getType(), move.getCard());
+
+        resetPlayerNameStyles();
+        stylePlayerName(getPlayerNameLabel(move.getNextPlayerNo()), true);
+        updateUnoIndicator(getUnoIndicator(move.getPlayerNo()), move.getDeckSize());
+
+        if (move.getCard() != null && lastPlayedCardArea != null) {
+            lastPlayedCardArea.getChildren().clear();
+            ImageView lastCardView = createCardImageView(-1, move.getCard(), -1);
+            lastCardView.setFitHeight(160);
+            lastCardView.setFitWidth(120);
+            lastPlayedCardArea.getChildren().add(lastCardView);
+        }
+
+        if (currentColorArea != null && move.getCurrentColor() != null) {
+            styleColorArea(currentColorArea, move.getCurrentColor());
+        }
+
+        if (directionArea != null && move.getDirection() != null) {
+            directionArea.getChildren().clear();
+            styleDirectionArea(directionArea, move.getDirection());
+        }
+    }
+
+    private Label getPlayerNameLabel(int playerIndex) {
+        switch (playerIndex) {
+            case 0: return player1Name;
+            case 1: return player2Name;
+            case 2: return player3Name;
+            case 3: return player4Name;
+            default: return null;
+        }
+    }
+
+    private Label getUnoIndicator(int playerIndex) {
+        switch (playerIndex) {
+            case 0: return player1UnoIndicator;
+            case 1: return player2UnoIndicator;
+            case 2: return player3UnoIndicator;
+            case 3: return player4UnoIndicator;
+            default: return null;
+        }
+    }
+
     /**
      * Shows a popup when the game is finished
      * 
@@ -0,0 +1,28 @@
+package tr.edu.metu.ceng.uno.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BotMoveDTO {
+
+    public enum MoveType {
+        PLAY,
+        DRAW,
+        PENALTY_DRAW
+    }
+
+    private MoveType type;
+    private int playerNo;
+    private CardDTO card;
+    private int drawnCardCount;
+    private int deckSize;
+    private String currentColor;
+    private String direction;
+    private int nextPlayerNo;
+}
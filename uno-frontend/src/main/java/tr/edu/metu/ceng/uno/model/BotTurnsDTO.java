@@ -0,0 +1,16 @@
+package tr.edu.metu.ceng.uno.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BotTurnsDTO {
+    private List<BotMoveDTO> moves;
+    private GameStateDTO gameState;
+}
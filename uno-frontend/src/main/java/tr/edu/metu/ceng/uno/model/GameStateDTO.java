@@ -22,4 +22,5 @@ public class GameStateDTO {
     private boolean canPlayWildDrawFour;
     private String quittingPlayerName;
     private boolean canChallenge; //other player played draw 4
+    private long version;
 }
\ No newline at end of file
@@ -5,6 +5,8 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.List;
+
 @Data
 @Builder
 @NoArgsConstructor
@@ -19,7 +21,9 @@ public class MultiplayerMessage {
         PLAY_CARD,
         GAME_END,
         CHALLENGE,
-        REJECT_CHALLENGE
+        REJECT_CHALLENGE,
+        STATE_DELTA,
+        STATE_REQUEST
     }
     
     private MessageType type;
@@ -29,4 +33,6 @@ public class MultiplayerMessage {
     private Integer cardIndex;
     private String cardColor;
     private String content;
+    private Long version;
+    private List<StateChangeDTO> changes;
 } 
\ No newline at end of file
@@ -13,4 +13,5 @@ import java.util.List;
 public class PlayerDTO {
     private String username;
     private List<CardDTO> deck;
+    private int deckSize;
 }
\ No newline at end of file
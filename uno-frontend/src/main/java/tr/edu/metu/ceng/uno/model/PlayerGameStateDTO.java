@@ -0,0 +1,44 @@
+package tr.edu.metu.ceng.uno.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Game state pushed by the server to this player only: the state shared by all players,
+ * where opponents only have hand sizes, and this player's own cards
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class PlayerGameStateDTO {
+    private String gameId;
+    private GameStateDTO gameState;
+    private int playerNo;
+    private List<CardDTO> deck;
+
+    /**
+     * Fills the shared state with this player's cards and face-down placeholders for the opponents' cards,
+     * the form the game views display
+     *
+     * @return The complete game state as seen by this player
+     */
+    public GameStateDTO toGameStateDTO() {
+        List<PlayerDTO> players = gameState.getPlayers();
+        for (int i = 0; i < players.size(); i++) {
+            PlayerDTO player = players.get(i);
+            if (i == playerNo) {
+                player.setDeck(deck);
+            } else {
+                player.setDeck(new ArrayList<>(Collections.nCopies(player.getDeckSize(), new CardDTO())));
+            }
+        }
+        return gameState;
+    }
+}
@@ -0,0 +1,39 @@
+package tr.edu.metu.ceng.uno.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * A single change between two consecutive versions of a game state, part of a STATE_DELTA message
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class StateChangeDTO {
+
+    public enum ChangeType {
+        CARD_REMOVED,
+        CARDS_DRAWN,
+        LAST_PLAYED_CARD,
+        CURRENT_COLOR,
+        DIRECTION,
+        CURRENT_PLAYER,
+        DRAW_DECK_SIZE,
+        CAN_CHALLENGE,
+        CAN_PLAY_WILD_DRAW_FOUR,
+        GAME_FINISHED
+    }
+
+    private ChangeType type;
+    private Integer playerNo;
+    private Integer cardIndex;
+    private Integer count;
+    private CardDTO card;
+    private String value;
+    private List<CardDTO> cards;
+}
@@ -0,0 +1,33 @@
+package tr.edu.metu.ceng.uno.service;
+
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.converter.AbstractMessageConverter;
+import tr.edu.metu.ceng.uno.model.MultiplayerMessage;
+
+/**
+ * Converts {@link MultiplayerMessage}s in frames with content-type {@code application/x-uno}.
+ * Frames with any other content type are left to the JSON converter.
+ */
+public class BinaryMessageConverter extends AbstractMessageConverter {
+
+    public BinaryMessageConverter() {
+        super(BinaryMessageCodec.MIME_TYPE);
+        setStrictContentTypeMatch(true);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return MultiplayerMessage.class == clazz;
+    }
+
+    @Override
+    protected Object convertFromInternal(Message<?> message, Class<?> targetClass, Object conversionHint) {
+        return BinaryMessageCodec.decode((byte[]) message.getPayload());
+    }
+
+    @Override
+    protected Object convertToInternal(Object payload, MessageHeaders headers, Object conversionHint) {
+        return BinaryMessageCodec.encode((MultiplayerMessage) payload);
+    }
+}
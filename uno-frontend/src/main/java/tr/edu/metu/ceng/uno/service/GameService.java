@@ -11,6 +11,7 @@ import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
 import org.springframework.web.client.RestTemplate;
 import tr.edu.metu.ceng.uno.controller.SingleplayerGameViewController;
+import tr.edu.metu.ceng.uno.model.BotTurnsDTO;
 import tr.edu.metu.ceng.uno.model.GameStateDTO;
 
 @Service
@@ -84,50 +85,42 @@ public class GameService {
     }
 
     /**
-     * Sends a playCard request to the backend and updates the UI with the response
+     * Asks the backend to play all consecutive computer turns in a single request
      * 
-     * @param playerIndex The index of the player playing the card
+     * @return BotTurnsDTO with the computer moves to animate and the resulting game state, or null on failure
      */
-    public void playCardComputer(int playerIndex) {
-        log.info("Computer player {} is playing a card", playerIndex);
-        String PLAY_CARD_URL = apiBaseUrl + "/api/singleplayer/play-card-computer";
-        log.debug("Sending request to: {}", PLAY_CARD_URL);
+    public BotTurnsDTO playComputerTurns() {
+        log.info("Computer players are taking their turns");
+        String PLAY_TURNS_URL = apiBaseUrl + "/api/singleplayer/play-computer-turns";
+        log.debug("Sending request to: {}", PLAY_TURNS_URL);
 
         // Set up headers
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_FORM_URLENCODED);
 
-        // Setting up form parameters with dummy values
         MultiValueMap<String, String> map = new LinkedMultiValueMap<>();
-        map.add("playerId", String.valueOf(playerIndex));
+        map.add("username", authService.getCurrentUsername());
 
         //HTTP entity with headers and body
         HttpEntity<MultiValueMap<String, String>> request = new HttpEntity<>(map, headers);
 
         try {
-            // Sending POST request with parameters
-            log.debug("Sending POST request for computer to play card");
-            ResponseEntity<GameStateDTO> response = restTemplate.postForEntity(PLAY_CARD_URL, request, GameStateDTO.class);
+            log.debug("Sending POST request for computer players to play their turns");
+            ResponseEntity<BotTurnsDTO> response = restTemplate.postForEntity(PLAY_TURNS_URL, request, BotTurnsDTO.class);
 
-            if (response.getStatusCode().is2xxSuccessful()) {
-                log.info("Computer player {} played card successfully", playerIndex);
+            if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
+                BotTurnsDTO botTurns = response.getBody();
+                log.info("Computer players made {} moves", botTurns.getMoves() != null ? botTurns.getMoves().size() : 0);
 
-                // Update the UI with the new game state
-                currentGameState = response.getBody();
-                if (currentGameState != null && singlePlayerGameViewController != null) {
-                    log.debug("Refreshing UI with updated game state");
-                    singlePlayerGameViewController.refreshUI(currentGameState);
-                } else if (currentGameState == null) {
-                    log.warn("Received null game state from server");
-                } else if (singlePlayerGameViewController == null) {
-                    log.warn("SingleplayerGameViewController reference is null");
-                }
+                currentGameState = botTurns.getGameState();
+                return botTurns;
             } else {
-                log.error("Failed to play card: {}", response.getStatusCode());
+                log.error("Failed to play computer turns: {}", response.getStatusCode());
             }
         } catch (Exception e) {
-            log.error("Error playing computer card: {}", e.getMessage(), e);
+            log.error("Error playing computer turns: {}", e.getMessage(), e);
         }
+        return null;
     }
 
     public void drawCardHuman(int playerIndex) {
@@ -141,6 +134,7 @@ public class GameService {
 
         // Setting up form parameters with dummy values
         MultiValueMap<String, String> map = new LinkedMultiValueMap<>();
+        map.add("username", authService.getCurrentUsername());
         map.add("playerId", String.valueOf(playerIndex));
 
         //HTTP entity with headers and body
@@ -188,6 +182,7 @@ public class GameService {
 
         // Setting up form parameters with player ID, card index, and selected color
         MultiValueMap<String, String> map = new LinkedMultiValueMap<>();
+        map.add("username", authService.getCurrentUsername());
         map.add("playerId", String.valueOf(playerIndex));
         map.add("cardIndex", String.valueOf(cardIndex));
 
@@ -245,6 +240,7 @@ public class GameService {
 
         // Setting up form parameters
         MultiValueMap<String, String> map = new LinkedMultiValueMap<>();
+        map.add("username", authService.getCurrentUsername());
         map.add("playerId", "0"); // Human player is always at index 0
         map.add("cheatType", cheatType);
 
@@ -0,0 +1,219 @@
+package tr.edu.metu.ceng.uno.service;
+
+import lombok.extern.slf4j.Slf4j;
+import tr.edu.metu.ceng.uno.model.CardDTO;
+import tr.edu.metu.ceng.uno.model.GameStateDTO;
+import tr.edu.metu.ceng.uno.model.MultiplayerMessage;
+import tr.edu.metu.ceng.uno.model.PlayerDTO;
+import tr.edu.metu.ceng.uno.model.PlayerGameStateDTO;
+import tr.edu.metu.ceng.uno.model.StateChangeDTO;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Local copy of the state of the current multiplayer game.
+ *
+ * Starts from a full state sent by the server and follows it by applying the STATE_DELTA messages of the game
+ * in version order. Deltas that do not directly follow the local version are kept until the missing ones
+ * or a newer full state arrive; {@link #needsFullState()} tells when the full state has to be requested.
+ */
+@Slf4j
+public class GameStateStore {
+
+    private String gameId;
+    private GameStateDTO state; // Null until the first full state arrives
+    private int playerNo;
+    private boolean fullStateRequested = false;
+    private final NavigableMap<Long, MultiplayerMessage> pendingDeltas = new TreeMap<>();
+    // Cards drawn by this player by the version they were drawn in, sent ahead of the delta of that version
+    private final Map<Long, List<CardDTO>> drawnCards = new HashMap<>();
+
+    public synchronized void clear() {
+        gameId = null;
+        state = null;
+        fullStateRequested = false;
+        pendingDeltas.clear();
+        drawnCards.clear();
+    }
+
+    /**
+     * Replaces the local state with a full state from the server and applies the deltas that follow it
+     *
+     * @param playerGameState Full state of the game as seen by this player
+     * @return Copy of the resulting state
+     */
+    public synchronized GameStateDTO reset(PlayerGameStateDTO playerGameState) {
+        if (!playerGameState.getGameId().equals(gameId)) {
+            clear();
+            gameId = playerGameState.getGameId();
+        } else if (state != null && playerGameState.getGameState().getVersion() < state.getVersion()) {
+            log.debug("Ignoring full state of version {}, local state is already at version {}",
+                    playerGameState.getGameState().getVersion(), state.getVersion());
+            return copyOfState();
+        }
+        state = playerGameState.toGameStateDTO();
+        playerNo = playerGameState.getPlayerNo();
+        fullStateRequested = false;
+        log.debug("Game state reset to version {}", state.getVersion());
+
+        pendingDeltas.headMap(state.getVersion(), true).clear();
+        drawnCards.keySet().removeIf(version -> version <= state.getVersion());
+        applyPendingDeltas();
+
+        return copyOfState();
+    }
+
+    /**
+     * @param gameId ID of the game the state is wanted for
+     * @return Copy of the local state, or null if there is none for the game
+     */
+    public synchronized GameStateDTO getState(String gameId) {
+        if (state == null || !gameId.equals(this.gameId)) {
+            return null;
+        }
+        return copyOfState();
+    }
+
+    public synchronized void addDrawnCards(MultiplayerMessage message) {
+        if (!belongsToGame(message)) {
+            return;
+        }
+        for (StateChangeDTO change : message.getChanges()) {
+            drawnCards.put(message.getVersion(), change.getCards());
+        }
+    }
+
+    /**
+     * Applies a STATE_DELTA message, along with any kept deltas that follow it
+     *
+     * @param delta The delta message
+     * @return Copy of the resulting state, or null if the delta could not be applied yet
+     */
+    public synchronized GameStateDTO apply(MultiplayerMessage delta) {
+        if (!belongsToGame(delta)) {
+            log.debug("Ignoring delta of game {}", delta.getGameId());
+            return null;
+        }
+        if (state != null && delta.getVersion() <= state.getVersion()) {
+            log.debug("Ignoring delta to version {}, local state is already at version {}", delta.getVersion(), state.getVersion());
+            return null;
+        }
+
+        pendingDeltas.put(delta.getVersion(), delta);
+        if (state == null || !applyPendingDeltas()) {
+            log.debug("Delta to version {} kept until the missing versions arrive", delta.getVersion());
+            return null;
+        }
+        return copyOfState();
+    }
+
+    /**
+     * Tells whether deltas are missing and the full state should be requested from the server.
+     * Returns true only once per missing range, until the next full state arrives.
+     */
+    public synchronized boolean needsFullState() {
+        if (fullStateRequested || (state != null && pendingDeltas.isEmpty())) {
+            return false;
+        }
+        fullStateRequested = true;
+        return true;
+    }
+
+    /**
+     * Messages arriving before the first full state start the game of the store
+     */
+    private boolean belongsToGame(MultiplayerMessage message) {
+        if (gameId == null) {
+            gameId = message.getGameId();
+        }
+        return gameId.equals(message.getGameId());
+    }
+
+    private boolean applyPendingDeltas() {
+        boolean applied = false;
+        while (!pendingDeltas.isEmpty() && pendingDeltas.firstKey() == state.getVersion() + 1) {
+            MultiplayerMessage delta = pendingDeltas.firstEntry().getValue();
+            if (!hasDrawnCards(delta)) {
+                log.warn("Cards drawn in version {} did not arrive", delta.getVersion());
+                break;
+            }
+            pendingDeltas.pollFirstEntry();
+            applyChanges(delta);
+            applied = true;
+        }
+        return applied;
+    }
+
+    private boolean hasDrawnCards(MultiplayerMessage delta) {
+        for (StateChangeDTO change : delta.getChanges()) {
+            if (change.getType() == StateChangeDTO.ChangeType.CARDS_DRAWN && change.getPlayerNo() == playerNo
+                    && !drawnCards.containsKey(delta.getVersion())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void applyChanges(MultiplayerMessage delta) {
+        for (StateChangeDTO change : delta.getChanges()) {
+            switch (change.getType()) {
+                case CARD_REMOVED -> {
+                    PlayerDTO player = state.getPlayers().get(change.getPlayerNo());
+                    player.getDeck().remove((int) change.getCardIndex());
+                    player.setDeckSize(player.getDeck().size());
+                }
+                case CARDS_DRAWN -> {
+                    PlayerDTO player = state.getPlayers().get(change.getPlayerNo());
+                    if (change.getPlayerNo() == playerNo) {
+                        player.getDeck().addAll(drawnCards.remove(delta.getVersion()));
+                    } else {
+                        player.getDeck().addAll(Collections.nCopies(change.getCount(), new CardDTO()));
+                    }
+                    player.setDeckSize(player.getDeck().size());
+                }
+                case LAST_PLAYED_CARD -> state.setLastPlayedCard(change.getCard());
+                case CURRENT_COLOR -> state.setCurrentColor(change.getValue());
+                case DIRECTION -> state.setDirection(change.getValue());
+                case CURRENT_PLAYER -> state.setCurrentPlayerNo(change.getPlayerNo());
+                case DRAW_DECK_SIZE -> state.setDrawDeckSize(change.getCount());
+                case CAN_CHALLENGE -> state.setCanChallenge(Boolean.parseBoolean(change.getValue()));
+                case CAN_PLAY_WILD_DRAW_FOUR -> state.setCanPlayWildDrawFour(Boolean.parseBoolean(change.getValue()));
+                case GAME_FINISHED -> {
+                    state.setGameFinished(true);
+                    state.setWinner(change.getValue());
+                }
+            }
+        }
+        state.setVersion(delta.getVersion());
+    }
+
+    /**
+     * The views keep the state they display while later deltas are applied, so they get their own copy
+     */
+    private GameStateDTO copyOfState() {
+        List<PlayerDTO> players = new ArrayList<>();
+        for (PlayerDTO player : state.getPlayers()) {
+            players.add(new PlayerDTO(player.getUsername(), new ArrayList<>(player.getDeck()), player.getDeckSize()));
+        }
+
+        GameStateDTO copy = new GameStateDTO();
+        copy.setPlayers(players);
+        copy.setCurrentPlayerNo(state.getCurrentPlayerNo());
+        copy.setLastPlayedCard(state.getLastPlayedCard());
+        copy.setCurrentColor(state.getCurrentColor());
+        copy.setDirection(state.getDirection());
+        copy.setDrawDeckSize(state.getDrawDeckSize());
+        copy.setGameFinished(state.isGameFinished());
+        copy.setWinner(state.getWinner());
+        copy.setCanPlayWildDrawFour(state.isCanPlayWildDrawFour());
+        copy.setCanChallenge(state.isCanChallenge());
+        copy.setVersion(state.getVersion());
+        return copy;
+    }
+}
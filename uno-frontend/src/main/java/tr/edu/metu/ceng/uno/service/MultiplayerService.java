@@ -3,22 +3,29 @@ package tr.edu.metu.ceng.uno.service;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.messaging.converter.CompositeMessageConverter;
 import org.springframework.messaging.converter.MappingJackson2MessageConverter;
 import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
 import org.springframework.messaging.simp.stomp.StompHeaders;
 import org.springframework.messaging.simp.stomp.StompSession;
 import org.springframework.messaging.simp.stomp.StompSessionHandler;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.socket.WebSocketHttpHeaders;
 import org.springframework.web.socket.client.standard.StandardWebSocketClient;
 import org.springframework.web.socket.messaging.WebSocketStompClient;
 import tr.edu.metu.ceng.uno.model.GameStateDTO;
 import tr.edu.metu.ceng.uno.model.MultiplayerMessage;
+import tr.edu.metu.ceng.uno.model.PlayerGameStateDTO;
 
 import java.lang.reflect.Type;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
@@ -32,23 +39,31 @@ public class MultiplayerService {
     private final AuthService authService;
     private final String apiBaseUrl;
     private final String wsBaseUrl;
+    private final boolean binaryMessages;
 
     private StompSession stompSession;
     private String gameId;
     private Consumer<MultiplayerMessage> messageHandler;
     private Consumer<GameStateDTO> gameStateHandler;
+    private final GameStateStore gameStateStore = new GameStateStore();
+    // ETag of the last state fetched over REST, sent back as If-None-Match while the local state of the game is kept
+    private String fetchedGameId;
+    private String fetchedGameStateETag;
 
     public MultiplayerService(
             RestTemplate restTemplate, 
             AuthService authService, 
             @Value("${api.base-url}") String apiBaseUrl,
-            @Value("${ws.base-url:ws://localhost:8080}") String wsBaseUrl) {
+            @Value("${ws.base-url:ws://localhost:8080}") String wsBaseUrl,
+            @Value("${ws.binary-messages:true}") boolean binaryMessages) {
         log.info("Initializing MultiplayerService");
         this.restTemplate = restTemplate;
         this.authService = authService;
         this.apiBaseUrl = apiBaseUrl;
         this.wsBaseUrl = wsBaseUrl;
-        log.debug("MultiplayerService initialized with API URL: {}, WebSocket URL: {}", apiBaseUrl, wsBaseUrl);
+        this.binaryMessages = binaryMessages;
+        log.debug("MultiplayerService initialized with API URL: {}, WebSocket URL: {}, binary messages: {}",
+                apiBaseUrl, wsBaseUrl, binaryMessages);
     }
 
     /**
@@ -62,7 +77,9 @@ public class MultiplayerService {
 
         log.info("Connecting to WebSocket server at {}", wsBaseUrl);
         WebSocketStompClient stompClient = new WebSocketStompClient(new StandardWebSocketClient());
-        stompClient.setMessageConverter(new MappingJackson2MessageConverter());
+        // Game messages in the binary format, everything else (and every message of a server without it) in JSON
+        stompClient.setMessageConverter(new CompositeMessageConverter(
+                List.of(new BinaryMessageConverter(), new MappingJackson2MessageConverter())));
 
         try {
             StompSessionHandler sessionHandler = new StompSessionHandler() {
@@ -70,9 +87,16 @@ public class MultiplayerService {
                 public void afterConnected(StompSession session, StompHeaders connectedHeaders) {
                     log.info("Connected to WebSocket server successfully");
 
-                    // Subscribe to the lobby topic
-                    log.debug("Subscribing to lobby topic");
+                    // Subscribe to the lobby topic, and to this user's lobby queue where the game start is sent
+                    log.debug("Subscribing to lobby topic and queue");
                     session.subscribe("/topic/lobby", this);
+                    session.subscribe("/user/queue/lobby", this);
+
+                    // Full game states and the cards this user draws are sent to this user only,
+                    // all other changes arrive as deltas on the game topic
+                    log.debug("Subscribing to game state queues");
+                    session.subscribe("/user/queue/game", new GameStateFrameHandler());
+                    session.subscribe("/user/queue/game-cards", new DrawnCardsFrameHandler());
                 }
 
                 @Override
@@ -110,7 +134,17 @@ public class MultiplayerService {
                 }
             };
 
-            stompSession = stompClient.connect(wsBaseUrl + "/ws-uno", sessionHandler).get();
+            // The token identifies this user to the server, which sends the game state to this user's queue
+            StompHeaders connectHeaders = new StompHeaders();
+            if (authService.getJwtToken() != null) {
+                connectHeaders.add("Authorization", "Bearer " + authService.getJwtToken());
+            }
+            // Asks the server to send the game messages of this session in the binary format
+            if (binaryMessages) {
+                connectHeaders.setContentType(BinaryMessageCodec.MIME_TYPE);
+            }
+
+            stompSession = stompClient.connect(wsBaseUrl + "/ws-uno", new WebSocketHttpHeaders(), connectHeaders, sessionHandler).get();
         } catch (InterruptedException | ExecutionException e) {
             log.error("Failed to connect to WebSocket server: {}", e.getMessage(), e);
         }
@@ -153,20 +187,15 @@ public class MultiplayerService {
                         MultiplayerMessage message = (MultiplayerMessage) payload;
                         log.debug("Received game message: {}, gameId: {}", message.getType(), message.getGameId());
 
+                        if (message.getType() == MultiplayerMessage.MessageType.STATE_DELTA) {
+                            applyStateDelta(message);
+                            return;
+                        }
+
                         if (messageHandler != null) {
                             messageHandler.accept(message);
                         }
 
-                        // If there's a state change, refresh the game state
-                        if (message.getType() == MultiplayerMessage.MessageType.PLAY_CARD || 
-                            message.getType() == MultiplayerMessage.MessageType.DRAW_CARD ||
-                            message.getType() == MultiplayerMessage.MessageType.CHALLENGE ||
-                            message.getType() == MultiplayerMessage.MessageType.REJECT_CHALLENGE) {
-                            System.out.println("State change detected for type: " + message.getType());
-                            log.debug("Game state change detected, refreshing game state");
-                            refreshGameState();
-                        }
-                        
                         // Handle player quit messages specifically
                         if (message.getType() == MultiplayerMessage.MessageType.ROOM_QUIT) {
                             log.info("Player {} has quit the game", message.getUsername());
@@ -188,6 +217,99 @@ public class MultiplayerService {
         }
     }
 
+    /**
+     * Applies a state delta of the game topic to the local game state,
+     * requesting the full state from the server when earlier deltas are missing
+     *
+     * @param message The STATE_DELTA message
+     */
+    private void applyStateDelta(MultiplayerMessage message) {
+        GameStateDTO gameState = gameStateStore.apply(message);
+        if (gameState != null) {
+            notifyGameStateHandler(gameState);
+        } else if (gameStateStore.needsFullState()) {
+            log.info("Missed game state deltas before version {}, requesting the full state", message.getVersion());
+            requestGameState();
+        }
+    }
+
+    /**
+     * Asks the server to send the full game state to this user's queue
+     */
+    private void requestGameState() {
+        if (stompSession != null && stompSession.isConnected() && gameId != null) {
+            MultiplayerMessage message = new MultiplayerMessage();
+            message.setType(MultiplayerMessage.MessageType.STATE_REQUEST);
+            message.setUsername(authService.getCurrentUsername());
+            message.setGameId(gameId);
+
+            log.debug("Sending WebSocket message to request the game state");
+            send("/app/game/state", message);
+        } else {
+            log.warn("Cannot request game state: not connected to WebSocket server or no active game");
+        }
+    }
+
+    /**
+     * Sends a message to the server, in the binary format unless it is disabled
+     *
+     * @param destination The application destination of the message
+     * @param message The message to send
+     */
+    private void send(String destination, MultiplayerMessage message) {
+        StompHeaders headers = new StompHeaders();
+        headers.setDestination(destination);
+        if (binaryMessages) {
+            headers.setContentType(BinaryMessageCodec.MIME_TYPE);
+        }
+        stompSession.send(headers, message);
+    }
+
+    private void notifyGameStateHandler(GameStateDTO gameState) {
+        if (gameStateHandler != null) {
+            gameStateHandler.accept(gameState);
+        } else {
+            log.warn("Cannot update game state: no game state handler registered");
+        }
+    }
+
+    /**
+     * Handles the full game states sent to this user's queue, at game start and on request
+     */
+    private class GameStateFrameHandler implements StompFrameHandler {
+        @Override
+        public Type getPayloadType(StompHeaders headers) {
+            return PlayerGameStateDTO.class;
+        }
+
+        @Override
+        public void handleFrame(StompHeaders headers, Object payload) {
+            if (payload instanceof PlayerGameStateDTO playerGameState) {
+                GameStateDTO gameState = gameStateStore.reset(playerGameState);
+                log.debug("Received full game state, now at version {}", gameState.getVersion());
+                notifyGameStateHandler(gameState);
+            }
+        }
+    }
+
+    /**
+     * Handles the cards this user draws, sent to this user's queue ahead of the delta they belong to
+     */
+    private class DrawnCardsFrameHandler implements StompFrameHandler {
+        @Override
+        public Type getPayloadType(StompHeaders headers) {
+            return MultiplayerMessage.class;
+        }
+
+        @Override
+        public void handleFrame(StompHeaders headers, Object payload) {
+            if (payload instanceof MultiplayerMessage message) {
+                log.debug("Received drawn cards of version {}", message.getVersion());
+                gameStateStore.addDrawnCards(message);
+            }
+        }
+    }
+
     /**
      * Join a multiplayer game room
      * 
@@ -232,7 +354,7 @@ public class MultiplayerService {
             message.setUsername(username);
 
             log.debug("Sending WebSocket message to join room");
-            stompSession.send("/app/room/join", message);
+            send("/app/room/join", message);
         }
 
         return future;
@@ -252,7 +374,7 @@ public class MultiplayerService {
             message.setGameId(gameId);
 
             log.debug("Sending WebSocket message to leave game");
-            stompSession.send("/app/room/leave", message);
+            send("/app/room/leave", message);
         } else {
             log.warn("Cannot leave game: not connected to WebSocket server");
         }
@@ -278,7 +400,7 @@ public class MultiplayerService {
             message.setPlayerIndex(playerIndex);
 
             log.debug("Sending WebSocket message to draw card");
-            stompSession.send("/app/game/draw", message);
+            send("/app/game/draw", message);
         } else {
             log.warn("Cannot draw card: not connected to WebSocket server or no active game");
         }
@@ -307,7 +429,7 @@ public class MultiplayerService {
             message.setCardColor(cardColor);
 
             log.debug("Sending WebSocket message to play card");
-            stompSession.send("/app/game/play", message);
+            send("/app/game/play", message);
         } else {
             log.warn("Cannot play card: not connected to WebSocket server or no active game");
         }
@@ -329,7 +451,7 @@ public class MultiplayerService {
             message.setPlayerIndex(playerIndex);
 
             log.debug("Sending WebSocket message to challenge");
-            stompSession.send("/app/game/challenge", message);
+            send("/app/game/challenge", message);
         } else {
             log.warn("Cannot challenge: not connected to WebSocket server or no active game");
         }
@@ -353,14 +475,16 @@ public class MultiplayerService {
             message.setPlayerIndex(playerIndex);
 
             log.debug("Sending WebSocket message to reject challenge");
-            stompSession.send("/app/game/reject-challenge", message);
+            send("/app/game/reject-challenge", message);
         } else {
             log.warn("Cannot reject challenge: not connected to WebSocket server or no active game");
         }
     }
 
     /**
-     * Get the current game state for the current game
+     * Get the current game state for the current game.
+     * The fetched state replaces the local state of the game, and the deltas that arrived since are applied to it.
+     * When the state has not changed since the last fetch the server answers 304 and the local state is returned.
      * 
      * @return The current game state
      */
@@ -373,11 +497,26 @@ public class MultiplayerService {
         String url = apiBaseUrl + "/api/multiplayer/game/" + gameId;
         log.debug("Fetching game state from: {}", url);
         try {
-            GameStateDTO gameState = restTemplate.getForObject(url, GameStateDTO.class);
-            if (gameState == null) {
+            HttpHeaders headers = authService.addAuthHeader(new HttpHeaders());
+            GameStateDTO localState = gameStateStore.getState(gameId);
+            if (localState != null && gameId.equals(fetchedGameId) && fetchedGameStateETag != null) {
+                headers.setIfNoneMatch(fetchedGameStateETag);
+            }
+
+            ResponseEntity<PlayerGameStateDTO> response = restTemplate.exchange(url, HttpMethod.GET, new HttpEntity<>(headers), PlayerGameStateDTO.class);
+            if (response.getStatusCode() == HttpStatus.NOT_MODIFIED) {
+                log.debug("Game state not modified, local state is at version {}", localState.getVersion());
+                return localState;
+            }
+
+            PlayerGameStateDTO playerGameState = response.getBody();
+            if (playerGameState == null) {
                 log.warn("Received null game state from server");
+                return null;
             }
-            return gameState;
+            fetchedGameId = gameId;
+            fetchedGameStateETag = response.getHeaders().getETag();
+            return gameStateStore.reset(playerGameState);
         } catch (Exception e) {
             log.error("Error fetching game state: {}", e.getMessage(), e);
             return null;
@@ -443,6 +582,7 @@ public class MultiplayerService {
             stompSession.disconnect();
             stompSession = null;
             gameId = null;
+            gameStateStore.clear();
             log.debug("WebSocket connection closed");
         } else {
             log.debug("No active WebSocket connection to disconnect");
@@ -0,0 +1,115 @@
+package tr.edu.metu.ceng.uno;
+
+import org.junit.jupiter.api.Test;
+import tr.edu.metu.ceng.uno.model.CardDTO;
+import tr.edu.metu.ceng.uno.model.MultiplayerMessage;
+import tr.edu.metu.ceng.uno.model.StateChangeDTO;
+import tr.edu.metu.ceng.uno.model.StateChangeDTO.ChangeType;
+import tr.edu.metu.ceng.uno.service.BinaryMessageCodec;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BinaryMessageCodecTest {
+
+    /**
+     * Reads a message from the fixtures the backend's codec is checked against as well
+     * @return The bytes of the message as lowercase hex
+     */
+    private static String golden(String name) throws IOException {
+        try (InputStream in = BinaryMessageCodecTest.class.getResourceAsStream("/binary-messages/" + name)) {
+            assertNotNull(in, "fixture " + name);
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8).lines()
+                    .filter(line -> !line.startsWith("#"))
+                    .map(String::strip)
+                    .collect(Collectors.joining());
+        }
+    }
+
+    private static StateChangeDTO change(ChangeType type, Integer playerNo, Integer cardIndex, Integer count, CardDTO card,
+                                         String value, List<CardDTO> cards) {
+        return new StateChangeDTO(type, playerNo, cardIndex, count, card, value, cards);
+    }
+
+    private static StateChangeDTO change(ChangeType type, String value) {
+        return change(type, null, null, null, null, value, null);
+    }
+
+    @Test
+    void testStateDeltaMatchesGoldenBytes() throws Exception {
+        List<CardDTO> drawn = List.of(new CardDTO("NUMBER", "BLUE", 7), new CardDTO("WILD_DRAW_FOUR", "NONE", null));
+        MultiplayerMessage message = MultiplayerMessage.builder()
+                .type(MultiplayerMessage.MessageType.STATE_DELTA)
+                .gameId("game-1")
+                .version(300L)
+                .changes(List.of(
+                        change(ChangeType.CARD_REMOVED, 3, 0, null, null, null, null),
+                        change(ChangeType.LAST_PLAYED_CARD, null, null, null, new CardDTO("REVERSE", "YELLOW", null), null, null),
+                        change(ChangeType.CURRENT_COLOR, "RED"),
+                        change(ChangeType.DIRECTION, "COUNTER_CLOCKWISE"),
+                        change(ChangeType.CURRENT_PLAYER, 2, null, null, null, null, null),
+                        change(ChangeType.DRAW_DECK_SIZE, null, null, 61, null, null, null),
+                        change(ChangeType.CARDS_DRAWN, 1, null, 2, null, null, drawn),
+                        change(ChangeType.CAN_CHALLENGE, "true"),
+                        change(ChangeType.CAN_PLAY_WILD_DRAW_FOUR, "false"),
+                        change(ChangeType.GAME_FINISHED, "Player1")))
+                .build();
+        String golden = golden("state-delta.hex");
+
+        assertEquals(golden, HexFormat.of().formatHex(BinaryMessageCodec.encode(message)));
+
+        MultiplayerMessage decoded = BinaryMessageCodec.decode(HexFormat.of().parseHex(golden));
+        assertEquals(MultiplayerMessage.MessageType.STATE_DELTA, decoded.getType());
+        assertEquals("game-1", decoded.getGameId());
+        assertEquals(300L, decoded.getVersion());
+        List<StateChangeDTO> changes = decoded.getChanges();
+        assertEquals(10, changes.size());
+        assertEquals(0, changes.get(0).getCardIndex());
+        assertEquals("REVERSE", changes.get(1).getCard().getType());
+        assertEquals("YELLOW", changes.get(1).getCard().getColor());
+        assertEquals("COUNTER_CLOCKWISE", changes.get(3).getValue());
+        assertEquals(2, changes.get(4).getPlayerNo());
+        assertEquals(61, changes.get(5).getCount());
+        assertEquals(7, changes.get(6).getCards().get(0).getNumber());
+        assertEquals("WILD_DRAW_FOUR", changes.get(6).getCards().get(1).getType());
+        assertEquals("true", changes.get(7).getValue());
+        assertEquals("Player1", changes.get(9).getValue());
+        assertEquals(golden, HexFormat.of().formatHex(BinaryMessageCodec.encode(decoded)));
+    }
+
+    @Test
+    void testPlayCardMatchesGoldenBytes() throws Exception {
+        MultiplayerMessage message = MultiplayerMessage.builder()
+                .type(MultiplayerMessage.MessageType.PLAY_CARD)
+                .username("Oyuncu Çağrı")
+                .gameId("game-1")
+                .playerIndex(1)
+                .cardIndex(12)
+                .cardColor("GREEN")
+                .build();
+        String golden = golden("play-card.hex");
+
+        assertEquals(golden, HexFormat.of().formatHex(BinaryMessageCodec.encode(message)));
+
+        MultiplayerMessage decoded = BinaryMessageCodec.decode(HexFormat.of().parseHex(golden));
+        assertEquals("Oyuncu Çağrı", decoded.getUsername());
+        assertEquals(1, decoded.getPlayerIndex());
+        assertEquals(12, decoded.getCardIndex());
+        assertEquals("GREEN", decoded.getCardColor());
+        assertNull(decoded.getChanges());
+    }
+
+    @Test
+    void testUnknownFormatVersionIsRejected() {
+        byte[] encoded = BinaryMessageCodec.encode(MultiplayerMessage.builder().type(MultiplayerMessage.MessageType.ROOM_JOIN).build());
+        encoded[0] = 9;
+
+        assertThrows(IllegalArgumentException.class, () -> BinaryMessageCodec.decode(encoded));
+    }
+}
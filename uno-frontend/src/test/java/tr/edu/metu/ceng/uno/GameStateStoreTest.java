@@ -0,0 +1,185 @@
+package tr.edu.metu.ceng.uno;
+
+import org.junit.jupiter.api.Test;
+import tr.edu.metu.ceng.uno.model.CardDTO;
+import tr.edu.metu.ceng.uno.model.GameStateDTO;
+import tr.edu.metu.ceng.uno.model.MultiplayerMessage;
+import tr.edu.metu.ceng.uno.model.PlayerDTO;
+import tr.edu.metu.ceng.uno.model.PlayerGameStateDTO;
+import tr.edu.metu.ceng.uno.model.StateChangeDTO;
+import tr.edu.metu.ceng.uno.service.GameStateStore;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameStateStoreTest {
+
+    private static final CardDTO RED_FIVE = new CardDTO("NUMBER", "RED", 5);
+    private static final CardDTO BLUE_SEVEN = new CardDTO("NUMBER", "BLUE", 7);
+
+    private final GameStateStore store = new GameStateStore();
+
+    /**
+     * Full state of a game between alice, seat 0 and the store's player, and bob, seat 1
+     */
+    private static PlayerGameStateDTO fullState(String gameId, long version, List<CardDTO> aliceDeck, int bobDeckSize) {
+        GameStateDTO gameState = new GameStateDTO();
+        gameState.setPlayers(List.of(new PlayerDTO("alice", null, aliceDeck.size()), new PlayerDTO("bob", null, bobDeckSize)));
+        gameState.setLastPlayedCard(RED_FIVE);
+        gameState.setCurrentColor("RED");
+        gameState.setDirection("CLOCKWISE");
+        gameState.setDrawDeckSize(80);
+        gameState.setVersion(version);
+        return new PlayerGameStateDTO(gameId, gameState, 0, new ArrayList<>(aliceDeck));
+    }
+
+    private static PlayerGameStateDTO fullState(long version, List<CardDTO> aliceDeck, int bobDeckSize) {
+        return fullState("game", version, aliceDeck, bobDeckSize);
+    }
+
+    private static MultiplayerMessage delta(long version, StateChangeDTO... changes) {
+        return MultiplayerMessage.builder()
+                .type(MultiplayerMessage.MessageType.STATE_DELTA)
+                .gameId("game")
+                .version(version)
+                .changes(List.of(changes))
+                .build();
+    }
+
+    private static StateChangeDTO currentPlayer(int playerNo) {
+        return new StateChangeDTO(StateChangeDTO.ChangeType.CURRENT_PLAYER, playerNo, null, null, null, null, null);
+    }
+
+    private static StateChangeDTO cardRemoved(int playerNo, int cardIndex) {
+        return new StateChangeDTO(StateChangeDTO.ChangeType.CARD_REMOVED, playerNo, cardIndex, null, null, null, null);
+    }
+
+    private static StateChangeDTO cardsDrawn(int playerNo, int count, List<CardDTO> cards) {
+        return new StateChangeDTO(StateChangeDTO.ChangeType.CARDS_DRAWN, playerNo, null, count, null, null, cards);
+    }
+
+    @Test
+    void testDeltasFollowTheFullState() {
+        store.reset(fullState(1, List.of(RED_FIVE, BLUE_SEVEN), 7));
+
+        GameStateDTO gameState = store.apply(delta(2, cardRemoved(0, 0), currentPlayer(1)));
+
+        assertEquals(2, gameState.getVersion());
+        assertEquals(1, gameState.getCurrentPlayerNo());
+        assertEquals(List.of(BLUE_SEVEN), gameState.getPlayers().get(0).getDeck());
+        assertEquals(1, gameState.getPlayers().get(0).getDeckSize());
+        assertEquals(7, gameState.getPlayers().get(1).getDeck().size());
+        assertFalse(store.needsFullState());
+    }
+
+    @Test
+    void testOutOfOrderDeltasAreKeptUntilTheMissingOneArrives() {
+        store.reset(fullState(1, List.of(RED_FIVE), 7));
+
+        assertNull(store.apply(delta(3, currentPlayer(0))));
+        GameStateDTO gameState = store.apply(delta(2, currentPlayer(1)));
+
+        assertEquals(3, gameState.getVersion());
+        assertEquals(0, gameState.getCurrentPlayerNo());
+    }
+
+    @Test
+    void testGapRequestsTheFullStateOnceAndResumesAfterIt() {
+        store.reset(fullState(1, List.of(RED_FIVE), 7));
+
+        assertNull(store.apply(delta(3, currentPlayer(0))));
+        assertTrue(store.needsFullState());
+        assertNull(store.apply(delta(4, currentPlayer(1))));
+        assertFalse(store.needsFullState());
+
+        GameStateDTO gameState = store.reset(fullState(2, List.of(RED_FIVE), 6));
+
+        assertEquals(4, gameState.getVersion());
+        assertEquals(1, gameState.getCurrentPlayerNo());
+        assertEquals(6, gameState.getPlayers().get(1).getDeckSize());
+        assertFalse(store.needsFullState());
+        assertEquals(5, store.apply(delta(5, currentPlayer(0))).getVersion());
+    }
+
+    @Test
+    void testDeltasBeforeTheFirstFullStateAreAppliedAfterIt() {
+        assertNull(store.apply(delta(2, currentPlayer(1))));
+        assertTrue(store.needsFullState());
+
+        GameStateDTO gameState = store.reset(fullState(1, List.of(RED_FIVE), 7));
+
+        assertEquals(2, gameState.getVersion());
+        assertEquals(1, gameState.getCurrentPlayerNo());
+    }
+
+    @Test
+    void testDuplicateAndStaleDeltasAreIgnored() {
+        store.reset(fullState(1, List.of(RED_FIVE, BLUE_SEVEN), 7));
+        store.apply(delta(2, cardRemoved(0, 0)));
+
+        assertNull(store.apply(delta(2, cardRemoved(0, 0))));
+        assertNull(store.apply(delta(1, cardRemoved(0, 0))));
+
+        GameStateDTO gameState = store.getState("game");
+        assertEquals(2, gameState.getVersion());
+        assertEquals(List.of(BLUE_SEVEN), gameState.getPlayers().get(0).getDeck());
+        assertFalse(store.needsFullState());
+    }
+
+    @Test
+    void testStaleFullStateDoesNotRollBackAppliedDeltas() {
+        store.reset(fullState(1, List.of(RED_FIVE, BLUE_SEVEN), 7));
+        store.apply(delta(2, cardRemoved(0, 0)));
+
+        GameStateDTO gameState = store.reset(fullState(1, List.of(RED_FIVE, BLUE_SEVEN), 7));
+
+        assertEquals(2, gameState.getVersion());
+        assertEquals(List.of(BLUE_SEVEN), gameState.getPlayers().get(0).getDeck());
+    }
+
+    @Test
+    void testDrawnCardsArrivingBeforeTheirDeltaAreAddedToTheHand() {
+        store.reset(fullState(1, List.of(RED_FIVE), 7));
+        MultiplayerMessage drawn = delta(2, cardsDrawn(0, 1, List.of(BLUE_SEVEN)));
+
+        store.addDrawnCards(drawn);
+        GameStateDTO gameState = store.apply(delta(2, cardsDrawn(0, 1, null), cardsDrawn(1, 2, null)));
+
+        assertEquals(List.of(RED_FIVE, BLUE_SEVEN), gameState.getPlayers().get(0).getDeck());
+        assertEquals(2, gameState.getPlayers().get(0).getDeckSize());
+        assertEquals(9, gameState.getPlayers().get(1).getDeckSize());
+    }
+
+    @Test
+    void testMissingDrawnCardsHoldTheDeltaUntilTheFullState() {
+        store.reset(fullState(1, List.of(RED_FIVE), 7));
+
+        assertNull(store.apply(delta(2, cardsDrawn(0, 1, null))));
+        assertNull(store.apply(delta(3, currentPlayer(1))));
+        assertTrue(store.needsFullState());
+
+        GameStateDTO gameState = store.reset(fullState(2, List.of(RED_FIVE, BLUE_SEVEN), 7));
+
+        assertEquals(3, gameState.getVersion());
+        assertEquals(List.of(RED_FIVE, BLUE_SEVEN), gameState.getPlayers().get(0).getDeck());
+        assertEquals(1, gameState.getCurrentPlayerNo());
+    }
+
+    @Test
+    void testMessagesOfAnotherGameAreIgnored() {
+        store.reset(fullState(1, List.of(RED_FIVE), 7));
+        MultiplayerMessage otherGame = delta(2, currentPlayer(1));
+        otherGame.setGameId("other");
+
+        assertNull(store.apply(otherGame));
+        assertNull(store.getState("other"));
+        assertEquals(1, store.getState("game").getVersion());
+
+        GameStateDTO gameState = store.reset(fullState("other", 5, List.of(BLUE_SEVEN), 3));
+
+        assertEquals(5, gameState.getVersion());
+        assertNull(store.getState("game"));
+    }
+}